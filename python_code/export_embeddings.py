@@ -0,0 +1,34 @@
+import pickle
+import struct
+
+import numpy as np
+
+# makepkl.py 가 만든 course_vectors.pkl 을 Spring 서버(CourseSimilarityIndex)가 읽는 바이너리로 변환합니다.
+#
+# 형식 (big-endian, Java DataInputStream 과 동일)
+#   magic    : b'SPEM'
+#   version  : int32 (1)
+#   count    : int32 (과목 수)
+#   dim      : int32 (벡터 차원)
+#   codes    : count 개의 (uint16 길이 + UTF-8 과목 코드)
+#   vectors  : count * dim 개의 float32
+
+print("1. course_vectors.pkl 을 읽고 있습니다...")
+with open('course_vectors.pkl', 'rb') as f:
+    df, embeddings = pickle.load(f)
+
+vectors = np.asarray(embeddings, dtype='>f4')
+codes = df['course_code'].tolist()
+count, dim = vectors.shape
+
+print(f"2. {count}개 과목, {dim}차원 벡터를 내보내는 중...")
+with open('course_embeddings.bin', 'wb') as f:
+    f.write(b'SPEM')
+    f.write(struct.pack('>iii', 1, count, dim))
+    for code in codes:
+        encoded = str(code).encode('utf-8')
+        f.write(struct.pack('>H', len(encoded)))
+        f.write(encoded)
+    f.write(vectors.tobytes())
+
+print("✅ 저장 완료! 'course_embeddings.bin' 파일을 서버의 saintplus.similarity.embeddings-path 경로에 두세요.")
@@ -0,0 +1,132 @@
+package com.saintplus.transcript.service;
+
+import com.saintplus.course.dto.CourseAnalysisData;
+import com.saintplus.transcript.domain.Remarks;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 성적표 줄 파싱: 예전 정규식 + 빌더 방식과 TranscriptLineTokenizer 비교
+ *
+ * ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TranscriptLineTokenizerBenchmark {
+
+    private static final Pattern LEGACY_COURSE_PATTERN = Pattern.compile(
+            "^(20\\d{2}-[12SW])\\s+" +
+                    "([A-Z]{3,5}\\d{3,4})\\s+" +
+                    "(.+?)\\s+" +
+                    "([0-9]+\\.[0-9])\\s*" +
+                    "(A[+-0]?|B[+-0]?|C[+-0]?|D[+-0]?|F|FA|U|S|P|W)?" +
+                    "\\s*(.*)$");
+
+    private String[] lines;
+
+    @Setup
+    public void setUp() {
+        // 한 학생 성적표 분량(약 60과목)에 머리말/요약 줄을 섞은 입력
+        String[] names = {"자료구조", "미시경제원론", "신학적인간학", "Calculus 1", "알고리즘 설계와 분석", "글쓰기"};
+        String[] grades = {"A+", "A0", "B+", "B0", "C+", "F", "P", "S", ""};
+        String[] remarks = {"", "", "", "E", "R", "E,R", "M"};
+        String[] types = {"1", "2", "S", "W"};
+        Random random = new Random(42);
+
+        List<String> generated = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            generated.add(String.format("20%02d-%s %s%04d %s %d.0 %s %s",
+                    18 + random.nextInt(8), types[random.nextInt(types.length)],
+                    "CSE", 1000 + random.nextInt(9000), names[random.nextInt(names.length)],
+                    1 + random.nextInt(3), grades[random.nextInt(grades.length)], remarks[random.nextInt(remarks.length)]));
+            if (i % 10 == 0) {
+                generated.add("학번 20181234  성명 홍길동  학과 컴퓨터공학과");
+                generated.add("신청학점 18.0 취득학점 18.0 평점평균 3.85");
+            }
+        }
+        lines = generated.toArray(new String[0]);
+    }
+
+    @Benchmark
+    public void legacyRegex(Blackhole blackhole) {
+        for (String line : lines) {
+            Matcher matcher = LEGACY_COURSE_PATTERN.matcher(line);
+            if (matcher.find()) {
+                String grade = Objects.toString(matcher.group(5), "").trim();
+                String rawRemarks = Objects.toString(matcher.group(6), "").trim();
+                Remarks remarks = legacyRemarks(grade, rawRemarks);
+                blackhole.consume(CourseAnalysisData.builder()
+                        .semester(matcher.group(1))
+                        .courseCode(matcher.group(2).trim())
+                        .courseName(matcher.group(3).trim())
+                        .credits(Double.parseDouble(matcher.group(4)))
+                        .importantRemarks(remarks)
+                        .build());
+            }
+        }
+    }
+
+    @Benchmark
+    public void tokenizer(Blackhole blackhole) {
+        for (String line : lines) {
+            CourseAnalysisData course = TranscriptLineTokenizer.tokenize(line);
+            if (course != null) {
+                blackhole.consume(course);
+            }
+        }
+    }
+
+    // 토크나이저 이전에 TranscriptParser.processRemarks 가 쓰던 비고 처리 (기준 구현)
+    // processRemarks 는 이제 TranscriptLineTokenizer.applyRemarks 를 부르므로 기준으로 쓰면 자기 자신과 비교하게 됨
+    private static Remarks legacyRemarks(String grade, String rawRemarksString) {
+        Remarks importantRemarks = new Remarks();
+
+        switch (grade) {
+            case "FA":  //결석허용초과 과목낙제
+            case "F":   //과목미이수
+            case "U":   //불합격
+                importantRemarks.setFailed(true);
+        }
+
+        if (rawRemarksString == null || rawRemarksString.isBlank()) {
+            return importantRemarks;
+        }
+
+        List<String> remarks = Arrays.stream(rawRemarksString.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+
+        for (String remark : remarks) {
+            switch (remark) {
+                case "R":   //재이수로성적취득 후 기존성적 대체
+                    importantRemarks.setRetake(true);
+                    break;
+                case "E":   //영어강의
+                    importantRemarks.setEnglishLecture(true);
+                    break;
+                case "M":   //중복인정과목
+                    importantRemarks.setDuplicate(true);
+                    break;
+            }
+        }
+
+        return importantRemarks;
+    }
+}
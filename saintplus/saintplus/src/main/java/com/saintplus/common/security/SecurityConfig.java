@@ -32,6 +32,10 @@ public class SecurityConfig {
 
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/v1/auth/**", "/api/auth/**", "/api/recommendations/**", "/api/v1/transcripts/extract-majors", "/api/v1/transcripts/upload-and-parse", "/register", "/login").permitAll()
+                        // 관리자 API 는 JWT 대신 X-Admin-Key 헤더로 검사 (컨트롤러에서 확인)
+                        .requestMatchers("/api/admin/**").permitAll()
+                        // 로컬 저장소 업로드는 presigned URL 서명으로 검사 (storage.backend=local 일 때만 존재)
+                        .requestMatchers("/api/v1/storage/local/**").permitAll()
                         .anyRequest().authenticated()
                 )
 
@@ -1,10 +1,9 @@
 package com.saintplus.course.controller;
 
-import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import com.saintplus.course.dto.DegreePlanRequestDto;
 import com.saintplus.course.dto.RecommendedCourseDto;
 import com.saintplus.course.service.RecommendationService;
 import org.springframework.http.HttpStatus;
@@ -20,6 +19,11 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.saintplus.course.domain.SavedCourse;
 import com.saintplus.course.service.CourseService;
+import com.saintplus.course.service.CourseTrendService;
+import com.saintplus.course.service.DegreePlanService;
+import com.saintplus.course.service.PeerTimetableService;
+import com.saintplus.course.service.TimetableService;
+import com.saintplus.transcript.service.CreditSummaryService;
 import com.saintplus.user.domain.User;
 import com.saintplus.user.service.UserService;
 
@@ -38,6 +42,11 @@ public class CourseController {
     private final RecommendationService recommendationService;
     private final CourseService courseService;
     private final UserService userService;
+    private final TimetableService timetableService;
+    private final DegreePlanService degreePlanService;
+    private final PeerTimetableService peerTimetableService;
+    private final CourseTrendService courseTrendService;
+    private final CreditSummaryService creditSummaryService;
 
 
     /**
@@ -106,7 +115,7 @@ public class CourseController {
         User user = userService.getUserFromAuthentication(authentication);
         
         Map<String, Object> response = courseService.getAllCoursesData(user, major, semester);
-        response.putAll(generateFutureSemesterOptions(user));
+        response.putAll(courseService.getFutureSemesterOptions(user));
         
         return ResponseEntity.ok(response);
     }
@@ -174,43 +183,131 @@ public class CourseController {
         }
     }
 
-    // --- Helper Methods ---
-
-    private Map<String, Object> generateFutureSemesterOptions(User user) {
-        int startYear;
-        int startSemester;
-
-        String lastSemester = user.getLastSemester(); // e.g., "2025-2"
-
-        if (lastSemester != null && lastSemester.matches("\\d{4}-[12SW]")) {
-            String[] parts = lastSemester.split("-");
-            int lastYear = Integer.parseInt(parts[0]);
-            String lastSem = parts[1];
-
-            if (lastSem.equals("2") || lastSem.equals("W")) {
-                startYear = lastYear + 1;
-                startSemester = 1;
-            } else { // "1" or "S"
-                startYear = lastYear;
-                startSemester = 2;
-            }
-        } else {
-            LocalDate today = LocalDate.now();
-            startYear = today.getYear();
-            int currentMonth = today.getMonthValue();
-            startSemester = (currentMonth >= 3 && currentMonth <= 8) ? 2 : 1;
-            if (startSemester == 1 && currentMonth > 8) {
-                startYear++;
-            }
-        }
+    /**
+     * 장바구니의 특정 학기 과목들로 시간이 겹치지 않는 시간표 조합을 반환합니다.
+     *
+     * URL: /api/timetables?targetSemester=2026-1&limit=10
+     */
+    @GetMapping("/api/timetables")
+    public ResponseEntity<Map<String, Object>> getTimetables(
+            @RequestParam String targetSemester,
+            @RequestParam(defaultValue = "10") int limit,
+            Authentication authentication) {
+        User user = userService.getUserFromAuthentication(authentication);
+        Map<String, Object> response = timetableService.buildTimetables(user, targetSemester, Math.min(limit, 50));
+        return ResponseEntity.ok(response);
+    }
 
-        List<Integer> years = new ArrayList<>();
-        for (int i = 0; i < 5; i++) {
-            years.add(startYear + i);
+    /**
+     * 수강하고 싶은 과목들을 앞으로의 학기에 배정한 수강 계획을 반환합니다.
+     *
+     * URL: /api/degree-plan (POST)
+     */
+    @PostMapping("/api/degree-plan")
+    public ResponseEntity<Map<String, Object>> getDegreePlan(@RequestBody DegreePlanRequestDto request,
+            Authentication authentication) {
+        User user = userService.getUserFromAuthentication(authentication);
+        Map<String, Object> plan = degreePlanService.planDegree(user, request.getCourseCodes(), request.getSemesterCount());
+        return ResponseEntity.ok(plan);
+    }
+
+    /**
+     * 특정 과목과 내용이 비슷한 과목 목록을 반환합니다. (임베딩 기반, 미리 계산된 결과)
+     *
+     * URL: /api/courses/{courseCode}/similar?limit=10
+     */
+    @GetMapping("/api/courses/{courseCode}/similar")
+    public ResponseEntity<List<RecommendedCourseDto>> getSimilarCourses(
+            @PathVariable String courseCode,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(recommendationService.getSimilarCourses(courseCode, limit));
+    }
+
+    /**
+     * 이수 학점 현황(전체, 전공, 교양, 영어강의)을 반환합니다.
+     *
+     * URL: /api/progress
+     */
+    @GetMapping("/api/progress")
+    public ResponseEntity<Map<String, Object>> getProgress(Authentication authentication) {
+        User user = userService.getUserFromAuthentication(authentication);
+        return ResponseEntity.ok(creditSummaryService.getProgress(user));
+    }
+
+    /**
+     * 특정 과목의 최근 학기별 수강 추이와 인기 점수를 반환합니다.
+     *
+     * URL: /api/courses/{courseCode}/trend?window=4&decay=0.7&endTerm=2025-2
+     */
+    @GetMapping("/api/courses/{courseCode}/trend")
+    public ResponseEntity<?> getCourseTrend(
+            @PathVariable String courseCode,
+            @RequestParam(defaultValue = "4") int window,
+            @RequestParam(defaultValue = "0.7") double decay,
+            @RequestParam(required = false) String endTerm) {
+        try {
+            return ResponseEntity.ok(courseTrendService.getCourseTrend(courseCode, window, decay, endTerm));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
+    }
 
-        return Map.of("futureYears", years, "startSemester", startSemester);
+    /**
+     * 최근 학기 동안 인기가 높은 과목 목록을 반환합니다. (최근 학기일수록 가중치가 큼)
+     *
+     * URL: /api/courses/trending?window=4&decay=0.7&limit=10
+     */
+    @GetMapping("/api/courses/trending")
+    public ResponseEntity<?> getTrendingCourses(
+            @RequestParam(defaultValue = "4") int window,
+            @RequestParam(defaultValue = "0.7") double decay,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String endTerm) {
+        try {
+            return ResponseEntity.ok(courseTrendService.getTrendingCourses(window, decay, Math.min(limit, 50), endTerm));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
+    /**
+     * 같은 전공 선배들의 특정 학기 시간표를 익명으로 조회합니다.
+     * major 를 생략하면 로그인한 사용자의 1전공을 사용합니다.
+     *
+     * URL: /api/peer-timetables?semester=3&cursor=120&size=20
+     */
+    @GetMapping("/api/peer-timetables")
+    public ResponseEntity<Map<String, Object>> getPeerTimetables(
+            @RequestParam(required = false) String major,
+            @RequestParam double semester,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        User user = userService.getUserFromAuthentication(authentication);
+        String major1 = (major == null || major.isBlank()) ? user.getMajor1() : major.replace(" ", "");
+        return ResponseEntity.ok(peerTimetableService.getPeerTimetables(user, major1, semester, cursor, size));
+    }
 
+    /**
+     * 선배 시간표 한 학기를 장바구니에 한 번에 담습니다.
+     *
+     * URL: /api/peer-timetables/{timetableId}/copy (POST)
+     */
+    @PostMapping("/api/peer-timetables/{timetableId}/copy")
+    public ResponseEntity<?> copyPeerTimetable(@PathVariable Long timetableId, @RequestBody Map<String, String> payload,
+            Authentication authentication) {
+        String targetSemester = payload.get("targetSemester");
+        if (targetSemester == null || targetSemester.isBlank()) {
+            return ResponseEntity.badRequest().body("targetSemester is required.");
+        }
+        User user = userService.getUserFromAuthentication(authentication);
+        try {
+            Map<String, Object> result = courseService.copyPeerTimetableToCart(user, timetableId, targetSemester);
+            return ResponseEntity.status(HttpStatus.CREATED).body(result);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
 }
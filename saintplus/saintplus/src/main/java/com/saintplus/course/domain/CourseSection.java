@@ -0,0 +1,65 @@
+package com.saintplus.course.domain;
+
+import com.saintplus.course.util.WeeklySlotMask;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 개설 과목(course_mapping)의 분반 정보.
+ * 요일/시간은 schedule 문자열("MON 09:00-10:15,WED 09:00-10:15")로 보관하고,
+ * 충돌 검사를 위해 128비트 주간 비트마스크(slotMaskLow, slotMaskHigh)로 미리 인코딩해 둡니다.
+ * 마스크는 setSchedule 에서만 계산하며, 저장 직전에도 schedule 로 다시 계산해 둘이 어긋나지 않게 합니다.
+ */
+@Entity
+@Table(name = "course_section", indexes = {
+    @Index(name = "idx_course_section_course_code", columnList = "course_code")
+})
+@Getter
+@NoArgsConstructor
+@ToString
+public class CourseSection {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "course_code", nullable = false)
+    private String courseCode;
+
+    @Column(name = "section_number", nullable = false)
+    private String sectionNumber; // 분반 (예: "01")
+
+    private String professor;
+
+    @Column(nullable = false)
+    private String schedule;
+
+    @Column(name = "slot_mask_low", nullable = false)
+    private long slotMaskLow;
+
+    @Column(name = "slot_mask_high", nullable = false)
+    private long slotMaskHigh;
+
+    public CourseSection(String courseCode, String sectionNumber, String professor, String schedule) {
+        this.courseCode = courseCode;
+        this.sectionNumber = sectionNumber;
+        this.professor = professor;
+        setSchedule(schedule);
+    }
+
+    // 시간표 문자열이 바뀌면 비트마스크도 함께 다시 계산 (형식이 잘못되면 IllegalArgumentException)
+    public void setSchedule(String schedule) {
+        long[] mask = WeeklySlotMask.parse(schedule);
+        this.schedule = schedule;
+        this.slotMaskLow = mask[0];
+        this.slotMaskHigh = mask[1];
+    }
+
+    @PrePersist
+    @PreUpdate
+    void syncSlotMask() {
+        setSchedule(schedule);
+    }
+}
@@ -0,0 +1,59 @@
+package com.saintplus.course.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 익명 선배 시간표 조회용 읽기 모델.
+ * 사용자 한 명의 한 학기 수강 과목을 한 행으로 모아 두며, 성적표가 다시 저장될 때마다 갱신됩니다.
+ *
+ * (major1, semester, id) 인덱스로 "같은 1전공 + 같은 학기" 시간표를 id 기준 keyset 페이지로 읽습니다.
+ * 페이지 커서로 user_id 대신 행 id를 사용해 사용자 식별자가 노출되지 않도록 합니다.
+ */
+@Entity
+@Table(name = "peer_timetable",
+    indexes = {
+        @Index(name = "idx_peer_timetable_major_semester", columnList = "major1, semester, id")
+    },
+    uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"user_id", "semester"})
+    })
+@Getter
+@Setter
+@NoArgsConstructor
+public class PeerTimetable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String major1;
+
+    @Column(nullable = false)
+    private double semester;
+
+    @JsonIgnore
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "course_codes", nullable = false, length = 1024)
+    private String courseCodes; // 콤마로 구분된 과목 코드
+
+    public PeerTimetable(String major1, double semester, Long userId, List<String> courseCodes) {
+        this.major1 = major1;
+        this.semester = semester;
+        this.userId = userId;
+        this.courseCodes = String.join(",", courseCodes);
+    }
+
+    public List<String> getCourseCodeList() {
+        return courseCodes.isEmpty() ? List.of() : Arrays.asList(courseCodes.split(","));
+    }
+}
@@ -21,16 +21,22 @@ public class CourseAnalysisData {
     private double percentage; // New field for percentage
     private long totalStudents; // New field for total students who took the course
     private long countInMostFrequentSemester; // New field for count of students in most frequent semester
+    private double mostFrequentSemester; // 가장 많은 학생이 수강한 학기 순번 (수강생이 없으면 0)
+
+    private double credits; // 학점 (성적표에서 파싱)
 
     private Remarks importantRemarks; // 임시 필드 - 학부이수표 파싱 단계에서 비고 저장
 
+    private int term; // 임시 필드 - 실제 수강 학기 (SemesterInfo.comparableValue, 예: 2023-1 -> 202301), 알 수 없으면 0
+    private double semesterNumber; // 임시 필드 - 학기 순번 (groupAndFormatCourses 에서 채움, 계절학기는 x.5)
+
     // Constructor without remark for regular semesters
     public CourseAnalysisData(String semester, String courseCode, String courseName) {
-        this(semester, courseCode, courseName, "", 0.0, 0L, 0L, null);
+        this(semester, courseCode, courseName, "", 0.0, 0L, 0L, 0.0, 0.0, null, 0, 0.0);
     }
 
     public CourseAnalysisData(String semester, String courseCode, String courseName, String courseStatus) {
-        this(semester, courseCode, courseName, courseStatus, 0.0, 0L, 0L, null);
+        this(semester, courseCode, courseName, courseStatus, 0.0, 0L, 0L, 0.0, 0.0, null, 0, 0.0);
     }
 
 }
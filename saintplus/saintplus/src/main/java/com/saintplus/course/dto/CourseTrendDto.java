@@ -0,0 +1,16 @@
+package com.saintplus.course.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class CourseTrendDto {
+    private String courseCode;
+    private String courseName;
+    private Map<String, Long> countByTerm; // 학기(예: "2024-1") -> 수강 건수, 오래된 학기부터
+    private long windowCount;             // 기간 내 수강 건수 합계
+    private double decayedScore;          // 최근 학기일수록 가중치가 큰 인기 점수
+}
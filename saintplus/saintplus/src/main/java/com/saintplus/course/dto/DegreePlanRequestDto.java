@@ -0,0 +1,13 @@
+package com.saintplus.course.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class DegreePlanRequestDto {
+    private List<String> courseCodes; // 수강하고 싶은(또는 필수) 과목 코드
+    private Integer semesterCount;    // 계획할 학기 수 (기본 8)
+}
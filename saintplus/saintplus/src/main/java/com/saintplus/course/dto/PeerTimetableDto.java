@@ -0,0 +1,16 @@
+package com.saintplus.course.dto;
+
+import com.saintplus.course.domain.Course;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class PeerTimetableDto {
+    private Long timetableId;    // 복사 요청에 사용하는 시간표 id (사용자 id 아님)
+    private String major;
+    private double semester;
+    private List<Course> courses;
+}
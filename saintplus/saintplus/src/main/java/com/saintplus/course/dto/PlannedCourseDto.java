@@ -0,0 +1,14 @@
+package com.saintplus.course.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class PlannedCourseDto {
+    private String courseCode;
+    private String courseName;
+    private int relativeSemester;     // 배정된 학기의 학년-학기 순번 (예: 5학기)
+    private long peerCountInSemester; // 해당 순번 학기에 이 과목을 들은 선배 수
+    private String trackName;         // 교양 트랙 충족을 위해 추가된 과목이면 트랙 이름
+}
@@ -0,0 +1,15 @@
+package com.saintplus.course.dto;
+
+import com.saintplus.course.domain.CourseSection;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class TimetableOptionDto {
+    private List<CourseSection> sections; // 과목별로 선택된 분반
+    private int daysUsed;                 // 수업 있는 요일 수
+    private int gapSlots;                 // 공강(30분 단위) 합계
+}
@@ -0,0 +1,57 @@
+package com.saintplus.course.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 사용자 한 명의 수강 이력 요약 (추천/계획/결과 화면 공용 읽기 모델).
+ * 요청마다 수강 이력 전체를 다시 읽지 않도록 UserAcademicProfileService 가 캐시해 둡니다.
+ * 생성 후에는 변경되지 않습니다.
+ */
+@Getter
+public class UserAcademicProfile {
+
+    private final Long userId;
+    private final Set<String> takenCourseCodes;                 // 수강한 과목 코드
+    private final Map<Double, List<String>> takenCoursesBySemester; // 학기 순번 -> 과목 코드 (학기 오름차순)
+    private final double maxSemester;                           // 수강 이력상 가장 마지막 학기 순번 (없으면 0)
+    private final List<String> majors;                          // 선택한 전공 (미선택 제외, 1전공부터)
+    private final int completedTrackMask;                       // 이수한 교양 트랙 (트랙 n -> 1 << (n - 1))
+    private final Set<String> cartCourseCodes;                  // 장바구니 과목 코드
+    private final Map<String, Integer> cartCountBySemester;     // 대상 학기 -> 담은 과목 수
+
+    public UserAcademicProfile(Long userId, Set<String> takenCourseCodes, Map<Double, List<String>> takenCoursesBySemester,
+                               double maxSemester, List<String> majors, int completedTrackMask,
+                               Set<String> cartCourseCodes, Map<String, Integer> cartCountBySemester) {
+        this.userId = userId;
+        this.takenCourseCodes = Set.copyOf(takenCourseCodes);
+        this.takenCoursesBySemester = takenCoursesBySemester;
+        this.maxSemester = maxSemester;
+        this.majors = List.copyOf(majors);
+        this.completedTrackMask = completedTrackMask;
+        this.cartCourseCodes = Set.copyOf(cartCourseCodes);
+        this.cartCountBySemester = Map.copyOf(cartCountBySemester);
+    }
+
+    /**
+     * 현재 학기 순번 (마지막 수강 학기를 올림, 이력이 없으면 1학기)
+     */
+    public int getCurrentSemester() {
+        return maxSemester > 0 ? (int) Math.ceil(maxSemester) : 1;
+    }
+
+    public boolean hasTaken(String courseCode) {
+        return takenCourseCodes.contains(courseCode);
+    }
+
+    public boolean isTrackCompleted(int trackNumber) {
+        return (completedTrackMask & (1 << (trackNumber - 1))) != 0;
+    }
+
+    public int getCartCount(String targetSemester) {
+        return cartCountBySemester.getOrDefault(targetSemester, 0);
+    }
+}
@@ -0,0 +1,71 @@
+package com.saintplus.course.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CourseBatchWriter
+ *
+ * 성적표에서 처음 본 과목을 과목 테이블에 "없으면 넣기"로 한 문장에 저장합니다.
+ * 같은 새 과목이 든 성적표 두 건이 동시에 저장되어도 먼저 넣은 쪽이 이기고, 늦은 쪽은 아무것도 바꾸지 않습니다.
+ * (먼저 조회하고 saveAll 하면 늦은 쪽이 PK 충돌로 파싱 전체가 롤백됨)
+ *
+ * - INSERT IGNORE 는 PK 충돌 외의 오류(잘림 등)까지 삼키므로, 중복일 때만 무시하는 ON DUPLICATE KEY UPDATE 를 씁니다.
+ * - 동시에 같은 과목들을 넣는 트랜잭션끼리 교착되지 않도록 과목 코드 순서로 넣습니다.
+ * - 같은 트랜잭션의 커넥션을 쓰므로 실패하면 함께 롤백됩니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CourseBatchWriter {
+
+    static final int ROWS_PER_STATEMENT = 100;
+
+    // 새로 들어온 과목의 학기 구분은 알 수 없으므로 임의의 값 4
+    static final int UNKNOWN_SEMESTER = 4;
+
+    private static final String INSERT_PREFIX = "INSERT INTO course (course_code, course_name, semester) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?)";
+    private static final String ON_DUPLICATE = " ON DUPLICATE KEY UPDATE course_code = course_code";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param namesByCode 과목 코드 -> 과목명 (코드 순으로 정렬된 맵을 넘기세요)
+     * @return 드라이버가 돌려준 영향받은 행 수 (MySQL Connector/J 기본 설정에서는 이미 있던 과목도 1로 셈)
+     */
+    public int insertIfAbsent(Map<String, String> namesByCode) {
+        List<Map.Entry<String, String>> rows = new ArrayList<>(namesByCode.entrySet());
+        int inserted = 0;
+        for (int from = 0; from < rows.size(); from += ROWS_PER_STATEMENT) {
+            List<Map.Entry<String, String>> chunk = rows.subList(from, Math.min(from + ROWS_PER_STATEMENT, rows.size()));
+            inserted += jdbcTemplate.update(insertSql(chunk.size()), parameters(chunk));
+        }
+        return inserted;
+    }
+
+    static String insertSql(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows * (ROW_PLACEHOLDER.length() + 2) + ON_DUPLICATE.length());
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) sql.append(", ");
+            sql.append(ROW_PLACEHOLDER);
+        }
+        sql.append(ON_DUPLICATE);
+        return sql.toString();
+    }
+
+    private static Object[] parameters(List<Map.Entry<String, String>> chunk) {
+        List<Object> parameters = new ArrayList<>(chunk.size() * 3);
+        for (Map.Entry<String, String> row : chunk) {
+            parameters.add(row.getKey());
+            parameters.add(row.getValue());
+            parameters.add(UNKNOWN_SEMESTER);
+        }
+        return parameters.toArray();
+    }
+}
@@ -18,4 +18,7 @@ public interface CourseRepository extends JpaRepository<Course, String> {
 
     @Query("SELECT cm FROM Course cm WHERE cm.semester IN :semesters")
     List<Course> findAllBySemesterIn(@Param("semesters") List<Integer> semesters);
+
+    @Query("SELECT cm.courseCode FROM Course cm")
+    List<String> findAllCourseCodes();
 }
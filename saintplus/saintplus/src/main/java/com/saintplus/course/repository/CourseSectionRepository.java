@@ -0,0 +1,13 @@
+package com.saintplus.course.repository;
+
+import com.saintplus.course.domain.CourseSection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CourseSectionRepository extends JpaRepository<CourseSection, Long> {
+    List<CourseSection> findByCourseCodeIn(Collection<String> courseCodes);
+}
@@ -0,0 +1,32 @@
+package com.saintplus.course.repository;
+
+import com.saintplus.course.domain.PeerTimetable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PeerTimetableRepository extends JpaRepository<PeerTimetable, Long> {
+
+    // keyset 페이지: 마지막으로 본 id 이후부터 id 순으로 (본인 시간표 제외)
+    @Query("SELECT p FROM PeerTimetable p WHERE p.major1 = :major1 AND p.semester = :semester " +
+            "AND p.id > :cursor AND p.userId <> :viewerId ORDER BY p.id")
+    List<PeerTimetable> findPage(@Param("major1") String major1,
+                                 @Param("semester") double semester,
+                                 @Param("cursor") long cursor,
+                                 @Param("viewerId") Long viewerId,
+                                 Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM PeerTimetable p WHERE p.userId = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE PeerTimetable p SET p.major1 = :major1 WHERE p.userId = :userId")
+    void updateMajor1(@Param("userId") Long userId, @Param("major1") String major1);
+}
@@ -3,14 +3,26 @@ package com.saintplus.course.repository;
 import com.saintplus.course.domain.SavedCourse;
 import com.saintplus.user.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface SavedCourseRepository extends JpaRepository<SavedCourse, Long> {
     List<SavedCourse> findByUser(User user);
+    List<SavedCourse> findByUserId(Long userId);
+    List<SavedCourse> findByUserAndTargetSemester(User user, String targetSemester);
     boolean existsByUserAndCourseCode(User user, String courseCode);
     long countByUserAndTargetSemester(User user, String targetSemester);
+
+    // 일괄 담기 검증용: 대상 학기에 이미 담긴 과목 + 담으려는 과목 중 이미 담긴 과목을 한 번에 조회
+    @Query("SELECT sc FROM SavedCourse sc WHERE sc.user = :user " +
+            "AND (sc.targetSemester = :targetSemester OR sc.courseCode IN :courseCodes)")
+    List<SavedCourse> findForBulkAdd(@Param("user") User user,
+                                     @Param("targetSemester") String targetSemester,
+                                     @Param("courseCodes") Collection<String> courseCodes);
     @Transactional
     void deleteByUserAndCourseCode(User user, String courseCode);
 }
@@ -0,0 +1,21 @@
+package com.saintplus.course.service;
+
+import com.saintplus.course.dto.RecommendedCourseDto;
+import com.saintplus.user.domain.User;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 운영 트래픽으로 전환하기 전에 섀도 모드로 검증할 후보 추천 엔진.
+ * CourseService.recommendCourses 와 같은 형태("major", "ge" -> 추천 목록)의 결과를 반환해야 합니다.
+ */
+public interface CandidateRecommendationEngine {
+
+    /**
+     * 메트릭 태그로 사용할 엔진 이름
+     */
+    String name();
+
+    Map<String, List<RecommendedCourseDto>> recommendCourses(User user, List<String> cartCourseCodes, List<String> dismissedCourseCodes, Integer semester);
+}
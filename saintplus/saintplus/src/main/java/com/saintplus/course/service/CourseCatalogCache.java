@@ -0,0 +1,79 @@
+package com.saintplus.course.service;
+
+import com.saintplus.course.repository.CourseBatchWriter;
+import com.saintplus.course.repository.CourseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CourseCatalogCache
+ *
+ * 과목 테이블에 있는 과목 코드를 메모리에 들고 있다가, 성적표 저장 때 처음 보는 과목만 골라 넣습니다.
+ * 대부분의 성적표는 이미 아는 과목뿐이라 과목 테이블 조회 없이 끝납니다.
+ *
+ * - 모르는 과목은 CourseBatchWriter 로 "없으면 넣기" 하므로, 다른 인스턴스나 동시 저장이 먼저 넣었어도 충돌하지 않습니다.
+ * - 넣은 코드는 트랜잭션이 커밋된 뒤에만 캐시에 더합니다. (롤백되면 다음 저장에서 다시 넣음)
+ * - 과목은 지우지 않으므로 캐시를 비우지 않습니다. 시작 전에 들어온 저장은 캐시 없이 "없으면 넣기"만 합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CourseCatalogCache {
+
+    private final CourseRepository courseRepository;
+    private final CourseBatchWriter courseBatchWriter;
+    private final Set<String> knownCodes = ConcurrentHashMap.newKeySet();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        knownCodes.addAll(courseRepository.findAllCourseCodes());
+        log.info("Course catalog cache loaded. courses={}", knownCodes.size());
+    }
+
+    /**
+     * 캐시에 없는 과목만 과목 테이블에 넣습니다. (이미 있으면 그대로 둠)
+     *
+     * @param namesByCode 성적표의 과목 코드 -> 과목명
+     * @return 넣기를 시도한 과목 수 (모두 아는 과목이면 0, DB 를 건드리지 않음)
+     */
+    public int ensureCourses(Map<String, String> namesByCode, String userId) {
+        Map<String, String> unknown = new TreeMap<>(); // 코드 순 (CourseBatchWriter 참고)
+        namesByCode.forEach((code, name) -> {
+            if (!knownCodes.contains(code)) {
+                unknown.put(code, name);
+            }
+        });
+        if (unknown.isEmpty()) {
+            return 0;
+        }
+
+        courseBatchWriter.insertIfAbsent(unknown);
+        log.info("New courses from transcript. user={}, count={}, codes={}", userId, unknown.size(), unknown.keySet());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    knownCodes.addAll(unknown.keySet());
+                }
+            });
+        } else {
+            knownCodes.addAll(unknown.keySet());
+        }
+        return unknown.size();
+    }
+
+    boolean isKnown(String courseCode) {
+        return knownCodes.contains(courseCode);
+    }
+}
@@ -2,9 +2,9 @@ package com.saintplus.course.service;
 
 import com.saintplus.course.domain.Course;
 import com.saintplus.course.dto.*;
-import com.saintplus.transcript.domain.Enrollment;
+import com.saintplus.course.domain.PeerTimetable;
 import com.saintplus.course.repository.CourseRepository;
-import com.saintplus.transcript.repository.EnrollmentRepository;
+import com.saintplus.course.repository.PeerTimetableRepository;
 import com.saintplus.course.domain.SavedCourse;
 import com.saintplus.course.repository.SavedCourseRepository;
 import com.saintplus.user.domain.User;
@@ -14,13 +14,14 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.OptionalDouble;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import java.util.Collections;
@@ -40,10 +41,16 @@ import java.util.Collections;
 @RequiredArgsConstructor
 public class CourseService {
 
+    // 한 학기에 장바구니에 담을 수 있는 최대 과목 수
+    public static final int MAX_COURSES_PER_SEMESTER = 8;
+
+    // 전공 과목 코드 접두사 (이 외의 과목은 교양으로 분류)
+    public static final List<String> MAJOR_PREFIXES = List.of("MAT", "PHY", "CHM", "BIO", "EEE", "MEE", "CSE", "CBE", "SSE", "AIE", "ECO", "MGT", "EDU");
+
     // 필수 교양 트랙 정보 (트랙 번호 -> 과목 코드 리스트)
-    private static final Map<Integer, List<String>> GE_TRACKS;
+    static final Map<Integer, List<String>> GE_TRACKS;
     // 과목 코드 -> 트랙 이름 매핑 (추천 결과 표시용)
-    private static final Map<String, String> COURSE_CODE_TO_TRACK_NAME_MAP;
+    static final Map<String, String> COURSE_CODE_TO_TRACK_NAME_MAP;
     // FastAPI 서버 주소
     private static final String AI_SERVER_URL = "http://localhost:8000/recommend";
 
@@ -75,14 +82,18 @@ public class CourseService {
         COURSE_CODE_TO_TRACK_NAME_MAP = Collections.unmodifiableMap(reverseMap);
     }
 
-    private final EnrollmentRepository enrollmentRepository;
-
     private final CourseRepository courseRepository;
 
     private final SavedCourseRepository savedCourseRepository;
 
     private final UserRepository userRepository;
 
+    private final PeerTimetableRepository peerTimetableRepository;
+
+    private final UserAcademicProfileService userAcademicProfileService;
+
+    private final CourseStatisticsService courseStatisticsService;
+
 
 
     public List<Course> getAllCourses() {
@@ -118,7 +129,7 @@ public class CourseService {
                         return RecommendedCourseDto.builder()
                                 .course(course)
                                 .score(item.getScore()) // AI가 계산한 유사도 점수
-                                .studentCount((int) enrollmentRepository.countDistinctUsersByCourseCode(course.getCourseCode()))
+                                .studentCount((int) courseStatisticsService.countDistinctStudents(course.getCourseCode()))
                                 .build();
                     })
                     .filter(java.util.Objects::nonNull)
@@ -136,8 +147,7 @@ public class CourseService {
      * 1학기부터 8학기까지의 분포를 계산합니다.
      */
     public Map<String, Object> getCourseStats(String subjectCode) {
-        List<Enrollment> courses = enrollmentRepository.findByCourseCode(subjectCode);
-        Map<Double, Long> semesterCounts = courses.stream().collect(Collectors.groupingBy(Enrollment::getSemester, Collectors.counting()));
+        Map<Double, Long> semesterCounts = courseStatisticsService.getSemesterHistogram(subjectCode);
         Map<Double, Long> allSemesters = new LinkedHashMap<>();
         
         // 1~8학기 기본값 0으로 초기화
@@ -169,8 +179,7 @@ public class CourseService {
             targetSemesters.addAll(List.of(1, 2)); // 학기 미선택 시 전체
         }
         List<Course> courses = courseRepository.findByCourseCodeStartingWithAndSemesterIn(majorPrefix, targetSemesters);
-        return courses.stream()
-                .map(course -> new CourseStatDto(course.getCourseCode(), course.getCourseName(), enrollmentRepository.countDistinctUsersByCourseCode(course.getCourseCode())))
+        return mapToCourseStatDto(courses).stream()
                 .sorted(Comparator.comparingLong(CourseStatDto::getTotalStudentCount).reversed())
                 .collect(Collectors.toList());
     }
@@ -203,13 +212,6 @@ public class CourseService {
                 .collect(Collectors.toList());
     }
 
-    private int getCurrentSemester(User user) {
-        OptionalDouble maxSemester = enrollmentRepository.findByUser(user).stream()
-                .mapToDouble(Enrollment::getSemester)
-                .max();
-        return (int) Math.ceil(maxSemester.orElse(1.0));
-    }
-
     /**
      * 사용자에게 적합한 과목을 추천합니다.
      * 1. 전공 추천: 사용자의 전공 과목 중, 현재 학기와 가까운 시기에 다른 학생들이 많이 수강한 과목
@@ -222,7 +224,9 @@ public class CourseService {
      * @return 전공 및 교양 추천 목록 맵
      */
     public Map<String, List<RecommendedCourseDto>> recommendCourses(User user, List<String> cartCourseCodes, List<String> dismissedCourseCodes, Integer semester) {
-        int currentUserSemester = getCurrentSemester(user);
+        // 수강 이력은 캐시된 프로필에서 한 번만 조회
+        UserAcademicProfile profile = userAcademicProfileService.getProfile(user);
+        int currentUserSemester = profile.getCurrentSemester();
 
         List<Integer> targetSemesters = new ArrayList<>();
         if (semester != null) {
@@ -231,37 +235,34 @@ public class CourseService {
         targetSemesters.add(3); // Always include common courses
         targetSemesters.add(4); // Always include courses with no specific semester
 
-        List<String> userMajorPrefixes = new ArrayList<>();
-        if (user.getMajor1() != null && !user.getMajor1().isEmpty() && !user.getMajor1().equals("미선택")) {
-            userMajorPrefixes.add(getCoursePrefixForMajor(user.getMajor1()));
-        }
-        if (user.getMajor2() != null && !user.getMajor2().isEmpty() && !user.getMajor2().equals("미선택")) {
-            userMajorPrefixes.add(getCoursePrefixForMajor(user.getMajor2()));
-        }
-        if (user.getMajor3() != null && !user.getMajor3().isEmpty() && !user.getMajor3().equals("미선택")) {
-            userMajorPrefixes.add(getCoursePrefixForMajor(user.getMajor3()));
-        }
+        List<String> userMajorPrefixes = profile.getMajors().stream()
+                .map(this::getCoursePrefixForMajor)
+                .toList();
 
         // 현재 학기에 맞는 과목만 DB에서 조회
         List<Course> allCourses = courseRepository.findBySemesterIn(targetSemesters);
-        List<String> userTakenCourseCodes = enrollmentRepository.findByUser(user).stream()
-                .map(Enrollment::getCourseCode)
-                .toList();
+        Set<String> userTakenCourseCodes = profile.getTakenCourseCodes();
 
         // --- 전공 추천 로직 (Major Recommendations) ---
         List<RecommendedCourseDto> majorRecommendations = new ArrayList<>();
         if (!userMajorPrefixes.isEmpty()) {
             // 접두사 -> 전공명 매핑
             Map<String, String> prefixToMajorNameMap = new HashMap<>();
-            if (user.getMajor1() != null && !user.getMajor1().isEmpty() && !user.getMajor1().equals("미선택")) prefixToMajorNameMap.put(getCoursePrefixForMajor(user.getMajor1()), user.getMajor1());
-            if (user.getMajor2() != null && !user.getMajor2().isEmpty() && !user.getMajor2().equals("미선택")) prefixToMajorNameMap.put(getCoursePrefixForMajor(user.getMajor2()), user.getMajor2());
-            if (user.getMajor3() != null && !user.getMajor3().isEmpty() && !user.getMajor3().equals("미선택")) prefixToMajorNameMap.put(getCoursePrefixForMajor(user.getMajor3()), user.getMajor3());
+            for (String major : profile.getMajors()) {
+                prefixToMajorNameMap.put(getCoursePrefixForMajor(major), major);
+            }
 
-            majorRecommendations = allCourses.stream()
+            List<Course> majorCandidates = allCourses.stream()
                     .filter(course -> userMajorPrefixes.stream().anyMatch(prefix -> !prefix.isEmpty() && course.getCourseCode().startsWith(prefix)))
                     .filter(course -> !userTakenCourseCodes.contains(course.getCourseCode()))
                     .filter(course -> !cartCourseCodes.contains(course.getCourseCode()))
                     .filter(course -> !dismissedCourseCodes.contains(course.getCourseCode()))
+                    .toList();
+            // 후보 과목들의 수강 학기 분포를 한 번에 조회 (hot + 보관 집계)
+            Map<String, Map<Double, Long>> histograms = courseStatisticsService.getSemesterHistograms(
+                    majorCandidates.stream().map(Course::getCourseCode).toList(), null);
+
+            majorRecommendations = majorCandidates.stream()
                     .map(course -> {
                         String majorName = prefixToMajorNameMap.entrySet().stream()
                                 .filter(entry -> course.getCourseCode().startsWith(entry.getKey()))
@@ -278,17 +279,16 @@ public class CourseService {
                                     .majorName(majorName)
                                     .build();
                         }
-                        List<Enrollment> allTakes = enrollmentRepository.findByCourseCode(course.getCourseCode());
+                        Map<Double, Long> histogram = histograms.getOrDefault(course.getCourseCode(), Map.of());
+                        long totalTakes = CourseStatisticsService.totalEnrollments(histogram);
                         // 점수 계산: (1 / (1 + |내 학기 - 수강생 학기|)) 의 합
                         // 즉, 나와 비슷한 학기에 수강한 사람이 많을수록 점수가 높음
-                        double score = allTakes.stream()
-                                .mapToDouble(sc -> 1.0 / (1.0 + Math.abs(currentUserSemester - sc.getSemester())))
-                                .sum();
-                        double averageProximity = allTakes.isEmpty() ? 0 : score / allTakes.size();
+                        double score = CourseStatisticsService.proximityScore(histogram, currentUserSemester);
+                        double averageProximity = totalTakes == 0 ? 0 : score / totalTakes;
                         return RecommendedCourseDto.builder()
                                 .course(course)
                                 .score(score)
-                                .studentCount(allTakes.size())
+                                .studentCount((int) totalTakes)
                                 .averageProximityScore(averageProximity)
                                 .majorName(majorName)
                                 .build();
@@ -303,11 +303,9 @@ public class CourseService {
 
         // 1. 미이수 트랙 확인
         List<Integer> uncompletedTracks = new ArrayList<>();
-        for (Map.Entry<Integer, List<String>> entry : GE_TRACKS.entrySet()) {
-            boolean completed = userTakenCourseCodes.stream()
-                    .anyMatch(takenCode -> entry.getValue().contains(takenCode));
-            if (!completed) {
-                uncompletedTracks.add(entry.getKey());
+        for (Integer trackNumber : GE_TRACKS.keySet()) {
+            if (!profile.isTrackCompleted(trackNumber)) {
+                uncompletedTracks.add(trackNumber);
             }
         }
 
@@ -318,14 +316,20 @@ public class CourseService {
                     .flatMap(trackNum -> GE_TRACKS.get(trackNum).stream())
                     .toList();
 
-            geRecommendations = allCourses.stream()
+            List<Course> geCandidates = allCourses.stream()
                     .filter(course -> codesForUncompletedTracks.contains(course.getCourseCode()))
                     .filter(course -> !userTakenCourseCodes.contains(course.getCourseCode()))
                     .filter(course -> !cartCourseCodes.contains(course.getCourseCode()))
                     .filter(course -> !dismissedCourseCodes.contains(course.getCourseCode()))
+                    .toList();
+            Map<String, Map<Double, Long>> histograms = courseStatisticsService.getSemesterHistograms(
+                    geCandidates.stream().map(Course::getCourseCode).toList(), null);
+
+            geRecommendations = geCandidates.stream()
                     .map(course -> {
                         String trackName = COURSE_CODE_TO_TRACK_NAME_MAP.get(course.getCourseCode());
-                        int studentCount = enrollmentRepository.findByCourseCode(course.getCourseCode()).size();
+                        int studentCount = (int) CourseStatisticsService.totalEnrollments(
+                                histograms.getOrDefault(course.getCourseCode(), Map.of()));
                         return RecommendedCourseDto.builder()
                                 .course(course)
                                 .score(0)
@@ -339,14 +343,19 @@ public class CourseService {
                     .collect(Collectors.toList());
         } else {
             // Case 2: 모든 트랙 이수 완료 -> 일반 교양 추천 (전공 제외)
-            List<String> allMajorPrefixes = List.of("MAT", "PHY", "CHM", "BIO", "EEE", "MEE", "CSE", "CBE", "SSE", "AIE", "ECO", "MGT", "EDU");
             final boolean useMajorFilteredRecommendations = user.getMajor1() != null && !user.getMajor1().isEmpty() && !user.getMajor1().equals("미선택");
 
-            geRecommendations = allCourses.stream()
-                    .filter(course -> allMajorPrefixes.stream().noneMatch(prefix -> course.getCourseCode().startsWith(prefix)))
+            List<Course> geCandidates = allCourses.stream()
+                    .filter(course -> MAJOR_PREFIXES.stream().noneMatch(prefix -> course.getCourseCode().startsWith(prefix)))
                     .filter(course -> !userTakenCourseCodes.contains(course.getCourseCode()))
                     .filter(course -> !cartCourseCodes.contains(course.getCourseCode()))
                     .filter(course -> !dismissedCourseCodes.contains(course.getCourseCode()))
+                    .toList();
+            Map<String, Map<Double, Long>> histograms = courseStatisticsService.getSemesterHistograms(
+                    geCandidates.stream().map(Course::getCourseCode).toList(),
+                    useMajorFilteredRecommendations ? user.getMajor1() : null);
+
+            geRecommendations = geCandidates.stream()
                     .map(course -> {
                         if (course.getSemester() != null && course.getSemester() == 4) {
                             return RecommendedCourseDto.builder()
@@ -356,20 +365,14 @@ public class CourseService {
                                     .averageProximityScore(0)
                                     .build();
                         }
-                        List<Enrollment> allTakes;
-                        if (useMajorFilteredRecommendations) {
-                            allTakes = enrollmentRepository.findByCourseCodeAndUserMajor1(course.getCourseCode(), user.getMajor1());
-                        } else {
-                            allTakes = enrollmentRepository.findByCourseCode(course.getCourseCode());
-                        }
-                        double score = allTakes.stream()
-                                .mapToDouble(sc -> 1.0 / (1.0 + Math.abs(currentUserSemester - sc.getSemester())))
-                                .sum();
-                        double averageProximity = allTakes.isEmpty() ? 0 : score / allTakes.size();
+                        Map<Double, Long> histogram = histograms.getOrDefault(course.getCourseCode(), Map.of());
+                        long totalTakes = CourseStatisticsService.totalEnrollments(histogram);
+                        double score = CourseStatisticsService.proximityScore(histogram, currentUserSemester);
+                        double averageProximity = totalTakes == 0 ? 0 : score / totalTakes;
                         return RecommendedCourseDto.builder()
                                 .course(course)
                                 .score(score)
-                                .studentCount(allTakes.size())
+                                .studentCount((int) totalTakes)
                                 .averageProximityScore(averageProximity)
                                 .build();
                     })
@@ -419,14 +422,59 @@ public class CourseService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new IllegalArgumentException("User not found: " + username));
         // 한 학기 최대 8과목 제한
-        if (savedCourseRepository.countByUserAndTargetSemester(user, targetSemester) >= 8) {
+        if (savedCourseRepository.countByUserAndTargetSemester(user, targetSemester) >= MAX_COURSES_PER_SEMESTER) {
             throw new IllegalStateException("한 학기에는 최대 8과목까지 담을 수 있습니다.");
         }
         if (savedCourseRepository.existsByUserAndCourseCode(user, courseCode)) {
             throw new IllegalStateException("이미 장바구니에 담긴 과목입니다.");
         }
-        SavedCourse savedCourse = new SavedCourse(user, courseCode, courseName, targetSemester);
-        return savedCourseRepository.save(savedCourse);
+        SavedCourse savedCourse = savedCourseRepository.save(new SavedCourse(user, courseCode, courseName, targetSemester));
+        userAcademicProfileService.evict(user.getId());
+        return savedCourse;
+    }
+
+    /**
+     * 선배 시간표 한 학기를 통째로 장바구니에 담습니다.
+     * 학기당 8과목 제한과 중복 여부를 한 번의 조회로 검증하고, 하나의 트랜잭션에서 일괄 저장합니다.
+     * 이미 장바구니에 있는 과목은 건너뜁니다.
+     */
+    @Transactional
+    public Map<String, Object> copyPeerTimetableToCart(User user, Long timetableId, String targetSemester) {
+        // 대상 학기가 없으면 학기당 8과목 제한을 검사할 수 없으므로 받지 않음
+        if (targetSemester == null || targetSemester.isBlank()) {
+            throw new IllegalArgumentException("targetSemester is required.");
+        }
+        PeerTimetable timetable = peerTimetableRepository.findById(timetableId)
+                .orElseThrow(() -> new IllegalArgumentException("Timetable not found: " + timetableId));
+        List<String> courseCodes = timetable.getCourseCodeList().stream().distinct().toList();
+
+        List<SavedCourse> existing = savedCourseRepository.findForBulkAdd(user, targetSemester, courseCodes);
+        long countInTargetSemester = existing.stream()
+                .filter(sc -> targetSemester.equals(sc.getTargetSemester()))
+                .count();
+        Set<String> alreadySaved = existing.stream()
+                .map(SavedCourse::getCourseCode)
+                .collect(Collectors.toSet());
+
+        List<String> toAdd = courseCodes.stream()
+                .filter(code -> !alreadySaved.contains(code))
+                .toList();
+        if (countInTargetSemester + toAdd.size() > MAX_COURSES_PER_SEMESTER) {
+            throw new IllegalStateException("한 학기에는 최대 8과목까지 담을 수 있습니다.");
+        }
+
+        Map<String, String> courseNames = courseRepository.findAllById(toAdd).stream()
+                .collect(Collectors.toMap(Course::getCourseCode, Course::getCourseName));
+        List<SavedCourse> newSavedCourses = toAdd.stream()
+                .map(code -> new SavedCourse(user, code, courseNames.getOrDefault(code, code), targetSemester))
+                .toList();
+        savedCourseRepository.saveAll(newSavedCourses);
+        userAcademicProfileService.evict(user.getId());
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("addedCourses", toAdd);
+        response.put("skippedCourses", courseCodes.stream().filter(alreadySaved::contains).toList());
+        return response;
     }
 
     @Transactional
@@ -434,20 +482,16 @@ public class CourseService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new IllegalArgumentException("User not found: " + username));
         savedCourseRepository.deleteByUserAndCourseCode(user, courseCode);
+        userAcademicProfileService.evict(user.getId());
     }
 
     /**
      * 사용자가 필수 교양 트랙 중 미이수한 트랙이 있는지 확인합니다.
      */
     public boolean hasUncompletedTracks(User user) {
-        List<String> userTakenCourseCodes = enrollmentRepository.findByUser(user).stream()
-                .map(Enrollment::getCourseCode)
-                .toList();
-
-        for (Map.Entry<Integer, List<String>> entry : GE_TRACKS.entrySet()) {
-            boolean completed = userTakenCourseCodes.stream()
-                    .anyMatch(takenCode -> entry.getValue().contains(takenCode));
-            if (!completed) {
+        UserAcademicProfile profile = userAcademicProfileService.getProfile(user);
+        for (Integer trackNumber : GE_TRACKS.keySet()) {
+            if (!profile.isTrackCompleted(trackNumber)) {
                 return true; // Found an uncompleted track
             }
         }
@@ -459,26 +503,33 @@ public class CourseService {
      */
     @Transactional(readOnly = true)
     public Map<String, Object> getResultsData(User user) {
-        // 1. 수강 완료한 과목 조회 및 처리
-        List<Enrollment> takenCourses = enrollmentRepository.findByUser(user).stream()
-                .filter(c -> c.getSemester() > 0)
-                .toList();
-
-        // 학기별로 과목 그룹화
-        Map<Double, List<CourseAnalysisData>> coursesBySemesterNumber = takenCourses.stream()
-                .collect(Collectors.groupingBy(Enrollment::getSemester,
-                        java.util.TreeMap::new,
-                        Collectors.mapping(sc -> {
-                            String courseCode = sc.getCourseCode();
-                            String actualCourseName = courseRepository.findById(courseCode)
-                                    .map(Course::getCourseName)
-                                    .orElse(courseCode);
-                            return new CourseAnalysisData(String.valueOf(sc.getSemester()), courseCode, actualCourseName);
-                        }, Collectors.toList())));
+        // 1. 수강 완료한 과목 조회 및 처리 (프로필에 학기 오름차순으로 그룹화되어 있음)
+        Map<Double, List<String>> takenCoursesBySemester = userAcademicProfileService.getProfile(user).getTakenCoursesBySemester();
+
+        // 과목 이름, 수강 학기 분포, 수강생 수를 과목 수와 관계없이 한 번씩만 조회
+        Set<String> takenCourseCodes = takenCoursesBySemester.values().stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toSet());
+        Map<String, String> courseNames = courseRepository.findAllById(takenCourseCodes).stream()
+                .collect(Collectors.toMap(Course::getCourseCode, Course::getCourseName));
+        Map<String, Map<Double, Long>> histograms = courseStatisticsService.getSemesterHistograms(takenCourseCodes, null);
+        Map<String, Long> studentCounts = courseStatisticsService.countDistinctStudents(takenCourseCodes);
 
         Map<String, List<CourseAnalysisData>> coursesForModel = new LinkedHashMap<>();
 
-        coursesBySemesterNumber.forEach((semester, courses) -> {
+        takenCoursesBySemester.forEach((semester, courseCodes) -> {
+            if (semester <= 0) {
+                return;
+            }
+            List<CourseAnalysisData> courses = courseCodes.stream()
+                    .map(courseCode -> {
+                        CourseAnalysisData data = new CourseAnalysisData(String.valueOf(semester), courseCode,
+                                courseNames.getOrDefault(courseCode, courseCode));
+                        fillPeerStatistics(data, histograms.getOrDefault(courseCode, Map.of()),
+                                studentCounts.getOrDefault(courseCode, 0L));
+                        return data;
+                    })
+                    .collect(Collectors.toList());
             String semesterKey = (semester % 1 == 0)
                     ? String.format("%.0f학기", semester)
                     : String.format("%.1f학기", semester);
@@ -486,7 +537,7 @@ public class CourseService {
         });
 
         // 2. 장바구니(계획) 과목 조회 및 처리
-        List<SavedCourse> savedCourses = getSavedCourses(user.getUsername());
+        List<SavedCourse> savedCourses = savedCourseRepository.findByUser(user);
         Map<String, List<SavedCourse>> savedCoursesBySemester = savedCourses.stream()
                 .filter(sc -> sc.getTargetSemester() != null && !sc.getTargetSemester().isEmpty())
                 .collect(Collectors.groupingBy(SavedCourse::getTargetSemester));
@@ -509,6 +560,24 @@ public class CourseService {
         return response;
     }
 
+    /**
+     * 수강생 수, 가장 많이 수강한 학기와 그 학기 수강 비율(%)을 채웁니다.
+     */
+    private static void fillPeerStatistics(CourseAnalysisData data, Map<Double, Long> histogram, long studentCount) {
+        long totalEnrollments = CourseStatisticsService.totalEnrollments(histogram);
+        data.setTotalStudents(studentCount);
+        if (totalEnrollments == 0) {
+            return;
+        }
+
+        Map.Entry<Double, Long> mostFrequent = histogram.entrySet().stream()
+                .max(Map.Entry.<Double, Long>comparingByValue().thenComparing(Map.Entry.<Double, Long>comparingByKey(Comparator.reverseOrder())))
+                .orElseThrow();
+        data.setMostFrequentSemester(mostFrequent.getKey());
+        data.setCountInMostFrequentSemester(mostFrequent.getValue());
+        data.setPercentage(mostFrequent.getValue() * 100.0 / totalEnrollments);
+    }
+
     /**
      * 전체 과목 조회 및 필터링 데이터를 반환합니다.
      */
@@ -549,15 +618,83 @@ public class CourseService {
         return response;
     }
 
+    /**
+     * 장바구니 대상 학기 선택지(향후 5년, 시작 학기)를 반환합니다.
+     */
+    public Map<String, Object> getFutureSemesterOptions(User user) {
+        int[] start = getFirstFutureSemester(user);
+
+        List<Integer> years = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            years.add(start[0] + i);
+        }
+
+        return Map.of("futureYears", years, "startSemester", start[1]);
+    }
+
+    /**
+     * 다음 정규 학기부터 count개의 대상 학기 문자열(예: "2026-1")을 순서대로 반환합니다.
+     */
+    public List<String> getFutureTargetSemesters(User user, int count) {
+        int[] start = getFirstFutureSemester(user);
+        int year = start[0];
+        int semester = start[1];
+
+        List<String> targetSemesters = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            targetSemesters.add(year + "-" + semester);
+            if (semester == 2) {
+                year++;
+                semester = 1;
+            } else {
+                semester = 2;
+            }
+        }
+        return targetSemesters;
+    }
+
+    // {시작 연도, 시작 학기(1 or 2)}
+    private int[] getFirstFutureSemester(User user) {
+        int startYear;
+        int startSemester;
+
+        String lastSemester = user.getLastSemester(); // e.g., "2025-2"
+
+        if (lastSemester != null && lastSemester.matches("\\d{4}-[12SW]")) {
+            String[] parts = lastSemester.split("-");
+            int lastYear = Integer.parseInt(parts[0]);
+            String lastSem = parts[1];
+
+            if (lastSem.equals("2") || lastSem.equals("W")) {
+                startYear = lastYear + 1;
+                startSemester = 1;
+            } else { // "1" or "S"
+                startYear = lastYear;
+                startSemester = 2;
+            }
+        } else {
+            LocalDate today = LocalDate.now();
+            startYear = today.getYear();
+            int currentMonth = today.getMonthValue();
+            startSemester = (currentMonth >= 3 && currentMonth <= 8) ? 2 : 1;
+            if (startSemester == 1 && currentMonth > 8) {
+                startYear++;
+            }
+        }
+        return new int[]{startYear, startSemester};
+    }
+
     /**
      * Course 리스트를 CourseStatDto 리스트로 변환합니다.
      */
     private List<CourseStatDto> mapToCourseStatDto(List<Course> courseMappings) {
+        Map<String, Long> studentCounts = courseStatisticsService.countDistinctStudents(
+                courseMappings.stream().map(Course::getCourseCode).toList());
         return courseMappings.stream()
                 .map(course -> new CourseStatDto(
                         course.getCourseCode(),
                         course.getCourseName(),
-                        enrollmentRepository.countDistinctUsersByCourseCode(course.getCourseCode())))
+                        studentCounts.getOrDefault(course.getCourseCode(), 0L)))
                 .collect(Collectors.toList());
     }
 }
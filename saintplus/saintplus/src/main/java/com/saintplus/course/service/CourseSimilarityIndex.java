@@ -0,0 +1,194 @@
+package com.saintplus.course.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * CourseSimilarityIndex
+ *
+ * python_code/export_embeddings.py 가 내보낸 과목 임베딩 행렬을 읽어,
+ * 모든 과목의 코사인 유사도 상위 k개 이웃을 시작 시점에 병렬로 미리 계산해 둡니다.
+ * 결과는 과목당 k칸씩 이어 붙인 인접 배열(int[] 이웃 번호, float[] 점수)로 보관하므로
+ * 조회는 AI 서버 호출 없이 O(k) 입니다.
+ */
+@Slf4j
+@Component
+public class CourseSimilarityIndex {
+
+    private static final int MAGIC = 0x5350454D; // "SPEM"
+
+    private final String embeddingsPath;
+    private final int neighborCount;
+
+    private volatile Graph graph = Graph.EMPTY;
+
+    /**
+     * 이웃 그래프 스냅샷. i번째 과목의 이웃은 neighbors[i*k .. i*k+k) 에 점수 내림차순으로 저장됩니다.
+     * 이웃이 k개보다 적으면 나머지 칸은 -1 입니다.
+     */
+    private record Graph(String[] codes, Map<String, Integer> indexByCode, int k, int[] neighbors, float[] scores) {
+        static final Graph EMPTY = new Graph(new String[0], Map.of(), 0, new int[0], new float[0]);
+    }
+
+    public record Neighbor(String courseCode, double score) {}
+
+    public CourseSimilarityIndex(
+            @Value("${saintplus.similarity.embeddings-path:}") String embeddingsPath,
+            @Value("${saintplus.similarity.neighbors:10}") int neighborCount
+    ) {
+        this.embeddingsPath = embeddingsPath;
+        this.neighborCount = neighborCount;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (embeddingsPath == null || embeddingsPath.isBlank()) {
+            log.info("Course similarity index disabled (saintplus.similarity.embeddings-path not set).");
+            return;
+        }
+
+        Path path = Path.of(embeddingsPath);
+        if (!Files.exists(path)) {
+            log.warn("Course embeddings file not found. path={}", path);
+            return;
+        }
+
+        try (InputStream in = Files.newInputStream(path)) {
+            long startedAt = System.currentTimeMillis();
+            load(in);
+            log.info("Course similarity index built. courses={}, k={}, elapsedMs={}",
+                    graph.codes().length, graph.k(), System.currentTimeMillis() - startedAt);
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to build course similarity index. path={}", path, e);
+        }
+    }
+
+    /**
+     * 임베딩 바이너리를 읽어 이웃 그래프를 새로 만듭니다. 기존 그래프는 완성된 뒤 한 번에 교체됩니다.
+     */
+    public void load(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Invalid course embeddings file (bad magic)");
+        }
+        int version = in.readInt();
+        if (version != 1) {
+            throw new IOException("Unsupported course embeddings version: " + version);
+        }
+
+        int count = in.readInt();
+        int dim = in.readInt();
+
+        String[] codes = new String[count];
+        Map<String, Integer> indexByCode = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            byte[] code = new byte[in.readUnsignedShort()];
+            in.readFully(code);
+            codes[i] = new String(code, StandardCharsets.UTF_8);
+            indexByCode.putIfAbsent(codes[i], i);
+        }
+
+        float[] vectors = new float[count * dim];
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = in.readFloat();
+        }
+
+        this.graph = build(codes, indexByCode, vectors, dim, Math.min(neighborCount, Math.max(count - 1, 0)));
+    }
+
+    private static Graph build(String[] codes, Map<String, Integer> indexByCode, float[] vectors, int dim, int k) {
+        int count = codes.length;
+        if (k == 0) {
+            return new Graph(codes, Collections.unmodifiableMap(indexByCode), 0, new int[0], new float[0]);
+        }
+
+        // 단위 벡터로 정규화해 두면 코사인 유사도 = 내적
+        for (int i = 0; i < count; i++) {
+            double norm = 0;
+            for (int d = 0; d < dim; d++) {
+                float v = vectors[i * dim + d];
+                norm += v * v;
+            }
+            float inv = norm == 0 ? 0f : (float) (1.0 / Math.sqrt(norm));
+            for (int d = 0; d < dim; d++) {
+                vectors[i * dim + d] *= inv;
+            }
+        }
+
+        int[] neighbors = new int[count * k];
+        float[] scores = new float[count * k];
+        Arrays.fill(neighbors, -1);
+        Arrays.fill(scores, Float.NEGATIVE_INFINITY);
+
+        // 과목(행)마다 독립적으로 상위 k개를 구하므로 행 단위로 병렬 처리
+        IntStream.range(0, count).parallel().forEach(i -> {
+            int base = i * k;
+            int rowOffset = i * dim;
+            for (int j = 0; j < count; j++) {
+                if (j == i) continue;
+
+                float dot = 0f;
+                int colOffset = j * dim;
+                for (int d = 0; d < dim; d++) {
+                    dot += vectors[rowOffset + d] * vectors[colOffset + d];
+                }
+
+                // k칸짜리 정렬 배열에 삽입 (k가 작으므로 힙보다 단순하고 빠름)
+                if (dot <= scores[base + k - 1]) continue;
+                int pos = k - 1;
+                while (pos > 0 && scores[base + pos - 1] < dot) {
+                    scores[base + pos] = scores[base + pos - 1];
+                    neighbors[base + pos] = neighbors[base + pos - 1];
+                    pos--;
+                }
+                scores[base + pos] = dot;
+                neighbors[base + pos] = j;
+            }
+        });
+
+        return new Graph(codes, Collections.unmodifiableMap(indexByCode), k, neighbors, scores);
+    }
+
+    public boolean isReady() {
+        return graph.codes().length > 0;
+    }
+
+    /**
+     * 미리 계산된 유사 과목을 점수 내림차순으로 최대 limit개 반환합니다. (O(k))
+     */
+    public List<Neighbor> findNeighbors(String courseCode, int limit) {
+        Graph current = graph;
+        Integer index = current.indexByCode().get(courseCode);
+        if (index == null || current.k() == 0) {
+            return List.of();
+        }
+
+        int size = Math.max(0, Math.min(limit, current.k()));
+        Neighbor[] result = new Neighbor[size];
+        int found = 0;
+        int base = index * current.k();
+        for (int n = 0; n < size; n++) {
+            int neighbor = current.neighbors()[base + n];
+            if (neighbor < 0) break;
+            result[found++] = new Neighbor(current.codes()[neighbor], current.scores()[base + n]);
+        }
+        return Arrays.asList(Arrays.copyOf(result, found));
+    }
+}
@@ -0,0 +1,113 @@
+package com.saintplus.course.service;
+
+import com.saintplus.transcript.domain.CourseArchiveHistogram;
+import com.saintplus.transcript.domain.CourseArchiveStudentCount;
+import com.saintplus.transcript.dto.CourseSemesterCount;
+import com.saintplus.transcript.dto.CourseStudentCount;
+import com.saintplus.transcript.repository.CourseArchiveHistogramRepository;
+import com.saintplus.transcript.repository.CourseArchiveStudentCountRepository;
+import com.saintplus.transcript.repository.EnrollmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * CourseStatisticsService
+ *
+ * 과목 통계(수강 학기 분포, 수강생 수)를 활성 사용자의 semester_course(hot) 집계와
+ * 보관된 사용자의 집계 테이블(course_archive_*)을 합쳐서 반환합니다.
+ * 통계를 쓰는 코드는 수강 이력이 어느 쪽에 있는지 알 필요가 없습니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class CourseStatisticsService {
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final CourseArchiveHistogramRepository courseArchiveHistogramRepository;
+    private final CourseArchiveStudentCountRepository courseArchiveStudentCountRepository;
+
+    /**
+     * 과목별 수강 학기 분포 (과목 코드 -> 학기 순번 -> 수강 건수, 학기 오름차순)
+     *
+     * @param major1 수강생의 1전공으로 제한할 때 지정 (null 이면 전체)
+     */
+    public Map<String, Map<Double, Long>> getSemesterHistograms(Collection<String> courseCodes, String major1) {
+        Map<String, Map<Double, Long>> histograms = new HashMap<>();
+        if (courseCodes.isEmpty()) {
+            return histograms;
+        }
+
+        List<CourseSemesterCount> hotRows = major1 == null
+                ? enrollmentRepository.countBySemesterForCourses(courseCodes)
+                : enrollmentRepository.countBySemesterForCoursesAndMajor1(courseCodes, major1);
+        for (CourseSemesterCount row : hotRows) {
+            histograms.computeIfAbsent(row.getCourseCode(), k -> new TreeMap<>())
+                    .merge(row.getSemester(), row.getStudentCount(), Long::sum);
+        }
+
+        List<CourseArchiveHistogram> archivedRows = major1 == null
+                ? courseArchiveHistogramRepository.findByCourseCodeIn(courseCodes)
+                : courseArchiveHistogramRepository.findByCourseCodeInAndMajor1(courseCodes, major1);
+        for (CourseArchiveHistogram row : archivedRows) {
+            if (row.getEnrollmentCount() == 0) continue;
+            histograms.computeIfAbsent(row.getCourseCode(), k -> new TreeMap<>())
+                    .merge(row.getSemester(), row.getEnrollmentCount(), Long::sum);
+        }
+        return histograms;
+    }
+
+    public Map<Double, Long> getSemesterHistogram(String courseCode) {
+        return getSemesterHistograms(List.of(courseCode), null).getOrDefault(courseCode, new TreeMap<>());
+    }
+
+    /**
+     * 과목별 서로 다른 수강생 수 (과목 코드 -> 수강생 수, 수강생이 없는 과목은 포함되지 않음)
+     */
+    public Map<String, Long> countDistinctStudents(Collection<String> courseCodes) {
+        Map<String, Long> counts = new HashMap<>();
+        if (courseCodes.isEmpty()) {
+            return counts;
+        }
+
+        for (CourseStudentCount row : enrollmentRepository.countDistinctUsersByCourseCodes(courseCodes)) {
+            counts.merge(row.getCourseCode(), row.getStudentCount(), Long::sum);
+        }
+        // 한 학생은 hot / 보관 중 한쪽에만 있으므로 그대로 더함
+        for (CourseArchiveStudentCount row : courseArchiveStudentCountRepository.findByCourseCodeIn(courseCodes)) {
+            if (row.getStudentCount() == 0) continue;
+            counts.merge(row.getCourseCode(), row.getStudentCount(), Long::sum);
+        }
+        return counts;
+    }
+
+    public long countDistinctStudents(String courseCode) {
+        return countDistinctStudents(List.of(courseCode)).getOrDefault(courseCode, 0L);
+    }
+
+    /**
+     * 수강 학기 분포의 전체 수강 건수
+     */
+    public static long totalEnrollments(Map<Double, Long> histogram) {
+        long total = 0;
+        for (long count : histogram.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * 학기 근접도 점수: 수강 건수마다 1 / (1 + |기준 학기 - 수강 학기|) 를 더한 값
+     */
+    public static double proximityScore(Map<Double, Long> histogram, int currentSemester) {
+        double score = 0;
+        for (Map.Entry<Double, Long> entry : histogram.entrySet()) {
+            score += entry.getValue() / (1.0 + Math.abs(currentSemester - entry.getKey()));
+        }
+        return score;
+    }
+}
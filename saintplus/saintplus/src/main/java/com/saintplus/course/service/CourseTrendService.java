@@ -0,0 +1,214 @@
+package com.saintplus.course.service;
+
+import com.saintplus.course.domain.Course;
+import com.saintplus.course.dto.CourseTrendDto;
+import com.saintplus.course.repository.CourseRepository;
+import com.saintplus.transcript.domain.CourseTermCount;
+import com.saintplus.transcript.dto.CourseTermRow;
+import com.saintplus.transcript.dto.EnrollmentDeltaEvent;
+import com.saintplus.transcript.dto.SemesterInfo;
+import com.saintplus.transcript.repository.ArchivedEnrollmentRepository;
+import com.saintplus.transcript.repository.CourseTermCountRepository;
+import com.saintplus.transcript.repository.CourseTermCountWriter;
+import com.saintplus.transcript.repository.EnrollmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * CourseTrendService
+ *
+ * (과목, 실제 학기) 수강 건수 집계(course_term_count)를 관리하고, 이를 이용해 최근 N학기 인기 추이를 계산합니다.
+ * 추이 조회는 수강 이력을 읽지 않고 집계만 읽으므로 과목당 O(학기 수) 입니다.
+ *
+ * - 기간(window)은 정규 학기 기준이며, 사이의 계절학기 수강도 포함합니다.
+ * - 감쇠 점수 = Σ 수강 건수 × decay^(몇 학기 전인지). 계절학기는 바로 앞 정규 학기와 같은 나이로 봅니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CourseTrendService {
+
+    public static final int MAX_WINDOW = 16;
+
+    private final CourseTermCountRepository courseTermCountRepository;
+    private final CourseTermCountWriter courseTermCountWriter;
+    private final EnrollmentRepository enrollmentRepository;
+    private final ArchivedEnrollmentRepository archivedEnrollmentRepository;
+    private final CourseRepository courseRepository;
+
+    /**
+     * 성적표 저장으로 바뀐 수강 이력만큼 집계를 고칩니다. (저장과 같은 트랜잭션에서 동기로 호출됨)
+     */
+    @EventListener
+    public void onEnrollmentDelta(EnrollmentDeltaEvent event) {
+        apply(event.termCountDelta());
+    }
+
+    /**
+     * 집계에 증감분을 반영합니다. (과목 코드 -> term -> 증감, term 이 0 이하인 값은 무시)
+     * 읽고 더해서 저장하지 않고 DB 에서 한 문장으로 더하므로 동시에 저장되는 성적표끼리 증감분을 덮어쓰지 않습니다.
+     */
+    @Transactional
+    public void apply(Map<String, Map<Integer, Long>> delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        courseTermCountWriter.add(delta);
+    }
+
+    /**
+     * 집계 테이블이 비어 있으면 저장된 수강 이력(hot + 보관)으로 한 번 채웁니다.
+     * term 이 없는(0) 예전 수강 이력은 실제 학기를 알 수 없으므로 포함되지 않습니다.
+     * 여러 노드가 동시에 빈 테이블을 보고 시작해도 두 배가 되지 않도록 더하지 않고 전체 값으로 덮어씁니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildIfEmpty() {
+        if (courseTermCountRepository.count() > 0) {
+            return;
+        }
+
+        Map<String, Map<Integer, Long>> counts = new HashMap<>();
+        List<CourseTermRow> rows = new ArrayList<>(enrollmentRepository.countByCourseAndTerm());
+        rows.addAll(archivedEnrollmentRepository.countByCourseAndTerm());
+        for (CourseTermRow row : rows) {
+            counts.computeIfAbsent(row.getCourseCode(), k -> new HashMap<>())
+                    .merge(row.getTerm(), row.getEnrollmentCount(), Long::sum);
+        }
+        courseTermCountWriter.replace(counts);
+        log.info("Course term counts rebuilt. courses={}", counts.size());
+    }
+
+    /**
+     * 한 과목의 최근 window 학기 추이
+     *
+     * @param endTerm 기준 학기 (예: "2025-2"), null 이면 오늘 날짜 기준 최근 정규 학기
+     * @throws IllegalArgumentException endTerm 이 "연도-학기" 형식이 아닌 경우
+     */
+    @Transactional(readOnly = true)
+    public CourseTrendDto getCourseTrend(String courseCode, int window, double decay, String endTerm) {
+        Map<Integer, Integer> ageByRegularTerm = regularTerms(endTerm, window);
+        int fromTerm = minKey(ageByRegularTerm);
+        int toTerm = nextRegularTerm(maxKey(ageByRegularTerm)) - 1; // 기준 학기 뒤의 계절학기까지
+
+        List<CourseTermCount> rows = courseTermCountRepository.findByCourseCodeAndTermBetween(courseCode, fromTerm, toTerm);
+        String courseName = courseRepository.findById(courseCode).map(Course::getCourseName).orElse(courseCode);
+        return toTrend(courseCode, courseName, rows, ageByRegularTerm, decay, true);
+    }
+
+    /**
+     * 최근 window 학기 동안 감쇠 점수가 높은 과목 목록
+     */
+    @Transactional(readOnly = true)
+    public List<CourseTrendDto> getTrendingCourses(int window, double decay, int limit, String endTerm) {
+        Map<Integer, Integer> ageByRegularTerm = regularTerms(endTerm, window);
+        int fromTerm = minKey(ageByRegularTerm);
+        int toTerm = nextRegularTerm(maxKey(ageByRegularTerm)) - 1;
+
+        Map<String, List<CourseTermCount>> rowsByCourse = courseTermCountRepository.findByTermBetween(fromTerm, toTerm).stream()
+                .collect(Collectors.groupingBy(CourseTermCount::getCourseCode));
+
+        List<CourseTrendDto> ranked = rowsByCourse.entrySet().stream()
+                .map(entry -> toTrend(entry.getKey(), null, entry.getValue(), ageByRegularTerm, decay, false))
+                .sorted(Comparator.comparingDouble(CourseTrendDto::getDecayedScore).reversed())
+                .limit(limit)
+                .toList();
+
+        Map<String, String> names = courseRepository.findAllById(ranked.stream().map(CourseTrendDto::getCourseCode).toList()).stream()
+                .collect(Collectors.toMap(Course::getCourseCode, Course::getCourseName));
+        return ranked.stream()
+                .map(dto -> new CourseTrendDto(dto.getCourseCode(), names.getOrDefault(dto.getCourseCode(), dto.getCourseCode()),
+                        dto.getCountByTerm(), dto.getWindowCount(), dto.getDecayedScore()))
+                .toList();
+    }
+
+    private static CourseTrendDto toTrend(String courseCode, String courseName, List<CourseTermCount> rows,
+                                          Map<Integer, Integer> ageByRegularTerm, double decay, boolean withSeries) {
+        TreeMap<Integer, Long> countByTerm = new TreeMap<>();
+        if (withSeries) {
+            ageByRegularTerm.keySet().forEach(term -> countByTerm.put(term, 0L)); // 수강이 없는 정규 학기도 0으로 표시
+        }
+
+        long windowCount = 0;
+        double decayedScore = 0;
+        for (CourseTermCount row : rows) {
+            int term = row.getTerm();
+            if (row.getEnrollmentCount() <= 0) continue;
+
+            int age = ageOf(term, ageByRegularTerm);
+            windowCount += row.getEnrollmentCount();
+            decayedScore += row.getEnrollmentCount() * Math.pow(decay, age);
+            if (withSeries) {
+                countByTerm.merge(term, row.getEnrollmentCount(), Long::sum);
+            }
+        }
+
+        Map<String, Long> series = new LinkedHashMap<>();
+        countByTerm.forEach((term, count) -> series.put(SemesterInfo.fromComparableValue(term), count));
+        return new CourseTrendDto(courseCode, courseName, series, windowCount, decayedScore);
+    }
+
+    // 기준 학기부터 거꾸로 window 개의 정규 학기 (term -> 몇 학기 전인지)
+    private static Map<Integer, Integer> regularTerms(String endTerm, int window) {
+        int term = endTerm == null ? currentRegularTerm(LocalDate.now()) : toRegularTerm(parseTerm(endTerm));
+        int size = Math.max(1, Math.min(window, MAX_WINDOW));
+
+        Map<Integer, Integer> ageByRegularTerm = new HashMap<>();
+        for (int age = 0; age < size; age++) {
+            ageByRegularTerm.put(term, age);
+            term = SemesterInfo.previousRegularTerm(term);
+        }
+        return ageByRegularTerm;
+    }
+
+    private static int parseTerm(String endTerm) {
+        if (!endTerm.matches("\\d{4}-[12SW]")) {
+            throw new IllegalArgumentException("Invalid endTerm: " + endTerm + " (expected e.g. 2025-2)");
+        }
+        return new SemesterInfo(endTerm).getComparableValue();
+    }
+
+    // 해당 term 이하에서 가장 가까운 정규 학기의 나이
+    private static int ageOf(int term, Map<Integer, Integer> ageByRegularTerm) {
+        int regular = toRegularTerm(term);
+        return ageByRegularTerm.getOrDefault(regular, ageByRegularTerm.size() - 1);
+    }
+
+    private static int toRegularTerm(int term) {
+        int typeValue = term % 100;
+        return (typeValue == 1 || typeValue == 5) ? term : SemesterInfo.previousRegularTerm(term);
+    }
+
+    private static int nextRegularTerm(int regularTerm) {
+        return regularTerm % 100 == 1 ? regularTerm + 4 : (regularTerm / 100 + 1) * 100 + 1;
+    }
+
+    static int currentRegularTerm(LocalDate today) {
+        int month = today.getMonthValue();
+        if (month >= 9) return today.getYear() * 100 + 5;
+        if (month >= 3) return today.getYear() * 100 + 1;
+        return (today.getYear() - 1) * 100 + 5;
+    }
+
+    private static int minKey(Map<Integer, Integer> map) {
+        return map.keySet().stream().min(Integer::compare).orElseThrow();
+    }
+
+    private static int maxKey(Map<Integer, Integer> map) {
+        return map.keySet().stream().max(Integer::compare).orElseThrow();
+    }
+}
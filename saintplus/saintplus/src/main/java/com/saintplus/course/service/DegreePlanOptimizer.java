@@ -0,0 +1,145 @@
+package com.saintplus.course.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * 과목들을 학기에 배정하는 최소 비용 탐색기.
+ *
+ * 상태 (배정할 과목 순번, 학기별 남은 자리)를 메모이제이션하는 깊이 우선 탐색입니다.
+ * 남은 자리는 학기당 4비트로 long 하나에 담아 키로 사용하고,
+ * 각 상태에서는 비용이 낮은 학기부터 시도하면서 "현재 비용 + 남은 과목의 최소 비용 합"이
+ * 지금까지의 최선 이상이면 나머지 후보를 잘라냅니다. 메모에 저장되는 값은 항상 정확한 최적값입니다.
+ */
+final class DegreePlanOptimizer {
+
+    static final int UNAVAILABLE = Integer.MAX_VALUE / 4;
+    static final int MAX_SLOTS = 12;      // 4비트 x 12 = 48비트
+    static final int NOT_ASSIGNED = -1;
+
+    private static final int BITS_PER_SLOT = 4;
+    private static final long SLOT_MASK = (1L << BITS_PER_SLOT) - 1;
+
+    private final int[][] costs;
+    private final int[][] slotOrder;  // 과목별로 비용 오름차순 정렬된 학기 인덱스
+    private final long[] lowerBound;  // lowerBound[i] = i번째 이후 과목들의 최소 비용 합
+    private final int skipCost;
+    private final Map<Long, Long> memo = new HashMap<>();
+    private int[] assignment;
+
+    private DegreePlanOptimizer(int[][] costs, int skipCost) {
+        this.costs = costs;
+        this.skipCost = skipCost;
+        this.slotOrder = new int[costs.length][];
+        this.lowerBound = new long[costs.length + 1];
+
+        for (int i = costs.length - 1; i >= 0; i--) {
+            int[] row = costs[i];
+            slotOrder[i] = IntStream.range(0, row.length)
+                    .filter(s -> row[s] < UNAVAILABLE)
+                    .boxed()
+                    .sorted((a, b) -> Integer.compare(row[a], row[b]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            int minCost = slotOrder[i].length == 0 ? skipCost : Math.min(skipCost, row[slotOrder[i][0]]);
+            lowerBound[i] = lowerBound[i + 1] + minCost;
+        }
+    }
+
+    /**
+     * @param costs      costs[i][s] = 과목 i를 학기 s에 배정하는 비용 (UNAVAILABLE 이면 배정 불가).
+     *                   배정 가능한 학기가 적은 과목이 앞에 오도록 정렬되어 있으면 탐색이 빨라집니다.
+     * @param capacities 학기별 남은 자리 (0~15)
+     * @param skipCost   어느 학기에도 배정하지 못할 때의 비용
+     * @return assignment[i] = 배정된 학기 인덱스, 배정 실패 시 NOT_ASSIGNED
+     */
+    static int[] optimize(int[][] costs, int[] capacities, int skipCost) {
+        return plan(costs, capacities, skipCost).assignment;
+    }
+
+    // optimize 와 같지만 탐색 통계(expandedStates)를 볼 수 있도록 탐색기 자체를 반환
+    static DegreePlanOptimizer plan(int[][] costs, int[] capacities, int skipCost) {
+        if (capacities.length > MAX_SLOTS) {
+            throw new IllegalArgumentException("최대 " + MAX_SLOTS + "학기까지 계획할 수 있습니다.");
+        }
+
+        long caps = 0L;
+        for (int s = 0; s < capacities.length; s++) {
+            caps |= (long) Math.min(capacities[s], (int) SLOT_MASK) << (s * BITS_PER_SLOT);
+        }
+
+        DegreePlanOptimizer optimizer = new DegreePlanOptimizer(costs, skipCost);
+        optimizer.solve(0, caps);
+
+        // 메모에 저장된 선택을 따라가며 배정 결과 복원
+        int[] assignment = new int[costs.length];
+        Arrays.fill(assignment, NOT_ASSIGNED);
+        for (int i = 0; i < costs.length; i++) {
+            int choice = (int) (optimizer.memo.get(key(i, caps)) & 0xF) - 1;
+            assignment[i] = choice;
+            if (choice != NOT_ASSIGNED) {
+                caps -= 1L << (choice * BITS_PER_SLOT);
+            }
+        }
+        optimizer.assignment = assignment;
+        return optimizer;
+    }
+
+    int[] assignment() {
+        return assignment;
+    }
+
+    /**
+     * 끝까지 탐색한 (과목 순번, 남은 자리) 상태 수. 실행 시간과 달리 입력이 같으면 항상 같습니다.
+     */
+    int expandedStates() {
+        return memo.size();
+    }
+
+    private long solve(int i, long caps) {
+        if (i == costs.length) {
+            return 0;
+        }
+
+        long key = key(i, caps);
+        Long cached = memo.get(key);
+        if (cached != null) {
+            return cached >> 4;
+        }
+
+        long best = Long.MAX_VALUE;
+        int bestChoice = NOT_ASSIGNED;
+
+        for (int s : slotOrder[i]) {
+            int cost = costs[i][s];
+            if (cost + lowerBound[i + 1] >= best) {
+                break; // 비용 오름차순이므로 이후 학기는 더 볼 필요 없음
+            }
+            if (((caps >>> (s * BITS_PER_SLOT)) & SLOT_MASK) == 0) {
+                continue;
+            }
+            long total = cost + solve(i + 1, caps - (1L << (s * BITS_PER_SLOT)));
+            if (total < best) {
+                best = total;
+                bestChoice = s;
+            }
+        }
+
+        if (skipCost + lowerBound[i + 1] < best) {
+            long total = skipCost + solve(i + 1, caps);
+            if (total < best) {
+                best = total;
+                bestChoice = NOT_ASSIGNED;
+            }
+        }
+
+        memo.put(key, (best << 4) | (bestChoice + 1));
+        return best;
+    }
+
+    private static long key(int i, long caps) {
+        return ((long) i << (MAX_SLOTS * BITS_PER_SLOT)) | caps;
+    }
+}
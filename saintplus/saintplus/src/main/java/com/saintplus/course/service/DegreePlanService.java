@@ -0,0 +1,178 @@
+package com.saintplus.course.service;
+
+import com.saintplus.course.domain.Course;
+import com.saintplus.course.dto.PlannedCourseDto;
+import com.saintplus.course.dto.UserAcademicProfile;
+import com.saintplus.course.repository.CourseRepository;
+import com.saintplus.user.domain.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * DegreePlanService
+ *
+ * 수강하고 싶은 과목들을 앞으로의 학기에 배정하는 다학기 수강 계획을 만듭니다.
+ *
+ * - 학기당 최대 8과목(이미 장바구니에 담긴 과목 포함)을 넘지 않습니다.
+ * - 아직 이수하지 않은 필수 교양 트랙이 계획에도 없으면, 해당 트랙에서 가장 많이 들은 과목을 추가합니다.
+ * - 선배들이 가장 많이 수강한 학기(학기 순번 기준)에 가까울수록 비용이 낮고, 같은 조건이면 빠른 학기를 선호합니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class DegreePlanService {
+
+    private static final int DEFAULT_SEMESTER_COUNT = 8;
+    private static final int COST_SCALE = 1000;
+    private static final int SKIP_COST = 1_000_000;
+
+    private final CourseStatisticsService courseStatisticsService;
+    private final CourseRepository courseRepository;
+    private final UserAcademicProfileService userAcademicProfileService;
+    private final CourseService courseService;
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> planDegree(User user, List<String> desiredCourseCodes, Integer semesterCount) {
+        int count = semesterCount == null ? DEFAULT_SEMESTER_COUNT
+                : Math.max(1, Math.min(semesterCount, DegreePlanOptimizer.MAX_SLOTS));
+
+        // 1. 수강 이력, 장바구니 조회 (캐시된 프로필)
+        UserAcademicProfile profile = userAcademicProfileService.getProfile(user);
+        Set<String> takenCourseCodes = profile.getTakenCourseCodes();
+        int completedSemesters = (int) Math.floor(profile.getMaxSemester());
+        Set<String> cartCourseCodes = profile.getCartCourseCodes();
+
+        // 2. 계획 대상 학기와 학기별 남은 자리
+        List<String> targetSemesters = courseService.getFutureTargetSemesters(user, count);
+        int[] capacities = new int[count];
+        for (int s = 0; s < count; s++) {
+            int used = profile.getCartCount(targetSemesters.get(s));
+            capacities[s] = (int) Math.max(0, CourseService.MAX_COURSES_PER_SEMESTER - used);
+        }
+
+        // 3. 이미 들었거나 담은 과목 제외
+        List<String> alreadyTaken = new ArrayList<>();
+        List<String> alreadyInCart = new ArrayList<>();
+        Set<String> requested = new LinkedHashSet<>();
+        for (String code : desiredCourseCodes == null ? List.<String>of() : desiredCourseCodes) {
+            if (takenCourseCodes.contains(code)) {
+                alreadyTaken.add(code);
+            } else if (cartCourseCodes.contains(code)) {
+                alreadyInCart.add(code);
+            } else {
+                requested.add(code);
+            }
+        }
+
+        // 4. 미이수 교양 트랙 (이력 + 장바구니 + 요청 과목 어디에도 없는 트랙)
+        List<Integer> uncoveredTracks = new ArrayList<>();
+        for (Map.Entry<Integer, List<String>> entry : CourseService.GE_TRACKS.entrySet()) {
+            boolean covered = entry.getValue().stream()
+                    .anyMatch(code -> takenCourseCodes.contains(code) || cartCourseCodes.contains(code) || requested.contains(code));
+            if (!covered) {
+                uncoveredTracks.add(entry.getKey());
+            }
+        }
+
+        Set<String> statCodes = new HashSet<>(requested);
+        uncoveredTracks.forEach(track -> statCodes.addAll(CourseService.GE_TRACKS.get(track)));
+
+        // 5. 선배 수강 학기 분포 (한 번의 집계 쿼리) 및 과목 정보
+        Map<String, Map<Integer, Long>> peerCounts = new HashMap<>();
+        courseStatisticsService.getSemesterHistograms(statCodes, null).forEach((courseCode, histogram) ->
+                histogram.forEach((semester, students) -> {
+                    if (semester <= 0 || semester % 1 != 0) return; // 계절학기 제외
+                    peerCounts.computeIfAbsent(courseCode, k -> new HashMap<>())
+                            .merge(semester.intValue(), students, Long::sum);
+                }));
+        Map<String, Course> courses = courseRepository.findAllById(statCodes).stream()
+                .collect(Collectors.toMap(Course::getCourseCode, Function.identity()));
+
+        Map<String, String> addedForTrack = new LinkedHashMap<>();
+        for (Integer track : uncoveredTracks) {
+            CourseService.GE_TRACKS.get(track).stream()
+                    .filter(courses::containsKey)
+                    .max(Comparator.comparingLong(code -> totalPeers(peerCounts.get(code))))
+                    .ifPresent(code -> addedForTrack.put(code, CourseService.COURSE_CODE_TO_TRACK_NAME_MAP.get(code)));
+        }
+
+        List<String> planCodes = new ArrayList<>(requested);
+        planCodes.addAll(addedForTrack.keySet());
+        // 배정 가능한 학기가 적은 과목부터 탐색해야 가지치기가 잘 됨
+        planCodes.sort(Comparator.comparingLong(code -> targetSemesters.stream().filter(t -> isOffered(courses.get(code), t)).count()));
+
+        // 6. 비용 행렬: 개설 학기가 맞지 않으면 배정 불가, 선배 최다 수강 학기에서 멀수록 비용 증가
+        int[][] costs = new int[planCodes.size()][count];
+        for (int i = 0; i < planCodes.size(); i++) {
+            Course course = courses.get(planCodes.get(i));
+            Map<Integer, Long> counts = peerCounts.getOrDefault(planCodes.get(i), Map.of());
+            long maxCount = counts.values().stream().mapToLong(Long::longValue).max().orElse(0L);
+
+            for (int s = 0; s < count; s++) {
+                if (!isOffered(course, targetSemesters.get(s))) {
+                    costs[i][s] = DegreePlanOptimizer.UNAVAILABLE;
+                    continue;
+                }
+                long countInSemester = counts.getOrDefault(completedSemesters + 1 + s, 0L);
+                int peerCost = maxCount == 0 ? 0 : (int) (COST_SCALE * (maxCount - countInSemester) / maxCount);
+                costs[i][s] = peerCost + s;
+            }
+        }
+
+        int[] assignment = DegreePlanOptimizer.optimize(costs, capacities, SKIP_COST);
+
+        // 7. 결과 구성
+        Map<String, List<PlannedCourseDto>> plan = new LinkedHashMap<>();
+        targetSemesters.forEach(semester -> plan.put(semester, new ArrayList<>()));
+        List<String> unscheduled = new ArrayList<>();
+
+        for (int i = 0; i < planCodes.size(); i++) {
+            String code = planCodes.get(i);
+            int s = assignment[i];
+            if (s == DegreePlanOptimizer.NOT_ASSIGNED) {
+                unscheduled.add(code);
+                continue;
+            }
+            Course course = courses.get(code);
+            int relativeSemester = completedSemesters + 1 + s;
+            plan.get(targetSemesters.get(s)).add(new PlannedCourseDto(
+                    code,
+                    course != null ? course.getCourseName() : code,
+                    relativeSemester,
+                    peerCounts.getOrDefault(code, Map.of()).getOrDefault(relativeSemester, 0L),
+                    addedForTrack.get(code)));
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("plan", plan);
+        response.put("unscheduledCourses", unscheduled);
+        response.put("alreadyTakenCourses", alreadyTaken);
+        response.put("alreadyInCartCourses", alreadyInCart);
+        response.put("addedGeCourses", new ArrayList<>(addedForTrack.keySet()));
+        return response;
+    }
+
+    // Course.semester - 1: 1학기, 2: 2학기, 3: 1,2학기, 4: 미분류
+    private boolean isOffered(Course course, String targetSemester) {
+        if (course == null || course.getSemester() == null || course.getSemester() >= 3) {
+            return true;
+        }
+        return targetSemester.endsWith("-" + course.getSemester());
+    }
+
+    private long totalPeers(Map<Integer, Long> counts) {
+        return counts == null ? 0L : counts.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
@@ -0,0 +1,91 @@
+package com.saintplus.course.service;
+
+import com.saintplus.course.domain.Course;
+import com.saintplus.course.domain.PeerTimetable;
+import com.saintplus.course.dto.PeerTimetableDto;
+import com.saintplus.course.repository.CourseRepository;
+import com.saintplus.course.repository.PeerTimetableRepository;
+import com.saintplus.user.domain.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * PeerTimetableService
+ *
+ * 같은 1전공 선배들의 학기별 시간표를 익명으로 조회합니다.
+ * semester_course 를 사용자마다 다시 읽지 않도록, 성적표 저장 시점에 peer_timetable 읽기 모델을 갱신해 둡니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class PeerTimetableService {
+
+    private static final int MAX_PAGE_SIZE = 50;
+
+    private final PeerTimetableRepository peerTimetableRepository;
+    private final CourseRepository courseRepository;
+
+    /**
+     * 사용자의 학기별 시간표 행을 다시 만듭니다. (성적표 파싱 후 호출)
+     *
+     * @param coursesBySemester 학기 순번 -> 수강 과목 코드
+     */
+    @Transactional
+    public void refresh(User user, Map<Double, List<String>> coursesBySemester) {
+        peerTimetableRepository.deleteByUserId(user.getId());
+
+        String major1 = user.getMajor1();
+        if (major1 == null || major1.isEmpty() || major1.equals("미선택")) {
+            return;
+        }
+
+        List<PeerTimetable> rows = coursesBySemester.entrySet().stream()
+                .filter(entry -> entry.getKey() > 0 && !entry.getValue().isEmpty())
+                .map(entry -> new PeerTimetable(major1, entry.getKey(), user.getId(), entry.getValue()))
+                .toList();
+        peerTimetableRepository.saveAll(rows);
+    }
+
+    /**
+     * 같은 전공, 같은 학기 선배 시간표를 keyset 방식으로 페이지 조회합니다.
+     *
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지는 null)
+     * @return timetables, nextCursor (다음 페이지가 없으면 null)
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getPeerTimetables(User viewer, String major1, double semester, Long cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<PeerTimetable> page = peerTimetableRepository.findPage(
+                major1, semester, cursor == null ? 0L : cursor, viewer.getId(), PageRequest.of(0, pageSize));
+
+        // 페이지에 나온 과목 이름은 한 번에 조회
+        Set<String> courseCodes = page.stream()
+                .flatMap(timetable -> timetable.getCourseCodeList().stream())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<String, Course> courseMap = courseRepository.findAllById(courseCodes).stream()
+                .collect(Collectors.toMap(Course::getCourseCode, Function.identity()));
+
+        List<PeerTimetableDto> timetables = new ArrayList<>(page.size());
+        for (PeerTimetable timetable : page) {
+            List<Course> courses = timetable.getCourseCodeList().stream()
+                    .map(code -> courseMap.getOrDefault(code, new Course(code, code)))
+                    .toList();
+            timetables.add(new PeerTimetableDto(timetable.getId(), timetable.getMajor1(), timetable.getSemester(), courses));
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("timetables", timetables);
+        response.put("nextCursor", page.size() == pageSize ? page.get(page.size() - 1).getId() : null);
+        return response;
+    }
+}
@@ -7,8 +7,6 @@ import com.saintplus.course.dto.AiRecommendationDto;
 import com.saintplus.course.dto.RecommendedCourseDto;
 import com.saintplus.course.repository.CourseRepository;
 import com.saintplus.course.repository.CourseMappingRepository;
-import com.saintplus.transcript.domain.Enrollment;
-import com.saintplus.transcript.repository.EnrollmentRepository;
 import com.saintplus.user.domain.User;
 import com.saintplus.user.service.UserService;
 import lombok.RequiredArgsConstructor;
@@ -26,11 +24,13 @@ public class RecommendationService {
 
 
     private final WebClient aiWebClient;
-    private final EnrollmentRepository enrollmentRepository;
     private final CourseRepository courseRepository;
     private final CourseMappingRepository courseMappingRepository;
     private final CourseService courseService;
     private final UserService userService;
+    private final RecommendationShadowRunner shadowRunner;
+    private final CourseSimilarityIndex courseSimilarityIndex;
+    private final UserAcademicProfileService userAcademicProfileService;
 
     // 데이터가 이 숫자보다 적으면 통계, 많으면 AI 사용
     private static final int DATA_THRESHOLD = 1000;
@@ -42,10 +42,8 @@ public class RecommendationService {
         System.out.println("userId: " + userId + ", prompt: " + prompt + ", major: " + major);
         
         try {
-            // 1. DB에서 사용자가 이미 수강한 과목 코드 조회
-            Set<String> takenCourseCodes = enrollmentRepository.findAllByUserId(userId).stream()
-                    .map(Enrollment::getCourseCode)
-                    .collect(Collectors.toSet());
+            // 1. 사용자가 이미 수강한 과목 코드 조회 (캐시된 프로필)
+            Set<String> takenCourseCodes = userAcademicProfileService.getProfile(userId).getTakenCourseCodes();
             System.out.println("수강한 과목 개수: " + takenCourseCodes.size());
 
             // 2. 파이썬 서버에 POST 요청 (Request DTO 전달)
@@ -119,6 +117,7 @@ public class RecommendationService {
     public List<RecommendedCourseDto> getStatisticBasedRecommendations(Long userId) {
         User user = userService.getUserById(userId);
 
+        long startedAt = System.nanoTime();
         Map<String, List<RecommendedCourseDto>> statResult =
                 courseService.recommendCourses(
                         user,
@@ -127,10 +126,34 @@ public class RecommendationService {
                         null         // semester
                 );
 
+        // 후보 엔진은 섀도 모드로만 실행 (응답은 기다리지 않음)
+        shadowRunner.compareInShadow(user, List.of(), List.of(), null, statResult, System.nanoTime() - startedAt);
+
         return statResult.values().stream()
                 .flatMap(List::stream)
                 .distinct()
                 .limit(10)
                 .toList();
     }
-}
\ No newline at end of file
+
+
+    // [유사 과목] 미리 계산된 임베딩 이웃 그래프 조회 (AI 서버 호출 없음)
+    public List<RecommendedCourseDto> getSimilarCourses(String courseCode, int limit) {
+        List<CourseSimilarityIndex.Neighbor> neighbors = courseSimilarityIndex.findNeighbors(courseCode, limit);
+        if (neighbors.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<String, Course> courseMap = courseRepository.findAllById(
+                        neighbors.stream().map(CourseSimilarityIndex.Neighbor::courseCode).toList()).stream()
+                .collect(Collectors.toMap(Course::getCourseCode, c -> c));
+
+        return neighbors.stream()
+                .filter(neighbor -> courseMap.containsKey(neighbor.courseCode()))
+                .map(neighbor -> RecommendedCourseDto.builder()
+                        .course(courseMap.get(neighbor.courseCode()))
+                        .score(neighbor.score())
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,174 @@
+package com.saintplus.course.service;
+
+import com.saintplus.course.dto.RecommendedCourseDto;
+import com.saintplus.user.domain.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * RecommendationShadowRunner
+ *
+ * 운영 추천 결과(live)를 그대로 응답하면서, 후보 엔진(CandidateRecommendationEngine)을 별도 스레드에서 실행해
+ * 상위 5개 과목의 겹침 비율과 지연 시간을 메트릭으로 비교합니다.
+ *
+ * - 작업 큐가 가득 차면 섀도 작업은 버려지고(dropped 카운터 증가) 요청 스레드는 절대 기다리지 않습니다.
+ * - 후보 엔진 빈이 없거나 saintplus.recommendation.shadow.enabled=false 이면 아무 작업도 하지 않습니다.
+ */
+@Slf4j
+@Component
+public class RecommendationShadowRunner {
+
+    static final int TOP_N = 5;
+
+    private final CandidateRecommendationEngine candidateEngine;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor executor;
+
+    private final Timer liveLatency;
+    private final Counter droppedCounter;
+    private final Counter errorCounter;
+
+    public RecommendationShadowRunner(
+            ObjectProvider<CandidateRecommendationEngine> candidateEngineProvider,
+            MeterRegistry meterRegistry,
+            @Value("${saintplus.recommendation.shadow.enabled:false}") boolean enabled,
+            @Value("${saintplus.recommendation.shadow.threads:2}") int threads,
+            @Value("${saintplus.recommendation.shadow.queue-capacity:64}") int queueCapacity
+    ) {
+        this.candidateEngine = enabled ? candidateEngineProvider.getIfAvailable() : null;
+        this.meterRegistry = meterRegistry;
+
+        this.liveLatency = Timer.builder("recommendation.live.latency").register(meterRegistry);
+        this.droppedCounter = Counter.builder("recommendation.shadow.dropped").register(meterRegistry);
+        this.errorCounter = Counter.builder("recommendation.shadow.errors").register(meterRegistry);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "recommendation-shadow-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> droppedCounter.increment()); // 큐가 가득 차면 버림 (요청 스레드 블로킹 없음)
+
+        if (this.candidateEngine != null) {
+            log.info("Recommendation shadow mode enabled. candidate={}", candidateEngine.name());
+        }
+    }
+
+    public boolean isActive() {
+        return candidateEngine != null;
+    }
+
+    /**
+     * 운영 추천 결과와 지연 시간을 기록하고, 활성화된 경우 후보 엔진 실행을 비동기로 예약합니다.
+     * 이 메서드는 큐에 작업을 넣기만 하므로 즉시 반환됩니다.
+     */
+    public void compareInShadow(User user, List<String> cartCourseCodes, List<String> dismissedCourseCodes, Integer semester,
+                                Map<String, List<RecommendedCourseDto>> liveResult, long liveNanos) {
+        liveLatency.record(liveNanos, TimeUnit.NANOSECONDS);
+
+        if (!isActive()) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> runShadow(user, cartCourseCodes, dismissedCourseCodes, semester, liveResult, liveNanos));
+        } catch (RejectedExecutionException e) {
+            droppedCounter.increment(); // 종료 중인 경우
+        }
+    }
+
+    private void runShadow(User user, List<String> cartCourseCodes, List<String> dismissedCourseCodes, Integer semester,
+                           Map<String, List<RecommendedCourseDto>> liveResult, long liveNanos) {
+        String engineName = candidateEngine.name();
+        Map<String, List<RecommendedCourseDto>> shadowResult;
+
+        long startedAt = System.nanoTime();
+        try {
+            shadowResult = candidateEngine.recommendCourses(user, cartCourseCodes, dismissedCourseCodes, semester);
+        } catch (Exception e) {
+            errorCounter.increment();
+            log.warn("Shadow recommendation failed. engine={}, userId={}", engineName, user.getId(), e);
+            return;
+        }
+        long shadowNanos = System.nanoTime() - startedAt;
+
+        Timer.builder("recommendation.shadow.latency")
+                .tag("engine", engineName)
+                .register(meterRegistry)
+                .record(shadowNanos, TimeUnit.NANOSECONDS);
+
+        if (shadowNanos > liveNanos) {
+            Counter.builder("recommendation.shadow.slower").tag("engine", engineName).register(meterRegistry).increment();
+        }
+
+        for (Map.Entry<String, List<RecommendedCourseDto>> entry : liveResult.entrySet()) {
+            String category = entry.getKey();
+            List<RecommendedCourseDto> shadowList = shadowResult == null ? null : shadowResult.get(category);
+            double overlap = topOverlap(entry.getValue(), shadowList);
+
+            DistributionSummary.builder("recommendation.shadow.top5.overlap")
+                    .tag("engine", engineName)
+                    .tag("category", category)
+                    .register(meterRegistry)
+                    .record(overlap);
+        }
+    }
+
+    /**
+     * 두 추천 목록의 상위 5개 과목 코드 겹침 비율 (0.0 ~ 1.0). 둘 다 비어 있으면 1.0 입니다.
+     */
+    static double topOverlap(List<RecommendedCourseDto> live, List<RecommendedCourseDto> shadow) {
+        Set<String> liveCodes = topCodes(live);
+        Set<String> shadowCodes = topCodes(shadow);
+
+        int size = Math.max(liveCodes.size(), shadowCodes.size());
+        if (size == 0) {
+            return 1.0;
+        }
+
+        Set<String> intersection = new HashSet<>(liveCodes);
+        intersection.retainAll(shadowCodes);
+        return (double) intersection.size() / size;
+    }
+
+    private static Set<String> topCodes(List<RecommendedCourseDto> recommendations) {
+        if (recommendations == null) {
+            return Collections.emptySet();
+        }
+        Set<String> codes = new HashSet<>();
+        for (RecommendedCourseDto dto : recommendations) {
+            if (codes.size() == TOP_N) break;
+            if (dto.getCourse() != null) {
+                codes.add(dto.getCourse().getCourseCode());
+            }
+        }
+        return codes;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
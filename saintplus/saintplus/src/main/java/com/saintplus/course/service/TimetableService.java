@@ -0,0 +1,71 @@
+package com.saintplus.course.service;
+
+import com.saintplus.course.domain.CourseSection;
+import com.saintplus.course.domain.SavedCourse;
+import com.saintplus.course.dto.TimetableOptionDto;
+import com.saintplus.course.repository.CourseSectionRepository;
+import com.saintplus.course.repository.SavedCourseRepository;
+import com.saintplus.user.domain.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * TimetableService
+ *
+ * 장바구니에 담긴 한 학기 과목들로 시간이 겹치지 않는 주간 시간표 조합을 만들어 줍니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class TimetableService {
+
+    // 분반이 아주 많은 경우에도 수 ms 안에 응답하도록 탐색 노드 수를 제한
+    private static final int MAX_SEARCH_NODES = 200_000;
+
+    private final SavedCourseRepository savedCourseRepository;
+    private final CourseSectionRepository courseSectionRepository;
+
+    /**
+     * @param user           사용자
+     * @param targetSemester 장바구니 대상 학기 (예: "2026-1")
+     * @param limit          반환할 최대 시간표 수
+     * @return timetables(좋은 순 정렬된 시간표), unscheduledCourses(분반 정보가 없어 제외된 과목 코드),
+     *         truncated(탐색 노드 상한에 닿아 일부 조합만 본 경우 true)
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> buildTimetables(User user, String targetSemester, int limit) {
+        List<String> cartCourseCodes = savedCourseRepository.findByUserAndTargetSemester(user, targetSemester).stream()
+                .map(SavedCourse::getCourseCode)
+                .distinct()
+                .toList();
+
+        Map<String, List<CourseSection>> sectionsByCourse = courseSectionRepository.findByCourseCodeIn(cartCourseCodes).stream()
+                .collect(Collectors.groupingBy(CourseSection::getCourseCode));
+
+        List<List<CourseSection>> candidates = new ArrayList<>();
+        List<String> unscheduledCourses = new ArrayList<>();
+        for (String courseCode : cartCourseCodes) {
+            List<CourseSection> sections = sectionsByCourse.get(courseCode);
+            if (sections == null || sections.isEmpty()) {
+                unscheduledCourses.add(courseCode);
+            } else {
+                candidates.add(sections);
+            }
+        }
+
+        TimetableSolver.Solution solution = TimetableSolver.solve(candidates, limit, MAX_SEARCH_NODES);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("targetSemester", targetSemester);
+        response.put("timetables", solution.timetables());
+        response.put("unscheduledCourses", unscheduledCourses);
+        response.put("truncated", solution.truncated());
+        return response;
+    }
+}
@@ -0,0 +1,136 @@
+package com.saintplus.course.service;
+
+import com.saintplus.course.domain.CourseSection;
+import com.saintplus.course.dto.TimetableOptionDto;
+import com.saintplus.course.util.WeeklySlotMask;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 과목별 분반 후보로부터 시간이 겹치지 않는 시간표를 찾는 백트래킹 탐색기.
+ *
+ * - 분반 수가 적은 과목부터 배정하고(MRV), 배정할 때마다 남은 과목에 들어갈 분반이 하나라도 있는지 확인해 가지치기합니다.
+ * - 충돌 검사는 128비트 마스크 AND 한 번으로 끝납니다.
+ * - 점수(요일 수 * DAY_WEIGHT + 공강 칸 수)가 낮은 상위 limit개만 힙에 유지하며,
+ *   현재까지 사용한 요일 수만으로도 힙의 최악 점수보다 나쁘면 더 내려가지 않습니다.
+ */
+final class TimetableSolver {
+
+    static final int DAY_WEIGHT = 100;
+
+    private final CourseSection[][] options;
+    private final int limit;
+    private final int maxNodes;
+
+    private final CourseSection[] chosen;
+    private final PriorityQueue<Found> best; // 점수가 가장 나쁜 것이 head
+    private int visitedNodes;
+
+    private record Found(CourseSection[] sections, int daysUsed, int gapSlots, int score) {}
+
+    /**
+     * @param timetables 점수가 좋은 순으로 정렬된 시간표 목록
+     * @param truncated  maxNodes 에 닿아 탐색을 끝까지 하지 못했는지 (더 좋은 시간표가 빠졌을 수 있음)
+     */
+    record Solution(List<TimetableOptionDto> timetables, boolean truncated) {}
+
+    private TimetableSolver(List<List<CourseSection>> sectionsByCourse, int limit, int maxNodes) {
+        this.options = sectionsByCourse.stream()
+                .sorted(Comparator.comparingInt(List::size))
+                .map(sections -> sections.toArray(new CourseSection[0]))
+                .toArray(CourseSection[][]::new);
+        this.limit = limit;
+        this.maxNodes = maxNodes;
+        this.chosen = new CourseSection[options.length];
+        this.best = new PriorityQueue<>(Comparator.comparingInt(Found::score).reversed());
+    }
+
+    /**
+     * @param sectionsByCourse 과목별 분반 후보 (각 목록은 비어 있으면 안 됨)
+     * @param limit            반환할 최대 시간표 수
+     * @param maxNodes         탐색 노드 상한 (분반이 매우 많을 때 응답 시간 보장용)
+     * @return 점수가 좋은 순으로 정렬된 시간표 목록과 탐색이 잘렸는지 여부
+     */
+    static Solution solve(List<List<CourseSection>> sectionsByCourse, int limit, int maxNodes) {
+        if (sectionsByCourse.isEmpty() || limit <= 0) {
+            return new Solution(List.of(), false);
+        }
+
+        TimetableSolver solver = new TimetableSolver(sectionsByCourse, limit, maxNodes);
+        solver.search(0, 0L, 0L);
+
+        List<Found> found = new ArrayList<>(solver.best);
+        found.sort(Comparator.comparingInt(Found::score));
+
+        List<TimetableOptionDto> result = new ArrayList<>(found.size());
+        for (Found f : found) {
+            result.add(new TimetableOptionDto(Arrays.asList(f.sections()), f.daysUsed(), f.gapSlots()));
+        }
+        return new Solution(result, solver.visitedNodes > maxNodes);
+    }
+
+    private void search(int depth, long low, long high) {
+        if (++visitedNodes > maxNodes) {
+            return;
+        }
+
+        if (depth == options.length) {
+            record(low, high);
+            return;
+        }
+
+        // 한정: 요일 수는 과목을 더할수록 줄어들지 않으므로 하한으로 사용
+        if (best.size() == limit && WeeklySlotMask.daysUsed(low, high) * DAY_WEIGHT >= best.peek().score()) {
+            return;
+        }
+
+        for (CourseSection section : options[depth]) {
+            long sectionLow = section.getSlotMaskLow();
+            long sectionHigh = section.getSlotMaskHigh();
+            if (WeeklySlotMask.overlaps(low, high, sectionLow, sectionHigh)) {
+                continue;
+            }
+
+            long nextLow = low | sectionLow;
+            long nextHigh = high | sectionHigh;
+            if (!remainingCoursesFit(depth + 1, nextLow, nextHigh)) {
+                continue;
+            }
+
+            chosen[depth] = section;
+            search(depth + 1, nextLow, nextHigh);
+        }
+    }
+
+    // 전방 검사: 남은 과목마다 충돌 없는 분반이 최소 하나는 있어야 함
+    private boolean remainingCoursesFit(int from, long low, long high) {
+        for (int i = from; i < options.length; i++) {
+            boolean fits = false;
+            for (CourseSection section : options[i]) {
+                if (!WeeklySlotMask.overlaps(low, high, section.getSlotMaskLow(), section.getSlotMaskHigh())) {
+                    fits = true;
+                    break;
+                }
+            }
+            if (!fits) return false;
+        }
+        return true;
+    }
+
+    private void record(long low, long high) {
+        int daysUsed = WeeklySlotMask.daysUsed(low, high);
+        int gapSlots = WeeklySlotMask.gapSlots(low, high);
+        int score = daysUsed * DAY_WEIGHT + gapSlots;
+
+        if (best.size() < limit) {
+            best.add(new Found(chosen.clone(), daysUsed, gapSlots, score));
+        } else if (score < best.peek().score()) {
+            best.poll();
+            best.add(new Found(chosen.clone(), daysUsed, gapSlots, score));
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.saintplus.course.service;
+
+import com.saintplus.course.domain.SavedCourse;
+import com.saintplus.course.dto.UserAcademicProfile;
+import com.saintplus.course.repository.SavedCourseRepository;
+import com.saintplus.transcript.domain.ArchivedEnrollment;
+import com.saintplus.transcript.domain.Enrollment;
+import com.saintplus.transcript.repository.ArchivedEnrollmentRepository;
+import com.saintplus.transcript.repository.EnrollmentRepository;
+import com.saintplus.user.domain.User;
+import com.saintplus.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UserAcademicProfileService
+ *
+ * 사용자별 UserAcademicProfile 을 메모리에 캐시합니다.
+ * 프로필은 성적표 파싱, 전공 변경, 장바구니 변경 시에만 evict 되고, 다음 조회 때 한 번 다시 만들어집니다.
+ *
+ * - 캐시는 최대 saintplus.profile.cache.max-entries 명까지 보관하며 오래 안 쓴 사용자부터 제거합니다(LRU).
+ * - 트랜잭션 안에서 evict 하면 커밋 직후에 한 번 더 evict 하여, 커밋 전 데이터로 다시 만들어진 프로필이 남지 않게 합니다.
+ * - 비활성 사용자의 수강 이력은 semester_course_archive 로 옮겨지므로(EnrollmentArchiveService), hot 테이블에 행이 없으면 보관 행으로 만듭니다.
+ * - evict 는 이 노드의 캐시만 지웁니다. 다른 노드(SQS 작업 소비자 등)에서 저장한 변경은 여기서 알 수 없으므로,
+ *   만든 지 saintplus.profile.cache.ttl-seconds 가 지난 프로필은 다시 만듭니다. (노드 사이 최대 지연 = TTL)
+ */
+@Service
+public class UserAcademicProfileService {
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final ArchivedEnrollmentRepository archivedEnrollmentRepository;
+    private final SavedCourseRepository savedCourseRepository;
+    private final UserRepository userRepository;
+
+    private final Map<Long, CachedProfile> cache;
+    private final Duration ttl;
+    private final Clock clock;
+
+    // evict 가 일어날 때마다 증가. 프로필을 만드는 도중 evict 가 있었다면 그 결과는 캐시에 넣지 않음
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private record CachedProfile(UserAcademicProfile profile, Instant loadedAt) {}
+
+    @Autowired
+    public UserAcademicProfileService(
+            EnrollmentRepository enrollmentRepository,
+            ArchivedEnrollmentRepository archivedEnrollmentRepository,
+            SavedCourseRepository savedCourseRepository,
+            UserRepository userRepository,
+            @Value("${saintplus.profile.cache.max-entries:10000}") int maxEntries,
+            @Value("${saintplus.profile.cache.ttl-seconds:30}") long ttlSeconds
+    ) {
+        this(enrollmentRepository, archivedEnrollmentRepository, savedCourseRepository, userRepository, maxEntries, Duration.ofSeconds(ttlSeconds), Clock.systemUTC());
+    }
+
+    UserAcademicProfileService(
+            EnrollmentRepository enrollmentRepository,
+            ArchivedEnrollmentRepository archivedEnrollmentRepository,
+            SavedCourseRepository savedCourseRepository,
+            UserRepository userRepository,
+            int maxEntries,
+            Duration ttl,
+            Clock clock
+    ) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.archivedEnrollmentRepository = archivedEnrollmentRepository;
+        this.savedCourseRepository = savedCourseRepository;
+        this.userRepository = userRepository;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedProfile> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    public UserAcademicProfile getProfile(User user) {
+        UserAcademicProfile profile = cached(user.getId());
+        if (profile != null) {
+            return profile;
+        }
+        return loadAndCache(user);
+    }
+
+    public UserAcademicProfile getProfile(Long userId) {
+        UserAcademicProfile profile = cached(userId);
+        if (profile != null) {
+            return profile;
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
+        return loadAndCache(user);
+    }
+
+    /**
+     * 사용자의 프로필을 캐시에서 제거합니다. (수강 이력, 전공, 장바구니가 바뀐 경우 호출)
+     */
+    public void evict(Long userId) {
+        invalidations.incrementAndGet();
+        cache.remove(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidations.incrementAndGet();
+                    cache.remove(userId);
+                }
+            });
+        }
+    }
+
+    // TTL 이 지난 프로필은 없는 것으로 보고 제거
+    private UserAcademicProfile cached(Long userId) {
+        CachedProfile entry = cache.get(userId);
+        if (entry == null) {
+            return null;
+        }
+        if (!clock.instant().isBefore(entry.loadedAt().plus(ttl))) {
+            cache.remove(userId, entry);
+            return null;
+        }
+        return entry.profile();
+    }
+
+    private UserAcademicProfile loadAndCache(User user) {
+        long generation = invalidations.get();
+        Instant loadedAt = clock.instant();
+        UserAcademicProfile profile = build(user);
+        if (invalidations.get() == generation) {
+            cache.put(user.getId(), new CachedProfile(profile, loadedAt));
+        }
+        return profile;
+    }
+
+    private UserAcademicProfile build(User user) {
+        TreeMap<Double, List<String>> takenCoursesBySemester = new TreeMap<>();
+        List<Enrollment> enrollments = enrollmentRepository.findAllByUserId(user.getId());
+        for (Enrollment enrollment : enrollments) {
+            takenCoursesBySemester.computeIfAbsent(enrollment.getSemester(), k -> new ArrayList<>()).add(enrollment.getCourseCode());
+        }
+        // 보관된 사용자는 hot 행이 없음 (다시 올리면 보관 행을 지우고 hot 에 저장하므로 둘이 섞이지 않음)
+        if (enrollments.isEmpty()) {
+            for (ArchivedEnrollment archived : archivedEnrollmentRepository.findByUserId(user.getId())) {
+                takenCoursesBySemester.computeIfAbsent(archived.getSemester(), k -> new ArrayList<>()).add(archived.getCourseCode());
+            }
+        }
+
+        Set<String> takenCourseCodes = new HashSet<>();
+        takenCoursesBySemester.values().forEach(takenCourseCodes::addAll);
+        double maxSemester = takenCoursesBySemester.isEmpty() ? 0 : Math.max(0, takenCoursesBySemester.lastKey());
+
+        int completedTrackMask = 0;
+        for (Map.Entry<Integer, List<String>> entry : CourseService.GE_TRACKS.entrySet()) {
+            if (entry.getValue().stream().anyMatch(takenCourseCodes::contains)) {
+                completedTrackMask |= 1 << (entry.getKey() - 1);
+            }
+        }
+
+        List<String> majors = new ArrayList<>();
+        for (String major : new String[]{user.getMajor1(), user.getMajor2(), user.getMajor3()}) {
+            if (major != null && !major.isEmpty() && !major.equals("미선택")) {
+                majors.add(major);
+            }
+        }
+
+        Set<String> cartCourseCodes = new HashSet<>();
+        Map<String, Integer> cartCountBySemester = new HashMap<>();
+        for (SavedCourse savedCourse : savedCourseRepository.findByUserId(user.getId())) {
+            cartCourseCodes.add(savedCourse.getCourseCode());
+            if (savedCourse.getTargetSemester() != null) {
+                cartCountBySemester.merge(savedCourse.getTargetSemester(), 1, Integer::sum);
+            }
+        }
+
+        takenCoursesBySemester.replaceAll((semester, codes) -> List.copyOf(codes));
+        return new UserAcademicProfile(user.getId(), takenCourseCodes, Collections.unmodifiableMap(takenCoursesBySemester),
+                maxSemester, majors, completedTrackMask, cartCourseCodes, cartCountBySemester);
+    }
+}
@@ -0,0 +1,143 @@
+package com.saintplus.course.util;
+
+/**
+ * 주간 시간표를 128비트(long 2개) 마스크로 표현하는 유틸리티.
+ *
+ * 월~토 6일 x 30분 단위 20칸(09:00 ~ 19:00) = 120비트를 사용합니다.
+ * 비트 번호 = 요일 * 20 + 칸, 0~63번은 low, 64~119번은 high 에 저장됩니다.
+ * 두 분반이 겹치는지는 (lowA & lowB) | (highA & highB) 가 0인지로 판단합니다.
+ * 이 범위를 벗어난 시각은 마스크에 담을 수 없으므로 잘라내지 않고 거절합니다. (잘라내면 충돌을 놓침)
+ */
+public final class WeeklySlotMask {
+
+    public static final int DAYS = 6;
+    public static final int SLOTS_PER_DAY = 20;
+
+    private static final int DAY_START_MINUTES = 9 * 60;
+    private static final int SLOT_MINUTES = 30;
+    private static final int DAY_END_MINUTES = DAY_START_MINUTES + SLOTS_PER_DAY * SLOT_MINUTES;
+    private static final long DAY_BITS = (1L << SLOTS_PER_DAY) - 1;
+    private static final String[] DAY_NAMES = {"MON", "TUE", "WED", "THU", "FRI", "SAT"};
+
+    private WeeklySlotMask() {}
+
+    /**
+     * "MON 09:00-10:15,WED 09:00-10:15" 형식의 시간표를 {low, high} 마스크로 변환합니다.
+     * 시작/종료 시각과 걸치는 30분 칸은 모두 점유한 것으로 봅니다.
+     *
+     * @throws IllegalArgumentException 형식이 맞지 않거나 09:00 ~ 19:00 밖의 시각이 있는 토큰이 있는 경우 (어느 토큰인지 메시지에 포함)
+     */
+    public static long[] parse(String schedule) {
+        long[] mask = new long[2];
+        if (schedule == null || schedule.isBlank()) {
+            return mask;
+        }
+
+        for (String part : schedule.split(",")) {
+            String token = part.trim();
+            if (token.isEmpty()) continue;
+
+            String[] dayAndTime = token.split("\\s+");
+            String[] times = dayAndTime.length == 2 ? dayAndTime[1].split("-") : new String[0];
+            if (times.length != 2) {
+                throw invalidToken(token, "expected \"DAY HH:mm-HH:mm\"");
+            }
+            int day = dayIndex(dayAndTime[0], token);
+            int start = toMinutes(times[0], token);
+            int end = toMinutes(times[1], token);
+            if (end <= start) {
+                throw invalidToken(token, "end time must be after start time");
+            }
+            if (start < DAY_START_MINUTES || end > DAY_END_MINUTES) {
+                throw invalidToken(token, "time must be within 09:00-19:00");
+            }
+
+            int startSlot = (start - DAY_START_MINUTES) / SLOT_MINUTES;
+            int endSlot = (end - DAY_START_MINUTES + SLOT_MINUTES - 1) / SLOT_MINUTES;
+
+            for (int slot = startSlot; slot < endSlot; slot++) {
+                int bit = day * SLOTS_PER_DAY + slot;
+                if (bit < 64) {
+                    mask[0] |= 1L << bit;
+                } else {
+                    mask[1] |= 1L << (bit - 64);
+                }
+            }
+        }
+        return mask;
+    }
+
+    public static boolean overlaps(long lowA, long highA, long lowB, long highB) {
+        return ((lowA & lowB) | (highA & highB)) != 0;
+    }
+
+    /**
+     * 특정 요일의 20칸 비트를 꺼냅니다.
+     */
+    public static int dayBits(long low, long high, int day) {
+        int start = day * SLOTS_PER_DAY;
+        long bits;
+        if (start + SLOTS_PER_DAY <= 64) {
+            bits = low >>> start;
+        } else if (start >= 64) {
+            bits = high >>> (start - 64);
+        } else {
+            bits = (low >>> start) | (high << (64 - start));
+        }
+        return (int) (bits & DAY_BITS);
+    }
+
+    /**
+     * 수업이 있는 요일 수
+     */
+    public static int daysUsed(long low, long high) {
+        int days = 0;
+        for (int day = 0; day < DAYS; day++) {
+            if (dayBits(low, high, day) != 0) days++;
+        }
+        return days;
+    }
+
+    /**
+     * 각 요일의 첫 수업과 마지막 수업 사이 빈 칸(공강) 수의 합
+     */
+    public static int gapSlots(long low, long high) {
+        int gaps = 0;
+        for (int day = 0; day < DAYS; day++) {
+            int bits = dayBits(low, high, day);
+            if (bits == 0) continue;
+            int span = 32 - Integer.numberOfLeadingZeros(bits) - Integer.numberOfTrailingZeros(bits);
+            gaps += span - Integer.bitCount(bits);
+        }
+        return gaps;
+    }
+
+    private static int dayIndex(String day, String token) {
+        String upper = day.toUpperCase();
+        for (int i = 0; i < DAY_NAMES.length; i++) {
+            if (DAY_NAMES[i].equals(upper)) return i;
+        }
+        throw invalidToken(token, "unknown day " + day);
+    }
+
+    private static int toMinutes(String time, String token) {
+        String[] hm = time.trim().split(":");
+        if (hm.length != 2) {
+            throw invalidToken(token, "expected HH:mm but was " + time);
+        }
+        try {
+            int hour = Integer.parseInt(hm[0]);
+            int minute = Integer.parseInt(hm[1]);
+            if (hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+                throw invalidToken(token, "time out of range " + time);
+            }
+            return hour * 60 + minute;
+        } catch (NumberFormatException e) {
+            throw invalidToken(token, "expected HH:mm but was " + time);
+        }
+    }
+
+    private static IllegalArgumentException invalidToken(String token, String reason) {
+        return new IllegalArgumentException("Invalid schedule token \"" + token + "\": " + reason);
+    }
+}
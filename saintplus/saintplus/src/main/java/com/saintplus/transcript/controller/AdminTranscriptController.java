@@ -0,0 +1,39 @@
+package com.saintplus.transcript.controller;
+
+import com.saintplus.transcript.dto.BulkIngestResult;
+import com.saintplus.transcript.service.BulkTranscriptIngestService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+
+@RestController
+@RequestMapping("/api/admin/transcripts")
+@RequiredArgsConstructor
+public class AdminTranscriptController {
+
+    public static final String ADMIN_KEY_HEADER = "X-Admin-Key";
+
+    private final BulkTranscriptIngestService bulkTranscriptIngestService;
+
+
+    // 성적표 일괄 등록 (여러 파일 또는 zip, 파일명은 "사용자ID_..." 형식)
+    @PostMapping("/bulk")
+    public ResponseEntity<?> bulkIngest(
+            @RequestHeader(value = ADMIN_KEY_HEADER, required = false) String adminKey,
+            @RequestParam("files") List<MultipartFile> files) throws IOException {
+
+        if (!bulkTranscriptIngestService.isAdminKey(adminKey)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("message", "Invalid admin key"));
+        }
+
+        BulkIngestResult result = bulkTranscriptIngestService.ingest(files);
+        return ResponseEntity.ok(result);
+    }
+}
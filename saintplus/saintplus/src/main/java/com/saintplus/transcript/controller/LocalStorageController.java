@@ -0,0 +1,41 @@
+package com.saintplus.transcript.controller;
+
+import com.saintplus.transcript.util.LocalStorageClient;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.util.Map;
+
+
+/**
+ * 로컬 저장소에서 S3 presigned PUT 을 흉내 내는 업로드 엔드포인트 (saintplus.storage.backend=local 일 때만 등록)
+ * JWT 대신 URL 의 서명(signature)과 만료 시각(expires)으로 검사합니다.
+ */
+@RestController
+@RequestMapping("/api/v1/storage/local")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "saintplus.storage.backend", havingValue = "local")
+public class LocalStorageController {
+
+    private final LocalStorageClient localStorageClient;
+
+
+    @PutMapping("/objects")
+    public ResponseEntity<?> putObject(
+            @RequestParam("key") String fileKey,
+            @RequestParam("expires") long expires,
+            @RequestParam("signature") String signature,
+            InputStream body
+    ) {
+        if (!localStorageClient.isValidUpload(fileKey, expires, signature)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("message", "Invalid or expired upload URL"));
+        }
+
+        localStorageClient.putObject(fileKey, body);
+        return ResponseEntity.ok().build();
+    }
+}
@@ -1,51 +1,140 @@
 package com.saintplus.transcript.controller;
 
 import com.saintplus.common.security.UserPrincipal;
+import com.saintplus.transcript.dto.CommitTranscriptRequest;
 import com.saintplus.transcript.dto.NotifyUploadCompleteRequest;
+import com.saintplus.transcript.dto.TranscriptJobStatusResponse;
+import com.saintplus.transcript.dto.TranscriptScanSession;
 import com.saintplus.transcript.dto.UploadUrlRequest;
 import com.saintplus.transcript.dto.UploadUrlResponse;
 import com.saintplus.transcript.service.TranscriptService;
+import com.saintplus.transcript.service.UploadTooLargeException;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 
 @RestController
 @RequestMapping("/api/v1/transcripts")
 @RequiredArgsConstructor
-@CrossOrigin(origins = {"http://localhost:3000", "https://saintplanner.cloud"}, allowCredentials = "true")
+@CrossOrigin(origins = {"http://localhost:3000", "https://saintplanner.cloud"}, allowCredentials = "true", exposedHeaders = TranscriptController.UPLOAD_TOKEN_HEADER)
 public class TranscriptController {
 
     private final TranscriptService transcriptService;
     private final com.saintplus.common.security.JwtTokenProvider jwtTokenProvider;
 
+    public static final String UPLOAD_TOKEN_HEADER = "X-Upload-Token";
 
-    // 전공 먼저 추출
+
+    // 전공 먼저 추출 (과목까지 한 번에 파싱해 두고, 결과를 가리키는 토큰을 X-Upload-Token 헤더로 반환)
     @PostMapping("/extract-majors")
     public ResponseEntity<List<String>> extractMajors(
-            @RequestParam("file") MultipartFile file) throws IOException {
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestParam("file") MultipartFile file,
+            HttpServletRequest request) throws IOException {
+
+        TranscriptScanSession session = transcriptService.scanTranscript(file, userIdOrNull(userPrincipal), request.getRemoteAddr());
+        return ResponseEntity.ok()
+                .header(UPLOAD_TOKEN_HEADER, session.uploadToken())
+                .body(session.majors());
+    }
+
+    // 전공 먼저 추출 - 파일을 요청 본문(application/octet-stream)으로 바로 보내는 경우. multipart 임시 파일 없이 스트림으로 파싱
+    @PostMapping(value = "/extract-majors", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<List<String>> extractMajorsFromBody(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            InputStream body,
+            HttpServletRequest request) throws IOException {
+
+        TranscriptScanSession session = transcriptService.scanTranscript(body, userIdOrNull(userPrincipal), request.getRemoteAddr());
+        return ResponseEntity.ok()
+                .header(UPLOAD_TOKEN_HEADER, session.uploadToken())
+                .body(session.majors());
+    }
+
+    // extract-majors 는 로그인 없이 열려 있으므로 요청 본문도 multipart 와 같은 한도까지만 읽고 넘으면 413
+    @ExceptionHandler(UploadTooLargeException.class)
+    public ResponseEntity<Map<String, Object>> handleUploadTooLarge(UploadTooLargeException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", "파일이 너무 큽니다. (최대 " + e.getMaxBytes() + " bytes)");
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(response);
+    }
+
+    // 전공 확인 후 저장 (extract-majors 에서 받은 토큰 사용, 파일 재업로드 없음)
+    @PostMapping("/commit")
+    public ResponseEntity<Map<String, Object>> commitScannedTranscript(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestBody CommitTranscriptRequest request,
+            HttpServletRequest httpRequest) {
+
+        Map<String, Object> response = new HashMap<>();
+        try {
+            transcriptService.commitScannedTranscript(userPrincipal.getUserId(), httpRequest.getRemoteAddr(), request.uploadToken(),
+                    request.major1(), request.major2(), request.major3());
 
-        List<String> majors = transcriptService.extractMajors(file);
-        return ResponseEntity.ok(majors);
+            response.put("success", true);
+            response.put("message", "성적표 파싱 및 저장이 완료되었습니다.");
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
     }
 
     // 파일 업로드 및 파싱 (직접 파싱 - S3 사용 안함)
+    // 파싱은 DirectParseExecutor 가 처리하고 바로 202 + jobId 로 응답, 대기열이 가득 차면 429 + Retry-After, 파일이 한도보다 크면 413
     @PostMapping("/upload-and-parse")
     public ResponseEntity<Map<String, Object>> uploadAndParse(
             @RequestParam("file") MultipartFile file,
             @RequestParam("major1") String major1,
             @RequestParam(value = "major2", required = false, defaultValue = "") String major2,
             @RequestParam(value = "major3", required = false, defaultValue = "") String major3,
-            @RequestHeader("Authorization") String token) throws IOException {
-        
+            @RequestHeader("Authorization") String token) {
+
+        return parseWithToken(token, userId ->
+                transcriptService.submitTranscriptParsing(userId, file, major1, major2, major3));
+    }
+
+    // 파일 업로드 및 파싱 - 요청 본문(application/octet-stream) 스트림을 그대로 받음
+    @PostMapping(value = "/upload-and-parse", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<Map<String, Object>> uploadAndParseBody(
+            InputStream body,
+            @RequestParam("major1") String major1,
+            @RequestParam(value = "major2", required = false, defaultValue = "") String major2,
+            @RequestParam(value = "major3", required = false, defaultValue = "") String major3,
+            @RequestHeader("Authorization") String token) {
+
+        return parseWithToken(token, userId ->
+                transcriptService.submitTranscriptParsing(userId, body, major1, major2, major3));
+    }
+
+    // extract-majors 는 로그인 없이도 호출되므로 principal 이 없을 수 있음
+    private static Long userIdOrNull(UserPrincipal userPrincipal) {
+        return userPrincipal == null ? null : userPrincipal.getUserId();
+    }
+
+    @FunctionalInterface
+    private interface ParsingJob {
+        String submit(Long userId) throws IOException;
+    }
+
+    private ResponseEntity<Map<String, Object>> parseWithToken(String token, ParsingJob job) {
         Map<String, Object> response = new HashMap<>();
         
         try {
@@ -53,12 +142,24 @@ public class TranscriptController {
             String jwtToken = token.replace("Bearer ", "");
             Long userId = jwtTokenProvider.getUserId(jwtToken);
             
-            // 파일 파싱 및 저장
-            transcriptService.parseAndSaveTranscript(userId, file, major1, major2, major3);
+            // 파싱 작업 등록 (파싱/저장은 백그라운드에서 진행)
+            String jobId = job.submit(userId);
             
             response.put("success", true);
-            response.put("message", "성적표 파싱 및 저장이 완료되었습니다.");
-            return ResponseEntity.ok(response);
+            response.put("jobId", jobId);
+            response.put("statusUrl", "/api/v1/transcripts/jobs/" + jobId);
+            response.put("message", "성적표 파싱을 시작했습니다.");
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (UploadTooLargeException e) {
+            response.put("success", false);
+            response.put("message", "파일이 너무 큽니다. (최대 " + e.getMaxBytes() + " bytes)");
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(response);
+        } catch (RejectedExecutionException e) {
+            response.put("success", false);
+            response.put("message", "요청이 많아 잠시 후 다시 시도해 주세요.");
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(transcriptService.getDirectParseRetryAfterSeconds()))
+                    .body(response);
         } catch (Exception e) {
             e.printStackTrace();
             response.put("success", false);
@@ -81,19 +182,49 @@ public class TranscriptController {
     }
 
 
-    // S3 업로드 완료 알림을 받고, 파싱 작업 처리
+    // S3 업로드 완료 알림을 받고, 파싱 작업을 큐에 넣은 뒤 바로 응답 (파싱은 작업 큐 소비자가 처리)
+    // 응답의 statusUrl 로 진행 상태를 조회하거나, statusUrl + "/events" 로 SSE 구독
     @PostMapping("/parse")
     @ResponseStatus(HttpStatus.ACCEPTED)
-    public void processUploadedFile(
+    public Map<String, Object> processUploadedFile(
             @AuthenticationPrincipal UserPrincipal userPrincipal,
             @RequestBody NotifyUploadCompleteRequest request
     ) {
 
         Long userId = userPrincipal.getUserId();
 
-        transcriptService.processParsingJob(
+        String jobId = transcriptService.processParsingJob(
                 userId, request.fileKey(), request.major1(), request.major2(), request.major3()
         );
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("jobId", jobId);
+        response.put("statusUrl", "/api/v1/transcripts/jobs/" + jobId);
+        return response;
+    }
+
+    // 파싱 작업 진행 상태 (본인 작업만 조회 가능)
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<TranscriptJobStatusResponse> getJobStatus(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @PathVariable String jobId
+    ) {
+        return transcriptService.getJobStatus(userPrincipal.getUserId(), jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // 파싱 작업 진행 상태를 SSE 로 구독 (상태가 바뀔 때마다 "status" 이벤트, DONE/FAILED 에서 종료)
+    @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribeJobStatus(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @PathVariable String jobId
+    ) {
+        try {
+            return ResponseEntity.ok(transcriptService.subscribeJobStatus(userPrincipal.getUserId(), jobId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
     }
 
 
@@ -0,0 +1,58 @@
+package com.saintplus.transcript.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 비활성 사용자의 수강 이력 (cold 테이블).
+ * semester_course 에서 옮겨 온 원본 행이며, 통계는 CourseArchiveHistogram / CourseArchiveStudentCount 에 합산되어 있습니다.
+ * 사용자가 성적표를 다시 올리면 합산분을 되돌리고 이 테이블에서 삭제합니다.
+ */
+@Entity
+@Table(name = "semester_course_archive", indexes = {
+    @Index(name = "idx_semester_course_archive_user", columnList = "user_id")
+})
+@Getter
+@NoArgsConstructor
+public class ArchivedEnrollment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 10)
+    private String courseCode;
+
+    @Convert(converter = SemesterUnitsConverter.class)
+    @Column(name = "semester_units", nullable = false)
+    private double semester;
+
+    private int term;
+
+    private double credits;
+
+    @Column(nullable = false)
+    private String major1; // 보관 시점의 1전공 (전공별 통계 키)
+
+    @Convert(converter = RemarksConverter.class)
+    @Column(name = "remark_flags", nullable = false)
+    private Remarks importantRemarks;
+
+    // importantRemarks 와 같은 컬럼의 읽기 전용 원시값 (통계 쿼리 조건용)
+    @Column(name = "remark_flags", insertable = false, updatable = false)
+    private byte remarkFlags;
+
+    public ArchivedEnrollment(Enrollment enrollment, String major1) {
+        this.userId = enrollment.getUser().getId();
+        this.courseCode = enrollment.getCourseCode();
+        this.semester = enrollment.getSemester();
+        this.term = enrollment.getTerm();
+        this.credits = enrollment.getCredits();
+        this.major1 = major1;
+        this.importantRemarks = enrollment.getImportantRemarks();
+    }
+}
@@ -0,0 +1,41 @@
+package com.saintplus.transcript.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 보관된 수강 이력의 과목별 수강 학기 분포 (과목, 1전공, 학기 순번 -> 수강 건수)
+ */
+@Entity
+@Table(name = "course_archive_histogram", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"course_code", "major1", "semester"})
+})
+@Getter
+@NoArgsConstructor
+public class CourseArchiveHistogram {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "course_code", nullable = false)
+    private String courseCode;
+
+    @Column(nullable = false)
+    private String major1;
+
+    private double semester;
+
+    private long enrollmentCount;
+
+    public CourseArchiveHistogram(String courseCode, String major1, double semester) {
+        this.courseCode = courseCode;
+        this.major1 = major1;
+        this.semester = semester;
+    }
+
+    public void add(long delta) {
+        this.enrollmentCount += delta;
+    }
+}
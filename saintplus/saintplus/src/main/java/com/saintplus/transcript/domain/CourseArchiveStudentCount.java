@@ -0,0 +1,39 @@
+package com.saintplus.transcript.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 보관된 수강 이력의 과목별 수강생 수 (과목, 1전공 -> 서로 다른 학생 수).
+ * 학생마다 1전공은 하나이므로 전공별 값을 더하면 과목 전체 수강생 수가 됩니다.
+ */
+@Entity
+@Table(name = "course_archive_student_count", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"course_code", "major1"})
+})
+@Getter
+@NoArgsConstructor
+public class CourseArchiveStudentCount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "course_code", nullable = false)
+    private String courseCode;
+
+    @Column(nullable = false)
+    private String major1;
+
+    private long studentCount;
+
+    public CourseArchiveStudentCount(String courseCode, String major1) {
+        this.courseCode = courseCode;
+        this.major1 = major1;
+    }
+
+    public void add(long delta) {
+        this.studentCount += delta;
+    }
+}
@@ -0,0 +1,41 @@
+package com.saintplus.transcript.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 과목별 실제 학기(term)별 수강 건수 집계 (course, term) -> count.
+ * 보관 여부와 관계없이 현재 저장된 모든 성적표 기준이며, 성적표가 저장될 때마다 증감됩니다.
+ */
+@Entity
+@Table(name = "course_term_count", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"course_code", "term"})
+}, indexes = {
+    @Index(name = "idx_course_term_count_term", columnList = "term")
+})
+@Getter
+@NoArgsConstructor
+public class CourseTermCount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "course_code", nullable = false)
+    private String courseCode;
+
+    @Column(nullable = false)
+    private int term; // SemesterInfo.comparableValue
+
+    private long enrollmentCount;
+
+    public CourseTermCount(String courseCode, int term) {
+        this.courseCode = courseCode;
+        this.term = term;
+    }
+
+    public void add(long delta) {
+        this.enrollmentCount += delta;
+    }
+}
@@ -5,7 +5,10 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "semester_course")
+@Table(name = "semester_course", indexes = {
+    // 과목별 학기 분포/수강생 수 집계가 인덱스만으로 끝나도록 (과목, 학기, 비고 플래그)
+    @Index(name = "idx_semester_course_stats", columnList = "course_code, semester_units, remark_flags")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -16,15 +19,31 @@ public class Enrollment {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // 반학기 단위 정수로 저장 (3.5학기 -> 7)
+    @Convert(converter = SemesterUnitsConverter.class)
+    @Column(name = "semester_units", nullable = false)
     private double semester;
 
+    // 실제 수강 학기 (SemesterInfo.comparableValue, 예: 2023-1 -> 202301). 알 수 없으면 0
     @Column(nullable = false)
+    private int term;
+
+    @Column(nullable = false, length = 10)
     private String courseCode;
 
+    private double credits;
+
     @ManyToOne
     private User user;
 
-    @Embedded
+    @Convert(converter = RemarksConverter.class)
+    @Column(name = "remark_flags", nullable = false)
     private Remarks importantRemarks;
 
+    // importantRemarks 와 같은 컬럼의 읽기 전용 원시값. 통계 쿼리의 "MOD(remarkFlags, 4) = 0" 조건에만 사용
+    @Setter(AccessLevel.NONE)
+    @Builder.Default
+    @Column(name = "remark_flags", insertable = false, updatable = false)
+    private byte remarkFlags = 0;
+
 }
@@ -1,17 +1,30 @@
 package com.saintplus.transcript.domain;
 
-import jakarta.persistence.Embeddable;
 import lombok.Setter;
 
 
-@Embeddable
+/**
+ * 수강 과목 비고. DB에는 RemarksConverter 로 한 바이트 비트마스크(remark_flags)로 저장됩니다.
+ * 미이수(FAILED)와 재이수로 대체된 이전 성적(SUPERSEDED)을 하위 두 비트에 두어,
+ * 통계 쿼리는 "MOD(remarkFlags, 4) = 0" 한 조건으로 두 경우를 모두 제외할 수 있습니다.
+ */
 @Setter
 public class Remarks {
 
+    public static final int FAILED = 1;
+    public static final int SUPERSEDED = 2;
+    public static final int RETAKE = 4;
+    public static final int ENGLISH_LECTURE = 8;
+    public static final int DUPLICATE = 16;
+
+    // 통계에서 제외할 비트 (FAILED | SUPERSEDED)
+    public static final int NOT_COUNTED_MASK = FAILED | SUPERSEDED;
+
     private boolean isEnglishLecture; // E 영어강의
     private boolean isRetake;         // R 재이수로성적취득 후 기존성적 대체
     private boolean isDuplicate;      // M 중복 인정 과목
     private boolean isFailed;         // U,F,FA 미이수 처리
+    private boolean isSuperseded;     // 이후 재이수(R)로 성적이 대체된 이전 수강
 
 
     public Remarks() {}
@@ -28,5 +41,41 @@ public class Remarks {
     public boolean isRetake() { return isRetake; }
     public boolean isDuplicate() { return isDuplicate; }
     public boolean isFailed() { return isFailed; }
+    public boolean isSuperseded() { return isSuperseded; }
+
+    /**
+     * 통계(수강 학기 분포, 수강생 수 등)에 포함되는 수강인지 여부
+     */
+    public boolean isCounted() {
+        return (toFlags() & NOT_COUNTED_MASK) == 0;
+    }
+
+    public byte toFlags() {
+        int flags = 0;
+        if (isFailed) flags |= FAILED;
+        if (isSuperseded) flags |= SUPERSEDED;
+        if (isRetake) flags |= RETAKE;
+        if (isEnglishLecture) flags |= ENGLISH_LECTURE;
+        if (isDuplicate) flags |= DUPLICATE;
+        return (byte) flags;
+    }
+
+    public static Remarks fromFlags(int flags) {
+        Remarks remarks = new Remarks((flags & ENGLISH_LECTURE) != 0, (flags & RETAKE) != 0,
+                (flags & DUPLICATE) != 0, (flags & FAILED) != 0);
+        remarks.isSuperseded = (flags & SUPERSEDED) != 0;
+        return remarks;
+    }
+
+    // 같은 플래그면 같은 비고 (JPA 변경 감지와 수강 이력 비교가 플래그 값으로 동작하도록)
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Remarks other && toFlags() == other.toFlags();
+    }
+
+    @Override
+    public int hashCode() {
+        return toFlags();
+    }
 
 }
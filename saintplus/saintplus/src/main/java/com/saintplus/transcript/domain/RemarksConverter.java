@@ -0,0 +1,21 @@
+package com.saintplus.transcript.domain;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Remarks <-> 비트마스크 한 바이트 (remark_flags)
+ */
+@Converter
+public class RemarksConverter implements AttributeConverter<Remarks, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(Remarks remarks) {
+        return remarks == null ? 0 : remarks.toFlags();
+    }
+
+    @Override
+    public Remarks convertToEntityAttribute(Byte flags) {
+        return Remarks.fromFlags(flags == null ? 0 : flags);
+    }
+}
@@ -0,0 +1,22 @@
+package com.saintplus.transcript.domain;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * 학기 순번(double, 0.5 단위) <-> 반학기 단위 정수 한 바이트 (semester_units)
+ * 예: 3.0학기 -> 6, 계절학기 3.5 -> 7
+ */
+@Converter
+public class SemesterUnitsConverter implements AttributeConverter<Double, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(Double semester) {
+        return semester == null ? 0 : (byte) Math.round(semester * 2);
+    }
+
+    @Override
+    public Double convertToEntityAttribute(Byte units) {
+        return units == null ? 0.0 : units / 2.0;
+    }
+}
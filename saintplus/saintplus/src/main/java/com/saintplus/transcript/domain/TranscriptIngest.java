@@ -0,0 +1,55 @@
+package com.saintplus.transcript.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 성적표 저장 이력. 저장이 커밋된 업로드마다 한 행이 남습니다.
+ *
+ * - contentHash: 원본 파일의 SHA-256. 사용자의 마지막 행과 같으면 같은 파일을 다시 올린 것으로 보고 저장을 건너뜁니다.
+ * - fileKey: S3 업로드로 들어온 경우의 객체 키. 같은 키의 작업이 다시 오면(SQS 재전달, 재시도) 이미 처리된 것으로 봅니다.
+ */
+@Entity
+@Table(name = "transcript_ingest", indexes = {
+    @Index(name = "idx_transcript_ingest_user", columnList = "user_id, id"),
+    @Index(name = "idx_transcript_ingest_file_key", columnList = "file_key")
+})
+@Getter
+@NoArgsConstructor
+public class TranscriptIngest {
+
+    public static final String SAVED = "SAVED";         // 수강 이력을 저장함
+    public static final String UNCHANGED = "UNCHANGED"; // 마지막 저장과 같은 파일이라 건너뜀
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(name = "file_key", length = 512)
+    private String fileKey;
+
+    @Column(nullable = false, length = 16)
+    private String status;
+
+    private int courseCount;
+
+    private LocalDateTime createdAt;
+
+    public TranscriptIngest(Long userId, String contentHash, String fileKey, String status, int courseCount) {
+        this.userId = userId;
+        this.contentHash = contentHash;
+        this.fileKey = fileKey;
+        this.status = status;
+        this.courseCount = courseCount;
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,113 @@
+package com.saintplus.transcript.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 파싱 작업 한 건의 진행 상태와 단계별 시각.
+ * QUEUED -> PARSING -> PERSISTING -> DONE 순서로 진행하고, 재시도를 모두 실패하면 FAILED 로 끝납니다.
+ * (실패 후 재시도를 기다리는 동안은 QUEUED 이며 error 에 마지막 오류가 남음)
+ * 시작 전(QUEUED)에 같은 사용자의 새 작업이 들어오면 SUPERSEDED 로 끝나고 실행되지 않습니다.
+ * 처리하던 소비자가 죽어 PARSING/PERSISTING 으로 남은 작업은 lease 가 끝난 뒤 다시 전달되면 다시 PARSING 으로 시작합니다.
+ */
+@Entity
+@Table(name = "transcript_job", indexes = {
+    @Index(name = "idx_transcript_job_user", columnList = "user_id, queued_at")
+})
+@Getter
+@NoArgsConstructor
+public class TranscriptJob {
+
+    public static final String QUEUED = "QUEUED";
+    public static final String PARSING = "PARSING";
+    public static final String PERSISTING = "PERSISTING";
+    public static final String DONE = "DONE";
+    public static final String FAILED = "FAILED";
+    public static final String SUPERSEDED = "SUPERSEDED";
+
+    public static final String SUPERSEDED_ERROR = "Superseded by a newer upload.";
+
+    @Id
+    @Column(length = 36)
+    private String jobId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(length = 512)
+    private String fileKey;
+
+    @Column(nullable = false, length = 16)
+    private String status;
+
+    private int attempts; // 파싱을 시작한 횟수
+
+    @Column(length = 500)
+    private String error;
+
+    @Column(name = "queued_at")
+    private LocalDateTime queuedAt;
+    private LocalDateTime parsingAt;
+    private LocalDateTime persistingAt;
+    private LocalDateTime finishedAt;
+
+    public TranscriptJob(String jobId, Long userId, String fileKey) {
+        this.jobId = jobId;
+        this.userId = userId;
+        this.fileKey = fileKey;
+        this.status = QUEUED;
+        this.queuedAt = LocalDateTime.now();
+    }
+
+    public boolean isFinished() {
+        return DONE.equals(status) || FAILED.equals(status) || SUPERSEDED.equals(status);
+    }
+
+    public void markParsing() {
+        status = PARSING;
+        attempts++;
+        parsingAt = LocalDateTime.now();
+        persistingAt = null;
+    }
+
+    public void markPersisting() {
+        status = PERSISTING;
+        persistingAt = LocalDateTime.now();
+    }
+
+    public void markDone() {
+        status = DONE;
+        error = null;
+        finishedAt = LocalDateTime.now();
+    }
+
+    // 재시도 대기 (큐가 다시 넘겨줄 때까지)
+    public void markRetrying(String error) {
+        status = QUEUED;
+        this.error = truncate(error);
+    }
+
+    public void markFailed(String error) {
+        status = FAILED;
+        this.error = truncate(error);
+        finishedAt = LocalDateTime.now();
+    }
+
+    // 아직 시작하지 않은 작업만 대체됨
+    public boolean markSuperseded() {
+        if (!QUEUED.equals(status)) {
+            return false;
+        }
+        status = SUPERSEDED;
+        error = SUPERSEDED_ERROR;
+        finishedAt = LocalDateTime.now();
+        return true;
+    }
+
+    private static String truncate(String message) {
+        return message == null || message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
@@ -0,0 +1,50 @@
+package com.saintplus.transcript.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * /extract-majors 에서 파싱한 성적표 결과 한 건. 업로드 토큰으로 찾고, 어느 노드에서 /commit 해도 읽을 수 있습니다.
+ * 결과는 JSON 으로 저장하며 expiresAt 이 지나면 TranscriptScanCache 가 지웁니다.
+ */
+@Entity
+@Table(name = "transcript_scan", indexes = {
+    @Index(name = "idx_transcript_scan_expires", columnList = "expires_at")
+})
+@Getter
+@NoArgsConstructor
+public class TranscriptScan {
+
+    @Id
+    @Column(length = 36)
+    private String token;
+
+    @Column(name = "user_id")
+    private Long userId; // 로그인 없이 올렸으면 null
+
+    @Column(name = "client_address", length = 64)
+    private String clientAddress;
+
+    @Lob
+    @Column(nullable = false)
+    private String resultJson;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public TranscriptScan(String token, Long userId, String clientAddress, String resultJson, LocalDateTime expiresAt) {
+        this.token = token;
+        this.userId = userId;
+        this.clientAddress = clientAddress;
+        this.resultJson = resultJson;
+        this.expiresAt = expiresAt;
+    }
+
+    // 로그인한 업로드는 같은 사용자만, 로그인 없이 올린 업로드는 같은 클라이언트 주소에서만
+    public boolean isOwnedBy(Long requestUserId, String requestClientAddress) {
+        return userId != null ? userId.equals(requestUserId) : clientAddress.equals(requestClientAddress);
+    }
+}
@@ -0,0 +1,35 @@
+package com.saintplus.transcript.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사용자별 이수 학점 요약. 수강 이력이 다시 저장되거나 전공이 바뀔 때 갱신되며,
+ * 진행 현황 조회는 수강 이력을 합산하지 않고 이 행만 읽습니다. (미이수 과목 제외)
+ */
+@Entity
+@Table(name = "user_credit_summary")
+@Getter
+@Setter
+@NoArgsConstructor
+public class UserCreditSummary {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    private double totalCredits;   // 전체 이수 학점
+    private double majorCredits;   // 사용자 전공(1~3전공) 과목 학점
+    private double geCredits;      // 교양 과목 학점 (전공 접두사가 아닌 과목)
+    private double englishCredits; // 영어강의 학점
+
+    private LocalDateTime updatedAt;
+
+    public UserCreditSummary(Long userId) {
+        this.userId = userId;
+    }
+}
@@ -0,0 +1,13 @@
+package com.saintplus.transcript.dto;
+
+public record BulkIngestFileOutcome(
+        String fileName,
+        Long userId,
+        String status,   // SAVED, FAILED, SKIPPED
+        int courseCount,
+        String message
+) {
+    public static final String SAVED = "SAVED";
+    public static final String FAILED = "FAILED";
+    public static final String SKIPPED = "SKIPPED";
+}
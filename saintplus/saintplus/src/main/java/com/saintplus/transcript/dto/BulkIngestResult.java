@@ -0,0 +1,13 @@
+package com.saintplus.transcript.dto;
+
+import java.util.List;
+
+public record BulkIngestResult(
+        int totalFiles,
+        int savedFiles,
+        int failedFiles,
+        long elapsedMillis,
+        double filesPerSecond,
+        List<BulkIngestFileOutcome> files
+) {
+}
@@ -0,0 +1,9 @@
+package com.saintplus.transcript.dto;
+
+public record CommitTranscriptRequest(
+        String uploadToken,
+        String major1,
+        String major2,
+        String major3
+) {
+}
@@ -0,0 +1,10 @@
+package com.saintplus.transcript.dto;
+
+/**
+ * 과목별 수강 학기 분포 집계 결과 (과목 코드, 수강 학기, 수강 건수)
+ */
+public interface CourseSemesterCount {
+    String getCourseCode();
+    Double getSemester();
+    Long getStudentCount();
+}
@@ -0,0 +1,9 @@
+package com.saintplus.transcript.dto;
+
+/**
+ * 과목별 수강생 수 집계 결과 (과목 코드, 서로 다른 학생 수)
+ */
+public interface CourseStudentCount {
+    String getCourseCode();
+    Long getStudentCount();
+}
@@ -0,0 +1,10 @@
+package com.saintplus.transcript.dto;
+
+/**
+ * 과목별 실제 학기(term)별 수강 건수 집계 결과
+ */
+public interface CourseTermRow {
+    String getCourseCode();
+    Integer getTerm();
+    Long getEnrollmentCount();
+}
@@ -0,0 +1,37 @@
+package com.saintplus.transcript.dto;
+
+import com.saintplus.transcript.domain.Enrollment;
+import com.saintplus.transcript.domain.Remarks;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 성적표 재업로드로 바뀐 수강 이력. 같은 트랜잭션 안에서 동기로 발행됩니다.
+ * 수정된 행은 이전 값이 removed 에, 새 값이 added 에 들어갑니다. (보관 테이블에서 되돌린 행은 removed 에만 있음)
+ */
+public record EnrollmentDeltaEvent(Long userId, List<Enrollment> added, List<Enrollment> removed) {
+
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty();
+    }
+
+    /**
+     * (과목, 실제 학기) 수강 건수 증감분. 미이수/대체된 수강은 통계 쿼리와 마찬가지로 제외
+     */
+    public Map<String, Map<Integer, Long>> termCountDelta() {
+        Map<String, Map<Integer, Long>> delta = new HashMap<>();
+        removed.forEach(row -> merge(delta, row, -1L));
+        added.forEach(row -> merge(delta, row, 1L));
+        return delta;
+    }
+
+    private static void merge(Map<String, Map<Integer, Long>> delta, Enrollment row, long count) {
+        Remarks remarks = row.getImportantRemarks();
+        if (remarks != null && !remarks.isCounted()) {
+            return;
+        }
+        delta.computeIfAbsent(row.getCourseCode(), k -> new HashMap<>()).merge(row.getTerm(), count, Long::sum);
+    }
+}
@@ -0,0 +1,33 @@
+package com.saintplus.transcript.dto;
+
+import java.time.Duration;
+
+/**
+ * 파싱 작업을 시작해도 되는지에 대한 결과 (TranscriptJobStatusStore.parsing)
+ *
+ * @param retryAfter IN_PROGRESS 일 때 다시 확인할 때까지 기다릴 시간 (다른 소비자의 lease 가 끝날 때까지)
+ */
+public record ParsingClaim(Result result, Duration retryAfter) {
+
+    public enum Result {
+        STARTED,     // 이 소비자가 작업을 맡음
+        FINISHED,    // DONE 또는 SUPERSEDED: 다시 실행하지 않음
+        IN_PROGRESS  // 다른 소비자가 lease 안에서 처리 중
+    }
+
+    public static ParsingClaim started() {
+        return new ParsingClaim(Result.STARTED, Duration.ZERO);
+    }
+
+    public static ParsingClaim finished() {
+        return new ParsingClaim(Result.FINISHED, Duration.ZERO);
+    }
+
+    public static ParsingClaim inProgress(Duration retryAfter) {
+        return new ParsingClaim(Result.IN_PROGRESS, retryAfter);
+    }
+
+    public boolean isStarted() {
+        return result == Result.STARTED;
+    }
+}
@@ -15,21 +15,63 @@ public class SemesterInfo implements Comparable<SemesterInfo> {
         // 2021-S -> 202103 (after 1, before 2)
         // 2021-2 -> 202105
         // 2021-W -> 202107 (after 2)
+        this.comparableValue = toComparableValue(this.year, type.length() == 1 ? type.charAt(0) : ' ');
+    }
+
+    /**
+     * 연도와 학기 구분 문자('1', 'S', '2', 'W')로 comparableValue 를 계산합니다. (문자열 분리 없이 사용)
+     */
+    public static int toComparableValue(int year, char type) {
         int typeValue;
         switch (type) {
-            case "1": typeValue = 1; break;
-            case "S": typeValue = 3; break;
-            case "2": typeValue = 5; break;
-            case "W": typeValue = 7; break;
+            case '1': typeValue = 1; break;
+            case 'S': typeValue = 3; break;
+            case '2': typeValue = 5; break;
+            case 'W': typeValue = 7; break;
             default: typeValue = 0; // Should not happen
         }
-        this.comparableValue = this.year * 100 + typeValue;
+        return year * 100 + typeValue;
+    }
+
+    /**
+     * comparableValue 가 정규 학기(1, 2학기)인지 여부
+     */
+    public static boolean isRegularTerm(int comparableValue) {
+        int typeValue = comparableValue % 100;
+        return typeValue == 1 || typeValue == 5;
     }
 
     public int getYear() { return year; }
     public String getType() { return type; }
     public int getComparableValue() { return comparableValue; }
 
+    /**
+     * comparableValue(예: 202305)를 다시 "2023-2" 형식 문자열로 변환합니다.
+     */
+    public static String fromComparableValue(int comparableValue) {
+        int year = comparableValue / 100;
+        String type;
+        switch (comparableValue % 100) {
+            case 1: type = "1"; break;
+            case 3: type = "S"; break;
+            case 5: type = "2"; break;
+            case 7: type = "W"; break;
+            default: throw new IllegalArgumentException("Invalid term value: " + comparableValue);
+        }
+        return year + "-" + type;
+    }
+
+    /**
+     * 바로 이전 정규 학기(1, 2학기)의 comparableValue
+     */
+    public static int previousRegularTerm(int comparableValue) {
+        int year = comparableValue / 100;
+        int typeValue = comparableValue % 100;
+        if (typeValue > 5) return year * 100 + 5;  // W -> 같은 해 2학기
+        if (typeValue > 1) return year * 100 + 1;  // S, 2 -> 같은 해 1학기
+        return (year - 1) * 100 + 5;               // 1 -> 전년도 2학기
+    }
+
     public boolean isRegularSemester() {
         return type.equals("1") || type.equals("2");
     }
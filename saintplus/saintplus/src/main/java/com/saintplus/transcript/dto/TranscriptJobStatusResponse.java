@@ -0,0 +1,50 @@
+package com.saintplus.transcript.dto;
+
+import com.saintplus.transcript.domain.TranscriptJob;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 파싱 작업 상태. 단계별 소요 시간(ms)은 해당 단계가 끝난 경우에만 채워집니다.
+ *
+ * @param queueMillis   큐 대기 (QUEUED -> 마지막 PARSING 시작)
+ * @param parseMillis   파일 읽기와 파싱 (PARSING -> PERSISTING)
+ * @param persistMillis DB 저장과 커밋 (PERSISTING -> DONE)
+ * @param totalMillis   요청부터 끝날 때까지
+ */
+public record TranscriptJobStatusResponse(
+        String jobId,
+        String status,
+        int attempts,
+        String error,
+        LocalDateTime queuedAt,
+        LocalDateTime parsingAt,
+        LocalDateTime persistingAt,
+        LocalDateTime finishedAt,
+        Long queueMillis,
+        Long parseMillis,
+        Long persistMillis,
+        Long totalMillis
+) {
+
+    public static TranscriptJobStatusResponse from(TranscriptJob job) {
+        return new TranscriptJobStatusResponse(
+                job.getJobId(),
+                job.getStatus(),
+                job.getAttempts(),
+                job.getError(),
+                job.getQueuedAt(),
+                job.getParsingAt(),
+                job.getPersistingAt(),
+                job.getFinishedAt(),
+                millisBetween(job.getQueuedAt(), job.getParsingAt()),
+                millisBetween(job.getParsingAt(), job.getPersistingAt()),
+                millisBetween(job.getPersistingAt(), TranscriptJob.DONE.equals(job.getStatus()) ? job.getFinishedAt() : null),
+                millisBetween(job.getQueuedAt(), job.getFinishedAt()));
+    }
+
+    private static Long millisBetween(LocalDateTime from, LocalDateTime to) {
+        return from == null || to == null ? null : Duration.between(from, to).toMillis();
+    }
+}
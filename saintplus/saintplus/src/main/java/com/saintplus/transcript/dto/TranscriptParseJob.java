@@ -0,0 +1,14 @@
+package com.saintplus.transcript.dto;
+
+/**
+ * S3 에 올라간 성적표 파싱 작업 (작업 큐 메시지 본문)
+ */
+public record TranscriptParseJob(
+        String jobId, // 상태 조회용 ID (TranscriptJobStatusStore)
+        Long userId,
+        String fileKey,
+        String major1,
+        String major2,
+        String major3
+) {
+}
@@ -1,7 +1,8 @@
 package com.saintplus.transcript.dto;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.saintplus.course.dto.CourseAnalysisData;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 
 import java.util.List;
@@ -9,8 +10,29 @@ import java.util.Map;
 
 
 @Getter
-@AllArgsConstructor
 public class TranscriptScanResult {
     private final List<CourseAnalysisData> rawCourses;
     private final Map<String,String> mappingCourseCodeName;
+    private final List<String> majors; // [1전공, 2전공, 3전공], 전공 줄이 없으면 빈 리스트
+    private final String contentHash;  // 원본 파일의 SHA-256 (hex). 알 수 없으면 null
+
+    // TranscriptScanCache 가 JSON 으로 저장했다가 다시 읽음
+    @JsonCreator
+    public TranscriptScanResult(@JsonProperty("rawCourses") List<CourseAnalysisData> rawCourses,
+                                @JsonProperty("mappingCourseCodeName") Map<String, String> mappingCourseCodeName,
+                                @JsonProperty("majors") List<String> majors,
+                                @JsonProperty("contentHash") String contentHash) {
+        this.rawCourses = rawCourses;
+        this.mappingCourseCodeName = mappingCourseCodeName;
+        this.majors = majors;
+        this.contentHash = contentHash;
+    }
+
+    public TranscriptScanResult(List<CourseAnalysisData> rawCourses, Map<String, String> mappingCourseCodeName) {
+        this(rawCourses, mappingCourseCodeName, List.of());
+    }
+
+    public TranscriptScanResult(List<CourseAnalysisData> rawCourses, Map<String, String> mappingCourseCodeName, List<String> majors) {
+        this(rawCourses, mappingCourseCodeName, majors, null);
+    }
 }
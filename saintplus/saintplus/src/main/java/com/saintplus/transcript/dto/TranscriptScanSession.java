@@ -0,0 +1,9 @@
+package com.saintplus.transcript.dto;
+
+import java.util.List;
+
+public record TranscriptScanSession(
+        String uploadToken, // 파싱 결과를 서버에 보관한 키. 전공 확인 후 /commit 에 그대로 전달
+        List<String> majors
+) {
+}
@@ -0,0 +1,25 @@
+package com.saintplus.transcript.repository;
+
+import com.saintplus.transcript.domain.ArchivedEnrollment;
+import com.saintplus.transcript.dto.CourseTermRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ArchivedEnrollmentRepository extends JpaRepository<ArchivedEnrollment, Long> {
+
+    List<ArchivedEnrollment> findByUserId(Long userId);
+
+    boolean existsByUserId(Long userId);
+
+    @Query("SELECT a.courseCode AS courseCode, a.term AS term, COUNT(a) AS enrollmentCount " +
+            "FROM ArchivedEnrollment a WHERE a.term > 0 AND MOD(a.remarkFlags, 4) = 0 GROUP BY a.courseCode, a.term")
+    List<CourseTermRow> countByCourseAndTerm();
+
+    @Modifying
+    @Query("DELETE FROM ArchivedEnrollment a WHERE a.userId = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+}
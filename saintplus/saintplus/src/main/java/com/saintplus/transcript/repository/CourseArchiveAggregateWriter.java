@@ -0,0 +1,87 @@
+package com.saintplus.transcript.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * CourseArchiveAggregateWriter
+ *
+ * 보관 집계 테이블(course_archive_histogram, course_archive_student_count)에 증감분을 "없으면 넣고, 있으면 더하기"로 반영합니다.
+ * 값을 읽어 와서 더한 뒤 저장하지 않고 DB 가 한 문장 안에서 더하므로,
+ * 같은 과목을 보관/복원하는 트랜잭션이 동시에 돌아도 증감분이 사라지거나 유니크 키 충돌로 롤백되지 않습니다.
+ *
+ * - 교착을 피하려고 (과목 코드, 학기) 순서로 넣습니다.
+ * - 같은 트랜잭션의 커넥션을 쓰므로 실패하면 함께 롤백됩니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CourseArchiveAggregateWriter {
+
+    static final int ROWS_PER_STATEMENT = 100;
+
+    private static final String HISTOGRAM_PREFIX =
+            "INSERT INTO course_archive_histogram (course_code, major1, semester, enrollment_count) VALUES ";
+    private static final String HISTOGRAM_ROW = "(?, ?, ?, ?)";
+    private static final String HISTOGRAM_ON_DUPLICATE =
+            " ON DUPLICATE KEY UPDATE enrollment_count = enrollment_count + VALUES(enrollment_count)";
+
+    private static final String STUDENT_PREFIX =
+            "INSERT INTO course_archive_student_count (course_code, major1, student_count) VALUES ";
+    private static final String STUDENT_ROW = "(?, ?, ?)";
+    private static final String STUDENT_ON_DUPLICATE =
+            " ON DUPLICATE KEY UPDATE student_count = student_count + VALUES(student_count)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param delta 과목 코드 -> (학기 순번 -> 수강 건수 증감)
+     */
+    public void addToHistogram(String major1, Map<String, Map<Double, Long>> delta) {
+        List<Object[]> rows = new ArrayList<>();
+        new TreeMap<>(delta).forEach((courseCode, semesters) -> new TreeMap<>(semesters).forEach((semester, count) -> {
+            if (count != 0) {
+                rows.add(new Object[]{courseCode, major1, semester, count});
+            }
+        }));
+        write(HISTOGRAM_PREFIX, HISTOGRAM_ROW, HISTOGRAM_ON_DUPLICATE, rows);
+    }
+
+    /**
+     * 과목마다 수강생 수를 delta 만큼 더합니다. (한 사용자는 과목당 1명이므로 보관 +1, 복원 -1)
+     */
+    public void addToStudentCount(String major1, Collection<String> courseCodes, long delta) {
+        List<Object[]> rows = new ArrayList<>();
+        for (String courseCode : new TreeSet<>(courseCodes)) {
+            rows.add(new Object[]{courseCode, major1, delta});
+        }
+        write(STUDENT_PREFIX, STUDENT_ROW, STUDENT_ON_DUPLICATE, rows);
+    }
+
+    private void write(String prefix, String placeholder, String onDuplicate, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += ROWS_PER_STATEMENT) {
+            List<Object[]> chunk = rows.subList(from, Math.min(from + ROWS_PER_STATEMENT, rows.size()));
+            List<Object> parameters = new ArrayList<>(chunk.size() * chunk.get(0).length);
+            chunk.forEach(row -> parameters.addAll(List.of(row)));
+            jdbcTemplate.update(upsertSql(prefix, placeholder, onDuplicate, chunk.size()), parameters.toArray());
+        }
+    }
+
+    static String upsertSql(String prefix, String placeholder, String onDuplicate, int rows) {
+        StringBuilder sql = new StringBuilder(prefix.length() + rows * (placeholder.length() + 2) + onDuplicate.length());
+        sql.append(prefix);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) sql.append(", ");
+            sql.append(placeholder);
+        }
+        sql.append(onDuplicate);
+        return sql.toString();
+    }
+}
@@ -0,0 +1,14 @@
+package com.saintplus.transcript.repository;
+
+import com.saintplus.transcript.domain.CourseArchiveHistogram;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CourseArchiveHistogramRepository extends JpaRepository<CourseArchiveHistogram, Long> {
+
+    List<CourseArchiveHistogram> findByCourseCodeIn(Collection<String> courseCodes);
+
+    List<CourseArchiveHistogram> findByCourseCodeInAndMajor1(Collection<String> courseCodes, String major1);
+}
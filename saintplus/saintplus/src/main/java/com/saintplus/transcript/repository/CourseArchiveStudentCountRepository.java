@@ -0,0 +1,12 @@
+package com.saintplus.transcript.repository;
+
+import com.saintplus.transcript.domain.CourseArchiveStudentCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CourseArchiveStudentCountRepository extends JpaRepository<CourseArchiveStudentCount, Long> {
+
+    List<CourseArchiveStudentCount> findByCourseCodeIn(Collection<String> courseCodes);
+}
@@ -0,0 +1,13 @@
+package com.saintplus.transcript.repository;
+
+import com.saintplus.transcript.domain.CourseTermCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface CourseTermCountRepository extends JpaRepository<CourseTermCount, Long> {
+
+    List<CourseTermCount> findByCourseCodeAndTermBetween(String courseCode, int fromTerm, int toTerm);
+
+    List<CourseTermCount> findByTermBetween(int fromTerm, int toTerm);
+}
@@ -0,0 +1,89 @@
+package com.saintplus.transcript.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * CourseTermCountWriter
+ *
+ * course_term_count 에 (과목, 학기)별 증감분을 "없으면 넣고, 있으면 더하기" 한 문장으로 반영합니다.
+ * 성적표 저장 트랜잭션 여러 개가 같은 과목을 동시에 고쳐도 증감분이 사라지거나
+ * 유니크 키 충돌로 성적표 저장 전체가 롤백되지 않습니다.
+ *
+ * - 전체 재계산(replace)은 더하지 않고 값을 덮어쓰므로, 여러 노드가 동시에 재계산해도 두 배가 되지 않습니다.
+ * - 교착을 피하려고 (과목 코드, 학기) 순서로 넣습니다.
+ * - 같은 트랜잭션의 커넥션을 쓰므로 실패하면 함께 롤백됩니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CourseTermCountWriter {
+
+    static final int ROWS_PER_STATEMENT = 100;
+
+    private static final String PREFIX = "INSERT INTO course_term_count (course_code, term, enrollment_count) VALUES ";
+    private static final String ROW = "(?, ?, ?)";
+    private static final String ON_DUPLICATE_ADD =
+            " ON DUPLICATE KEY UPDATE enrollment_count = enrollment_count + VALUES(enrollment_count)";
+    private static final String ON_DUPLICATE_REPLACE =
+            " ON DUPLICATE KEY UPDATE enrollment_count = VALUES(enrollment_count)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param delta 과목 코드 -> term -> 수강 건수 증감 (term 이 0 이하이거나 증감이 0 인 값은 무시)
+     */
+    public void add(Map<String, Map<Integer, Long>> delta) {
+        write(delta, ON_DUPLICATE_ADD);
+    }
+
+    /**
+     * 증감분이 아닌 전체 값으로 덮어씁니다. (집계 재계산용)
+     *
+     * @param counts 과목 코드 -> term -> 수강 건수 (term 이 0 이하이거나 건수가 0 인 값은 무시)
+     */
+    public void replace(Map<String, Map<Integer, Long>> counts) {
+        write(counts, ON_DUPLICATE_REPLACE);
+    }
+
+    private void write(Map<String, Map<Integer, Long>> values, String onDuplicate) {
+        List<Object> parameters = new ArrayList<>();
+        int rows = 0;
+        for (Map.Entry<String, Map<Integer, Long>> course : new TreeMap<>(values).entrySet()) {
+            for (Map.Entry<Integer, Long> term : new TreeMap<>(course.getValue()).entrySet()) {
+                if (term.getKey() <= 0 || term.getValue() == 0) continue;
+                parameters.add(course.getKey());
+                parameters.add(term.getKey());
+                parameters.add(term.getValue());
+                if (++rows == ROWS_PER_STATEMENT) {
+                    flush(parameters, rows, onDuplicate);
+                    rows = 0;
+                }
+            }
+        }
+        if (rows > 0) {
+            flush(parameters, rows, onDuplicate);
+        }
+    }
+
+    private void flush(List<Object> parameters, int rows, String onDuplicate) {
+        jdbcTemplate.update(upsertSql(rows, onDuplicate), parameters.toArray());
+        parameters.clear();
+    }
+
+    static String upsertSql(int rows, String onDuplicate) {
+        StringBuilder sql = new StringBuilder(PREFIX.length() + rows * (ROW.length() + 2) + onDuplicate.length());
+        sql.append(PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) sql.append(", ");
+            sql.append(ROW);
+        }
+        sql.append(onDuplicate);
+        return sql.toString();
+    }
+}
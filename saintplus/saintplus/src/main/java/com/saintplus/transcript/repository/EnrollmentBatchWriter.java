@@ -0,0 +1,73 @@
+package com.saintplus.transcript.repository;
+
+import com.saintplus.transcript.domain.Enrollment;
+import com.saintplus.transcript.domain.RemarksConverter;
+import com.saintplus.transcript.domain.SemesterUnitsConverter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * EnrollmentBatchWriter
+ *
+ * 성적표 저장 시 수강 이력을 JPA 를 거치지 않고 여러 행 INSERT 한 문장으로 넣습니다.
+ * Enrollment 는 IDENTITY 키라서 Hibernate 가 INSERT 를 묶지 못하고 행마다 한 번씩 DB 를 오가므로,
+ * 성적표 한 건(보통 40~70과목)을 ROWS_PER_STATEMENT 행씩 잘라 한두 번에 저장합니다.
+ *
+ * - 컬럼 값은 엔티티와 같은 컨버터(SemesterUnitsConverter, RemarksConverter)로 만듭니다.
+ * - 같은 트랜잭션(JpaTransactionManager)의 커넥션을 쓰므로 실패하면 함께 롤백됩니다.
+ * - 넣은 행은 영속성 컨텍스트에 올라가지 않습니다. 같은 트랜잭션에서 다시 읽을 일이 없는 저장 경로에서만 사용하세요.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EnrollmentBatchWriter {
+
+    static final int ROWS_PER_STATEMENT = 100;
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO semester_course (semester_units, term, course_code, credits, user_id, remark_flags) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?)";
+
+    private static final SemesterUnitsConverter SEMESTER_UNITS = new SemesterUnitsConverter();
+    private static final RemarksConverter REMARKS = new RemarksConverter();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return 저장한 행 수
+     */
+    public int insertAll(List<Enrollment> enrollments) {
+        int inserted = 0;
+        for (int from = 0; from < enrollments.size(); from += ROWS_PER_STATEMENT) {
+            List<Enrollment> chunk = enrollments.subList(from, Math.min(from + ROWS_PER_STATEMENT, enrollments.size()));
+            inserted += jdbcTemplate.update(insertSql(chunk.size()), parameters(chunk));
+        }
+        return inserted;
+    }
+
+    static String insertSql(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows * (ROW_PLACEHOLDER.length() + 2));
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) sql.append(", ");
+            sql.append(ROW_PLACEHOLDER);
+        }
+        return sql.toString();
+    }
+
+    private static Object[] parameters(List<Enrollment> chunk) {
+        List<Object> parameters = new ArrayList<>(chunk.size() * 6);
+        for (Enrollment enrollment : chunk) {
+            parameters.add(SEMESTER_UNITS.convertToDatabaseColumn(enrollment.getSemester()));
+            parameters.add(enrollment.getTerm());
+            parameters.add(enrollment.getCourseCode());
+            parameters.add(enrollment.getCredits());
+            parameters.add(enrollment.getUser().getId());
+            parameters.add(REMARKS.convertToDatabaseColumn(enrollment.getImportantRemarks()));
+        }
+        return parameters.toArray();
+    }
+}
@@ -1,14 +1,23 @@
 package com.saintplus.transcript.repository;
 
 import com.saintplus.transcript.domain.Enrollment;
+import com.saintplus.transcript.dto.CourseSemesterCount;
+import com.saintplus.transcript.dto.CourseStudentCount;
+import com.saintplus.transcript.dto.CourseTermRow;
 import com.saintplus.user.domain.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 
+/**
+ * 통계용 쿼리는 미이수/재이수로 대체된 수강(remarkFlags 하위 두 비트)을 "MOD(sc.remarkFlags, 4) = 0" 으로 제외합니다.
+ */
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     List<Enrollment> findByUser(User user);
 
@@ -18,11 +27,43 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
 
     List<Enrollment> findByCourseCode(String courseCode);
 
-    @Query("SELECT COUNT(DISTINCT sc.user.id) FROM Enrollment sc WHERE sc.courseCode = :courseCode")
+    @Query("SELECT COUNT(DISTINCT sc.user.id) FROM Enrollment sc WHERE sc.courseCode = :courseCode AND MOD(sc.remarkFlags, 4) = 0")
     long countDistinctUsersByCourseCode(@Param("courseCode") String courseCode);
 
     @Query("SELECT sc FROM Enrollment sc WHERE sc.courseCode = :courseCode AND sc.user.major1 = :major1")
     List<Enrollment> findByCourseCodeAndUserMajor1(@Param("courseCode") String courseCode, @Param("major1") String major1);
 
-    void deleteByUser(User user);
+    @Query("SELECT sc.courseCode AS courseCode, sc.semester AS semester, COUNT(sc) AS studentCount " +
+            "FROM Enrollment sc WHERE sc.courseCode IN :courseCodes AND MOD(sc.remarkFlags, 4) = 0 GROUP BY sc.courseCode, sc.semester")
+    List<CourseSemesterCount> countBySemesterForCourses(@Param("courseCodes") Collection<String> courseCodes);
+
+    @Query("SELECT sc.courseCode AS courseCode, sc.semester AS semester, COUNT(sc) AS studentCount " +
+            "FROM Enrollment sc WHERE sc.courseCode IN :courseCodes AND sc.user.major1 = :major1 AND MOD(sc.remarkFlags, 4) = 0 " +
+            "GROUP BY sc.courseCode, sc.semester")
+    List<CourseSemesterCount> countBySemesterForCoursesAndMajor1(@Param("courseCodes") Collection<String> courseCodes,
+                                                                 @Param("major1") String major1);
+
+    @Query("SELECT sc.courseCode AS courseCode, COUNT(DISTINCT sc.user.id) AS studentCount " +
+            "FROM Enrollment sc WHERE sc.courseCode IN :courseCodes AND MOD(sc.remarkFlags, 4) = 0 GROUP BY sc.courseCode")
+    List<CourseStudentCount> countDistinctUsersByCourseCodes(@Param("courseCodes") Collection<String> courseCodes);
+
+    @Query("SELECT sc.courseCode AS courseCode, sc.term AS term, COUNT(sc) AS enrollmentCount " +
+            "FROM Enrollment sc WHERE sc.term > 0 AND MOD(sc.remarkFlags, 4) = 0 GROUP BY sc.courseCode, sc.term")
+    List<CourseTermRow> countByCourseAndTerm();
+
+    // lastSemester 는 "YYYY-T" 형식이고 cutoff 는 항상 "YYYY-1" 이므로 문자열 비교로 충분
+    // afterUserId 보다 큰 사용자만 id 순으로 (실패한 사용자를 건너뛰고 다음 페이지로 넘어가기 위한 키셋 페이지네이션)
+    @Query("SELECT DISTINCT sc.user.id FROM Enrollment sc WHERE sc.user.lastSemester < :cutoff AND sc.user.id > :afterUserId " +
+            "ORDER BY sc.user.id")
+    List<Long> findUserIdsWithLastSemesterBefore(@Param("cutoff") String cutoff, @Param("afterUserId") Long afterUserId,
+                                                 Pageable pageable);
+
+    // 파생 deleteByUser 는 행을 모두 읽어 한 건씩 지우므로 DELETE 한 문장으로 처리
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Enrollment sc WHERE sc.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Enrollment sc WHERE sc.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
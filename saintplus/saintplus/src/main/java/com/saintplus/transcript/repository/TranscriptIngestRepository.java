@@ -0,0 +1,13 @@
+package com.saintplus.transcript.repository;
+
+import com.saintplus.transcript.domain.TranscriptIngest;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface TranscriptIngestRepository extends JpaRepository<TranscriptIngest, Long> {
+
+    Optional<TranscriptIngest> findTopByUserIdOrderByIdDesc(Long userId);
+
+    boolean existsByFileKey(String fileKey);
+}
@@ -0,0 +1,29 @@
+package com.saintplus.transcript.repository;
+
+import com.saintplus.transcript.domain.TranscriptJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TranscriptJobRepository extends JpaRepository<TranscriptJob, String> {
+
+    List<TranscriptJob> findByUserIdAndStatusAndQueuedAtBefore(Long userId, String status, LocalDateTime queuedAt);
+
+    // 상태 전이는 조건부 UPDATE 로 하고 바뀐 행 수로 성공 여부를 판단 (여러 노드가 같은 작업을 동시에 시작/대체하지 않도록)
+    // 시작 전(QUEUED)이거나 포기한(FAILED) 작업, 또는 lease 가 끝난 PARSING/PERSISTING 작업(처리하던 소비자가 죽은 경우)을 맡음
+    @Modifying
+    @Query("UPDATE TranscriptJob j SET j.status = 'PARSING', j.attempts = j.attempts + 1, j.parsingAt = :now, " +
+            "j.persistingAt = null WHERE j.jobId = :jobId AND (j.status IN ('QUEUED', 'FAILED') " +
+            "OR (j.status IN ('PARSING', 'PERSISTING') AND COALESCE(j.persistingAt, j.parsingAt) < :staleBefore))")
+    int claimForParsing(@Param("jobId") String jobId, @Param("now") LocalDateTime now,
+                        @Param("staleBefore") LocalDateTime staleBefore);
+
+    @Modifying
+    @Query("UPDATE TranscriptJob j SET j.status = 'SUPERSEDED', j.error = :error, j.finishedAt = :now " +
+            "WHERE j.jobId = :jobId AND j.status = 'QUEUED'")
+    int markSupersededIfQueued(@Param("jobId") String jobId, @Param("error") String error, @Param("now") LocalDateTime now);
+}
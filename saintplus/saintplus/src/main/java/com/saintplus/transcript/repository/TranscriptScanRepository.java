@@ -0,0 +1,18 @@
+package com.saintplus.transcript.repository;
+
+import com.saintplus.transcript.domain.TranscriptScan;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface TranscriptScanRepository extends JpaRepository<TranscriptScan, String> {
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TranscriptScan s WHERE s.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,7 @@
+package com.saintplus.transcript.repository;
+
+import com.saintplus.transcript.domain.UserCreditSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface UserCreditSummaryRepository extends JpaRepository<UserCreditSummary, Long> {
+}
@@ -0,0 +1,257 @@
+package com.saintplus.transcript.service;
+
+import com.saintplus.transcript.dto.BulkIngestFileOutcome;
+import com.saintplus.transcript.dto.BulkIngestResult;
+import com.saintplus.transcript.dto.TranscriptScanResult;
+import com.saintplus.user.repository.UserRepository;
+import com.saintplus.user.service.UserService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * BulkTranscriptIngestService
+ *
+ * 관리자용 성적표 일괄 등록. 여러 파일(또는 zip)을 받아 파싱은 제한된 스레드 풀에서 병렬로 하고,
+ * DB 저장은 요청 스레드 하나에서 batch-size 개씩 한 트랜잭션으로 묶어 커밋합니다.
+ *
+ * - 파일명이 사용자 ID 로 시작해야 합니다. (예: 1024.txt, 1024_홍길동.txt)
+ * - 전공은 성적표의 전공 줄에서 읽습니다. 전공 줄이 없으면 사용자의 기존 전공을 그대로 둡니다.
+ * - 저장은 집계 테이블(과목-학기 집계 등)을 읽고 고쳐 쓰므로 병렬로 하지 않습니다. 처리량은 코어 수만큼 늘다가 DB 쓰기에서 막힙니다.
+ * - 한 배치가 실패하면 그 배치의 파일을 하나씩 다시 저장해 실패한 파일만 FAILED 로 남깁니다.
+ */
+@Slf4j
+@Service
+public class BulkTranscriptIngestService {
+
+    private final TranscriptParser transcriptParser;
+    private final TranscriptParsingWorker transcriptParsingWorker;
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+
+    private final int batchSize;
+    private final long maxFileBytes;
+    private final byte[] adminKey;
+
+    // 파싱까지 끝난 파일 하나
+    private record ParsedFile(String fileName, Long userId, TranscriptScanResult scanResult, BulkIngestFileOutcome outcome) {}
+
+    public BulkTranscriptIngestService(
+            TranscriptParser transcriptParser,
+            TranscriptParsingWorker transcriptParsingWorker,
+            UserService userService,
+            UserRepository userRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${saintplus.bulk-ingest.threads:0}") int threads,
+            @Value("${saintplus.bulk-ingest.batch-size:20}") int batchSize,
+            @Value("${saintplus.bulk-ingest.max-file-bytes:5242880}") long maxFileBytes,
+            @Value("${saintplus.admin.api-key:}") String adminKey
+    ) {
+        this.transcriptParser = transcriptParser;
+        this.transcriptParsingWorker = transcriptParsingWorker;
+        this.userService = userService;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxFileBytes = maxFileBytes;
+        this.adminKey = adminKey.getBytes(StandardCharsets.UTF_8);
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(poolSize * 2),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "transcript-bulk-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()); // 큐가 가득 차면 요청 스레드가 직접 파싱 (읽어 둔 파일이 쌓이지 않음)
+    }
+
+    /**
+     * saintplus.admin.api-key 가 설정되어 있고 전달된 키와 같을 때만 true
+     */
+    public boolean isAdminKey(String key) {
+        if (adminKey.length == 0 || key == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(adminKey, key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public BulkIngestResult ingest(List<MultipartFile> files) throws IOException {
+        long startedAt = System.nanoTime();
+
+        // 1. 파일(또는 zip 항목)마다 파싱 작업 예약. 순서는 업로드 순서 유지
+        List<CompletableFuture<ParsedFile>> parsing = new ArrayList<>();
+        for (MultipartFile file : files) {
+            String fileName = file.getOriginalFilename() == null ? "" : file.getOriginalFilename();
+            if (fileName.toLowerCase().endsWith(".zip")) {
+                submitZipEntries(file, parsing);
+            } else {
+                parsing.add(submit(fileName, file.getInputStream()));
+            }
+        }
+
+        // 2. 파싱이 끝나는 대로 batch-size 개씩 한 트랜잭션으로 저장. 결과는 업로드 순서대로 채움
+        BulkIngestFileOutcome[] results = new BulkIngestFileOutcome[parsing.size()];
+        List<Integer> batch = new ArrayList<>();
+        List<ParsedFile> parsedFiles = new ArrayList<>();
+        for (int i = 0; i < parsing.size(); i++) {
+            ParsedFile parsed = parsing.get(i).join();
+            parsedFiles.add(parsed);
+            if (parsed.outcome() != null) {
+                results[i] = parsed.outcome();
+                continue;
+            }
+            batch.add(i);
+            if (batch.size() == batchSize) {
+                commitBatch(batch, parsedFiles, results);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            commitBatch(batch, parsedFiles, results);
+        }
+        List<BulkIngestFileOutcome> outcomes = List.of(results);
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        int saved = (int) outcomes.stream().filter(o -> BulkIngestFileOutcome.SAVED.equals(o.status())).count();
+        int failed = (int) outcomes.stream().filter(o -> BulkIngestFileOutcome.FAILED.equals(o.status())).count();
+        double filesPerSecond = elapsedMillis == 0 ? outcomes.size() : outcomes.size() * 1000.0 / elapsedMillis;
+
+        log.info("Bulk transcript ingest complete. files={}, saved={}, failed={}, elapsedMs={}, filesPerSec={}",
+                outcomes.size(), saved, failed, elapsedMillis, String.format("%.1f", filesPerSecond));
+        return new BulkIngestResult(outcomes.size(), saved, failed, elapsedMillis, filesPerSecond, outcomes);
+    }
+
+    // zip 은 순서대로만 읽을 수 있으므로 항목 하나씩 메모리로 읽어 파싱 작업에 넘김 (항목당 max-file-bytes 까지)
+    private void submitZipEntries(MultipartFile zip, List<CompletableFuture<ParsedFile>> parsing) throws IOException {
+        try (ZipInputStream zipStream = new ZipInputStream(zip.getInputStream())) {
+            ZipEntry entry;
+            while ((entry = zipStream.getNextEntry()) != null) {
+                String entryName = entry.getName();
+                if (entry.isDirectory() || entryName.startsWith("__MACOSX/")) {
+                    continue;
+                }
+                byte[] content = zipStream.readNBytes((int) Math.min(maxFileBytes + 1, Integer.MAX_VALUE));
+                if (content.length > maxFileBytes) {
+                    parsing.add(CompletableFuture.completedFuture(unsaved(entryName, null, BulkIngestFileOutcome.FAILED, "File too large")));
+                    continue;
+                }
+                parsing.add(submit(entryName, new ByteArrayInputStream(content)));
+            }
+        }
+    }
+
+    private CompletableFuture<ParsedFile> submit(String fileName, InputStream content) {
+        return CompletableFuture.supplyAsync(() -> parse(fileName, content), executor);
+    }
+
+    private ParsedFile parse(String fileName, InputStream content) {
+        Long userId = userIdFromFileName(fileName);
+        if (userId == null) {
+            closeQuietly(content);
+            return unsaved(fileName, null, BulkIngestFileOutcome.SKIPPED, "File name must start with a user id (e.g. 1024_name.txt)");
+        }
+        if (!userRepository.existsById(userId)) {
+            closeQuietly(content);
+            return unsaved(fileName, userId, BulkIngestFileOutcome.SKIPPED, "User not found");
+        }
+
+        try {
+            TranscriptScanResult scanResult = transcriptParser.analyzeFile(content, userId.toString());
+            if (scanResult.getRawCourses().isEmpty()) {
+                return unsaved(fileName, userId, BulkIngestFileOutcome.SKIPPED, "No course rows found");
+            }
+            return new ParsedFile(fileName, userId, scanResult, null);
+        } catch (Exception e) {
+            log.warn("Bulk ingest parse failed. file={}", fileName, e);
+            return unsaved(fileName, userId, BulkIngestFileOutcome.FAILED, "Parse failed: " + e.getMessage());
+        }
+    }
+
+    private void commitBatch(List<Integer> batch, List<ParsedFile> parsedFiles, BulkIngestFileOutcome[] results) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> batch.forEach(i -> save(parsedFiles.get(i))));
+            batch.forEach(i -> results[i] = saved(parsedFiles.get(i)));
+            return;
+        } catch (Exception batchFailure) {
+            log.warn("Bulk ingest batch failed, retrying files one by one. size={}", batch.size(), batchFailure);
+        }
+
+        // 배치 중 하나라도 실패하면 전체가 롤백되므로, 파일별 트랜잭션으로 다시 저장해 실패한 파일만 골라냄
+        for (int i : batch) {
+            ParsedFile parsed = parsedFiles.get(i);
+            try {
+                transactionTemplate.executeWithoutResult(status -> save(parsed));
+                results[i] = saved(parsed);
+            } catch (Exception e) {
+                log.warn("Bulk ingest save failed. file={}, userId={}", parsed.fileName(), parsed.userId(), e);
+                results[i] = new BulkIngestFileOutcome(parsed.fileName(), parsed.userId(), BulkIngestFileOutcome.FAILED,
+                        0, "Save failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void save(ParsedFile parsed) {
+        List<String> majors = parsed.scanResult().getMajors();
+        if (majors.size() == 3) {
+            userService.updateUserData(parsed.userId(), majors.get(0), majors.get(1), majors.get(2));
+        }
+        transcriptParsingWorker.saveScannedTranscript(parsed.userId(), parsed.scanResult());
+    }
+
+    // "1024.txt", "dept/1024_홍길동.txt" -> 1024
+    static Long userIdFromFileName(String fileName) {
+        String baseName = fileName.substring(fileName.lastIndexOf('/') + 1);
+        int end = 0;
+        while (end < baseName.length() && Character.isDigit(baseName.charAt(end))) end++;
+        if (end == 0 || end > 18 || (end < baseName.length() && baseName.charAt(end) != '_' && baseName.charAt(end) != '.')) {
+            return null;
+        }
+        return Long.parseLong(baseName.substring(0, end));
+    }
+
+    private static ParsedFile unsaved(String fileName, Long userId, String status, String message) {
+        return new ParsedFile(fileName, userId, null, new BulkIngestFileOutcome(fileName, userId, status, 0, message));
+    }
+
+    private static BulkIngestFileOutcome saved(ParsedFile parsed) {
+        return new BulkIngestFileOutcome(parsed.fileName(), parsed.userId(), BulkIngestFileOutcome.SAVED,
+                parsed.scanResult().getRawCourses().size(), null);
+    }
+
+    private static void closeQuietly(InputStream inputStream) {
+        try {
+            inputStream.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,116 @@
+package com.saintplus.transcript.service;
+
+import com.saintplus.course.service.CourseService;
+import com.saintplus.transcript.domain.ArchivedEnrollment;
+import com.saintplus.transcript.domain.Enrollment;
+import com.saintplus.transcript.domain.Remarks;
+import com.saintplus.transcript.domain.UserCreditSummary;
+import com.saintplus.transcript.repository.ArchivedEnrollmentRepository;
+import com.saintplus.transcript.repository.EnrollmentRepository;
+import com.saintplus.transcript.repository.UserCreditSummaryRepository;
+import com.saintplus.user.domain.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CreditSummaryService
+ *
+ * 사용자별 이수 학점 요약(UserCreditSummary)을 관리합니다.
+ * 성적표 저장 시에는 방금 저장한 수강 이력으로 바로 계산하고, 전공이 바뀐 경우에만 저장된 이력을 다시 읽습니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class CreditSummaryService {
+
+    private final UserCreditSummaryRepository userCreditSummaryRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final ArchivedEnrollmentRepository archivedEnrollmentRepository;
+    private final CourseService courseService;
+
+    /**
+     * 사용자의 수강 이력 전체로 학점 요약을 다시 계산해 저장합니다.
+     */
+    @Transactional
+    public void refresh(User user, List<Enrollment> enrollments) {
+        List<String> majorPrefixes = majorPrefixes(user);
+
+        UserCreditSummary summary = userCreditSummaryRepository.findById(user.getId())
+                .orElseGet(() -> new UserCreditSummary(user.getId()));
+        summary.setTotalCredits(0);
+        summary.setMajorCredits(0);
+        summary.setGeCredits(0);
+        summary.setEnglishCredits(0);
+
+        for (Enrollment enrollment : enrollments) {
+            add(summary, enrollment.getCourseCode(), enrollment.getCredits(), enrollment.getImportantRemarks(), majorPrefixes);
+        }
+        summary.setUpdatedAt(LocalDateTime.now());
+        userCreditSummaryRepository.save(summary);
+    }
+
+    /**
+     * 전공이 바뀐 경우 저장된 수강 이력(보관된 이력 포함)으로 다시 계산합니다.
+     */
+    @Transactional
+    public void recompute(User user) {
+        List<Enrollment> enrollments = new ArrayList<>(enrollmentRepository.findAllByUserId(user.getId()));
+        for (ArchivedEnrollment archived : archivedEnrollmentRepository.findByUserId(user.getId())) {
+            enrollments.add(Enrollment.builder()
+                    .courseCode(archived.getCourseCode())
+                    .credits(archived.getCredits())
+                    .importantRemarks(archived.getImportantRemarks())
+                    .build());
+        }
+        refresh(user, enrollments);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> getProgress(User user) {
+        UserCreditSummary summary = userCreditSummaryRepository.findById(user.getId())
+                .orElseGet(() -> new UserCreditSummary(user.getId()));
+
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("totalCredits", summary.getTotalCredits());
+        progress.put("majorCredits", summary.getMajorCredits());
+        progress.put("geCredits", summary.getGeCredits());
+        progress.put("englishCredits", summary.getEnglishCredits());
+        progress.put("updatedAt", summary.getUpdatedAt());
+        return progress;
+    }
+
+    private static void add(UserCreditSummary summary, String courseCode, double credits, Remarks remarks, List<String> majorPrefixes) {
+        if (remarks != null && !remarks.isCounted()) {
+            return; // 미이수 과목과 재이수로 대체된 이전 성적은 학점에 포함하지 않음
+        }
+
+        summary.setTotalCredits(summary.getTotalCredits() + credits);
+        if (majorPrefixes.stream().anyMatch(courseCode::startsWith)) {
+            summary.setMajorCredits(summary.getMajorCredits() + credits);
+        }
+        if (CourseService.MAJOR_PREFIXES.stream().noneMatch(courseCode::startsWith)) {
+            summary.setGeCredits(summary.getGeCredits() + credits);
+        }
+        if (remarks != null && remarks.isEnglishLecture()) {
+            summary.setEnglishCredits(summary.getEnglishCredits() + credits);
+        }
+    }
+
+    private List<String> majorPrefixes(User user) {
+        List<String> prefixes = new ArrayList<>();
+        for (String major : new String[]{user.getMajor1(), user.getMajor2(), user.getMajor3()}) {
+            if (major == null || major.isEmpty() || major.equals("미선택")) continue;
+            String prefix = courseService.getCoursePrefixForMajor(major);
+            if (!prefix.isEmpty()) {
+                prefixes.add(prefix);
+            }
+        }
+        return prefixes;
+    }
+}
@@ -0,0 +1,192 @@
+package com.saintplus.transcript.service;
+
+import com.saintplus.user.service.UserService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DirectParseExecutor
+ *
+ * 직접 업로드(/upload-and-parse)한 성적표를 요청 스레드가 아닌 전용 스레드 풀에서 파싱/저장합니다.
+ * 업로드가 몰려도 파싱은 threads 개까지만 동시에 돌기 때문에 다른 API 의 요청 스레드와 DB 커넥션을 잡아먹지 않습니다.
+ *
+ * - 요청 본문은 응답 전에 spool-dir 의 임시 파일로 받아 두고, 작업이 끝나면 지웁니다. (요청이 끝나면 본문을 읽을 수 없으므로)
+ *   saintplus.upload.max-bytes 보다 크면 받는 도중에 멈추고 UploadTooLargeException 을 던집니다. (컨트롤러가 413 으로 응답)
+ * - 대기열이 queue-capacity 개로 가득 차면 RejectedExecutionException 을 던집니다. (컨트롤러가 429 + Retry-After 로 응답)
+ * - 진행 상태는 S3 업로드 작업과 같이 TranscriptJobStatusStore 에 남습니다. 직접 업로드는 재시도하지 않습니다.
+ * - 대기열은 메모리에만 있으므로, 종료할 때 아직 시작하지 않은 작업은 FAILED 로 남깁니다. (QUEUED 로 영영 남지 않도록)
+ */
+@Slf4j
+@Service
+public class DirectParseExecutor {
+
+    private final UserService userService;
+    private final TranscriptParsingWorker transcriptParsingWorker;
+    private final TranscriptJobStatusStore transcriptJobStatusStore;
+    private final UserIngestLock userIngestLock;
+    private final UploadSizeLimit uploadSizeLimit;
+    private final ThreadPoolExecutor executor;
+    private final Path spoolDir;
+    private final int retryAfterSeconds;
+
+    public DirectParseExecutor(
+            UserService userService,
+            TranscriptParsingWorker transcriptParsingWorker,
+            TranscriptJobStatusStore transcriptJobStatusStore,
+            UserIngestLock userIngestLock,
+            UploadSizeLimit uploadSizeLimit,
+            @Value("${saintplus.direct-parse.threads:2}") int threads,
+            @Value("${saintplus.direct-parse.queue-capacity:50}") int queueCapacity,
+            @Value("${saintplus.direct-parse.spool-dir:${java.io.tmpdir}}") String spoolDir,
+            @Value("${saintplus.direct-parse.retry-after-seconds:5}") int retryAfterSeconds
+    ) {
+        this.userService = userService;
+        this.transcriptParsingWorker = transcriptParsingWorker;
+        this.transcriptJobStatusStore = transcriptJobStatusStore;
+        this.userIngestLock = userIngestLock;
+        this.uploadSizeLimit = uploadSizeLimit;
+        this.spoolDir = Path.of(spoolDir);
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        int poolSize = Math.max(1, threads);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "transcript-direct-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 본문을 임시 파일로 받은 뒤 작업을 넣고 바로 작업 ID 를 반환합니다.
+     *
+     * @throws RejectedExecutionException 대기열이 가득 찬 경우 (본문은 읽지 않음)
+     * @throws UploadTooLargeException     본문이 saintplus.upload.max-bytes 보다 큰 경우
+     */
+    public String submit(Long userId, InputStream body, String major1, String major2, String major3) throws IOException {
+        // 가득 찼으면 본문을 받기 전에 거절
+        if (executor.getQueue().remainingCapacity() == 0) {
+            throw new RejectedExecutionException("Direct parse queue is full.");
+        }
+
+        Path spool = Files.createTempFile(spoolDir, "direct-upload-", ".tmp");
+        try {
+            Files.copy(uploadSizeLimit.limit(body), spool, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(spool);
+            throw e;
+        }
+
+        String jobId = UUID.randomUUID().toString();
+        transcriptJobStatusStore.queued(jobId, userId, null);
+        try {
+            executor.execute(new DirectParseTask(jobId, userId, spool, major1, major2, major3));
+        } catch (RejectedExecutionException e) {
+            // 본문을 받는 사이에 대기열이 찬 경우
+            Files.deleteIfExists(spool);
+            transcriptJobStatusStore.failed(jobId, "Direct parse queue is full.");
+            throw e;
+        }
+        transcriptJobStatusStore.enqueued(jobId);
+        log.info("Direct parsing job queued. jobId={}, userId={}, queued={}", jobId, userId, executor.getQueue().size());
+        return jobId;
+    }
+
+    private void run(String jobId, Long userId, Path spool, String major1, String major2, String major3) {
+        try {
+            if (!transcriptJobStatusStore.parsing(jobId).isStarted()) {
+                log.info("Direct parsing job superseded by a newer upload, skipping. jobId={}, userId={}", jobId, userId);
+                return;
+            }
+
+            userIngestLock.runInTransaction(userId, () -> {
+                userService.updateUserData(userId, major1, major2, major3);
+                try (InputStream in = Files.newInputStream(spool)) {
+                    transcriptParsingWorker.parseFromInputStream(userId, in,
+                            () -> transcriptJobStatusStore.persisting(jobId));
+                } catch (IOException e) {
+                    throw new IllegalStateException("Failed to read spooled upload.", e);
+                }
+            });
+
+            transcriptJobStatusStore.done(jobId);
+            log.info("Direct parsing job completed. jobId={}, userId={}", jobId, userId);
+        } catch (Exception e) {
+            log.error("Direct parsing job failed. jobId={}, userId={}", jobId, userId, e);
+            transcriptJobStatusStore.failed(jobId, e.getMessage());
+        } finally {
+            deleteSpool(spool);
+        }
+    }
+
+    private static void deleteSpool(Path spool) {
+        try {
+            Files.deleteIfExists(spool);
+        } catch (IOException e) {
+            log.warn("Failed to delete spooled upload. path={}", spool, e);
+        }
+    }
+
+    /**
+     * 429 응답의 Retry-After (초)
+     */
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    int queuedCount() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Runnable pending : executor.shutdownNow()) {
+            if (pending instanceof DirectParseTask task) {
+                transcriptJobStatusStore.failed(task.jobId, "Server shut down before parsing started. Please upload again.");
+                deleteSpool(task.spool);
+            }
+        }
+    }
+
+    // 종료할 때 대기열에 남은 작업의 jobId 와 임시 파일을 알 수 있도록 람다 대신 클래스로 둠
+    private final class DirectParseTask implements Runnable {
+
+        private final String jobId;
+        private final Long userId;
+        private final Path spool;
+        private final String major1;
+        private final String major2;
+        private final String major3;
+
+        DirectParseTask(String jobId, Long userId, Path spool, String major1, String major2, String major3) {
+            this.jobId = jobId;
+            this.userId = userId;
+            this.spool = spool;
+            this.major1 = major1;
+            this.major2 = major2;
+            this.major3 = major3;
+        }
+
+        @Override
+        public void run() {
+            DirectParseExecutor.this.run(jobId, userId, spool, major1, major2, major3);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.saintplus.transcript.service;
+
+import com.saintplus.transcript.repository.EnrollmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * EnrollmentArchiveJob
+ *
+ * 마지막 수강 학기(User.lastSemester)가 saintplus.archive.inactive-years 년보다 오래된 사용자의
+ * 수강 이력을 주기적으로 보관합니다. lastSemester 가 없는 사용자는 대상이 아닙니다.
+ * 보관에 실패한 사용자는 건너뛰고 나머지를 계속 보관하며, 다음 실행에서 다시 시도합니다.
+ */
+@Slf4j
+@Component
+public class EnrollmentArchiveJob {
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final EnrollmentArchiveService enrollmentArchiveService;
+    private final boolean enabled;
+    private final int inactiveYears;
+    private final int batchSize;
+
+    public EnrollmentArchiveJob(
+            EnrollmentRepository enrollmentRepository,
+            EnrollmentArchiveService enrollmentArchiveService,
+            @Value("${saintplus.archive.enabled:true}") boolean enabled,
+            @Value("${saintplus.archive.inactive-years:2}") int inactiveYears,
+            @Value("${saintplus.archive.batch-size:100}") int batchSize
+    ) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.enrollmentArchiveService = enrollmentArchiveService;
+        this.enabled = enabled;
+        this.inactiveYears = inactiveYears;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${saintplus.archive.cron:0 30 4 * * *}")
+    public void archiveInactiveUsers() {
+        if (!enabled) {
+            return;
+        }
+
+        String cutoff = (LocalDate.now().getYear() - inactiveYears) + "-1";
+        long startedAt = System.currentTimeMillis();
+        int users = 0;
+        int rows = 0;
+        int failures = 0;
+
+        long afterUserId = 0L;
+        while (true) {
+            // 실패한 사용자는 hot 테이블에 남으므로 첫 페이지가 아니라 마지막으로 본 id 다음부터 읽음
+            List<Long> userIds = enrollmentRepository.findUserIdsWithLastSemesterBefore(
+                    cutoff, afterUserId, PageRequest.of(0, batchSize));
+            if (userIds.isEmpty()) {
+                break;
+            }
+
+            for (Long userId : userIds) {
+                try {
+                    rows += enrollmentArchiveService.archiveUser(userId);
+                    users++;
+                } catch (Exception e) {
+                    failures++;
+                    log.error("Failed to archive enrollments. userId={}", userId, e);
+                }
+            }
+            afterUserId = userIds.get(userIds.size() - 1);
+        }
+
+        log.info("Enrollment archive finished. cutoff={}, users={}, rows={}, failures={}, elapsedMs={}",
+                cutoff, users, rows, failures, System.currentTimeMillis() - startedAt);
+    }
+}
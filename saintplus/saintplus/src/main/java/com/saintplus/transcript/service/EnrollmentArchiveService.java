@@ -0,0 +1,121 @@
+package com.saintplus.transcript.service;
+
+import com.saintplus.course.service.UserAcademicProfileService;
+import com.saintplus.transcript.domain.ArchivedEnrollment;
+import com.saintplus.transcript.domain.Enrollment;
+import com.saintplus.transcript.repository.ArchivedEnrollmentRepository;
+import com.saintplus.transcript.repository.CourseArchiveAggregateWriter;
+import com.saintplus.transcript.repository.EnrollmentRepository;
+import com.saintplus.user.domain.User;
+import com.saintplus.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * EnrollmentArchiveService
+ *
+ * 비활성 사용자의 수강 이력을 semester_course(hot)에서 semester_course_archive(cold)로 옮기고,
+ * 그 통계를 과목별 집계 테이블(학기 분포, 전공별 수강생 수)에 합산합니다.
+ * 통계는 CourseStatisticsService 가 hot 집계와 합쳐서 읽으므로 결과는 옮기기 전과 같습니다.
+ *
+ * 보관된 사용자가 성적표를 다시 올리면 restoreUser 로 합산분을 되돌리고 보관 행을 삭제합니다.
+ * 보관된 사용자의 프로필(수강한 과목, 교양 트랙 등)은 UserAcademicProfileService 가 보관 행으로 만듭니다.
+ * 집계 합산은 CourseArchiveAggregateWriter 의 한 문장 증감이라 동시에 보관/복원해도 값이 사라지지 않습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EnrollmentArchiveService {
+
+    private static final String NO_MAJOR = "미선택";
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final ArchivedEnrollmentRepository archivedEnrollmentRepository;
+    private final CourseArchiveAggregateWriter courseArchiveAggregateWriter;
+    private final UserRepository userRepository;
+    private final UserAcademicProfileService userAcademicProfileService;
+
+    /**
+     * 사용자 한 명의 수강 이력을 보관합니다. (사용자 단위 트랜잭션)
+     *
+     * @return 보관한 수강 이력 수
+     */
+    @Transactional
+    public int archiveUser(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalStateException("User not found: " + userId));
+        List<Enrollment> enrollments = enrollmentRepository.findAllByUserId(userId);
+        if (enrollments.isEmpty()) {
+            return 0;
+        }
+
+        String major1 = normalizeMajor(user.getMajor1());
+        List<ArchivedEnrollment> archived = enrollments.stream()
+                .map(enrollment -> new ArchivedEnrollment(enrollment, major1))
+                .toList();
+        archivedEnrollmentRepository.saveAll(archived);
+        applyToAggregates(major1, archived, 1);
+
+        enrollmentRepository.deleteByUserId(userId);
+        userAcademicProfileService.evict(userId);
+        return archived.size();
+    }
+
+    /**
+     * 보관된 수강 이력이 있으면 집계에서 빼고 삭제합니다. (성적표를 다시 저장하기 전에 호출)
+     *
+     * @return 삭제한 보관 행 (없으면 빈 목록)
+     */
+    @Transactional
+    public List<ArchivedEnrollment> restoreUser(Long userId) {
+        if (!archivedEnrollmentRepository.existsByUserId(userId)) {
+            return List.of();
+        }
+
+        List<ArchivedEnrollment> archived = archivedEnrollmentRepository.findByUserId(userId);
+        archived.stream()
+                .collect(Collectors.groupingBy(ArchivedEnrollment::getMajor1))
+                .forEach((major1, rows) -> applyToAggregates(major1, rows, -1));
+        archivedEnrollmentRepository.deleteByUserId(userId);
+
+        log.info("Archived enrollments restored. userId={}, rows={}", userId, archived.size());
+        return archived;
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isArchived(Long userId) {
+        return archivedEnrollmentRepository.existsByUserId(userId);
+    }
+
+    // 한 사용자(한 전공)의 수강 이력을 집계 테이블에 더하거나(sign=1) 뺌(sign=-1)
+    private void applyToAggregates(String major1, List<ArchivedEnrollment> rows, int sign) {
+        Map<String, Map<Double, Long>> histogramDelta = new HashMap<>();
+        for (ArchivedEnrollment row : rows) {
+            if (row.getImportantRemarks() != null && !row.getImportantRemarks().isCounted()) {
+                continue; // 미이수/대체된 수강은 hot 통계 쿼리와 동일하게 제외
+            }
+            histogramDelta.computeIfAbsent(row.getCourseCode(), k -> new TreeMap<>())
+                    .merge(row.getSemester(), 1L, Long::sum);
+        }
+        if (histogramDelta.isEmpty()) {
+            return;
+        }
+
+        // 학기 분포 + 수강생 수 (한 사용자는 과목당 1명)
+        histogramDelta.values().forEach(semesters -> semesters.replaceAll((semester, count) -> sign * count));
+        courseArchiveAggregateWriter.addToHistogram(major1, histogramDelta);
+        courseArchiveAggregateWriter.addToStudentCount(major1, histogramDelta.keySet(), sign);
+    }
+
+    private static String normalizeMajor(String major1) {
+        return (major1 == null || major1.isEmpty()) ? NO_MAJOR : major1;
+    }
+}
@@ -0,0 +1,104 @@
+package com.saintplus.transcript.service;
+
+import com.saintplus.transcript.domain.Enrollment;
+import com.saintplus.transcript.domain.Remarks;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * EnrollmentDiff
+ *
+ * 저장된 수강 이력과 새로 파싱한 수강 이력을 비교합니다.
+ *
+ * - (과목코드, 실제 학기, 학기 순번, 학점, 비고)가 모두 같으면 그대로 둡니다.
+ * - (과목코드, 실제 학기)만 같으면 수정으로 봅니다. (재이수로 대체 표시가 붙거나, 계절학기가 끼어 학기 순번이 바뀐 경우 등)
+ * - 나머지는 저장된 쪽은 삭제, 새 쪽은 추가입니다.
+ *
+ * 같은 학기에 같은 과목이 두 번 있어도 개수대로 짝을 지으므로 중복 행이 생기거나 사라지지 않습니다.
+ */
+final class EnrollmentDiff {
+
+    // 수정: 저장된 엔티티와 새 값
+    record Update(Enrollment stored, Enrollment parsed) {}
+
+    private final List<Enrollment> inserts = new ArrayList<>();
+    private final List<Update> updates = new ArrayList<>();
+    private final List<Enrollment> deletes = new ArrayList<>();
+    private int unchanged;
+
+    private EnrollmentDiff() {
+    }
+
+    static EnrollmentDiff compute(List<Enrollment> stored, List<Enrollment> parsed) {
+        EnrollmentDiff diff = new EnrollmentDiff();
+
+        // 1. 값까지 같은 행은 짝지어 제외
+        Map<String, Deque<Enrollment>> storedByValue = new HashMap<>();
+        for (Enrollment row : stored) {
+            storedByValue.computeIfAbsent(valueKey(row), k -> new ArrayDeque<>()).add(row);
+        }
+        List<Enrollment> unmatchedParsed = new ArrayList<>();
+        for (Enrollment row : parsed) {
+            Deque<Enrollment> candidates = storedByValue.get(valueKey(row));
+            if (candidates != null && !candidates.isEmpty()) {
+                candidates.poll();
+                diff.unchanged++;
+            } else {
+                unmatchedParsed.add(row);
+            }
+        }
+
+        // 2. 남은 행 중 (과목, 학기)가 같으면 수정, 아니면 삭제/추가
+        Map<String, Deque<Enrollment>> storedByCourseTerm = new HashMap<>();
+        storedByValue.values().forEach(rows -> rows.forEach(row ->
+                storedByCourseTerm.computeIfAbsent(courseTermKey(row), k -> new ArrayDeque<>()).add(row)));
+        for (Enrollment row : unmatchedParsed) {
+            Deque<Enrollment> candidates = storedByCourseTerm.get(courseTermKey(row));
+            if (candidates != null && !candidates.isEmpty()) {
+                diff.updates.add(new Update(candidates.poll(), row));
+            } else {
+                diff.inserts.add(row);
+            }
+        }
+        storedByCourseTerm.values().forEach(diff.deletes::addAll);
+        return diff;
+    }
+
+    List<Enrollment> inserts() {
+        return inserts;
+    }
+
+    List<Update> updates() {
+        return updates;
+    }
+
+    List<Enrollment> deletes() {
+        return deletes;
+    }
+
+    int unchanged() {
+        return unchanged;
+    }
+
+    boolean isEmpty() {
+        return inserts.isEmpty() && updates.isEmpty() && deletes.isEmpty();
+    }
+
+    private static String courseTermKey(Enrollment row) {
+        return row.getCourseCode() + "|" + row.getTerm();
+    }
+
+    // 학기 순번은 DB 에 반학기 단위로 저장되므로 같은 단위로 비교
+    private static String valueKey(Enrollment row) {
+        Remarks remarks = row.getImportantRemarks();
+        return courseTermKey(row)
+                + "|" + Math.round(row.getSemester() * 2)
+                + "|" + row.getCredits()
+                + "|" + (remarks == null ? 0 : remarks.toFlags());
+    }
+}
@@ -0,0 +1,94 @@
+package com.saintplus.transcript.service;
+
+import com.saintplus.transcript.util.StorageClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * StorageSweepJob
+ *
+ * 파싱 작업이 끝내 오지 않은 업로드(presigned URL 로 올리고 /parse 를 부르지 않은 경우 등)와
+ * 삭제에 실패한 파일을 주기적으로 지웁니다.
+ * saintplus.storage.sweep.prefixes 아래에서 마지막 수정 후 ttl-hours 가 지난 객체가 대상입니다.
+ * ttl 은 작업 큐의 최대 재시도 시간보다 길어야 합니다. (재시도 대기 중인 파일을 지우지 않도록)
+ */
+@Slf4j
+@Component
+public class StorageSweepJob {
+
+    private final StorageClient storageClient;
+    private final boolean enabled;
+    private final List<String> prefixes;
+    private final Duration ttl;
+
+    public StorageSweepJob(
+            StorageClient storageClient,
+            @Value("${saintplus.storage.sweep.enabled:true}") boolean enabled,
+            @Value("${saintplus.storage.sweep.prefixes:uploads/,temp/}") List<String> prefixes,
+            @Value("${saintplus.storage.sweep.ttl-hours:24}") long ttlHours
+    ) {
+        this.storageClient = storageClient;
+        this.enabled = enabled;
+        this.prefixes = prefixes;
+        this.ttl = Duration.ofHours(ttlHours);
+    }
+
+    @Scheduled(cron = "${saintplus.storage.sweep.cron:0 15 * * * *}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+
+        Instant cutoff = Instant.now().minus(ttl);
+        for (String prefix : prefixes) {
+            try {
+                sweepPrefix(prefix, cutoff);
+            } catch (Exception e) {
+                log.error("Storage sweep failed. prefix={}", prefix, e);
+            }
+        }
+    }
+
+    // 목록을 훑으면서 MAX_DELETE_BATCH 개가 모일 때마다 지움
+    private void sweepPrefix(String prefix, Instant cutoff) {
+        long startedAt = System.currentTimeMillis();
+        List<String> batch = new ArrayList<>(StorageClient.MAX_DELETE_BATCH);
+        int[] scanned = {0};
+        int[] deleted = {0};
+
+        storageClient.listObjects(prefix, object -> {
+            scanned[0]++;
+            if (object.lastModified() == null || !object.lastModified().isBefore(cutoff)) {
+                return;
+            }
+            batch.add(object.fileKey());
+            if (batch.size() == StorageClient.MAX_DELETE_BATCH) {
+                deleted[0] += deleteBatch(batch);
+            }
+        });
+        deleted[0] += deleteBatch(batch);
+
+        log.info("Storage sweep finished. prefix={}, cutoff={}, scanned={}, deleted={}, elapsedMs={}",
+                prefix, cutoff, scanned[0], deleted[0], System.currentTimeMillis() - startedAt);
+    }
+
+    private int deleteBatch(List<String> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<String> failed = storageClient.deleteObjects(List.copyOf(batch));
+        if (!failed.isEmpty()) {
+            log.warn("Some storage objects were not swept. failed={}", failed.size());
+        }
+        int deleted = batch.size() - failed.size();
+        batch.clear();
+        return deleted;
+    }
+}
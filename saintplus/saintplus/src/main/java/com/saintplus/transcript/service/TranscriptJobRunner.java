@@ -0,0 +1,77 @@
+package com.saintplus.transcript.service;
+
+import com.saintplus.transcript.dto.ParsingClaim;
+import com.saintplus.transcript.dto.TranscriptParseJob;
+import com.saintplus.transcript.util.StorageObjectDeleter;
+import com.saintplus.transcript.util.TranscriptJobDeferredException;
+import com.saintplus.transcript.util.TranscriptJobHandler;
+import com.saintplus.user.service.UserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * TranscriptJobRunner
+ *
+ * 작업 큐 소비자 스레드에서 파싱 작업 하나를 처리합니다.
+ * 전공 변경과 파싱/저장을 한 트랜잭션으로 묶어, 실패하면 둘 다 롤백되고 큐가 작업을 다시 시도합니다.
+ * (S3 파일 삭제는 커밋 후에만 실행되므로 재시도 때도 파일이 남아 있음)
+ *
+ * 단계가 바뀔 때마다 TranscriptJobStatusStore 에 기록합니다. (PARSING -> PERSISTING -> 커밋 후 DONE)
+ * 같은 사용자의 작업은 UserIngestLock 으로 하나씩 실행하고, 이미 끝났거나(DONE) 시작 전에 새 작업으로 대체된 작업은 실행하지 않고 업로드 파일만 지웁니다.
+ * 다른 소비자가 lease 안에서 처리 중인 작업은 파일을 그대로 두고 TranscriptJobDeferredException 으로 큐에 미룹니다.
+ * (소비자가 처리 중에 죽어 다시 전달된 작업은 lease 가 끝난 뒤 이어서 맡음)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TranscriptJobRunner implements TranscriptJobHandler {
+
+    private final UserService userService;
+    private final TranscriptParsingWorker transcriptParsingWorker;
+    private final TranscriptJobStatusStore transcriptJobStatusStore;
+    private final UserIngestLock userIngestLock;
+    private final StorageObjectDeleter storageObjectDeleter;
+
+    @Override
+    public void handle(TranscriptParseJob job) {
+        log.info("Starting parsing job. jobId={}, userId={}, fileKey={}", job.jobId(), job.userId(), job.fileKey());
+        ParsingClaim claim = transcriptJobStatusStore.parsing(job.jobId());
+        if (claim.result() == ParsingClaim.Result.FINISHED) {
+            storageObjectDeleter.delete(job.fileKey());
+            log.info("Parsing job already finished or superseded, skipping. jobId={}, userId={}", job.jobId(), job.userId());
+            return;
+        }
+        if (claim.result() == ParsingClaim.Result.IN_PROGRESS) {
+            throw new TranscriptJobDeferredException("Parsing job is in progress on another consumer: " + job.jobId(),
+                    claim.retryAfter());
+        }
+
+        try {
+            userIngestLock.runInTransaction(job.userId(), () -> {
+                userService.updateUserData(job.userId(), job.major1(), job.major2(), job.major3());
+                transcriptParsingWorker.processParingAndSaving(job.userId(), job.fileKey(),
+                        () -> transcriptJobStatusStore.persisting(job.jobId()));
+            });
+        } catch (RuntimeException e) {
+            transcriptJobStatusStore.retrying(job.jobId(), rootMessage(e));
+            throw e;
+        }
+
+        transcriptJobStatusStore.done(job.jobId());
+        log.info("Parsing job completed. jobId={}, userId={}, fileKey={}", job.jobId(), job.userId(), job.fileKey());
+    }
+
+    @Override
+    public void onGiveUp(TranscriptParseJob job, Exception cause) {
+        transcriptJobStatusStore.failed(job.jobId(), rootMessage(cause));
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage() == null ? root.getClass().getSimpleName() : root.getMessage();
+    }
+}
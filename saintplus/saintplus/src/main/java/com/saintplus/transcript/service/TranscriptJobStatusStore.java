@@ -0,0 +1,429 @@
+package com.saintplus.transcript.service;
+
+import com.saintplus.transcript.domain.TranscriptJob;
+import com.saintplus.transcript.dto.ParsingClaim;
+import com.saintplus.transcript.dto.TranscriptJobStatusResponse;
+import com.saintplus.transcript.repository.TranscriptJobRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * TranscriptJobStatusStore
+ *
+ * 파싱 작업 상태를 바뀔 때마다 transcript_job 테이블에 씁니다. 메모리(최근 max-entries 건)에는 이 노드가 바꾼 작업과 끝난 작업을 둡니다.
+ * 끝난(DONE/FAILED/SUPERSEDED) 작업은 메모리에서 조회하고, 진행 중인 작업은 다른 노드가 처리하고 있을 수 있으므로 테이블에서 읽습니다.
+ *
+ * - 테이블 쓰기는 별도 트랜잭션(REQUIRES_NEW)이라 파싱 트랜잭션이 롤백되어도 상태 기록은 남습니다.
+ * - SSE 구독자에게는 상태가 바뀔 때마다 "status" 이벤트를 보내고, DONE/FAILED/SUPERSEDED 에서 스트림을 닫습니다.
+ *   다른 노드에서 바뀐 상태는 poll-interval-ms 마다 구독 중인 작업을 테이블에서 읽어 보냅니다.
+ * - 새 작업이 큐에 들어가면(enqueued) 같은 사용자가 먼저 올린, 아직 시작하지 않은 작업을 SUPERSEDED 로 바꿉니다. (다른 노드가 넣은 작업도 테이블로 찾음)
+ * - QUEUED -> PARSING/SUPERSEDED 는 테이블에 조건부 UPDATE 로 쓰고 바뀐 행 수로 판단하므로, 여러 노드가 엇갈려도 한쪽만 성공합니다.
+ * - PARSING/PERSISTING 으로 마지막 단계가 바뀐 뒤 parsing-lease-ms 가 지나면 처리하던 소비자가 죽은 것으로 보고,
+ *   다시 전달된 작업이 그 행을 다시 맡습니다. (lease 안이면 IN_PROGRESS 로 미룸)
+ * - 단계별 소요 시간은 transcript.job.stage 타이머(stage=queue|parse|persist)로도 남깁니다.
+ */
+@Slf4j
+@Service
+public class TranscriptJobStatusStore {
+
+    static final String EVENT_NAME = "status";
+
+    private final TranscriptJobRepository transcriptJobRepository;
+    private final TransactionTemplate writeTemplate;
+    private final Map<String, TranscriptJob> jobs;
+    private final Map<String, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final Map<String, TranscriptJobStatusResponse> published = new ConcurrentHashMap<>(); // 구독 중인 작업의 마지막으로 보낸 상태
+    private final long sseTimeoutMillis;
+    private final Duration parsingLease;
+
+    private final Timer queueTimer;
+    private final Timer parseTimer;
+    private final Timer persistTimer;
+
+    public TranscriptJobStatusStore(
+            TranscriptJobRepository transcriptJobRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${saintplus.job-status.max-entries:10000}") int maxEntries,
+            @Value("${saintplus.job-status.sse-timeout-ms:120000}") long sseTimeoutMillis,
+            @Value("${saintplus.job-status.parsing-lease-ms:300000}") long parsingLeaseMillis
+    ) {
+        this.transcriptJobRepository = transcriptJobRepository;
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.writeTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.sseTimeoutMillis = sseTimeoutMillis;
+        this.parsingLease = Duration.ofMillis(parsingLeaseMillis);
+
+        // 가장 오래 전에 바뀐 작업부터 밀려남
+        this.jobs = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TranscriptJob> eldest) {
+                return size() > maxEntries;
+            }
+        };
+
+        this.queueTimer = Timer.builder("transcript.job.stage").tag("stage", "queue").register(meterRegistry);
+        this.parseTimer = Timer.builder("transcript.job.stage").tag("stage", "parse").register(meterRegistry);
+        this.persistTimer = Timer.builder("transcript.job.stage").tag("stage", "persist").register(meterRegistry);
+    }
+
+    public TranscriptJobStatusResponse queued(String jobId, Long userId, String fileKey) {
+        TranscriptJob job = new TranscriptJob(jobId, userId, fileKey);
+        synchronized (this) {
+            jobs.put(jobId, job);
+        }
+        return write(job);
+    }
+
+    /**
+     * 작업을 큐(또는 실행기)에 넣는 데 성공한 뒤 호출합니다.
+     * 같은 사용자가 이 작업보다 먼저 올린, 아직 시작하지 않은 작업을 SUPERSEDED 로 바꿉니다.
+     * (큐에 넣기 전에 대체하면 넣기에 실패했을 때 새 업로드와 이전 업로드를 모두 잃음)
+     */
+    public void enqueued(String jobId) {
+        load(jobId).ifPresent(job -> supersedeOlder(job.getUserId(), job.getQueuedAt()));
+    }
+
+    /**
+     * 작업을 이 소비자가 맡습니다.
+     * DONE/SUPERSEDED 면 FINISHED, 다른 소비자가 lease 안에서 처리 중이면 IN_PROGRESS 이고,
+     * 시작 전이거나 포기했거나 lease 가 끝난(처리하던 소비자가 죽은) 작업이면 STARTED 입니다.
+     */
+    public ParsingClaim parsing(String jobId) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer claimed = conditionalWrite(jobId,
+                () -> transcriptJobRepository.claimForParsing(jobId, now, now.minus(parsingLease)));
+        if (claimed == null) {
+            return startInMemory(jobId); // 테이블에 쓸 수 없으면 메모리 상태로 판단 (상태 기록 실패로 파싱을 막지 않음)
+        }
+        if (claimed == 0) {
+            Optional<TranscriptJob> stored = findStored(jobId);
+            if (stored.isEmpty()) {
+                return startInMemory(jobId); // QUEUED 기록이 실패해 테이블에 없는 작업
+            }
+            // 다른 노드에서 대체/완료되었거나 다른 소비자가 처리 중인 작업
+            TranscriptJob job = stored.get();
+            cacheIfFinished(job);
+            publish(jobId, snapshot(job));
+            return job.isFinished() ? ParsingClaim.finished() : ParsingClaim.inProgress(retryAfter(leaseRemaining(job, now)));
+        }
+
+        TranscriptJob job = applyLocally(jobId, TranscriptJob::markParsing);
+        if (job != null) {
+            record(queueTimer, job.getQueuedAt(), job.getParsingAt());
+        }
+        return ParsingClaim.started();
+    }
+
+    public void persisting(String jobId) {
+        update(jobId, job -> {
+            job.markPersisting();
+            record(parseTimer, job.getParsingAt(), job.getPersistingAt());
+        });
+    }
+
+    public void done(String jobId) {
+        update(jobId, job -> {
+            job.markDone();
+            record(persistTimer, job.getPersistingAt(), job.getFinishedAt());
+        });
+    }
+
+    public void retrying(String jobId, String error) {
+        update(jobId, job -> job.markRetrying(error));
+    }
+
+    public void failed(String jobId, String error) {
+        update(jobId, job -> job.markFailed(error));
+    }
+
+    /**
+     * 사용자 본인의 작업 상태 (없거나 다른 사용자의 작업이면 empty)
+     */
+    public Optional<TranscriptJobStatusResponse> find(Long userId, String jobId) {
+        return load(jobId)
+                .filter(job -> job.getUserId().equals(userId))
+                .map(this::snapshot);
+    }
+
+    /**
+     * 상태 변경을 SSE 로 받습니다. 현재 상태를 바로 한 번 보내고, 이미 끝난 작업이면 그 뒤 바로 닫습니다.
+     *
+     * @throws IllegalArgumentException 작업이 없거나 다른 사용자의 작업인 경우
+     */
+    public SseEmitter subscribe(Long userId, String jobId) {
+        TranscriptJobStatusResponse current = find(userId, jobId)
+                .orElseThrow(() -> new IllegalArgumentException("Job not found: " + jobId));
+
+        SseEmitter emitter = new SseEmitter(sseTimeoutMillis);
+        List<SseEmitter> emitters = subscribers.computeIfAbsent(jobId, k -> new CopyOnWriteArrayList<>());
+        emitters.add(emitter);
+        Runnable unsubscribe = () -> removeSubscriber(jobId, emitter);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+
+        // 구독 직전에 끝났을 수도 있으므로 등록 후의 상태를 보냄
+        TranscriptJobStatusResponse latest = find(userId, jobId).orElse(current);
+        published.putIfAbsent(jobId, latest);
+        send(emitter, latest);
+        if (isFinished(latest)) {
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    /**
+     * 구독 중인 작업의 상태를 테이블에서 읽어, 다른 노드에서 바뀐 상태를 구독자에게 보냅니다.
+     */
+    @Scheduled(fixedDelayString = "${saintplus.job-status.poll-interval-ms:2000}")
+    public void pollSubscribedJobs() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        List<TranscriptJob> stored;
+        try {
+            stored = transcriptJobRepository.findAllById(List.copyOf(subscribers.keySet()));
+        } catch (Exception e) {
+            log.warn("Failed to poll transcript job status.", e);
+            return;
+        }
+        for (TranscriptJob job : stored) {
+            cacheIfFinished(job);
+            TranscriptJobStatusResponse snapshot = TranscriptJobStatusResponse.from(job);
+            if (!snapshot.equals(published.get(job.getJobId()))) {
+                publish(job.getJobId(), snapshot);
+            }
+        }
+    }
+
+    private void supersedeOlder(Long userId, LocalDateTime queuedAt) {
+        try {
+            for (TranscriptJob pending : transcriptJobRepository.findByUserIdAndStatusAndQueuedAtBefore(
+                    userId, TranscriptJob.QUEUED, queuedAt)) {
+                // 읽은 뒤에 다른 노드가 시작했을 수 있으므로 아직 QUEUED 인 행만 바꿈
+                LocalDateTime now = LocalDateTime.now();
+                Integer changed = conditionalWrite(pending.getJobId(), () -> transcriptJobRepository
+                        .markSupersededIfQueued(pending.getJobId(), TranscriptJob.SUPERSEDED_ERROR, now));
+                if (changed != null && changed == 1) {
+                    applyLocally(pending.getJobId(), TranscriptJob::markSuperseded);
+                }
+            }
+        } catch (Exception e) {
+            // 대체하지 못해도 사용자 잠금(UserIngestLock)으로 차례로 실행되므로 결과는 맞음
+            log.warn("Failed to supersede pending transcript jobs. userId={}", userId, e);
+        }
+    }
+
+    // 메모리에 없는 작업은 시작 (같은 파일 키의 중복 저장은 TranscriptParsingWorker 가 막음)
+    private ParsingClaim startInMemory(String jobId) {
+        LocalDateTime now = LocalDateTime.now();
+        AtomicReference<ParsingClaim> claim = new AtomicReference<>(ParsingClaim.started());
+        update(jobId, job -> {
+            if (TranscriptJob.DONE.equals(job.getStatus()) || TranscriptJob.SUPERSEDED.equals(job.getStatus())) {
+                claim.set(ParsingClaim.finished());
+                return;
+            }
+            Duration remaining = leaseRemaining(job, now);
+            if (isRunning(job) && remaining.compareTo(Duration.ZERO) > 0) {
+                claim.set(ParsingClaim.inProgress(retryAfter(remaining)));
+                return;
+            }
+            job.markParsing();
+            record(queueTimer, job.getQueuedAt(), job.getParsingAt());
+        });
+        return claim.get();
+    }
+
+    // 마지막 단계(PARSING/PERSISTING)가 바뀐 뒤 lease 가 끝날 때까지 남은 시간 (끝났으면 0 이하)
+    private Duration leaseRemaining(TranscriptJob job, LocalDateTime now) {
+        LocalDateTime leaseStart = job.getPersistingAt() != null ? job.getPersistingAt() : job.getParsingAt();
+        return leaseStart == null ? Duration.ZERO : Duration.between(now, leaseStart.plus(parsingLease));
+    }
+
+    // 다시 확인할 때까지 기다릴 시간 (최소 1초)
+    private static Duration retryAfter(Duration remaining) {
+        return remaining.compareTo(Duration.ofSeconds(1)) < 0 ? Duration.ofSeconds(1) : remaining;
+    }
+
+    private static boolean isRunning(TranscriptJob job) {
+        return TranscriptJob.PARSING.equals(job.getStatus()) || TranscriptJob.PERSISTING.equals(job.getStatus());
+    }
+
+    // 조건부 UPDATE 의 바뀐 행 수 (실패하면 null)
+    private Integer conditionalWrite(String jobId, Supplier<Integer> statement) {
+        try {
+            return writeTemplate.execute(status -> statement.get());
+        } catch (Exception e) {
+            log.warn("Failed to update transcript job status. jobId={}", jobId, e);
+            return null;
+        }
+    }
+
+    // 테이블은 이미 조건부 UPDATE 로 바뀌었으므로 메모리와 구독자에게만 반영 (메모리에 없으면 바뀐 행을 읽어 둠)
+    private TranscriptJob applyLocally(String jobId, Consumer<TranscriptJob> transition) {
+        TranscriptJob job;
+        synchronized (this) {
+            job = jobs.get(jobId);
+            if (job != null) {
+                transition.accept(job);
+            }
+        }
+        if (job == null) {
+            job = findStored(jobId).orElse(null);
+            if (job == null) {
+                return null;
+            }
+            synchronized (this) {
+                jobs.put(jobId, job);
+            }
+        }
+        publish(jobId, snapshot(job));
+        return job;
+    }
+
+    private Optional<TranscriptJob> findStored(String jobId) {
+        try {
+            return transcriptJobRepository.findById(jobId);
+        } catch (Exception e) {
+            log.warn("Failed to read transcript job status. jobId={}", jobId, e);
+            return Optional.empty();
+        }
+    }
+
+    private void update(String jobId, Consumer<TranscriptJob> transition) {
+        TranscriptJob job;
+        synchronized (this) {
+            job = jobs.get(jobId);
+            if (job == null) {
+                job = transcriptJobRepository.findById(jobId).orElse(null);
+                if (job == null) {
+                    log.warn("Unknown transcript job status update ignored. jobId={}", jobId);
+                    return;
+                }
+                jobs.put(jobId, job);
+            }
+            transition.accept(job);
+        }
+        TranscriptJobStatusResponse snapshot = write(job);
+        publish(jobId, snapshot);
+    }
+
+    private TranscriptJobStatusResponse write(TranscriptJob job) {
+        TranscriptJobStatusResponse snapshot = snapshot(job);
+        try {
+            writeTemplate.executeWithoutResult(status -> transcriptJobRepository.save(job));
+        } catch (Exception e) {
+            // 상태 기록 실패로 파싱 작업을 실패시키지 않음 (메모리 상태는 그대로 조회 가능)
+            log.warn("Failed to persist transcript job status. jobId={}, status={}", job.getJobId(), job.getStatus(), e);
+        }
+        return snapshot;
+    }
+
+    private void publish(String jobId, TranscriptJobStatusResponse snapshot) {
+        List<SseEmitter> emitters = subscribers.get(jobId);
+        if (emitters == null) {
+            return;
+        }
+        published.put(jobId, snapshot);
+        for (SseEmitter emitter : emitters) {
+            send(emitter, snapshot);
+            if (isFinished(snapshot)) {
+                emitter.complete();
+            }
+        }
+        if (isFinished(snapshot)) {
+            subscribers.remove(jobId);
+            published.remove(jobId);
+        }
+    }
+
+    private void send(SseEmitter emitter, TranscriptJobStatusResponse snapshot) {
+        try {
+            emitter.send(SseEmitter.event().name(EVENT_NAME).data(snapshot));
+        } catch (IOException | IllegalStateException e) {
+            // 연결이 끊긴 구독자
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void removeSubscriber(String jobId, SseEmitter emitter) {
+        subscribers.computeIfPresent(jobId, (k, emitters) -> {
+            emitters.remove(emitter);
+            if (emitters.isEmpty()) {
+                published.remove(jobId);
+                return null;
+            }
+            return emitters;
+        });
+    }
+
+    // 끝난 작업은 메모리에서, 진행 중인 작업은 테이블에서 (테이블에 없거나 읽을 수 없으면 메모리 상태)
+    private Optional<TranscriptJob> load(String jobId) {
+        TranscriptJob cached;
+        synchronized (this) {
+            cached = jobs.get(jobId);
+            if (cached != null && cached.isFinished()) {
+                return Optional.of(cached);
+            }
+        }
+        Optional<TranscriptJob> stored = findStored(jobId);
+        stored.ifPresent(this::cacheIfFinished);
+        return stored.or(() -> Optional.ofNullable(cached));
+    }
+
+    private void cacheIfFinished(TranscriptJob job) {
+        if (job.isFinished()) {
+            synchronized (this) {
+                jobs.put(job.getJobId(), job);
+            }
+        }
+    }
+
+    // 작업 객체는 소비자 스레드가 바꾸므로 잠금 안에서 복사
+    private synchronized TranscriptJobStatusResponse snapshot(TranscriptJob job) {
+        return TranscriptJobStatusResponse.from(job);
+    }
+
+    private static boolean isFinished(TranscriptJobStatusResponse snapshot) {
+        return TranscriptJob.DONE.equals(snapshot.status()) || TranscriptJob.FAILED.equals(snapshot.status())
+                || TranscriptJob.SUPERSEDED.equals(snapshot.status());
+    }
+
+    private static void record(Timer timer, LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null) {
+            timer.record(Duration.between(from, to));
+        }
+    }
+
+    int cachedJobs() {
+        synchronized (this) {
+            return jobs.size();
+        }
+    }
+
+    int subscribedJobs() {
+        return subscribers.size();
+    }
+}
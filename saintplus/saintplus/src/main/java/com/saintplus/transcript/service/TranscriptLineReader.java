@@ -0,0 +1,161 @@
+package com.saintplus.transcript.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.security.MessageDigest;
+
+/**
+ * TranscriptLineReader
+ *
+ * EUC-KR 성적표를 스트림에서 바로 읽어 한 줄씩 넘겨줍니다. 파일 전체를 byte[] 로 모으지 않으므로
+ * 업로드 한 건이 쓰는 메모리는 파일 크기와 상관없이 버퍼 크기(바이트 8KB + 문자 8KB + 한 줄)로 일정합니다.
+ *
+ * - 디코더와 버퍼는 스레드마다 하나씩 만들어 재사용합니다. (파싱은 요청/워커 스레드 안에서 동기로 끝남)
+ * - digest 를 넘기면 읽은 원본 바이트를 같은 패스에서 해시합니다. (끝까지 읽은 경우에만 파일 전체의 해시)
+ * - 줄 구분과 잘못된 바이트 처리는 BufferedReader(InputStreamReader(.., "EUC-KR")).readLine() 과 같습니다.
+ *   (\n, \r, \r\n 에서 줄을 나누고, 해석할 수 없는 바이트는 대체 문자로 바꿈)
+ */
+final class TranscriptLineReader {
+
+    private static final Charset EUC_KR = Charset.forName("EUC-KR");
+    private static final int BUFFER_SIZE = 8192;
+
+    @FunctionalInterface
+    interface LineHandler {
+        /**
+         * @return false 를 반환하면 읽기를 멈춤
+         */
+        boolean onLine(String line);
+    }
+
+    @FunctionalInterface
+    private interface ByteSource {
+        int read(ByteBuffer target) throws IOException;
+    }
+
+    private static final class Buffers {
+        final CharsetDecoder decoder = EUC_KR.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+        final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+        final StringBuilder line = new StringBuilder(256);
+        boolean inUse;
+    }
+
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    private TranscriptLineReader() {
+    }
+
+    static void forEachLine(InputStream inputStream, LineHandler handler) throws IOException {
+        forEachLine(inputStream, null, handler);
+    }
+
+    static void forEachLine(InputStream inputStream, MessageDigest digest, LineHandler handler) throws IOException {
+        forEachLine(target -> {
+            int read = inputStream.read(target.array(), target.arrayOffset() + target.position(), target.remaining());
+            if (read > 0) {
+                target.position(target.position() + read);
+            }
+            return read;
+        }, digest, handler);
+    }
+
+    static void forEachLine(ReadableByteChannel channel, LineHandler handler) throws IOException {
+        forEachLine(channel, null, handler);
+    }
+
+    static void forEachLine(ReadableByteChannel channel, MessageDigest digest, LineHandler handler) throws IOException {
+        forEachLine(channel::read, digest, handler);
+    }
+
+    private static void forEachLine(ByteSource source, MessageDigest digest, LineHandler handler) throws IOException {
+        Buffers buffers = BUFFERS.get();
+        // 같은 스레드에서 중첩 호출되면 공유 버퍼를 덮어쓰므로 이번 호출만 새 버퍼 사용
+        if (buffers.inUse) {
+            buffers = new Buffers();
+        }
+        buffers.inUse = true;
+        try {
+            read(source, digest, handler, buffers);
+        } finally {
+            buffers.inUse = false;
+        }
+    }
+
+    private static void read(ByteSource source, MessageDigest digest, LineHandler handler, Buffers buffers) throws IOException {
+        CharsetDecoder decoder = buffers.decoder;
+        ByteBuffer bytes = buffers.bytes;
+        CharBuffer chars = buffers.chars;
+        StringBuilder line = buffers.line;
+
+        decoder.reset();
+        bytes.clear();
+        chars.clear();
+        line.setLength(0);
+
+        boolean afterCr = false;
+        boolean endOfInput = false;
+        while (true) {
+            if (!endOfInput && bytes.hasRemaining()) {
+                int start = bytes.position();
+                int read = source.read(bytes);
+                if (read < 0) {
+                    endOfInput = true;
+                } else if (digest != null && read > 0) {
+                    digest.update(bytes.array(), bytes.arrayOffset() + start, read);
+                }
+            }
+
+            bytes.flip();
+            CoderResult result = decoder.decode(bytes, chars, endOfInput);
+            bytes.compact();
+            boolean done = endOfInput && result.isUnderflow();
+            if (done) {
+                decoder.flush(chars);
+            }
+
+            // 디코딩된 문자를 줄 단위로 잘라 전달
+            chars.flip();
+            while (chars.hasRemaining()) {
+                char c = chars.get();
+                if (afterCr) {
+                    afterCr = false;
+                    if (c == '\n') continue; // \r\n
+                }
+                if (c == '\n' || c == '\r') {
+                    afterCr = c == '\r';
+                    boolean keepGoing = handler.onLine(line.toString());
+                    line.setLength(0);
+                    if (!keepGoing) {
+                        return;
+                    }
+                } else {
+                    line.append(c);
+                }
+            }
+            chars.clear();
+
+            if (done) {
+                break;
+            }
+        }
+
+        if (line.length() > 0) {
+            handler.onLine(line.toString());
+            line.setLength(0);
+        }
+        // 비정상적으로 긴 줄 때문에 커진 버퍼는 스레드에 남겨 두지 않음
+        if (line.capacity() > BUFFER_SIZE) {
+            line.trimToSize();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.saintplus.transcript.service;
+
+import com.saintplus.course.dto.CourseAnalysisData;
+import com.saintplus.transcript.domain.Remarks;
+import com.saintplus.transcript.dto.SemesterInfo;
+
+/**
+ * TranscriptLineTokenizer
+ *
+ * 성적표 한 줄을 정규식 없이 한 번에 훑어 과목 정보로 바꿉니다.
+ * 예전에 쓰던 아래 정규식과 결과가 같도록 맞춰져 있습니다. (TranscriptLineTokenizerTest 에서 비교)
+ *
+ * <pre>
+ * ^(20\d{2}-[12SW])\s+([A-Z]{3,5}\d{3,4})\s+(.+?)\s+([0-9]+\.[0-9])\s*(A[+-0]?|B[+-0]?|C[+-0]?|D[+-0]?|F|FA|U|S|P|W)?\s*(.*)$
+ *   학기                 과목코드               과목이름  학점                성적                                             비고
+ * </pre>
+ *
+ * - 과목명은 "공백 + 숫자.숫자"가 처음 나오는 곳에서 끝납니다. (정규식의 lazy (.+?) 와 동일)
+ * - 정규식의 [+-0] 은 '+' 부터 '0' 까지의 범위라서 + , - . / 0 이 모두 성적 접미사로 인정됩니다.
+ * - 성적 후보는 F 가 FA 보다 먼저라서 "FA" 는 성적 F, 비고 "A..." 로 나뉩니다.
+ * - 문자열은 학기, 과목코드, 과목명만 만들고, 성적/비고는 위치만 보고 Remarks 를 바로 채웁니다.
+ */
+final class TranscriptLineTokenizer {
+
+    private TranscriptLineTokenizer() {
+    }
+
+    /**
+     * 과목 줄이면 CourseAnalysisData(semester, term, courseCode, courseName, credits, importantRemarks)를, 아니면 null 을 반환합니다.
+     */
+    static CourseAnalysisData tokenize(String line) {
+        int n = line.length();
+
+        // 1. 학기: 20\d{2}-[12SW] 다음 공백
+        if (n < 8 || line.charAt(0) != '2' || line.charAt(1) != '0'
+                || !isDigit(line.charAt(2)) || !isDigit(line.charAt(3)) || line.charAt(4) != '-') {
+            return null;
+        }
+        char type = line.charAt(5);
+        if (type != '1' && type != '2' && type != 'S' && type != 'W') {
+            return null;
+        }
+        if (!isWhitespace(line.charAt(6))) {
+            return null;
+        }
+        int pos = skipWhitespace(line, 7);
+
+        // 2. 과목코드: 대문자 3~5개 + 숫자 3~4개 다음 공백
+        int codeStart = pos;
+        while (pos < n && line.charAt(pos) >= 'A' && line.charAt(pos) <= 'Z') pos++;
+        int letters = pos - codeStart;
+        if (letters < 3 || letters > 5) {
+            return null;
+        }
+        int digitStart = pos;
+        while (pos < n && isDigit(line.charAt(pos))) pos++;
+        int digits = pos - digitStart;
+        if (digits < 3 || digits > 4 || pos >= n || !isWhitespace(line.charAt(pos))) {
+            return null;
+        }
+        int codeEnd = pos;
+
+        // 3. 과목명 + 학점. 정규식처럼 과목명 앞 공백을 최대한 먹은 경우부터 시도하고, 안 되면 하나씩 돌려줌
+        int wsEnd = skipWhitespace(line, codeEnd + 1);
+        int nameStart = wsEnd;
+        int nameEnd = -1;
+        for (; nameStart > codeEnd; nameStart--) {
+            nameEnd = findCredits(line, nameStart + 1);
+            if (nameEnd >= 0) break;
+        }
+        if (nameEnd < 0) {
+            return null;
+        }
+
+        int creditsStart = skipWhitespace(line, nameEnd);
+        pos = creditsStart;
+        long creditsTimesTen = 0;
+        while (line.charAt(pos) != '.') {
+            creditsTimesTen = creditsTimesTen * 10 + (line.charAt(pos) - '0');
+            pos++;
+        }
+        creditsTimesTen = creditsTimesTen * 10 + (line.charAt(pos + 1) - '0');
+        pos += 2;
+        // 정수를 10.0 으로 나누면 Double.parseDouble("x.y") 와 같은 값 (자릿수가 아주 길 때만 직접 파싱)
+        double credits = pos - creditsStart <= 12
+                ? creditsTimesTen / 10.0
+                : Double.parseDouble(line.substring(creditsStart, pos));
+
+        // 4. 성적 (선택)
+        pos = skipWhitespace(line, pos);
+        boolean failed = false;
+        if (pos < n) {
+            char g = line.charAt(pos);
+            switch (g) {
+                case 'A': case 'B': case 'C': case 'D':
+                    pos++;
+                    if (pos < n && line.charAt(pos) >= '+' && line.charAt(pos) <= '0') pos++;
+                    break;
+                case 'F': case 'U':
+                    failed = true;
+                    pos++;
+                    break;
+                case 'S': case 'P': case 'W':
+                    pos++;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        // 5. 비고
+        Remarks remarks = new Remarks();
+        remarks.setFailed(failed);
+        applyRemarks(line, skipWhitespace(line, pos), n, remarks);
+
+        CourseAnalysisData course = new CourseAnalysisData();
+        course.setSemester(line.substring(0, 6));
+        course.setTerm(SemesterInfo.toComparableValue(
+                (line.charAt(2) - '0') * 10 + (line.charAt(3) - '0') + 2000, type));
+        course.setCourseCode(line.substring(codeStart, codeEnd));
+        course.setCourseName(line.substring(nameStart, nameEnd).trim());
+        course.setCredits(credits);
+        course.setImportantRemarks(remarks);
+        return course;
+    }
+
+    /**
+     * from 이후에서 "공백 1개 이상 + 숫자 1개 이상 + '.' + 숫자" 가 처음 시작하는 위치 (없으면 -1)
+     */
+    private static int findCredits(String line, int from) {
+        int n = line.length();
+        int i = from;
+        while (i < n) {
+            if (!isWhitespace(line.charAt(i))) {
+                i++;
+                continue;
+            }
+            int j = skipWhitespace(line, i);
+            int k = j;
+            while (k < n && isDigit(line.charAt(k))) k++;
+            if (k > j && k + 1 < n && line.charAt(k) == '.' && isDigit(line.charAt(k + 1))) {
+                return i;
+            }
+            // 같은 공백 구간 안의 다른 시작점도 모두 j 에서 같은 검사를 하므로 건너뜀
+            i = j;
+        }
+        return -1;
+    }
+
+    /**
+     * 비고 문자열을 쉼표로 나눠 R(재이수), E(영어강의), M(중복인정)을 표시합니다. (토크나이저 이전 split 기반 처리와 결과가 같음)
+     */
+    static void applyRemarks(CharSequence text, int start, int end, Remarks remarks) {
+        int segmentStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i < end && text.charAt(i) != ',') continue;
+
+            int s = segmentStart;
+            int e = i;
+            while (s < e && text.charAt(s) <= ' ') s++;
+            while (e > s && text.charAt(e - 1) <= ' ') e--;
+            if (e - s == 1) {
+                switch (text.charAt(s)) {
+                    case 'R': remarks.setRetake(true); break;       //재이수로성적취득 후 기존성적 대체
+                    case 'E': remarks.setEnglishLecture(true); break; //영어강의
+                    case 'M': remarks.setDuplicate(true); break;    //중복인정과목
+                    default: break;
+                }
+            }
+            segmentStart = i + 1;
+        }
+    }
+
+    private static int skipWhitespace(String line, int pos) {
+        int n = line.length();
+        while (pos < n && isWhitespace(line.charAt(pos))) pos++;
+        return pos;
+    }
+
+    // 정규식 \s 와 같은 범위
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -9,10 +9,11 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.nio.channels.ReadableByteChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -23,50 +24,75 @@ import java.util.regex.Pattern;
 @RequiredArgsConstructor
 public class TranscriptParser {
 
-    private static final Pattern COURSE_PATTERN = Pattern.compile(
-            "^(20\\d{2}-[12SW])\\s+" +                // 1. 학기
-                    "([A-Z]{3,5}\\d{3,4})\\s+" +            // 2. 과목코드
-                    "(.+?)\\s+" +                           // 3. 과목이름
-                    "([0-9]+\\.[0-9])\\s*" +                // 4. 학점
-                    "(A[+-0]?|B[+-0]?|C[+-0]?|D[+-0]?|F|FA|U|S|P|W)?" +  // 5. 성적
-                    "\\s*(.*)$");                           // 6. 비고
+    // 과목 줄은 TranscriptLineTokenizer 가 정규식 없이 처리 (학기, 과목코드, 과목이름, 학점, 성적, 비고)
 
     private static final Pattern MAJOR_PATTERN = Pattern.compile("1전공(.+?)2전공(.+?)3전공(.+)");
 
 
+    /**
+     * 성적표를 한 번 읽으면서 전공 줄과 수강 과목 줄을 함께 추출합니다.
+     * 스트림은 끝까지 읽은 뒤 닫으며, 파일 전체를 메모리에 올리지 않습니다.
+     * 읽으면서 원본 바이트의 SHA-256 을 함께 계산해 결과의 contentHash 에 담습니다. (같은 파일 재업로드 판별용)
+     */
     public TranscriptScanResult analyzeFile(InputStream inputStream, String userId) throws IOException {
-        List<CourseAnalysisData> rawCourses = new ArrayList<>();
-        Map<String, String> mappingCourseCodeName = new HashMap<>(); // 설마 과목 코드가 중복되는 경우가 있을까.
-
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, "EUC-KR"))) {
-            String line;
-
-            while ((line = reader.readLine()) != null) {
+        ScanCollector collector = new ScanCollector();
+        MessageDigest digest = sha256();
+        try (inputStream) {
+            TranscriptLineReader.forEachLine(inputStream, digest, collector);
+        }
+        return collector.toResult(userId, digest);
+    }
 
-                Matcher courseMatcher = COURSE_PATTERN.matcher(line);
-                if (courseMatcher.find()) {
-                    String rawSemester = courseMatcher.group(1);
-                    String courseCode = courseMatcher.group(2).trim();
-                    String courseName = courseMatcher.group(3).trim();
+    /**
+     * analyzeFile 과 같지만 채널에서 바로 읽습니다. (파일, 소켓 등)
+     */
+    public TranscriptScanResult analyzeChannel(ReadableByteChannel channel, String userId) throws IOException {
+        ScanCollector collector = new ScanCollector();
+        MessageDigest digest = sha256();
+        try (channel) {
+            TranscriptLineReader.forEachLine(channel, digest, collector);
+        }
+        return collector.toResult(userId, digest);
+    }
 
-                    String grade = Objects.toString(courseMatcher.group(5), "").trim();
-                    String rawRemarksString = Objects.toString(courseMatcher.group(6), "").trim();
-                    Remarks importantRemarks = processRemarks(grade, rawRemarksString);
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 
-                    rawCourses.add(CourseAnalysisData.builder()
-                            .semester(rawSemester)
-                            .courseCode(courseCode)
-                            .courseName(courseName)
-                            .importantRemarks(importantRemarks)
-                            .build());
+    // 한 줄씩 받아 전공과 과목을 모음
+    private static final class ScanCollector implements TranscriptLineReader.LineHandler {
+        private final List<CourseAnalysisData> rawCourses = new ArrayList<>();
+        private final List<String> majors = new ArrayList<>();
+        private final Map<String, String> mappingCourseCodeName = new HashMap<>(); // 설마 과목 코드가 중복되는 경우가 있을까.
 
-                    mappingCourseCodeName.putIfAbsent(courseCode, courseName);
+        @Override
+        public boolean onLine(String line) {
+            if (majors.isEmpty() && line.contains("1전공")) {
+                Matcher majorMatcher = MAJOR_PATTERN.matcher(line);
+                if (majorMatcher.find()) {
+                    majors.add(majorMatcher.group(1).trim());
+                    majors.add(majorMatcher.group(2).trim());
+                    majors.add(majorMatcher.group(3).trim());
+                    return true;
                 }
             }
+
+            CourseAnalysisData course = TranscriptLineTokenizer.tokenize(line);
+            if (course != null) {
+                rawCourses.add(course);
+                mappingCourseCodeName.putIfAbsent(course.getCourseCode(), course.getCourseName());
+            }
+            return true;
         }
 
-        log.info("File analysis complete. Found {} raw courses for user: {}", rawCourses.size(), userId);
-        return new TranscriptScanResult(rawCourses, mappingCourseCodeName);
+        TranscriptScanResult toResult(String userId, MessageDigest digest) {
+            log.info("File analysis complete. Found {} raw courses for user: {}", rawCourses.size(), userId);
+            return new TranscriptScanResult(rawCourses, mappingCourseCodeName, majors, HexFormat.of().formatHex(digest.digest()));
+        }
     }
 
 
@@ -86,24 +112,8 @@ public class TranscriptParser {
             return importantRemarks;
         }
 
-        List<String> remarks = Arrays.stream(rawRemarksString.split(","))
-                .map(String::trim)
-                .filter(s->!s.isEmpty())
-                .toList();
-
-        for (String remark : remarks){
-            switch (remark) {
-                case "R":   //재이수로성적취득 후 기존성적 대체
-                    importantRemarks.setRetake(true);
-                    break;
-                case "E":   //영어강의
-                    importantRemarks.setEnglishLecture(true);
-                    break;
-                case "M":   //중복인정과목
-                    importantRemarks.setDuplicate(true);
-                    break;
-            }
-        }
+        // 쉼표로 나눈 R(재이수), E(영어강의), M(중복인정) 표시
+        TranscriptLineTokenizer.applyRemarks(rawRemarksString, 0, rawRemarksString.length(), importantRemarks);
 
         return importantRemarks;
 
@@ -113,36 +123,46 @@ public class TranscriptParser {
 
     public TranscriptParsingResult groupAndFormatCourses(List<CourseAnalysisData> rawCourses) {
 
-        rawCourses.sort(Comparator.comparing(course -> new SemesterInfo(course.getSemester())));
+        // 학기 값(term)은 토크나이저가 이미 계산해 둠. 직접 만든 데이터라 비어 있으면 여기서 한 번만 계산
+        for (CourseAnalysisData course : rawCourses) {
+            if (course.getTerm() == 0 && course.getSemester() != null) {
+                course.setTerm(new SemesterInfo(course.getSemester()).getComparableValue());
+            }
+        }
+        rawCourses.sort(Comparator.comparingInt(CourseAnalysisData::getTerm));
 
         Map<String, List<CourseAnalysisData>> coursesByFormattedSemester = new LinkedHashMap<>();
-        Map<String, String> semesterIdentifierToFormattedKeyMap = new HashMap<>();
 
         int continuousSemesterCounter = 0;
         int lastRegularSemesterNumber = 0;
+        int currentTerm = Integer.MIN_VALUE;
+        double currentSemesterNumber = 0;
+        List<CourseAnalysisData> currentGroup = null;
 
+        // 정렬되어 있으므로 같은 학기는 연속해서 나옴
         for (CourseAnalysisData course : rawCourses) {
-            SemesterInfo currentSemesterInfo = new SemesterInfo(course.getSemester());
-            String semesterIdentifier = currentSemesterInfo.toString();
-            String formattedKey;
-
-            if (semesterIdentifierToFormattedKeyMap.containsKey(semesterIdentifier)) {
-                formattedKey = semesterIdentifierToFormattedKeyMap.get(semesterIdentifier);
-            } else {
-                if (currentSemesterInfo.isRegularSemester()) {
+            int term = course.getTerm();
+            if (term != currentTerm) {
+                currentTerm = term;
+                int year = term / 100;
+                String formattedKey;
+
+                if (SemesterInfo.isRegularTerm(term)) {
                     continuousSemesterCounter++;
                     lastRegularSemesterNumber = continuousSemesterCounter;
-                    String semesterTypeDisplay = currentSemesterInfo.getType().equals("1") ? "1학기" : "2학기";
-                    formattedKey = String.format("%d학기 (%s년 %s)", continuousSemesterCounter, currentSemesterInfo.getYear(), semesterTypeDisplay);
+                    currentSemesterNumber = continuousSemesterCounter;
+                    String semesterTypeDisplay = term % 100 == 1 ? "1학기" : "2학기";
+                    formattedKey = String.format("%d학기 (%s년 %s)", continuousSemesterCounter, year, semesterTypeDisplay);
                 } else {
-                    double seasonalSemesterNumber = lastRegularSemesterNumber + 0.5;
-                    String semesterTypeDisplay = currentSemesterInfo.getType().equals("S") ? "여름학기" : "겨울학기";
-                    formattedKey = String.format("%.1f학기 (%s년 %s)", seasonalSemesterNumber, currentSemesterInfo.getYear(), semesterTypeDisplay);
+                    currentSemesterNumber = lastRegularSemesterNumber + 0.5;
+                    String semesterTypeDisplay = term % 100 == 3 ? "여름학기" : "겨울학기";
+                    formattedKey = String.format("%.1f학기 (%s년 %s)", currentSemesterNumber, year, semesterTypeDisplay);
                 }
-                semesterIdentifierToFormattedKeyMap.put(semesterIdentifier, formattedKey);
+                currentGroup = coursesByFormattedSemester.computeIfAbsent(formattedKey, k -> new ArrayList<>());
             }
 
-            coursesByFormattedSemester.computeIfAbsent(formattedKey, k -> new ArrayList<>()).add(course);
+            course.setSemesterNumber(currentSemesterNumber);
+            currentGroup.add(course);
         }
 
         coursesByFormattedSemester.forEach((semester, courseList) -> courseList.sort(Comparator.comparing(CourseAnalysisData::getCourseCode)));
@@ -153,24 +173,4 @@ public class TranscriptParser {
     }
 
 
-
-    public List<String> extractMajorsFromFile(InputStream inputStream) throws IOException {
-        List<String> majors = new ArrayList<>();
-
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, "EUC-KR"))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                Matcher majorMatcher = MAJOR_PATTERN.matcher(line);
-                if (majorMatcher.find()) {
-                    majors.add(majorMatcher.group(1).trim());
-                    majors.add(majorMatcher.group(2).trim());
-                    majors.add(majorMatcher.group(3).trim());
-                    break;
-                }
-            }
-        }
-        return majors;
-    }
-
-
 }
@@ -1,35 +1,36 @@
 package com.saintplus.transcript.service;
 
-import com.saintplus.course.domain.Course;
 import com.saintplus.transcript.domain.Enrollment;
+import com.saintplus.transcript.domain.Remarks;
+import com.saintplus.transcript.domain.TranscriptIngest;
 import com.saintplus.course.dto.CourseAnalysisData;
+import com.saintplus.transcript.dto.EnrollmentDeltaEvent;
 import com.saintplus.transcript.dto.TranscriptParsingResult;
 import com.saintplus.transcript.dto.TranscriptScanResult;
-import com.saintplus.course.repository.CourseRepository;
+import com.saintplus.course.service.CourseCatalogCache;
+import com.saintplus.course.service.PeerTimetableService;
+import com.saintplus.course.service.UserAcademicProfileService;
+import com.saintplus.transcript.repository.EnrollmentBatchWriter;
 import com.saintplus.transcript.repository.EnrollmentRepository;
+import com.saintplus.transcript.repository.TranscriptIngestRepository;
+import com.saintplus.transcript.util.StorageClient;
+import com.saintplus.transcript.util.StorageObjectDeleter;
 import com.saintplus.user.domain.User;
 import com.saintplus.user.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
-import software.amazon.awssdk.core.ResponseBytes;
-import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
-import software.amazon.awssdk.services.s3.model.GetObjectRequest;
-import software.amazon.awssdk.services.s3.model.GetObjectResponse;
-import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
-
-import java.io.ByteArrayInputStream;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 
 @Slf4j
@@ -37,34 +38,41 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class TranscriptParsingWorker {
 
-    private final S3Client s3Client;
+    private final StorageClient storageClient;
+    private final StorageObjectDeleter storageObjectDeleter;
     private final UserRepository userRepository;
     private final EnrollmentRepository enrollmentRepository;
-    private final CourseRepository courseRepository;
+    private final EnrollmentBatchWriter enrollmentBatchWriter;
+    private final TranscriptIngestRepository transcriptIngestRepository;
+    private final CourseCatalogCache courseCatalogCache;
     private final TranscriptParser transcriptParser;
-
-    @Value("${spring.cloud.aws.s3.bucket}")
-    private String bucketName;
+    private final PeerTimetableService peerTimetableService;
+    private final UserAcademicProfileService userAcademicProfileService;
+    private final EnrollmentArchiveService enrollmentArchiveService;
+    private final CreditSummaryService creditSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void parseFromInputStream(Long userId, java.io.InputStream inputStream) throws java.io.IOException {
+        parseFromInputStream(userId, inputStream, () -> {});
+    }
+
+    /**
+     * @param beforePersist 파싱이 끝나고 DB 저장을 시작하기 직전에 호출 (작업 상태 기록용)
+     */
+    @Transactional
+    public void parseFromInputStream(Long userId, java.io.InputStream inputStream, Runnable beforePersist) throws java.io.IOException {
         try {
             log.info("Start direct parsing from InputStream. userId={}", userId);
 
-            User user = userRepository.findById(userId)
+            User user = userRepository.findByIdForUpdate(userId)
                     .orElseThrow(() -> new IllegalStateException("User not found"));
 
-            // InputStream을 byte array로 변환
-            byte[] fileBytes = inputStream.readAllBytes();
-
-            // 파일 내용 분석, 전처리 및 분류, 새로운 과목 및 수강이력 DB 저장
-            TranscriptScanResult rawResult = transcriptParser.analyzeFile(new ByteArrayInputStream(fileBytes), userId.toString());
-
-            saveNewCoursesToDatabase(rawResult.getMappingCourseCodeName(), userId.toString());
-
-            TranscriptParsingResult parsed = transcriptParser.groupAndFormatCourses(rawResult.getRawCourses());
+            // 파일 내용 분석(스트림에서 바로 읽음), 전처리 및 분류, 새로운 과목 및 수강이력 DB 저장
+            TranscriptScanResult rawResult = transcriptParser.analyzeFile(inputStream, userId.toString());
 
-            saveEnrollmentToDatabase(user, parsed.getCoursesBySemester());
+            beforePersist.run();
+            saveScanResult(user, rawResult, null);
 
             log.info("Direct parsing complete. userId={}", userId);
 
@@ -75,33 +83,96 @@ public class TranscriptParsingWorker {
     }
 
 
-    public void processParingAndSaving(Long userId, String fileKey) {
+    /**
+     * 이미 파싱된 성적표(업로드 토큰으로 보관된 결과)를 다시 읽지 않고 그대로 저장합니다.
+     */
+    @Transactional
+    public void saveScannedTranscript(Long userId, TranscriptScanResult rawResult) {
+        User user = userRepository.findByIdForUpdate(userId)
+                .orElseThrow(() -> new IllegalStateException("User not found"));
 
-        try {
-            log.info("Start synchronous parsing job. fileKey={}, userId={}", fileKey, userId);
+        if (saveScanResult(user, rawResult, null)) {
+            log.info("Scanned transcript committed. userId={}, courses={}", userId, rawResult.getRawCourses().size());
+        }
+    }
 
-            User user = userRepository.findById(userId)
-                    .orElseThrow(() -> new IllegalStateException("User not found"));
+    /**
+     * 파싱 결과를 저장합니다. 사용자가 마지막으로 저장한 파일과 내용(SHA-256)이 같으면 아무것도 쓰지 않습니다.
+     *
+     * @param fileKey S3 업로드로 들어온 경우의 객체 키 (직접 업로드는 null)
+     * @return 저장했으면 true, 이미 최신이라 건너뛰었으면 false
+     */
+    private boolean saveScanResult(User user, TranscriptScanResult rawResult, String fileKey) {
+        String contentHash = rawResult.getContentHash();
+        int courseCount = rawResult.getRawCourses().size();
+        if (contentHash != null && isUpToDate(user.getId(), contentHash)) {
+            // 같은 키의 재시도를 알아볼 수 있도록 S3 작업만 기록
+            if (fileKey != null) {
+                transcriptIngestRepository.save(new TranscriptIngest(user.getId(), contentHash, fileKey, TranscriptIngest.UNCHANGED, courseCount));
+            }
+            log.info("Transcript already up to date, skipping save. userId={}, fileKey={}", user.getId(), fileKey);
+            return false;
+        }
+
+        // 처음 보는 과목만 과목 테이블에 "없으면 넣기" (동시에 같은 과목이 들어와도 충돌 없음)
+        courseCatalogCache.ensureCourses(rawResult.getMappingCourseCodeName(), user.getId().toString());
+
+        TranscriptParsingResult parsed = transcriptParser.groupAndFormatCourses(rawResult.getRawCourses());
+
+        saveEnrollmentToDatabase(user, parsed.getCoursesBySemester());
+        updateLastSemester(user, parsed.getLastSemester());
+
+        if (contentHash != null) {
+            transcriptIngestRepository.save(new TranscriptIngest(user.getId(), contentHash, fileKey, TranscriptIngest.SAVED, courseCount));
+        }
+        return true;
+    }
+
+    // 마지막 저장과 같은 파일이고, 그 뒤 수강 이력이 보관(archive)되지 않았으면 최신
+    private boolean isUpToDate(Long userId, String contentHash) {
+        return transcriptIngestRepository.findTopByUserIdOrderByIdDesc(userId)
+                .map(last -> last.getContentHash().equals(contentHash))
+                .orElse(false)
+                && !enrollmentArchiveService.isArchived(userId);
+    }
 
-            byte[] fileBytes = loadFileFromS3(fileKey);
 
+    public void processParingAndSaving(Long userId, String fileKey) {
+        processParingAndSaving(userId, fileKey, () -> {});
+    }
 
-            // 파일 내용 분석, 전처리 및 분류, 새로운 과목 및 수강이력 DB 저장
-            TranscriptScanResult rawResult = transcriptParser.analyzeFile(new ByteArrayInputStream(fileBytes), userId.toString());
+    /**
+     * @param beforePersist 파싱이 끝나고 DB 저장을 시작하기 직전에 호출 (작업 상태 기록용)
+     */
+    public void processParingAndSaving(Long userId, String fileKey, Runnable beforePersist) {
 
-            saveNewCoursesToDatabase(rawResult.getMappingCourseCodeName(), userId.toString());
+        try {
+            log.info("Start synchronous parsing job. fileKey={}, userId={}", fileKey, userId);
 
-            TranscriptParsingResult parsed = transcriptParser.groupAndFormatCourses(rawResult.getRawCourses());
+            // 이미 저장이 커밋된 키 (SQS 재전달, 클라이언트 재시도): 파일을 다시 받거나 파싱하지 않음
+            if (transcriptIngestRepository.existsByFileKey(fileKey)) {
+                log.info("Parsing job already processed, skipping. fileKey={}, userId={}", fileKey, userId);
+                return;
+            }
 
-            saveEnrollmentToDatabase(user, parsed.getCoursesBySemester());
+            User user = userRepository.findByIdForUpdate(userId)
+                    .orElseThrow(() -> new IllegalStateException("User not found"));
 
+            // 파일 내용 분석(S3 응답 스트림에서 바로 읽음), 전처리 및 분류, 새로운 과목 및 수강이력 DB 저장
+            TranscriptScanResult rawResult;
+            try (InputStream fileStream = openFileFromS3(fileKey)) {
+                rawResult = transcriptParser.analyzeFile(fileStream, userId.toString());
+            }
 
-            // S3에서 삭제
+            beforePersist.run();
+            saveScanResult(user, rawResult, fileKey);
+
+            // 커밋 후 S3에서 삭제 (백그라운드 삭제 스레드에 넘기므로 커밋 응답이 저장소 왕복을 기다리지 않음)
             TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
                 @Override
                 public void afterCommit() {
-                    deleteFileFromS3(fileKey);
-                    log.info("Parsing complete & file deleted. fileKey={}", fileKey);
+                    storageObjectDeleter.delete(fileKey);
+                    log.info("Parsing complete & file deletion queued. fileKey={}", fileKey);
                 }
             });
 
@@ -114,108 +185,126 @@ public class TranscriptParsingWorker {
 
 
 
-    @Transactional
-    private void saveNewCoursesToDatabase(Map<String,String> mappingCourseCodeName, String userId){
-
-        Set<String> courseCodesFromTranscript = mappingCourseCodeName.keySet();
-
-        // 기존 과목 조회
-        List<Course> existingCourses = courseRepository.findAllById(courseCodesFromTranscript);
-        Set<String> existingCourseCodes = existingCourses.stream()
-                .map(Course::getCourseCode)
-                .collect(Collectors.toSet());
-
-        // DB에 없는 새로운 과목만 필터링, Course 엔티티로 변환
-        List<Course> newCourses = courseCodesFromTranscript.stream()
-                .filter(code -> !existingCourseCodes.contains(code))
-                .map(code -> {
-                    Course course = new Course();
-                    course.setCourseCode(code);
-                    course.setCourseName(mappingCourseCodeName.get(code));
-                    course.setSemester(4); // 임의의 값 유지
-                    return course;
-                })
-                .toList();
-
-        // 새로운 과목 DB 저장
-        if (!newCourses.isEmpty()) {
-            courseRepository.saveAll(newCourses);
-            for (Course course : newCourses) {
-                String timestamp = new java.text.SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new java.util.Date());
-                log.info("NewCourse: {}, User: {}, CODE: {}, SEMESTER: 4", timestamp, userId, course.getCourseCode());
-            }
-        }
-    }
-
-
-
+    /**
+     * 저장된 수강 이력과 새 성적표를 비교해 바뀐 행만 추가/수정/삭제하고, 변경분을 EnrollmentDeltaEvent 로 발행합니다.
+     * 학기마다 다시 올리는 경우 보통 새 학기 행만 추가되고, 바뀐 것이 없으면 집계와 캐시도 건드리지 않습니다.
+     */
     public void saveEnrollmentToDatabase(User user, Map<String, List<CourseAnalysisData>> coursesBySemester) {
 
-        enrollmentRepository.deleteByUser(user);
+        markSupersededAttempts(coursesBySemester);
+
+        // 선배 시간표 읽기 모델 갱신용 (학기 순번 -> 과목 코드)
+        Map<Double, List<String>> courseCodesBySemester = new HashMap<>();
+        List<Enrollment> parsedEnrollments = new ArrayList<>();
+
+        // 학기 순번과 실제 학기 값은 groupAndFormatCourses 가 과목마다 채워 둠
+        coursesBySemester.values().forEach(courses -> courses.forEach(course -> {
+            parsedEnrollments.add(Enrollment.builder()
+                    .user(user)
+                    .courseCode(course.getCourseCode())
+                    .importantRemarks(course.getImportantRemarks())
+                    .semester(course.getSemesterNumber())
+                    .term(course.getTerm())
+                    .credits(course.getCredits())
+                    .build());
+            courseCodesBySemester.computeIfAbsent(course.getSemesterNumber(), k -> new ArrayList<>()).add(course.getCourseCode());
+        }));
+
+        // 보관(archive)된 이력이 있으면 집계에서 빼고 지움. hot 테이블에는 없으므로 새 이력은 모두 추가됨
+        List<Enrollment> removed = new ArrayList<>();
+        enrollmentArchiveService.restoreUser(user.getId()).forEach(archived -> removed.add(snapshot(
+                archived.getCourseCode(), archived.getSemester(), archived.getTerm(), archived.getCredits(), archived.getImportantRemarks())));
+        List<Enrollment> added = new ArrayList<>();
+
+        EnrollmentDiff diff = EnrollmentDiff.compute(enrollmentRepository.findAllByUserId(user.getId()), parsedEnrollments);
+        for (EnrollmentDiff.Update update : diff.updates()) {
+            Enrollment stored = update.stored();
+            Enrollment parsed = update.parsed();
+            removed.add(snapshot(
+                    stored.getCourseCode(), stored.getSemester(), stored.getTerm(), stored.getCredits(), stored.getImportantRemarks()));
+            added.add(parsed);
+            // 영속 상태 엔티티라 변경 감지로 UPDATE
+            stored.setSemester(parsed.getSemester());
+            stored.setCredits(parsed.getCredits());
+            stored.setImportantRemarks(parsed.getImportantRemarks());
+        }
+        if (!diff.deletes().isEmpty()) {
+            enrollmentRepository.deleteByIdIn(diff.deletes().stream().map(Enrollment::getId).toList());
+            removed.addAll(diff.deletes());
+        }
+        if (!diff.inserts().isEmpty()) {
+            enrollmentBatchWriter.insertAll(diff.inserts());
+            added.addAll(diff.inserts());
+        }
 
-        coursesBySemester.forEach((semesterString, courses) -> {
-            double semesterNumber;
-            Pattern pattern = Pattern.compile("^^([\\d\\.]+)\\학기");
-            Matcher matcher = pattern.matcher(semesterString);
-            if (matcher.find()) {
-                semesterNumber = Double.parseDouble(matcher.group(1));
-            } else {
-                semesterNumber = 0.0;
-            }
+        log.info("Enrollments synced. userId={}, inserted={}, updated={}, deleted={}, unchanged={}",
+                user.getId(), diff.inserts().size(), diff.updates().size(), diff.deletes().size(), diff.unchanged());
 
-            courses.forEach(course -> {
-                Enrollment enrollment = Enrollment.builder()
-                        .user(user)
-                        .courseCode(course.getCourseCode())
-                        .importantRemarks(course.getImportantRemarks())
-                        .semester(semesterNumber)
-                        .build();
-                enrollmentRepository.save(enrollment);
-            });
-        });
+        EnrollmentDeltaEvent delta = new EnrollmentDeltaEvent(user.getId(), added, removed);
+        if (delta.isEmpty()) {
+            return;
+        }
+        eventPublisher.publishEvent(delta);
+        peerTimetableService.refresh(user, courseCodesBySemester);
+        creditSummaryService.refresh(user, parsedEnrollments);
+        userAcademicProfileService.evict(user.getId());
     }
 
+    // 같은 과목을 재이수(R)한 경우, 재이수 학기보다 앞선 수강은 성적이 대체된 것으로 표시
+    private static void markSupersededAttempts(Map<String, List<CourseAnalysisData>> coursesBySemester) {
+        Map<String, Integer> lastRetakeTerm = new HashMap<>();
+        coursesBySemester.values().forEach(courses -> courses.forEach(course -> {
+            Remarks remarks = course.getImportantRemarks();
+            if (remarks != null && remarks.isRetake()) {
+                lastRetakeTerm.merge(course.getCourseCode(), course.getTerm(), Math::max);
+            }
+        }));
+        if (lastRetakeTerm.isEmpty()) {
+            return;
+        }
 
+        coursesBySemester.values().forEach(courses -> courses.forEach(course -> {
+            Integer retakeTerm = lastRetakeTerm.get(course.getCourseCode());
+            if (retakeTerm != null && course.getTerm() < retakeTerm) {
+                if (course.getImportantRemarks() == null) {
+                    course.setImportantRemarks(new Remarks());
+                }
+                course.getImportantRemarks().setSuperseded(true);
+            }
+        }));
+    }
 
-    private byte[] loadFileFromS3(String fileKey){
-
-        try {
-            GetObjectRequest request = GetObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(fileKey)
-                    .build();
-
-            ResponseBytes<GetObjectResponse> objectBytes = s3Client.getObjectAsBytes(request);
-
-            return objectBytes.asByteArray();
-
-        } catch (NoSuchKeyException e) {
-            log.error("S3 file not found. key={}", fileKey);
-            throw new IllegalStateException("Uploaded file not found in storage.", e);
+    // 변경분 이벤트용 값 복사본 (영속 상태가 아님)
+    private static Enrollment snapshot(String courseCode, double semester, int term, double credits, Remarks remarks) {
+        return Enrollment.builder()
+                .courseCode(courseCode)
+                .semester(semester)
+                .term(term)
+                .credits(credits)
+                .importantRemarks(remarks)
+                .build();
+    }
 
-        } catch (Exception e) {
-            log.error("Failed to load S3 file. key={}", fileKey, e);
-            throw new RuntimeException("Failed to load file from S3.", e);
+    // 마지막 수강 학기 (예: "2025-2") - 다음 학기 계산과 비활성 사용자 보관 기준으로 사용
+    private void updateLastSemester(User user, String lastSemester) {
+        if (lastSemester == null) {
+            return;
         }
-
+        user.setLastSemester(lastSemester);
+        userRepository.save(user);
     }
 
 
 
-    private void deleteFileFromS3(String fileKey) {
+    // 객체 전체를 byte[] 로 받지 않고 저장소 응답 본문 스트림을 그대로 반환 (호출한 쪽에서 닫음)
+    private InputStream openFileFromS3(String fileKey){
 
         try {
-            DeleteObjectRequest deleteRequest = DeleteObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(fileKey)
-                    .build();
-
-            s3Client.deleteObject(deleteRequest);
-
-            log.info("S3 file deleted. key={}", fileKey);
+            return storageClient.getObjectStream(fileKey);
 
         } catch (Exception e) {
-            log.error("Failed to delete S3 file. key={}", fileKey, e);
+            log.error("Failed to load uploaded file. key={}", fileKey, e);
+            throw new IllegalStateException("Uploaded file not found in storage.", e);
         }
 
     }
@@ -0,0 +1,115 @@
+package com.saintplus.transcript.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.saintplus.transcript.domain.TranscriptScan;
+import com.saintplus.transcript.dto.TranscriptScanResult;
+import com.saintplus.transcript.repository.TranscriptScanRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * TranscriptScanCache
+ *
+ * /extract-majors 에서 한 번 파싱한 성적표 결과를 업로드 토큰으로 잠시 보관합니다.
+ * 사용자가 전공을 확인하고 /commit 하면 파일을 다시 올리거나 다시 파싱하지 않고 이 결과를 저장합니다.
+ *
+ * - 결과는 transcript_scan 테이블에 두므로 /commit 이 다른 노드로 가도 찾을 수 있습니다. (sticky 라우팅 불필요)
+ * - 항목은 saintplus.upload-session.ttl-seconds 가 지나면 만료되고, purge-interval-ms 마다 만료된 행을 지웁니다.
+ * - 저장에 성공한 토큰은 remove 로 바로 폐기합니다(한 번만 사용).
+ * - 항목은 올린 사람에게 묶입니다. 로그인한 업로드는 사용자 ID, 로그인 없이 올린 업로드는 클라이언트 주소로 묶고,
+ *   다른 사용자(다른 주소)가 토큰을 가져와도 get 은 null 입니다.
+ *   개수 상한이 없으므로 같은 주소(학교 NAT 등) 뒤의 업로드끼리 서로의 토큰을 밀어내지 않습니다.
+ *   프록시 뒤에서는 server.forward-headers-strategy 로 실제 클라이언트 주소를 받아야 합니다.
+ */
+@Slf4j
+@Component
+public class TranscriptScanCache {
+
+    private final TranscriptScanRepository transcriptScanRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader resultReader;
+    private final long ttlSeconds;
+
+    public TranscriptScanCache(
+            TranscriptScanRepository transcriptScanRepository,
+            ObjectMapper objectMapper,
+            @Value("${saintplus.upload-session.ttl-seconds:600}") long ttlSeconds
+    ) {
+        this.transcriptScanRepository = transcriptScanRepository;
+        this.objectMapper = objectMapper;
+        // 계산 속성(Remarks.counted 등)도 직렬화되므로 읽을 때는 모르는 속성을 무시
+        this.resultReader = objectMapper.readerFor(TranscriptScanResult.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    /**
+     * @param userId        로그인한 업로드면 사용자 ID, 아니면 null
+     * @param clientAddress 요청한 클라이언트 주소 (userId 가 null 이면 이 주소로 묶음)
+     */
+    public String put(TranscriptScanResult result, Long userId, String clientAddress) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize transcript scan result.", e);
+        }
+
+        String token = UUID.randomUUID().toString();
+        transcriptScanRepository.save(new TranscriptScan(token, userId, clientAddress, json,
+                LocalDateTime.now().plusSeconds(ttlSeconds)));
+        return token;
+    }
+
+    /**
+     * 보관 중인 파싱 결과. 없거나 만료되었거나, 올린 사용자(로그인 없이 올렸으면 클라이언트 주소)가 다르면 null
+     */
+    public TranscriptScanResult get(String token, Long userId, String clientAddress) {
+        if (token == null) {
+            return null;
+        }
+        TranscriptScan scan = transcriptScanRepository.findById(token).orElse(null);
+        if (scan == null) {
+            return null;
+        }
+        if (!scan.getExpiresAt().isAfter(LocalDateTime.now())) {
+            transcriptScanRepository.deleteById(token);
+            return null;
+        }
+        if (!scan.isOwnedBy(userId, clientAddress)) {
+            return null;
+        }
+        try {
+            return resultReader.readValue(scan.getResultJson());
+        } catch (JsonProcessingException e) {
+            log.warn("Unreadable transcript scan result. token={}", token, e);
+            return null;
+        }
+    }
+
+    public void remove(String token) {
+        if (token != null) {
+            transcriptScanRepository.deleteById(token);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${saintplus.upload-session.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        try {
+            int purged = transcriptScanRepository.deleteExpired(LocalDateTime.now());
+            if (purged > 0) {
+                log.debug("Expired transcript scans purged. count={}", purged);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to purge expired transcript scans.", e);
+        }
+    }
+}
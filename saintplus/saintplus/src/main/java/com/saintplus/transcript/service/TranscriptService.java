@@ -1,16 +1,23 @@
 package com.saintplus.transcript.service;
 
+import com.saintplus.transcript.dto.TranscriptJobStatusResponse;
+import com.saintplus.transcript.dto.TranscriptParseJob;
+import com.saintplus.transcript.dto.TranscriptScanResult;
+import com.saintplus.transcript.dto.TranscriptScanSession;
 import com.saintplus.transcript.dto.UploadUrlResponse;
 import com.saintplus.transcript.util.StorageClient;
+import com.saintplus.transcript.util.TranscriptJobQueue;
 import com.saintplus.user.service.UserService;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
-import java.util.List;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.UUID;
 
 @Slf4j
 @Service
@@ -21,26 +28,62 @@ public class TranscriptService {
     private final TranscriptParsingWorker transcriptParsingWorker;
     private final TranscriptParser transcriptParser;
     private final UserService userService;
+    private final TranscriptScanCache transcriptScanCache;
+    private final TranscriptJobQueue transcriptJobQueue;
+    private final TranscriptJobStatusStore transcriptJobStatusStore;
+    private final UserIngestLock userIngestLock;
+    private final DirectParseExecutor directParseExecutor;
+    private final UploadSizeLimit uploadSizeLimit;
+
+
+    // 전공 추출과 과목 파싱을 한 번에 하고, 결과는 업로드 토큰으로 보관 (전공 확인 후 commitScannedTranscript)
+    // 보관한 결과는 올린 사용자(로그인하지 않았으면 클라이언트 주소)만 저장할 수 있음
+    public TranscriptScanSession scanTranscript(MultipartFile file, Long userId, String clientAddress) throws IOException {
+        uploadSizeLimit.check(file);
+        return scanTranscript(file.getInputStream(), userId, clientAddress);
+    }
 
+    // 요청 본문 스트림을 그대로 파싱 (multipart 임시 파일 없이). 로그인 없이 호출되므로 saintplus.upload.max-bytes 까지만 읽음
+    public TranscriptScanSession scanTranscript(InputStream inputStream, Long userId, String clientAddress) throws IOException {
+        TranscriptScanResult scanResult = transcriptParser.analyzeFile(uploadSizeLimit.limit(inputStream), "anonymous");
+        String uploadToken = transcriptScanCache.put(scanResult, userId, clientAddress);
+        return new TranscriptScanSession(uploadToken, scanResult.getMajors());
+    }
 
-    public List<String> extractMajors(MultipartFile file) throws IOException {
-        return transcriptParser.extractMajorsFromFile(file.getInputStream());
+    // 같은 사용자의 저장은 UserIngestLock 으로 하나씩 실행 (전공 변경과 저장은 한 트랜잭션)
+    public void commitScannedTranscript(Long userId, String clientAddress, String uploadToken,
+                                        String major1, String major2, String major3) {
+        TranscriptScanResult scanResult = transcriptScanCache.get(uploadToken, userId, clientAddress);
+        if (scanResult == null) {
+            throw new IllegalArgumentException("Upload session not found or expired. Please upload the transcript again.");
+        }
+
+        userIngestLock.runInTransaction(userId, () -> {
+            userService.updateUserData(userId, major1, major2, major3);
+            transcriptParsingWorker.saveScannedTranscript(userId, scanResult);
+        });
+
+        // 저장에 성공한 토큰은 재사용하지 않음
+        transcriptScanCache.remove(uploadToken);
+        log.info("Transcript committed from upload session. userId={}", userId);
     }
 
-    @Transactional
-    public void parseAndSaveTranscript(Long userId, MultipartFile file, String major1, String major2, String major3) throws IOException {
-        log.info("Starting direct parsing for userId: {}", userId);
-        
-        // 전공 정보 업데이트
-        userService.updateUserData(userId, major1, major2, major3);
-        
-        // 파일을 임시로 저장하고 파싱
-        String tempFileKey = "temp/" + userId + "/" + System.currentTimeMillis() + "/" + file.getOriginalFilename();
-        
-        // Worker에게 파싱 작업 위임 (파일 내용을 직접 전달)
-        transcriptParsingWorker.parseFromInputStream(userId, file.getInputStream());
-        
-        log.info("Direct parsing completed for userId: {}", userId);
+    public String submitTranscriptParsing(Long userId, MultipartFile file, String major1, String major2, String major3) throws IOException {
+        uploadSizeLimit.check(file); // 요청 본문 업로드와 같은 한도 (본문은 DirectParseExecutor 가 읽으면서 한 번 더 셈)
+        try (InputStream inputStream = file.getInputStream()) {
+            return submitTranscriptParsing(userId, inputStream, major1, major2, major3);
+        }
+    }
+
+    // 직접 업로드한 파일을 DirectParseExecutor 에 넣고 작업 ID 를 바로 반환 (대기열이 가득 차면 RejectedExecutionException)
+    public String submitTranscriptParsing(Long userId, InputStream inputStream, String major1, String major2, String major3) throws IOException {
+        String jobId = directParseExecutor.submit(userId, inputStream, major1, major2, major3);
+        log.info("Direct parsing submitted. jobId={}, userId={}", jobId, userId);
+        return jobId;
+    }
+
+    public int getDirectParseRetryAfterSeconds() {
+        return directParseExecutor.getRetryAfterSeconds();
     }
 
 
@@ -60,16 +103,27 @@ public class TranscriptService {
 
 
 
-    public void processParsingJob(Long userId, String fileKey, String major1, String major2, String major3) {
-        log.info("Starting synchronous parsing job for userId: {}, fileKey: {}", userId, fileKey);
-
-        // 사용자 전공 정보 업데이트
-        userService.updateUserData(userId, major1, major2, major3);
+    // 파싱 작업을 큐에 넣고 바로 반환 (전공 변경과 파싱/저장은 TranscriptJobRunner 가 소비자 스레드에서 처리)
+    public String processParsingJob(Long userId, String fileKey, String major1, String major2, String major3) {
+        String jobId = UUID.randomUUID().toString();
+        transcriptJobStatusStore.queued(jobId, userId, fileKey);
+        try {
+            transcriptJobQueue.enqueue(new TranscriptParseJob(jobId, userId, fileKey, major1, major2, major3));
+        } catch (RuntimeException e) {
+            transcriptJobStatusStore.failed(jobId, "Could not enqueue parsing job.");
+            throw e;
+        }
+        transcriptJobStatusStore.enqueued(jobId);
+        log.info("Parsing job queued. jobId={}, userId={}, fileKey={}", jobId, userId, fileKey);
+        return jobId;
+    }
 
-        // Worker 호출하여 파싱 및 저장 작업 위임
-        transcriptParsingWorker.processParingAndSaving(userId, fileKey);
+    public Optional<TranscriptJobStatusResponse> getJobStatus(Long userId, String jobId) {
+        return transcriptJobStatusStore.find(userId, jobId);
+    }
 
-        log.info("Parsing job completed for userId: {}", userId);
+    public SseEmitter subscribeJobStatus(Long userId, String jobId) {
+        return transcriptJobStatusStore.subscribe(userId, jobId);
     }
 
 
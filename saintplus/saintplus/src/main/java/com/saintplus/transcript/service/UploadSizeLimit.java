@@ -0,0 +1,94 @@
+package com.saintplus.transcript.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * UploadSizeLimit
+ *
+ * 성적표 업로드 한 건의 최대 크기(saintplus.upload.max-bytes)입니다. multipart 와 요청 본문(application/octet-stream) 업로드에 같은 한도를 씁니다.
+ * 요청 본문은 Content-Length 없이(chunked) 올 수 있으므로 헤더가 아니라 실제로 읽은 바이트 수로 판단합니다.
+ */
+@Component
+public class UploadSizeLimit {
+
+    private final long maxBytes;
+
+    public UploadSizeLimit(@Value("${saintplus.upload.max-bytes:1048576}") long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * 한도보다 많은 바이트를 읽으면 UploadTooLargeException 을 던지는 스트림
+     */
+    public InputStream limit(InputStream in) {
+        return new LimitedInputStream(in, maxBytes);
+    }
+
+    /**
+     * @throws UploadTooLargeException multipart 파일이 한도보다 큰 경우
+     */
+    public void check(MultipartFile file) throws UploadTooLargeException {
+        if (file.getSize() > maxBytes) {
+            throw new UploadTooLargeException(maxBytes);
+        }
+    }
+
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private final long maxBytes;
+        private long read;
+
+        LimitedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count(skipped);
+            return skipped;
+        }
+
+        // mark/reset 으로 같은 바이트를 다시 읽으면 개수가 틀어지므로 지원하지 않음
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void count(long n) throws UploadTooLargeException {
+            read += n;
+            if (read > maxBytes) {
+                throw new UploadTooLargeException(maxBytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.saintplus.transcript.service;
+
+import java.io.IOException;
+
+/**
+ * 업로드가 saintplus.upload.max-bytes 를 넘은 경우 (컨트롤러가 413 으로 응답)
+ */
+public class UploadTooLargeException extends IOException {
+
+    private final long maxBytes;
+
+    public UploadTooLargeException(long maxBytes) {
+        super("Upload exceeds the maximum size of " + maxBytes + " bytes.");
+        this.maxBytes = maxBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+}
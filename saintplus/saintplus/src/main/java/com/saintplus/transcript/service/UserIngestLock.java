@@ -0,0 +1,54 @@
+package com.saintplus.transcript.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * UserIngestLock
+ *
+ * 한 사용자의 성적표 저장을 한 번에 하나씩만 실행합니다. 다른 사용자끼리는 그대로 병렬입니다.
+ *
+ * - 노드 안: userId 로 고른 stripe 잠금(stripes 개)을 트랜잭션 시작 전에 잡고 커밋/롤백 후에 놓습니다.
+ *   같은 사용자의 두 번째 저장은 DB 커넥션을 잡기 전에 여기서 기다립니다.
+ * - 노드 사이: 저장 경로는 트랜잭션 안에서 사용자 행을 SELECT ... FOR UPDATE 로 읽습니다. (UserRepository.findByIdForUpdate)
+ *
+ * 다른 사용자가 같은 stripe 에 걸리면 잠깐 기다릴 수 있지만 결과에는 영향이 없습니다.
+ */
+@Component
+public class UserIngestLock {
+
+    private final ReentrantLock[] stripes;
+    private final TransactionTemplate transactionTemplate;
+
+    public UserIngestLock(
+            PlatformTransactionManager transactionManager,
+            @Value("${saintplus.ingest.lock-stripes:64}") int stripes
+    ) {
+        this.stripes = new ReentrantLock[Math.max(1, stripes)];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 사용자 잠금을 잡은 채로 work 를 한 트랜잭션에서 실행합니다. (이미 트랜잭션 안이면 그 트랜잭션에 참여)
+     */
+    public void runInTransaction(Long userId, Runnable work) {
+        ReentrantLock lock = stripeFor(userId);
+        lock.lock();
+        try {
+            transactionTemplate.executeWithoutResult(status -> work.run());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    ReentrantLock stripeFor(Long userId) {
+        return stripes[Math.floorMod(Long.hashCode(userId), stripes.length)];
+    }
+}
@@ -3,22 +3,38 @@ package com.saintplus.transcript.util;
 import com.saintplus.transcript.dto.UploadUrlResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.Delete;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
 import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Error;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
 
 import java.io.InputStream;
 import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "saintplus.storage.backend", havingValue = "s3", matchIfMissing = true)
 public class AwsS3ClientImpl implements StorageClient {
 
+    private static final int HTTP_NOT_MODIFIED = 304;
+
     private final S3Presigner presigner;
     private final S3Client s3Client;
 
@@ -58,6 +74,95 @@ public class AwsS3ClientImpl implements StorageClient {
                 .key(fileKey)
                 .build();
 
+        return open(request, fileKey);
+
+    }
+
+
+    @Override
+    public InputStream getObjectRange(String fileKey, long start, long end) {
+
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(this.bucketName)
+                .key(fileKey)
+                .range("bytes=" + start + "-" + end)
+                .build();
+
+        return open(request, fileKey);
+
+    }
+
+
+    @Override
+    public Optional<StorageObject> getObjectIfChanged(String fileKey, String eTag) {
+
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(this.bucketName)
+                .key(fileKey)
+                .ifNoneMatch(eTag)
+                .build();
+
+        try {
+            ResponseInputStream<GetObjectResponse> response = open(request, fileKey);
+            return Optional.of(new StorageObject(response, response.response().eTag(), response.response().contentLength()));
+        } catch (IllegalStateException e) {
+            // If-None-Match 가 맞으면 S3 는 304 로 응답
+            if (e.getCause() instanceof S3Exception s3e && s3e.statusCode() == HTTP_NOT_MODIFIED) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+
+    }
+
+
+    @Override
+    public List<String> deleteObjects(List<String> fileKeys) {
+
+        if (fileKeys.size() > MAX_DELETE_BATCH) {
+            throw new IllegalArgumentException("Too many keys for one delete request: " + fileKeys.size());
+        }
+        if (fileKeys.isEmpty()) {
+            return List.of();
+        }
+
+        List<ObjectIdentifier> objects = fileKeys.stream()
+                .map(key -> ObjectIdentifier.builder().key(key).build())
+                .toList();
+
+        try {
+            // quiet 모드: 응답에는 실패한 키만 담김
+            DeleteObjectsResponse response = s3Client.deleteObjects(DeleteObjectsRequest.builder()
+                    .bucket(this.bucketName)
+                    .delete(Delete.builder().objects(objects).quiet(true).build())
+                    .build());
+            return response.errors().stream().map(S3Error::key).toList();
+        } catch (SdkException e) {
+            throw new IllegalStateException("Failed to delete S3 objects. count=" + fileKeys.size(), e);
+        }
+
+    }
+
+
+    @Override
+    public void listObjects(String prefix, Consumer<StorageObjectSummary> action) {
+
+        ListObjectsV2Request request = ListObjectsV2Request.builder()
+                .bucket(this.bucketName)
+                .prefix(prefix)
+                .build();
+
+        try {
+            s3Client.listObjectsV2Paginator(request).contents().forEach(object ->
+                    action.accept(new StorageObjectSummary(object.key(), object.lastModified(), object.size())));
+        } catch (SdkException e) {
+            throw new IllegalStateException("Failed to list S3 objects. prefix=" + prefix, e);
+        }
+
+    }
+
+
+    private ResponseInputStream<GetObjectResponse> open(GetObjectRequest request, String fileKey) {
         try {
             return s3Client.getObject(request);
         } catch (NoSuchKeyException e) {
@@ -65,7 +170,6 @@ public class AwsS3ClientImpl implements StorageClient {
         } catch (SdkException e) {
             throw new IllegalStateException("Failed to read S3 object: " + fileKey, e);
         }
-
     }
 
 }
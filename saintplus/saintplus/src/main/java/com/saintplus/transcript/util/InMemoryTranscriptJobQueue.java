@@ -0,0 +1,178 @@
+package com.saintplus.transcript.util;
+
+import com.saintplus.transcript.dto.TranscriptParseJob;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * InMemoryTranscriptJobQueue
+ *
+ * 프로세스 안에서 도는 작업 큐 (saintplus.transcript-queue.backend=memory 일 때만, 로컬/테스트용).
+ * 재시도 대기 중인 작업도 같은 DelayQueue 에 넣어 두므로, 소비자 스레드는 꺼낼 수 있는 작업만 받습니다.
+ *
+ * - capacity 를 넘으면 enqueue 가 IllegalStateException 을 던집니다. (재시도 대기 작업도 포함)
+ * - 미뤄진(TranscriptJobDeferredException) 작업은 시도 횟수를 늘리지 않고 retryAfter 뒤에 다시 꺼냅니다.
+ * - max-attempts 번 실패한 작업은 최근 DEAD_LETTER_LIMIT 개까지 deadLetters() 로 볼 수 있습니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "saintplus.transcript-queue.backend", havingValue = "memory")
+public class InMemoryTranscriptJobQueue implements TranscriptJobQueue {
+
+    static final int DEAD_LETTER_LIMIT = 100;
+
+    // 큐에 들어 있는 작업 한 건 (attempt: 지금까지 실패한 횟수)
+    private record DelayedJob(TranscriptParseJob job, int attempt, long readyAtNanos) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(readyAtNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(readyAtNanos, ((DelayedJob) other).readyAtNanos);
+        }
+    }
+
+    private final TranscriptJobHandler handler;
+    private final DelayQueue<DelayedJob> queue = new DelayQueue<>();
+    private final Deque<TranscriptParseJob> deadLetters = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final ExecutorService consumers;
+
+    private final int consumerCount;
+    private final int capacity;
+    private final int maxAttempts;
+    private final long backoffBaseMillis;
+    private final long backoffMaxMillis;
+
+    private volatile boolean running;
+
+    public InMemoryTranscriptJobQueue(
+            TranscriptJobHandler handler,
+            @Value("${saintplus.transcript-queue.consumers:2}") int consumers,
+            @Value("${saintplus.transcript-queue.capacity:1000}") int capacity,
+            @Value("${saintplus.transcript-queue.max-attempts:5}") int maxAttempts,
+            @Value("${saintplus.transcript-queue.backoff-base-ms:1000}") long backoffBaseMillis,
+            @Value("${saintplus.transcript-queue.backoff-max-ms:60000}") long backoffMaxMillis
+    ) {
+        this.handler = handler;
+        this.consumerCount = Math.max(1, consumers);
+        this.capacity = capacity;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffBaseMillis = backoffBaseMillis;
+        this.backoffMaxMillis = backoffMaxMillis;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.consumers = Executors.newFixedThreadPool(this.consumerCount, runnable -> {
+            Thread thread = new Thread(runnable, "transcript-job-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void enqueue(TranscriptParseJob job) {
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            throw new IllegalStateException("Transcript job queue is full.");
+        }
+        queue.add(new DelayedJob(job, 0, System.nanoTime()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < consumerCount; i++) {
+            consumers.execute(this::consume);
+        }
+        log.info("In-memory transcript job queue started. consumers={}, capacity={}", consumerCount, capacity);
+    }
+
+    private void consume() {
+        while (running) {
+            DelayedJob delayed;
+            try {
+                delayed = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            process(delayed);
+        }
+    }
+
+    private void process(DelayedJob delayed) {
+        TranscriptParseJob job = delayed.job();
+        try {
+            handler.handle(job);
+            size.decrementAndGet();
+        } catch (TranscriptJobDeferredException e) {
+            // 실패가 아니므로 시도 횟수를 늘리지 않음
+            log.info("Transcript job deferred for {}ms. userId={}, fileKey={}",
+                    e.getRetryAfter().toMillis(), job.userId(), job.fileKey());
+            queue.add(new DelayedJob(job, delayed.attempt(), System.nanoTime() + e.getRetryAfter().toNanos()));
+        } catch (Exception e) {
+            int attempt = delayed.attempt() + 1;
+            if (attempt >= maxAttempts) {
+                deadLetter(job);
+                handler.onGiveUp(job, e);
+                size.decrementAndGet();
+                log.error("Transcript job moved to dead letter after {} attempts. userId={}, fileKey={}",
+                        attempt, job.userId(), job.fileKey(), e);
+                return;
+            }
+            long backoff = TranscriptJobQueue.backoffMillis(attempt, backoffBaseMillis, backoffMaxMillis);
+            log.warn("Transcript job failed, retrying in {}ms. attempt={}, userId={}, fileKey={}",
+                    backoff, attempt, job.userId(), job.fileKey(), e);
+            queue.add(new DelayedJob(job, attempt, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff)));
+        }
+    }
+
+    private void deadLetter(TranscriptParseJob job) {
+        deadLetters.addLast(job);
+        while (deadLetters.size() > DEAD_LETTER_LIMIT) {
+            deadLetters.pollFirst();
+        }
+    }
+
+    /**
+     * 재시도를 모두 실패한 작업 (오래된 순)
+     */
+    public List<TranscriptParseJob> deadLetters() {
+        return new ArrayList<>(deadLetters);
+    }
+
+    /**
+     * 처리 중이거나 대기 중인 작업 수 (재시도 대기 포함)
+     */
+    public int size() {
+        return size.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        consumers.shutdownNow();
+    }
+}
@@ -0,0 +1,307 @@
+package com.saintplus.transcript.util;
+
+import com.saintplus.transcript.dto.UploadUrlResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * LocalStorageClient
+ *
+ * 로컬 디스크(root-dir)를 저장소로 씁니다. (saintplus.storage.backend=local)
+ * AWS 없이 업로드 -> 파싱 전체 흐름을 돌리거나 벤치마크할 때 사용합니다.
+ *
+ * - Presigned URL 은 내부 엔드포인트(LocalStorageController, PUT /api/v1/storage/local/objects)를 가리키며,
+ *   키와 만료 시각을 HMAC-SHA256 으로 서명해 S3 처럼 만료 전까지 그 키에만 쓸 수 있습니다.
+ * - signing-key 를 비워 두면 실행할 때마다 새로 만들므로, 재시작 전에 받은 URL 은 쓸 수 없습니다.
+ * - eTag 는 파일 크기와 수정 시각으로 만듭니다. (내용 해시 아님)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "saintplus.storage.backend", havingValue = "local")
+public class LocalStorageClient implements StorageClient {
+
+    static final String UPLOAD_PATH = "/api/v1/storage/local/objects";
+    private static final Duration URL_TTL = Duration.ofMinutes(10);
+    private static final String HMAC = "HmacSHA256";
+
+    private final Path root;
+    private final String baseUrl;
+    private final byte[] signingKey;
+    private final Clock clock;
+
+    @Autowired
+    public LocalStorageClient(
+            @Value("${saintplus.storage.local.root-dir:${java.io.tmpdir}/saintplus-storage}") String rootDir,
+            @Value("${saintplus.storage.local.base-url:http://localhost:8080}") String baseUrl,
+            @Value("${saintplus.storage.local.signing-key:}") String signingKey
+    ) throws IOException {
+        this(Path.of(rootDir), baseUrl, signingKey, Clock.systemUTC());
+    }
+
+    LocalStorageClient(Path root, String baseUrl, String signingKey, Clock clock) throws IOException {
+        this.root = Files.createDirectories(root).toAbsolutePath().normalize();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.signingKey = signingKey == null || signingKey.isBlank() ? randomKey() : signingKey.getBytes(StandardCharsets.UTF_8);
+        this.clock = clock;
+        log.info("Local storage enabled. root={}", this.root);
+    }
+
+
+    @Override
+    public UploadUrlResponse generatePresignedUrl(String fileKey, String contentType) {
+
+        resolve(fileKey); // 저장소 밖을 가리키는 키는 URL 을 만들기 전에 거절
+        long expires = clock.instant().plus(URL_TTL).getEpochSecond();
+
+        String uploadUrl = baseUrl + UPLOAD_PATH
+                + "?key=" + URLEncoder.encode(fileKey, StandardCharsets.UTF_8)
+                + "&expires=" + expires
+                + "&signature=" + sign(fileKey, expires);
+
+        return UploadUrlResponse.builder()
+                .uploadUrl(uploadUrl)
+                .fileKey(fileKey)
+                .build();
+    }
+
+    /**
+     * Presigned URL 의 서명과 만료 시각을 확인합니다.
+     */
+    public boolean isValidUpload(String fileKey, long expires, String signature) {
+        if (signature == null || clock.instant().getEpochSecond() > expires) {
+            return false;
+        }
+        return MessageDigest.isEqual(
+                sign(fileKey, expires).getBytes(StandardCharsets.US_ASCII),
+                signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * 본문을 임시 파일에 다 받은 뒤 옮기므로, 읽는 쪽에서 쓰다 만 파일을 보지 않습니다.
+     *
+     * @return 저장한 바이트 수
+     */
+    public long putObject(String fileKey, InputStream content) {
+        Path target = resolve(fileKey);
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+            try {
+                long size = Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                return size;
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write local object: " + fileKey, e);
+        }
+    }
+
+
+    @Override
+    public InputStream getObjectStream(String fileKey) {
+        try {
+            return Files.newInputStream(resolve(fileKey));
+        } catch (NoSuchFileException e) {
+            throw new IllegalStateException("Local object not found: " + fileKey, e);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read local object: " + fileKey, e);
+        }
+    }
+
+    @Override
+    public InputStream getObjectRange(String fileKey, long start, long end) {
+        if (start < 0 || end < start) {
+            throw new IllegalArgumentException("Invalid range: " + start + "-" + end);
+        }
+        try {
+            FileChannel channel = FileChannel.open(resolve(fileKey), StandardOpenOption.READ);
+            channel.position(start);
+            return new RangeInputStream(Channels.newInputStream(channel), end - start + 1);
+        } catch (NoSuchFileException e) {
+            throw new IllegalStateException("Local object not found: " + fileKey, e);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read local object: " + fileKey, e);
+        }
+    }
+
+    @Override
+    public Optional<StorageObject> getObjectIfChanged(String fileKey, String eTag) {
+        Path path = resolve(fileKey);
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            String current = eTagOf(attributes);
+            if (current.equals(eTag)) {
+                return Optional.empty();
+            }
+            return Optional.of(new StorageObject(Files.newInputStream(path), current, attributes.size()));
+        } catch (NoSuchFileException e) {
+            throw new IllegalStateException("Local object not found: " + fileKey, e);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read local object: " + fileKey, e);
+        }
+    }
+
+    @Override
+    public List<String> deleteObjects(List<String> fileKeys) {
+        if (fileKeys.size() > MAX_DELETE_BATCH) {
+            throw new IllegalArgumentException("Too many keys for one delete request: " + fileKeys.size());
+        }
+        List<String> failed = new ArrayList<>();
+        for (String fileKey : fileKeys) {
+            try {
+                Files.deleteIfExists(resolve(fileKey));
+            } catch (IOException | IllegalArgumentException e) {
+                failed.add(fileKey);
+            }
+        }
+        return failed;
+    }
+
+    @Override
+    public void listObjects(String prefix, Consumer<StorageObjectSummary> action) {
+        // prefix 는 디렉터리 경계가 아닐 수도 있으므로 부모 디렉터리부터 훑고 키로 거름
+        Path start = root.resolve(prefix).normalize();
+        Path dir = prefix.endsWith("/") ? start : start.getParent();
+        if (dir == null || !dir.startsWith(root) || !Files.isDirectory(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.filter(Files::isRegularFile).forEach(path -> {
+                String key = root.relativize(path).toString().replace(path.getFileSystem().getSeparator(), "/");
+                if (!key.startsWith(prefix)) {
+                    return;
+                }
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    action.accept(new StorageObjectSummary(key, attributes.lastModifiedTime().toInstant(), attributes.size()));
+                } catch (NoSuchFileException e) {
+                    // 훑는 사이에 지워진 파일
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            throw new IllegalStateException("Failed to list local objects. prefix=" + prefix, e);
+        }
+    }
+
+
+    // 키는 root 아래 상대 경로로만 해석 ("../" 등으로 밖을 가리키면 거절)
+    private Path resolve(String fileKey) {
+        if (fileKey == null || fileKey.isBlank()) {
+            throw new IllegalArgumentException("File key is required.");
+        }
+        Path path = root.resolve(fileKey).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new IllegalArgumentException("Invalid file key: " + fileKey);
+        }
+        return path;
+    }
+
+    private String sign(String fileKey, long expires) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(new SecretKeySpec(signingKey, HMAC));
+            byte[] signature = mac.doFinal((fileKey + "\n" + expires).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available.", e);
+        }
+    }
+
+    private static String eTagOf(BasicFileAttributes attributes) {
+        return Long.toHexString(attributes.size()) + "-" + Long.toHexString(attributes.lastModifiedTime().toMillis());
+    }
+
+    private static byte[] randomKey() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return key;
+    }
+
+
+    // 남은 바이트 수만큼만 읽는 스트림 (범위 읽기용)
+    private static final class RangeInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        RangeInputStream(InputStream in, long length) {
+            super(in);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = super.read(buffer, offset, (int) Math.min(length, remaining));
+            if (n > 0) {
+                remaining -= n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), remaining);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.saintplus.transcript.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saintplus.transcript.dto.TranscriptParseJob;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SqsTranscriptJobQueue
+ *
+ * SQS 로 파싱 작업을 주고받습니다. (saintplus.transcript-queue.backend=sqs, 기본값)
+ * 큐 주소는 saintplus.transcript-queue.sqs.queue-url, 없으면 환경 변수 SAINTPLUS_SQS_QUEUE_URL 에서 읽습니다.
+ *
+ * - 소비자 스레드마다 롱 폴링(wait-seconds)으로 최대 batch-size 개씩 받아 차례로 처리합니다. 처리량은 consumers 수에 비례합니다.
+ * - 받은 메시지는 처리가 끝날 때까지 visibility-timeout 의 절반마다 가시성 시간을 연장해, 오래 걸리는 작업이 다른 소비자에게 다시 가지 않게 합니다.
+ * - 성공하면 바로 삭제하고, 실패하면 가시성 시간을 백오프 값으로 줄여 그 뒤에 다시 받도록 합니다.
+ * - 미뤄진(TranscriptJobDeferredException) 작업은 dead-letter 하지 않고 retryAfter 뒤에 다시 보이게 합니다.
+ * - 수신 횟수(ApproximateReceiveCount)가 max-attempts 에 닿으면 dlq-url 로 옮기고(설정된 경우) 원래 큐에서 지웁니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "saintplus.transcript-queue.backend", havingValue = "sqs", matchIfMissing = true)
+public class SqsTranscriptJobQueue implements TranscriptJobQueue {
+
+    // SQS 가 허용하는 최대 가시성 시간 (12시간)
+    private static final int MAX_VISIBILITY_SECONDS = 43_200;
+
+    private final SqsClient sqsClient;
+    private final ObjectMapper objectMapper;
+    private final TranscriptJobHandler handler;
+    private final ExecutorService consumers;
+    private final ScheduledExecutorService heartbeat;
+
+    private final String queueUrl;
+    private final String deadLetterQueueUrl;
+    private final int consumerCount;
+    private final int batchSize;
+    private final int waitSeconds;
+    private final int visibilityTimeoutSeconds;
+    private final int maxAttempts;
+    private final long backoffBaseMillis;
+    private final long backoffMaxMillis;
+
+    private volatile boolean running;
+
+    public SqsTranscriptJobQueue(
+            SqsClient sqsClient,
+            ObjectMapper objectMapper,
+            TranscriptJobHandler handler,
+            @Value("${saintplus.transcript-queue.sqs.queue-url:${SAINTPLUS_SQS_QUEUE_URL}}") String queueUrl,
+            @Value("${saintplus.transcript-queue.sqs.dlq-url:}") String deadLetterQueueUrl,
+            @Value("${saintplus.transcript-queue.consumers:2}") int consumers,
+            @Value("${saintplus.transcript-queue.sqs.batch-size:10}") int batchSize,
+            @Value("${saintplus.transcript-queue.sqs.wait-seconds:20}") int waitSeconds,
+            @Value("${saintplus.transcript-queue.sqs.visibility-timeout-seconds:60}") int visibilityTimeoutSeconds,
+            @Value("${saintplus.transcript-queue.max-attempts:5}") int maxAttempts,
+            @Value("${saintplus.transcript-queue.backoff-base-ms:1000}") long backoffBaseMillis,
+            @Value("${saintplus.transcript-queue.backoff-max-ms:60000}") long backoffMaxMillis
+    ) {
+        this.sqsClient = sqsClient;
+        this.objectMapper = objectMapper;
+        this.handler = handler;
+        this.queueUrl = queueUrl;
+        this.deadLetterQueueUrl = deadLetterQueueUrl;
+        this.consumerCount = Math.max(1, consumers);
+        this.batchSize = Math.min(Math.max(1, batchSize), 10); // SQS 한 번에 최대 10개
+        this.waitSeconds = Math.min(Math.max(0, waitSeconds), 20); // 롱 폴링 최대 20초
+        this.visibilityTimeoutSeconds = Math.max(2, visibilityTimeoutSeconds);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffBaseMillis = backoffBaseMillis;
+        this.backoffMaxMillis = backoffMaxMillis;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.consumers = Executors.newFixedThreadPool(this.consumerCount, runnable -> {
+            Thread thread = new Thread(runnable, "transcript-sqs-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "transcript-sqs-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void enqueue(TranscriptParseJob job) {
+        try {
+            sqsClient.sendMessage(SendMessageRequest.builder()
+                    .queueUrl(queueUrl)
+                    .messageBody(objectMapper.writeValueAsString(job))
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize transcript job.", e);
+        } catch (Exception e) {
+            log.error("Failed to send transcript job to SQS. userId={}, fileKey={}", job.userId(), job.fileKey(), e);
+            throw new IllegalStateException("Failed to enqueue transcript job.", e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < consumerCount; i++) {
+            consumers.execute(this::poll);
+        }
+        log.info("SQS transcript job queue started. queue={}, consumers={}, batchSize={}", queueUrl, consumerCount, batchSize);
+    }
+
+    private void poll() {
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                List<Message> messages = sqsClient.receiveMessage(ReceiveMessageRequest.builder()
+                        .queueUrl(queueUrl)
+                        .maxNumberOfMessages(batchSize)
+                        .waitTimeSeconds(waitSeconds)
+                        .visibilityTimeout(visibilityTimeoutSeconds)
+                        .messageSystemAttributeNames(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT)
+                        .build()).messages();
+                processBatch(messages);
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.error("Failed to receive transcript jobs from SQS. Retrying shortly.", e);
+                sleepQuietly(backoffBaseMillis);
+            }
+        }
+    }
+
+    // 받은 메시지 전체의 가시성 시간을 연장해 두고 하나씩 처리 (끝난 메시지는 연장 중단)
+    void processBatch(List<Message> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        long period = visibilityTimeoutSeconds / 2L;
+        List<ScheduledFuture<?>> extensions = messages.stream()
+                .<ScheduledFuture<?>>map(message -> heartbeat.scheduleAtFixedRate(
+                        () -> extendVisibility(message), period, period, TimeUnit.SECONDS))
+                .toList();
+
+        for (int i = 0; i < messages.size(); i++) {
+            try {
+                process(messages.get(i), extensions.get(i));
+            } finally {
+                extensions.get(i).cancel(false);
+            }
+        }
+    }
+
+    private void process(Message message, ScheduledFuture<?> extension) {
+        TranscriptParseJob job;
+        try {
+            job = objectMapper.readValue(message.body(), TranscriptParseJob.class);
+        } catch (Exception e) {
+            // 읽을 수 없는 메시지는 다시 시도해도 같으므로 바로 dead-letter
+            extension.cancel(false);
+            log.error("Unreadable transcript job message. messageId={}", message.messageId(), e);
+            deadLetter(message);
+            return;
+        }
+
+        try {
+            handler.handle(job);
+            extension.cancel(false);
+            delete(message);
+        } catch (TranscriptJobDeferredException e) {
+            // 실패가 아니므로 dead-letter 하지 않고 retryAfter 뒤에 다시 보이게 함
+            extension.cancel(false);
+            long seconds = Math.max(1L, (e.getRetryAfter().toMillis() + 999L) / 1000L);
+            log.info("Transcript job deferred for {}s. userId={}, fileKey={}", seconds, job.userId(), job.fileKey());
+            changeVisibility(message, (int) Math.min(seconds, MAX_VISIBILITY_SECONDS));
+        } catch (Exception e) {
+            extension.cancel(false);
+            int receiveCount = receiveCount(message);
+            if (receiveCount >= maxAttempts) {
+                log.error("Transcript job moved to dead letter after {} attempts. userId={}, fileKey={}",
+                        receiveCount, job.userId(), job.fileKey(), e);
+                deadLetter(message);
+                handler.onGiveUp(job, e);
+                return;
+            }
+            long backoff = TranscriptJobQueue.backoffMillis(receiveCount, backoffBaseMillis, backoffMaxMillis);
+            log.warn("Transcript job failed, retrying in {}ms. attempt={}, userId={}, fileKey={}",
+                    backoff, receiveCount, job.userId(), job.fileKey(), e);
+            changeVisibility(message, (int) Math.min(TimeUnit.MILLISECONDS.toSeconds(backoff), MAX_VISIBILITY_SECONDS));
+        }
+    }
+
+    private void extendVisibility(Message message) {
+        try {
+            changeVisibility(message, visibilityTimeoutSeconds);
+        } catch (Exception e) {
+            log.warn("Failed to extend SQS message visibility. messageId={}", message.messageId(), e);
+        }
+    }
+
+    private void changeVisibility(Message message, int seconds) {
+        sqsClient.changeMessageVisibility(ChangeMessageVisibilityRequest.builder()
+                .queueUrl(queueUrl)
+                .receiptHandle(message.receiptHandle())
+                .visibilityTimeout(seconds)
+                .build());
+    }
+
+    private void delete(Message message) {
+        sqsClient.deleteMessage(DeleteMessageRequest.builder()
+                .queueUrl(queueUrl)
+                .receiptHandle(message.receiptHandle())
+                .build());
+    }
+
+    // dlq-url 이 없으면 원래 큐에서 지우지 않고 남겨 둠 (큐에 설정된 redrive 정책이 처리)
+    private void deadLetter(Message message) {
+        if (deadLetterQueueUrl == null || deadLetterQueueUrl.isBlank()) {
+            return;
+        }
+        sqsClient.sendMessage(SendMessageRequest.builder()
+                .queueUrl(deadLetterQueueUrl)
+                .messageBody(message.body())
+                .build());
+        delete(message);
+    }
+
+    private static int receiveCount(Message message) {
+        String count = message.attributes().get(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT);
+        return count == null ? 1 : Integer.parseInt(count);
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        consumers.shutdownNow();
+        heartbeat.shutdownNow();
+    }
+}
@@ -3,11 +3,44 @@ package com.saintplus.transcript.util;
 import com.saintplus.transcript.dto.UploadUrlResponse;
 
 import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 
+/**
+ * 업로드 파일 저장소 (saintplus.storage.backend=s3 기본값, local 은 로컬 디스크)
+ *
+ * 읽기는 모두 스트림으로 반환하며, 닫는 것은 호출한 쪽의 책임입니다.
+ */
 public interface StorageClient {
 
+    // 한 번의 deleteObjects 호출로 지울 수 있는 최대 키 수 (S3 DeleteObjects 제한)
+    int MAX_DELETE_BATCH = 1000;
+
     UploadUrlResponse generatePresignedUrl(String fileKey, String contentType);
     InputStream getObjectStream(String fileKey);
 
+    /**
+     * 바이트 범위 [start, end] 만 읽습니다. (end 포함, 파일 크기를 넘으면 끝까지)
+     */
+    InputStream getObjectRange(String fileKey, long start, long end);
+
+    /**
+     * eTag 가 현재 객체와 같으면 읽지 않고 empty 를 반환합니다. (eTag 가 null 이면 항상 읽음)
+     */
+    Optional<StorageObject> getObjectIfChanged(String fileKey, String eTag);
+
+    /**
+     * 여러 객체를 한 번에 지웁니다. (최대 MAX_DELETE_BATCH 개, 없는 키는 성공으로 봄)
+     *
+     * @return 지우지 못한 키
+     */
+    List<String> deleteObjects(List<String> fileKeys);
+
+    /**
+     * prefix 아래 객체를 페이지 단위로 읽으며 하나씩 넘깁니다. (전체 목록을 메모리에 모으지 않음)
+     */
+    void listObjects(String prefix, Consumer<StorageObjectSummary> action);
+
 }
@@ -0,0 +1,20 @@
+package com.saintplus.transcript.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 저장소에서 읽은 객체 (본문 스트림 + 메타데이터)
+ *
+ * @param content       본문 스트림 (사용 후 close)
+ * @param eTag          다음 조건부 읽기에 넘길 값
+ * @param contentLength 본문 크기 (바이트)
+ */
+public record StorageObject(InputStream content, String eTag, long contentLength) implements Closeable {
+
+    @Override
+    public void close() throws IOException {
+        content.close();
+    }
+}
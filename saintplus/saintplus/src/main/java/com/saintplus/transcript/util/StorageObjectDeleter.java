@@ -0,0 +1,121 @@
+package com.saintplus.transcript.util;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StorageObjectDeleter
+ *
+ * 다 쓴 업로드 파일 삭제를 백그라운드 스레드 하나로 모아 처리합니다.
+ * 호출한 쪽(커밋 직후 콜백 등)은 키를 넣기만 하고 저장소 왕복을 기다리지 않습니다.
+ *
+ * - 첫 키가 들어오면 linger-ms 동안 더 모은 뒤, 최대 StorageClient.MAX_DELETE_BATCH 개씩 한 번에 지웁니다.
+ * - 큐가 가득 차거나 삭제에 실패한 키는 버립니다. 남은 파일은 StorageSweepJob 이 TTL 이 지난 뒤 지웁니다.
+ */
+@Slf4j
+@Component
+public class StorageObjectDeleter {
+
+    private final StorageClient storageClient;
+    private final BlockingQueue<String> pending;
+    private final long lingerMillis;
+    private final ExecutorService worker;
+
+    private volatile boolean running;
+
+    public StorageObjectDeleter(
+            StorageClient storageClient,
+            @Value("${saintplus.storage.delete.capacity:10000}") int capacity,
+            @Value("${saintplus.storage.delete.linger-ms:200}") long lingerMillis
+    ) {
+        this.storageClient = storageClient;
+        this.pending = new LinkedBlockingQueue<>(capacity);
+        this.lingerMillis = lingerMillis;
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "storage-deleter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 삭제할 키를 넣고 바로 반환합니다.
+     */
+    public void delete(String fileKey) {
+        if (!pending.offer(fileKey)) {
+            log.warn("Storage delete queue is full, leaving object for the sweeper. key={}", fileKey);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker.execute(this::drainLoop);
+    }
+
+    private void drainLoop() {
+        while (running) {
+            try {
+                String first = pending.take();
+                if (lingerMillis > 0) {
+                    Thread.sleep(lingerMillis);
+                }
+                List<String> batch = new ArrayList<>(StorageClient.MAX_DELETE_BATCH);
+                batch.add(first);
+                pending.drainTo(batch, StorageClient.MAX_DELETE_BATCH - 1);
+                deleteBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // 지금 큐에 있는 키를 모두 지움 (종료 시 호출)
+    void flush() {
+        // 넘긴 목록은 저장소 클라이언트가 들고 있을 수 있으므로 배치마다 새로 만듦
+        List<String> batch = new ArrayList<>(StorageClient.MAX_DELETE_BATCH);
+        while (pending.drainTo(batch, StorageClient.MAX_DELETE_BATCH) > 0) {
+            deleteBatch(batch);
+            batch = new ArrayList<>(StorageClient.MAX_DELETE_BATCH);
+        }
+    }
+
+    private void deleteBatch(List<String> batch) {
+        try {
+            List<String> failed = storageClient.deleteObjects(batch);
+            if (!failed.isEmpty()) {
+                log.warn("Some storage objects were not deleted. failed={}, requested={}", failed.size(), batch.size());
+            }
+            log.debug("Storage objects deleted. count={}", batch.size() - failed.size());
+        } catch (Exception e) {
+            log.error("Failed to delete storage objects. count={}", batch.size(), e);
+        }
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        worker.shutdownNow();
+        flush();
+    }
+}
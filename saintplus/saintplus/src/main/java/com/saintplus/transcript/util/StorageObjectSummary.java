@@ -0,0 +1,9 @@
+package com.saintplus.transcript.util;
+
+import java.time.Instant;
+
+/**
+ * 목록 조회로 받은 객체 정보 (본문 없음)
+ */
+public record StorageObjectSummary(String fileKey, Instant lastModified, long size) {
+}
@@ -0,0 +1,21 @@
+package com.saintplus.transcript.util;
+
+import java.time.Duration;
+
+/**
+ * 작업을 지금은 처리할 수 없으니 retryAfter 뒤에 다시 넘겨 달라는 뜻 (다른 소비자가 같은 작업을 처리 중인 경우)
+ * 큐는 이 예외를 실패로 세지 않으므로 max-attempts 나 dead-letter 에 닿지 않습니다.
+ */
+public class TranscriptJobDeferredException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TranscriptJobDeferredException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,19 @@
+package com.saintplus.transcript.util;
+
+import com.saintplus.transcript.dto.TranscriptParseJob;
+
+/**
+ * 작업 큐 소비자가 꺼낸 작업을 실제로 처리하는 쪽. 예외를 던지면 큐가 재시도 또는 dead-letter 처리합니다.
+ * TranscriptJobDeferredException 은 실패로 세지 않고 retryAfter 뒤에 다시 넘겨줍니다.
+ */
+@FunctionalInterface
+public interface TranscriptJobHandler {
+
+    void handle(TranscriptParseJob job) throws Exception;
+
+    /**
+     * 재시도를 모두 실패해 dead-letter 로 옮길 때 한 번 호출됩니다.
+     */
+    default void onGiveUp(TranscriptParseJob job, Exception cause) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.saintplus.transcript.util;
+
+import com.saintplus.transcript.dto.TranscriptParseJob;
+
+/**
+ * 성적표 파싱 작업 큐. saintplus.transcript-queue.backend 로 구현을 고릅니다.
+ *
+ * - memory: 프로세스 안의 지연 큐. 로컬 개발과 테스트에서만 명시적으로 켭니다. 재시작하면 대기 중인 작업은 사라집니다.
+ * - sqs (기본값): SQS 롱 폴링. 여러 인스턴스가 같은 큐를 나눠 소비합니다. queue-url(또는 환경 변수 SAINTPLUS_SQS_QUEUE_URL)이 없으면 기동에 실패합니다.
+ *
+ * 두 구현 모두 consumers 개의 스레드가 TranscriptJobHandler 로 작업을 처리하고,
+ * 실패하면 지수 백오프로 max-attempts 번까지 다시 시도한 뒤 dead-letter 로 옮깁니다.
+ */
+public interface TranscriptJobQueue {
+
+    /**
+     * 작업을 큐에 넣고 바로 반환합니다.
+     *
+     * @throws IllegalStateException 큐에 넣을 수 없는 경우 (가득 참, 전송 실패)
+     */
+    void enqueue(TranscriptParseJob job);
+
+    /**
+     * attempt 번째 실패 후 다시 시도하기까지 기다릴 시간. base, 2*base, 4*base ... (최대 max)
+     */
+    static long backoffMillis(int attempt, long baseMillis, long maxMillis) {
+        int shift = Math.min(Math.max(attempt - 1, 0), 30);
+        return Math.min(baseMillis << shift, maxMillis);
+    }
+}
@@ -1,5 +1,8 @@
 package com.saintplus.user.service;
 
+import com.saintplus.course.repository.PeerTimetableRepository;
+import com.saintplus.course.service.UserAcademicProfileService;
+import com.saintplus.transcript.service.CreditSummaryService;
 import com.saintplus.user.domain.User;
 import com.saintplus.user.repository.UserRepository;
 import jakarta.transaction.Transactional;
@@ -11,6 +14,8 @@ import org.springframework.security.oauth2.client.authentication.OAuth2Authentic
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
 
+import java.util.Objects;
+
 
 @Service
 @RequiredArgsConstructor
@@ -18,6 +23,9 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PeerTimetableRepository peerTimetableRepository;
+    private final UserAcademicProfileService userAcademicProfileService;
+    private final CreditSummaryService creditSummaryService;
 
     @Transactional
     public void updateUserData(Long userId, String major1, String major2, String major3) {
@@ -36,6 +44,10 @@ public class UserService {
             user.setCreatedAt(java.time.LocalDateTime.now());
         }
 
+        boolean majorsChanged = !Objects.equals(user.getMajor1(), major1.replace(" ", ""))
+                || !Objects.equals(user.getMajor2(), major2.replace(" ", ""))
+                || !Objects.equals(user.getMajor3(), major3.replace(" ", ""));
+
         user.setMajor1(major1.replace(" ", ""));
         user.setMajor2(major2.replace(" ", ""));
         user.setMajor3(major3.replace(" ", ""));
@@ -43,6 +55,14 @@ public class UserService {
         System.out.println("변경 후 - major1: " + user.getMajor1() + ", major2: " + user.getMajor2() + ", major3: " + user.getMajor3());
         
         User savedUser = userRepository.save(user);
+
+        // 선배 시간표 읽기 모델의 전공도 함께 변경
+        peerTimetableRepository.updateMajor1(userId, savedUser.getMajor1());
+        userAcademicProfileService.evict(userId);
+        if (majorsChanged) {
+            // 전공/교양 학점 분류가 바뀜 (전공이 그대로면 저장 경로의 refresh 가 요약을 맞추므로 수강 기록을 다시 읽지 않음)
+            creditSummaryService.recompute(savedUser);
+        }
         
         System.out.println("저장 완료 - major1: " + savedUser.getMajor1() + ", major2: " + savedUser.getMajor2() + ", major3: " + savedUser.getMajor3());
         System.out.println("===== updateUserData 종료 =====");
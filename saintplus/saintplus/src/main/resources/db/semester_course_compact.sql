@@ -0,0 +1,81 @@
+-- semester_course / semester_course_archive 행 압축 (MySQL)
+--
+-- 배포 전에 한 번 실행합니다. ddl-auto=update 는 기존 컬럼의 타입 변경이나 삭제를 하지 않으므로
+-- 학기(double) -> semester_units(TINYINT, 반학기 단위), 비고 4개 boolean 컬럼 -> remark_flags(TINYINT 비트마스크)
+-- 변환은 이 스크립트로 처리합니다.
+--
+-- remark_flags: 1 = 미이수(F/U/FA), 2 = 재이수로 대체된 이전 수강, 4 = 재이수(R), 8 = 영어강의(E), 16 = 중복 인정(M)
+
+ALTER TABLE semester_course
+    ADD COLUMN semester_units TINYINT NOT NULL DEFAULT 0,
+    ADD COLUMN remark_flags TINYINT NOT NULL DEFAULT 0;
+
+UPDATE semester_course
+SET semester_units = ROUND(semester * 2),
+    remark_flags = IF(is_failed, 1, 0) | IF(is_retake, 4, 0) | IF(is_english_lecture, 8, 0) | IF(is_duplicate, 16, 0);
+
+-- 같은 사용자가 뒤 학기에 재이수(R)한 과목의 이전 수강은 대체된 것으로 표시
+-- (기존 행의 term 은 모두 0 이므로 학기 순서는 semester_units 로 비교)
+UPDATE semester_course old_attempt
+JOIN (
+    SELECT user_id, course_code, MAX(semester_units) AS retake_units
+    FROM semester_course
+    WHERE (remark_flags & 4) <> 0
+    GROUP BY user_id, course_code
+) retake ON retake.user_id = old_attempt.user_id AND retake.course_code = old_attempt.course_code
+SET old_attempt.remark_flags = old_attempt.remark_flags | 2
+WHERE old_attempt.semester_units < retake.retake_units;
+
+ALTER TABLE semester_course
+    DROP COLUMN semester,
+    DROP COLUMN is_failed,
+    DROP COLUMN is_retake,
+    DROP COLUMN is_english_lecture,
+    DROP COLUMN is_duplicate,
+    MODIFY course_code VARCHAR(10) NOT NULL;
+
+CREATE INDEX idx_semester_course_stats ON semester_course (course_code, semester_units, remark_flags);
+
+ALTER TABLE semester_course_archive
+    ADD COLUMN semester_units TINYINT NOT NULL DEFAULT 0,
+    ADD COLUMN remark_flags TINYINT NOT NULL DEFAULT 0;
+
+UPDATE semester_course_archive
+SET semester_units = ROUND(semester * 2),
+    remark_flags = IF(is_failed, 1, 0) | IF(is_retake, 4, 0) | IF(is_english_lecture, 8, 0) | IF(is_duplicate, 16, 0);
+
+UPDATE semester_course_archive old_attempt
+JOIN (
+    SELECT user_id, course_code, MAX(semester_units) AS retake_units
+    FROM semester_course_archive
+    WHERE (remark_flags & 4) <> 0
+    GROUP BY user_id, course_code
+) retake ON retake.user_id = old_attempt.user_id AND retake.course_code = old_attempt.course_code
+SET old_attempt.remark_flags = old_attempt.remark_flags | 2
+WHERE old_attempt.semester_units < retake.retake_units;
+
+ALTER TABLE semester_course_archive
+    DROP COLUMN semester,
+    DROP COLUMN is_failed,
+    DROP COLUMN is_retake,
+    DROP COLUMN is_english_lecture,
+    DROP COLUMN is_duplicate,
+    MODIFY course_code VARCHAR(10) NOT NULL;
+
+-- 집계에서 미이수/대체된 수강을 빼도록 바뀌었으므로 보관 집계를 다시 계산
+DELETE FROM course_archive_histogram;
+INSERT INTO course_archive_histogram (course_code, major1, semester, enrollment_count)
+SELECT course_code, major1, semester_units / 2, COUNT(*)
+FROM semester_course_archive
+WHERE remark_flags % 4 = 0
+GROUP BY course_code, major1, semester_units;
+
+DELETE FROM course_archive_student_count;
+INSERT INTO course_archive_student_count (course_code, major1, student_count)
+SELECT course_code, major1, COUNT(DISTINCT user_id)
+FROM semester_course_archive
+WHERE remark_flags % 4 = 0
+GROUP BY course_code, major1;
+
+-- 과목-학기 집계(course_term_count)는 비워 두면 재시작 시 CourseTrendService 가 다시 만듦
+DELETE FROM course_term_count;
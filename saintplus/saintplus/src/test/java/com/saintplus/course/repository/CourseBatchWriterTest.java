@@ -0,0 +1,92 @@
+package com.saintplus.course.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * H2(MySQL 모드)에서 실제 ON DUPLICATE KEY UPDATE 문장을 실행해 확인합니다.
+ */
+class CourseBatchWriterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private CourseBatchWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:course-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE course (course_code VARCHAR(255) NOT NULL PRIMARY KEY, " +
+                "course_name VARCHAR(255), semester INT)");
+        jdbcTemplate.update("INSERT INTO course (course_code, course_name, semester) VALUES ('CSE2003', '자료구조', 1)");
+        writer = new CourseBatchWriter(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("이미 있는 과목과 새 과목을 함께 넣어도 오류 없이 새 과목만 추가되고, 기존 행은 그대로")
+    void insertsOnlyMissingCourses() {
+        writer.insertIfAbsent(new TreeMap<>(Map.of("CSE2003", "다른 이름", "MAT1001", "미적분학")));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM course", Long.class)).isEqualTo(2L);
+        assertThat(jdbcTemplate.queryForMap("SELECT course_name, semester FROM course WHERE course_code = 'CSE2003'"))
+                .containsEntry("COURSE_NAME", "자료구조")
+                .containsEntry("SEMESTER", 1);
+        assertThat(jdbcTemplate.queryForMap("SELECT course_name, semester FROM course WHERE course_code = 'MAT1001'"))
+                .containsEntry("COURSE_NAME", "미적분학")
+                .containsEntry("SEMESTER", CourseBatchWriter.UNKNOWN_SEMESTER);
+    }
+
+    @Test
+    @DisplayName("ROWS_PER_STATEMENT 보다 많은 과목도 나눠서 모두 넣음")
+    void chunksLargeInput() {
+        Map<String, String> namesByCode = new TreeMap<>();
+        for (int i = 0; i < CourseBatchWriter.ROWS_PER_STATEMENT + 5; i++) {
+            namesByCode.put("C" + (1000 + i), "과목" + i);
+        }
+
+        writer.insertIfAbsent(namesByCode);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM course", Long.class))
+                .isEqualTo(namesByCode.size() + 1L);
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 같은 새 과목을 동시에 넣어도 PK 충돌 없이 한 행만 생김")
+    void concurrentInsertsDoNotConflict() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                tasks.add(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        writer.insertIfAbsent(new TreeMap<>(Map.of("CSE2003", "자료구조", "CSE4100", "운영체제")));
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(jdbcTemplate.queryForList("SELECT course_code FROM course ORDER BY course_code", String.class))
+                .containsExactly("CSE2003", "CSE4100");
+    }
+}
@@ -0,0 +1,81 @@
+package com.saintplus.course.service;
+
+import com.saintplus.course.repository.CourseBatchWriter;
+import com.saintplus.course.repository.CourseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CourseCatalogCacheTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+    @Mock
+    private CourseBatchWriter courseBatchWriter;
+
+    @InjectMocks
+    private CourseCatalogCache courseCatalogCache;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("모두 아는 과목이면 DB 를 건드리지 않는다")
+    void knownCourses_noQuery() {
+        when(courseRepository.findAllCourseCodes()).thenReturn(List.of("CSE2003", "CSE4110"));
+        courseCatalogCache.load();
+
+        int attempted = courseCatalogCache.ensureCourses(Map.of("CSE2003", "자료구조", "CSE4110", "데이터베이스"), "1");
+
+        assertThat(attempted).isZero();
+        verifyNoInteractions(courseBatchWriter);
+    }
+
+    @Test
+    @DisplayName("모르는 과목만 코드 순으로 없으면 넣기 하고, 다음부터는 아는 과목으로 본다")
+    void unknownCourses_insertIfAbsentInCodeOrder() {
+        when(courseRepository.findAllCourseCodes()).thenReturn(List.of("CSE2003"));
+        courseCatalogCache.load();
+
+        courseCatalogCache.ensureCourses(Map.of("CSE2003", "자료구조", "MAT2001", "선형대수", "CSE4999", "캡스톤"), "1");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, String>> inserted = ArgumentCaptor.forClass(Map.class);
+        verify(courseBatchWriter).insertIfAbsent(inserted.capture());
+        assertThat(inserted.getValue().keySet()).containsExactly("CSE4999", "MAT2001");
+
+        assertThat(courseCatalogCache.ensureCourses(Map.of("MAT2001", "선형대수"), "2")).isZero();
+        verify(courseBatchWriter, times(1)).insertIfAbsent(anyMap());
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안에서는 커밋된 뒤에만 캐시에 더한다")
+    void cachesOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        courseCatalogCache.ensureCourses(Map.of("MAT2001", "선형대수"), "1");
+        assertThat(courseCatalogCache.isKnown("MAT2001")).isFalse();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(courseCatalogCache.isKnown("MAT2001")).isTrue();
+    }
+}
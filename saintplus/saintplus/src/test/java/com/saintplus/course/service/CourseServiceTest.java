@@ -1,18 +1,36 @@
 package com.saintplus.course.service;
 
 import com.saintplus.course.domain.Course;
+import com.saintplus.course.domain.PeerTimetable;
+import com.saintplus.course.domain.SavedCourse;
+import com.saintplus.course.dto.CourseAnalysisData;
+import com.saintplus.course.dto.UserAcademicProfile;
 import com.saintplus.course.repository.CourseRepository;
+import com.saintplus.course.repository.PeerTimetableRepository;
+import com.saintplus.course.repository.SavedCourseRepository;
 import com.saintplus.transcript.repository.EnrollmentRepository;
+import com.saintplus.user.domain.User;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 /**
@@ -29,6 +47,18 @@ class CourseServiceTest {
     @Mock
     private EnrollmentRepository enrollmentRepository;
 
+    @Mock
+    private SavedCourseRepository savedCourseRepository;
+
+    @Mock
+    private PeerTimetableRepository peerTimetableRepository;
+
+    @Mock
+    private UserAcademicProfileService userAcademicProfileService;
+
+    @Mock
+    private CourseStatisticsService courseStatisticsService;
+
     @InjectMocks
     private CourseService courseService;
 
@@ -81,4 +111,123 @@ class CourseServiceTest {
         // Then
         assertThat(prefix).isEmpty();
     }
+
+    @Test
+    @DisplayName("선배 시간표 복사 - 이미 담긴 과목은 건너뛰고 나머지만 대상 학기에 담음")
+    void testCopyPeerTimetableToCart_SkipsAlreadySaved() {
+        // Given
+        User user = peerCopyUser();
+        PeerTimetable timetable = new PeerTimetable("컴퓨터공학", 3.0, 99L, List.of("CSE2003", "CSE3081", "CSE2003", "HFS2001"));
+        when(peerTimetableRepository.findById(5L)).thenReturn(Optional.of(timetable));
+        when(savedCourseRepository.findForBulkAdd(user, "2026-1", List.of("CSE2003", "CSE3081", "HFS2001")))
+                .thenReturn(List.of(new SavedCourse(user, "CSE2003", "컴퓨터프로그래밍", "2025-2")));
+        when(courseRepository.findAllById(List.of("CSE3081", "HFS2001")))
+                .thenReturn(List.of(new Course("CSE3081", "알고리즘설계와분석")));
+
+        // When
+        Map<String, Object> result = courseService.copyPeerTimetableToCart(user, 5L, "2026-1");
+
+        // Then
+        assertThat(result.get("addedCourses")).isEqualTo(List.of("CSE3081", "HFS2001"));
+        assertThat(result.get("skippedCourses")).isEqualTo(List.of("CSE2003"));
+        verify(savedCourseRepository).saveAll(argThat((List<SavedCourse> saved) ->
+                saved.size() == 2
+                        && saved.get(0).getCourseName().equals("알고리즘설계와분석")
+                        && saved.get(1).getCourseName().equals("HFS2001") // 과목 테이블에 없으면 코드로 표시
+                        && saved.stream().allMatch(sc -> "2026-1".equals(sc.getTargetSemester()))));
+        verify(userAcademicProfileService).evict(7L);
+    }
+
+    @Test
+    @DisplayName("선배 시간표 복사 - 대상 학기 8과목을 넘으면 아무것도 담지 않음")
+    void testCopyPeerTimetableToCart_ExceedsSemesterLimit() {
+        // Given
+        User user = peerCopyUser();
+        PeerTimetable timetable = new PeerTimetable("컴퓨터공학", 3.0, 99L, List.of("CSE3081", "CSE4110"));
+        when(peerTimetableRepository.findById(5L)).thenReturn(Optional.of(timetable));
+        List<SavedCourse> fullSemester = java.util.stream.IntStream.range(0, 7)
+                .mapToObj(i -> new SavedCourse(user, "GEN100" + i, "교양" + i, "2026-1"))
+                .toList();
+        when(savedCourseRepository.findForBulkAdd(any(), any(), anyList())).thenReturn(fullSemester);
+
+        // When & Then
+        assertThatThrownBy(() -> courseService.copyPeerTimetableToCart(user, 5L, "2026-1"))
+                .isInstanceOf(IllegalStateException.class);
+        verify(savedCourseRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("선배 시간표 복사 - 대상 학기가 없으면 8과목 제한을 검사할 수 없으므로 거부")
+    void testCopyPeerTimetableToCart_MissingTargetSemester() {
+        assertThatThrownBy(() -> courseService.copyPeerTimetableToCart(peerCopyUser(), 5L, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> courseService.copyPeerTimetableToCart(peerCopyUser(), 5L, " "))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(savedCourseRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("선배 시간표 복사 - 없는 시간표 id")
+    void testCopyPeerTimetableToCart_NotFound() {
+        when(peerTimetableRepository.findById(404L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> courseService.copyPeerTimetableToCart(peerCopyUser(), 404L, "2026-1"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("수강 결과 - 학기별 과목에 수강생 수, 가장 많이 들은 학기와 그 비율을 채우고 계획 학기를 뒤에 붙임")
+    @SuppressWarnings("unchecked")
+    void testGetResultsData_FillsPeerStatistics() {
+        // Given
+        User user = peerCopyUser();
+        Map<Double, List<String>> takenBySemester = new LinkedHashMap<>();
+        takenBySemester.put(0.0, List.of("OLD0001")); // 학기 순번 0 이하는 표시하지 않음
+        takenBySemester.put(1.0, List.of("CSE2003", "MAT1001"));
+        takenBySemester.put(2.5, List.of("CSE4100"));
+        when(userAcademicProfileService.getProfile(user)).thenReturn(new UserAcademicProfile(7L,
+                Set.of("OLD0001", "CSE2003", "MAT1001", "CSE4100"), takenBySemester, 2.5, List.of("컴퓨터공학"), 0,
+                Set.of(), Map.of()));
+        when(courseRepository.findAllById(any())).thenReturn(List.of(new Course("CSE2003", "자료구조"), new Course("CSE4100", "운영체제")));
+        when(courseStatisticsService.getSemesterHistograms(any(), isNull())).thenReturn(Map.of(
+                "CSE2003", Map.of(1.0, 6L, 2.0, 6L, 3.0, 2L), // 1, 2학기 동률이면 앞 학기
+                "CSE4100", Map.of(3.0, 1L)));
+        when(courseStatisticsService.countDistinctStudents(anyCollection())).thenReturn(Map.of("CSE2003", 10L, "CSE4100", 1L));
+        when(savedCourseRepository.findByUser(user)).thenReturn(List.of(new SavedCourse(user, "CSE3081", "알고리즘설계와분석", "2026-1")));
+
+        // When
+        Map<String, Object> result = courseService.getResultsData(user);
+
+        // Then
+        Map<String, List<CourseAnalysisData>> bySemester = (Map<String, List<CourseAnalysisData>>) result.get("coursesBySemester");
+        assertThat(bySemester.keySet()).containsExactly("1학기", "2.5학기", "2026-1 (계획)");
+
+        CourseAnalysisData dataStructures = bySemester.get("1학기").get(0);
+        assertThat(dataStructures.getCourseName()).isEqualTo("자료구조");
+        assertThat(dataStructures.getTotalStudents()).isEqualTo(10L);
+        assertThat(dataStructures.getMostFrequentSemester()).isEqualTo(1.0);
+        assertThat(dataStructures.getCountInMostFrequentSemester()).isEqualTo(6L);
+        assertThat(dataStructures.getPercentage()).isCloseTo(6 * 100.0 / 14, within(1e-9));
+
+        // 통계가 없는 과목은 0 으로 두고, 과목 테이블에 없으면 코드로 표시
+        CourseAnalysisData noStatistics = bySemester.get("1학기").get(1);
+        assertThat(noStatistics.getCourseName()).isEqualTo("MAT1001");
+        assertThat(noStatistics.getTotalStudents()).isZero();
+        assertThat(noStatistics.getMostFrequentSemester()).isZero();
+        assertThat(noStatistics.getPercentage()).isZero();
+
+        CourseAnalysisData operatingSystems = bySemester.get("2.5학기").get(0);
+        assertThat(operatingSystems.getMostFrequentSemester()).isEqualTo(3.0);
+        assertThat(operatingSystems.getPercentage()).isEqualTo(100.0);
+
+        assertThat(bySemester.get("2026-1 (계획)")).extracting(CourseAnalysisData::getCourseCode).containsExactly("CSE3081");
+        verify(courseStatisticsService, times(1)).getSemesterHistograms(any(), isNull()); // 과목 수와 관계없이 한 번
+        verify(courseStatisticsService, times(1)).countDistinctStudents(anyCollection());
+    }
+
+    private static User peerCopyUser() {
+        User user = User.builder().username("tester").major1("컴퓨터공학").build();
+        ReflectionTestUtils.setField(user, "id", 7L);
+        return user;
+    }
 }
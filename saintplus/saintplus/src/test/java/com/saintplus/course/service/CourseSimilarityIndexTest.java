@@ -0,0 +1,131 @@
+package com.saintplus.course.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class CourseSimilarityIndexTest {
+
+    @Test
+    @DisplayName("코사인 유사도가 높은 과목부터 반환하고 자기 자신은 제외")
+    void ranksByCosineSimilarity() throws IOException {
+        CourseSimilarityIndex index = new CourseSimilarityIndex("", 10);
+        index.load(embeddings(new String[]{"CSE1001", "CSE1002", "CSE1003", "MAT1001"}, new float[][]{
+                {1f, 0f},
+                {2f, 0.2f},   // 크기가 달라도 방향이 비슷하면 높은 점수
+                {0.5f, 0.5f},
+                {0f, 1f},
+        }));
+
+        List<CourseSimilarityIndex.Neighbor> neighbors = index.findNeighbors("CSE1001", 10);
+
+        assertThat(neighbors).extracting(CourseSimilarityIndex.Neighbor::courseCode)
+                .containsExactly("CSE1002", "CSE1003", "MAT1001");
+        assertThat(neighbors.get(0).score()).isCloseTo(0.995, within(1e-3));
+        assertThat(neighbors.get(1).score()).isCloseTo(0.707, within(1e-3));
+        assertThat(neighbors.get(2).score()).isCloseTo(0.0, within(1e-6));
+    }
+
+    @Test
+    @DisplayName("neighbors 개수와 limit 중 작은 쪽만큼만 반환")
+    void respectsNeighborCountAndLimit() throws IOException {
+        CourseSimilarityIndex index = new CourseSimilarityIndex("", 2);
+        index.load(embeddings(new String[]{"A", "B", "C", "D"}, new float[][]{
+                {1f, 0f}, {0.9f, 0.1f}, {0.7f, 0.3f}, {0f, 1f},
+        }));
+
+        assertThat(index.findNeighbors("A", 10)).extracting(CourseSimilarityIndex.Neighbor::courseCode)
+                .containsExactly("B", "C");
+        assertThat(index.findNeighbors("A", 1)).extracting(CourseSimilarityIndex.Neighbor::courseCode)
+                .containsExactly("B");
+        assertThat(index.findNeighbors("A", 0)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("점수가 같으면 먼저 나온 과목이 앞에 옴")
+    void tiesKeepFileOrder() throws IOException {
+        CourseSimilarityIndex index = new CourseSimilarityIndex("", 10);
+        index.load(embeddings(new String[]{"A", "B", "C", "D"}, new float[][]{
+                {1f, 0f}, {0f, 1f}, {0f, 1f}, {0f, 1f},
+        }));
+
+        List<CourseSimilarityIndex.Neighbor> neighbors = index.findNeighbors("A", 10);
+
+        assertThat(neighbors).extracting(CourseSimilarityIndex.Neighbor::courseCode).containsExactly("B", "C", "D");
+        assertThat(neighbors).allSatisfy(neighbor -> assertThat(neighbor.score()).isCloseTo(0.0, within(1e-6)));
+    }
+
+    @Test
+    @DisplayName("임베딩이 0벡터인 과목도 오류 없이 점수 0 으로 처리")
+    void zeroVectorScoresZero() throws IOException {
+        CourseSimilarityIndex index = new CourseSimilarityIndex("", 10);
+        index.load(embeddings(new String[]{"A", "B", "EMPTY"}, new float[][]{
+                {1f, 0f}, {1f, 1f}, {0f, 0f},
+        }));
+
+        assertThat(index.findNeighbors("EMPTY", 10)).extracting(CourseSimilarityIndex.Neighbor::score)
+                .allSatisfy(score -> assertThat(score).isCloseTo(0.0, within(1e-6)));
+        assertThat(index.findNeighbors("A", 10)).extracting(CourseSimilarityIndex.Neighbor::courseCode)
+                .containsExactly("B", "EMPTY");
+    }
+
+    @Test
+    @DisplayName("로드 전이거나 과목이 0~1개이거나 없는 과목 코드면 빈 목록")
+    void emptyIndexAndUnknownCode() throws IOException {
+        CourseSimilarityIndex index = new CourseSimilarityIndex("", 10);
+        assertThat(index.isReady()).isFalse();
+        assertThat(index.findNeighbors("A", 10)).isEmpty();
+
+        index.load(embeddings(new String[0], new float[0][]));
+        assertThat(index.isReady()).isFalse();
+
+        index.load(embeddings(new String[]{"A"}, new float[][]{{1f, 0f}}));
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.findNeighbors("A", 10)).isEmpty();
+        assertThat(index.findNeighbors("UNKNOWN", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("형식이 다른 파일이면 IOException 이고 기존 그래프는 그대로 유지")
+    void badFileKeepsPreviousGraph() throws IOException {
+        CourseSimilarityIndex index = new CourseSimilarityIndex("", 10);
+        index.load(embeddings(new String[]{"A", "B"}, new float[][]{{1f, 0f}, {1f, 1f}}));
+
+        assertThatThrownBy(() -> index.load(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8})))
+                .isInstanceOf(IOException.class);
+        assertThat(index.findNeighbors("A", 10)).extracting(CourseSimilarityIndex.Neighbor::courseCode)
+                .containsExactly("B");
+    }
+
+    // python_code/export_embeddings.py 와 같은 형식: magic, version, count, dim, (코드 길이 + UTF-8 코드) x count, float x count x dim
+    private static ByteArrayInputStream embeddings(String[] codes, float[][] vectors) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0x5350454D);
+        out.writeInt(1);
+        out.writeInt(codes.length);
+        out.writeInt(vectors.length == 0 ? 0 : vectors[0].length);
+        for (String code : codes) {
+            byte[] encoded = code.getBytes(StandardCharsets.UTF_8);
+            out.writeShort(encoded.length);
+            out.write(encoded);
+        }
+        for (float[] vector : vectors) {
+            for (float v : vector) {
+                out.writeFloat(v);
+            }
+        }
+        out.flush();
+        return new ByteArrayInputStream(bytes.toByteArray());
+    }
+}
@@ -0,0 +1,76 @@
+package com.saintplus.course.service;
+
+import com.saintplus.transcript.domain.CourseArchiveHistogram;
+import com.saintplus.transcript.domain.CourseArchiveStudentCount;
+import com.saintplus.transcript.dto.CourseSemesterCount;
+import com.saintplus.transcript.dto.CourseStudentCount;
+import com.saintplus.transcript.repository.CourseArchiveHistogramRepository;
+import com.saintplus.transcript.repository.CourseArchiveStudentCountRepository;
+import com.saintplus.transcript.repository.EnrollmentRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CourseStatisticsServiceTest {
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+    @Mock
+    private CourseArchiveHistogramRepository courseArchiveHistogramRepository;
+    @Mock
+    private CourseArchiveStudentCountRepository courseArchiveStudentCountRepository;
+
+    @InjectMocks
+    private CourseStatisticsService courseStatisticsService;
+
+    @Test
+    @DisplayName("학기 분포 - hot 집계와 보관 집계를 합침")
+    void mergesHistogram() {
+        CourseSemesterCount hot = mock(CourseSemesterCount.class);
+        when(hot.getCourseCode()).thenReturn("CSE4110");
+        when(hot.getSemester()).thenReturn(5.0);
+        when(hot.getStudentCount()).thenReturn(3L);
+        when(enrollmentRepository.countBySemesterForCourses(anyCollection())).thenReturn(List.of(hot));
+
+        CourseArchiveHistogram archived5 = new CourseArchiveHistogram("CSE4110", "컴퓨터공학", 5.0);
+        archived5.add(2);
+        CourseArchiveHistogram archived6 = new CourseArchiveHistogram("CSE4110", "수학", 6.0);
+        archived6.add(1);
+        when(courseArchiveHistogramRepository.findByCourseCodeIn(anyCollection())).thenReturn(List.of(archived5, archived6));
+
+        Map<Double, Long> histogram = courseStatisticsService.getSemesterHistogram("CSE4110");
+
+        assertThat(histogram).containsExactly(Map.entry(5.0, 5L), Map.entry(6.0, 1L));
+        assertThat(CourseStatisticsService.totalEnrollments(histogram)).isEqualTo(6);
+        assertThat(CourseStatisticsService.proximityScore(histogram, 5)).isEqualTo(5.0 + 0.5);
+    }
+
+    @Test
+    @DisplayName("수강생 수 - 전공별 보관 수강생 수를 더함")
+    void mergesStudentCounts() {
+        CourseStudentCount hot = mock(CourseStudentCount.class);
+        when(hot.getCourseCode()).thenReturn("CSE4110");
+        when(hot.getStudentCount()).thenReturn(4L);
+        when(enrollmentRepository.countDistinctUsersByCourseCodes(anyCollection())).thenReturn(List.of(hot));
+
+        CourseArchiveStudentCount cse = new CourseArchiveStudentCount("CSE4110", "컴퓨터공학");
+        cse.add(3);
+        CourseArchiveStudentCount mat = new CourseArchiveStudentCount("CSE4110", "수학");
+        mat.add(1);
+        when(courseArchiveStudentCountRepository.findByCourseCodeIn(anyCollection())).thenReturn(List.of(cse, mat));
+
+        assertThat(courseStatisticsService.countDistinctStudents("CSE4110")).isEqualTo(8);
+    }
+}
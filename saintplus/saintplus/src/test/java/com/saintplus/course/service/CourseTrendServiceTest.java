@@ -0,0 +1,125 @@
+package com.saintplus.course.service;
+
+import com.saintplus.course.dto.CourseTrendDto;
+import com.saintplus.course.repository.CourseRepository;
+import com.saintplus.transcript.domain.CourseTermCount;
+import com.saintplus.transcript.dto.CourseTermRow;
+import com.saintplus.transcript.dto.SemesterInfo;
+import com.saintplus.transcript.repository.ArchivedEnrollmentRepository;
+import com.saintplus.transcript.repository.CourseTermCountRepository;
+import com.saintplus.transcript.repository.CourseTermCountWriter;
+import com.saintplus.transcript.repository.EnrollmentRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CourseTrendServiceTest {
+
+    @Mock
+    private CourseTermCountRepository courseTermCountRepository;
+    @Mock
+    private CourseTermCountWriter courseTermCountWriter;
+    @Mock
+    private CourseRepository courseRepository;
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+    @Mock
+    private ArchivedEnrollmentRepository archivedEnrollmentRepository;
+
+    @InjectMocks
+    private CourseTrendService courseTrendService;
+
+    private static CourseTermCount row(String term, long count) {
+        CourseTermCount row = new CourseTermCount("CSE4110", new SemesterInfo(term).getComparableValue());
+        row.add(count);
+        return row;
+    }
+
+    @Test
+    @DisplayName("학기 코드 변환 - 이전 정규 학기, 문자열 복원")
+    void termEncoding() {
+        assertThat(SemesterInfo.previousRegularTerm(202401)).isEqualTo(202305);
+        assertThat(SemesterInfo.previousRegularTerm(202403)).isEqualTo(202401);
+        assertThat(SemesterInfo.previousRegularTerm(202407)).isEqualTo(202405);
+        assertThat(SemesterInfo.fromComparableValue(202403)).isEqualTo("2024-S");
+        assertThat(CourseTrendService.currentRegularTerm(LocalDate.of(2025, 2, 1))).isEqualTo(202405);
+    }
+
+    @Test
+    @DisplayName("최근 4학기 추이 - 계절학기는 앞 정규 학기와 같은 가중치")
+    void courseTrend() {
+        // 기준 2025-2 -> 2024-1, 2024-2, 2025-1, 2025-2 (2025-W 까지 포함)
+        when(courseTermCountRepository.findByCourseCodeAndTermBetween("CSE4110", 202401, 202600))
+                .thenReturn(List.of(row("2024-1", 10), row("2024-S", 2), row("2025-2", 4)));
+        when(courseRepository.findById("CSE4110")).thenReturn(Optional.empty());
+
+        CourseTrendDto trend = courseTrendService.getCourseTrend("CSE4110", 4, 0.5, "2025-2");
+
+        assertThat(trend.getCountByTerm()).containsKeys("2024-1", "2024-S", "2024-2", "2025-1", "2025-2");
+        assertThat(trend.getCountByTerm().get("2024-2")).isZero();
+        assertThat(trend.getWindowCount()).isEqualTo(16);
+        // 2025-2: 4 * 1, 2024-1 과 2024-S: 12 * 0.5^3
+        assertThat(trend.getDecayedScore()).isEqualTo(4 + 12 * 0.125);
+    }
+
+    @Test
+    @DisplayName("증감분은 읽지 않고 한 문장 증감(CourseTermCountWriter)으로 반영, 빈 증감분은 무시")
+    void applyDelegatesToAtomicWriter() {
+        Map<String, Map<Integer, Long>> delta = Map.of("CSE4110", Map.of(202401, 1L, 202405, -1L));
+
+        courseTrendService.apply(delta);
+        courseTrendService.apply(Map.of());
+
+        verify(courseTermCountWriter).add(delta);
+        verifyNoInteractions(courseTermCountRepository);
+    }
+
+    @Test
+    @DisplayName("빈 집계를 다시 채울 때는 hot + 보관 이력을 합쳐 더하지 않고 덮어쓴다 (여러 노드가 동시에 채워도 두 배가 되지 않음)")
+    void rebuildReplacesCounts() {
+        when(courseTermCountRepository.count()).thenReturn(0L);
+        when(enrollmentRepository.countByCourseAndTerm()).thenReturn(List.of(termRow(202401, 3L)));
+        when(archivedEnrollmentRepository.countByCourseAndTerm()).thenReturn(List.of(termRow(202401, 2L)));
+
+        courseTrendService.rebuildIfEmpty();
+
+        verify(courseTermCountWriter).replace(Map.of("CSE4110", Map.of(202401, 5L)));
+        verify(courseTermCountWriter, never()).add(any());
+    }
+
+    private static CourseTermRow termRow(int term, long count) {
+        return new CourseTermRow() {
+            @Override public String getCourseCode() { return "CSE4110"; }
+            @Override public Integer getTerm() { return term; }
+            @Override public Long getEnrollmentCount() { return count; }
+        };
+    }
+
+    @Test
+    @DisplayName("기준 학기 형식이 잘못되면 IllegalArgumentException (컨트롤러에서 400)")
+    void invalidEndTermIsRejected() {
+        assertThatThrownBy(() -> courseTrendService.getCourseTrend("CSE4110", 4, 0.5, "2025"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("2025");
+        assertThatThrownBy(() -> courseTrendService.getTrendingCourses(4, 0.5, 10, "2025-X"))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(courseTermCountRepository);
+    }
+}
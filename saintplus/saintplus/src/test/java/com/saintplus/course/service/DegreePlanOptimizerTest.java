@@ -0,0 +1,65 @@
+package com.saintplus.course.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DegreePlanOptimizerTest {
+
+    private static final int X = DegreePlanOptimizer.UNAVAILABLE;
+
+    @Test
+    @DisplayName("비용이 가장 낮은 학기에 배정하되 학기 정원을 넘지 않음")
+    void respectsCapacity() {
+        int[][] costs = {
+                {0, 500, 900},
+                {0, 400, 900},
+                {0, 100, 900},
+        };
+
+        int[] assignment = DegreePlanOptimizer.optimize(costs, new int[]{2, 8, 8}, 1_000_000);
+
+        // 0번 학기에는 2과목만 들어갈 수 있으므로 1번 학기로 옮길 때 손해가 가장 적은 과목(2번)이 이동
+        assertThat(assignment).containsExactly(0, 0, 1);
+    }
+
+    @Test
+    @DisplayName("개설되지 않는 학기에는 배정하지 않고, 자리가 없으면 미배정")
+    void unavailableAndSkipped() {
+        int[][] costs = {
+                {X, 0},
+                {X, 0},
+        };
+
+        int[] assignment = DegreePlanOptimizer.optimize(costs, new int[]{8, 1}, 1_000_000);
+
+        assertThat(Arrays.stream(assignment).filter(s -> s == 1).count()).isEqualTo(1);
+        assertThat(Arrays.stream(assignment).filter(s -> s == DegreePlanOptimizer.NOT_ASSIGNED).count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("4년(8학기) 전체 계획도 가지치기로 과목 수 x 학기 수 이내의 상태만 탐색")
+    void fullPlanExpandsBoundedStates() {
+        int courses = 40;
+        int slots = 8;
+        int[][] costs = new int[courses][slots];
+        for (int i = 0; i < courses; i++) {
+            for (int s = 0; s < slots; s++) {
+                costs[i][s] = Math.abs((i % slots) - s) * 100 + s;
+            }
+        }
+
+        DegreePlanOptimizer optimizer = DegreePlanOptimizer.plan(costs, new int[]{5, 5, 5, 5, 5, 5, 5, 5}, 1_000_000);
+        int[] assignment = optimizer.assignment();
+
+        // 과목 i는 i % 8 학기에 5개씩 정확히 배정 가능
+        for (int i = 0; i < courses; i++) {
+            assertThat(assignment[i]).isEqualTo(i % slots);
+        }
+        // 실행 시간 대신 탐색한 상태 수로 확인 (가지치기가 깨지면 상태 수가 지수적으로 늘어남)
+        assertThat(optimizer.expandedStates()).isLessThanOrEqualTo(courses * slots);
+    }
+}
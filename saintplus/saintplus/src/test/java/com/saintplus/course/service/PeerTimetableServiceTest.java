@@ -0,0 +1,126 @@
+package com.saintplus.course.service;
+
+import com.saintplus.course.domain.Course;
+import com.saintplus.course.domain.PeerTimetable;
+import com.saintplus.course.dto.PeerTimetableDto;
+import com.saintplus.course.repository.CourseRepository;
+import com.saintplus.course.repository.PeerTimetableRepository;
+import com.saintplus.user.domain.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PeerTimetableServiceTest {
+
+    @Mock
+    private PeerTimetableRepository peerTimetableRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @InjectMocks
+    private PeerTimetableService peerTimetableService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder().username("tester").major1("컴퓨터공학").build();
+        ReflectionTestUtils.setField(user, "id", 7L);
+    }
+
+    @Test
+    @DisplayName("refresh - 기존 행을 지우고, 0학기(기이수 인정 등)와 빈 학기를 뺀 학기별 행을 저장")
+    @SuppressWarnings("unchecked")
+    void refresh_rebuildsRows() {
+        Map<Double, List<String>> coursesBySemester = new LinkedHashMap<>();
+        coursesBySemester.put(0.0, List.of("CSE1001"));
+        coursesBySemester.put(1.0, List.of("CSE2003", "HFS2001"));
+        coursesBySemester.put(1.5, List.of());
+        coursesBySemester.put(2.0, List.of("CSE3081"));
+
+        peerTimetableService.refresh(user, coursesBySemester);
+
+        ArgumentCaptor<List<PeerTimetable>> captor = ArgumentCaptor.forClass(List.class);
+        verify(peerTimetableRepository).deleteByUserId(7L);
+        verify(peerTimetableRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).extracting(PeerTimetable::getSemester).containsExactly(1.0, 2.0);
+        assertThat(captor.getValue().get(0).getCourseCodeList()).containsExactly("CSE2003", "HFS2001");
+        assertThat(captor.getValue()).allSatisfy(row -> {
+            assertThat(row.getMajor1()).isEqualTo("컴퓨터공학");
+            assertThat(row.getUserId()).isEqualTo(7L);
+        });
+    }
+
+    @Test
+    @DisplayName("refresh - 1전공이 없거나 미선택이면 기존 행만 지우고 새로 만들지 않음")
+    void refresh_skipsWithoutMajor() {
+        user.setMajor1("미선택");
+
+        peerTimetableService.refresh(user, Map.of(1.0, List.of("CSE2003")));
+
+        verify(peerTimetableRepository).deleteByUserId(7L);
+        verify(peerTimetableRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("getPeerTimetables - 본인을 제외한 같은 전공/학기 시간표를 과목 이름과 함께 반환하고, 페이지가 차면 nextCursor")
+    void getPeerTimetables_fullPage() {
+        PeerTimetable first = timetable(11L, List.of("CSE2003", "HFS2001"));
+        PeerTimetable second = timetable(12L, List.of("CSE2003", "NEW9999"));
+        when(peerTimetableRepository.findPage("컴퓨터공학", 3.0, 0L, 7L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(first, second));
+        when(courseRepository.findAllById(Set.of("CSE2003", "HFS2001", "NEW9999"))).thenReturn(List.of(
+                new Course("CSE2003", "컴퓨터프로그래밍"), new Course("HFS2001", "인간과신앙")));
+
+        Map<String, Object> response = peerTimetableService.getPeerTimetables(user, "컴퓨터공학", 3.0, null, 2);
+
+        @SuppressWarnings("unchecked")
+        List<PeerTimetableDto> timetables = (List<PeerTimetableDto>) response.get("timetables");
+        assertThat(timetables).extracting(PeerTimetableDto::getTimetableId).containsExactly(11L, 12L);
+        assertThat(timetables.get(0).getCourses()).extracting(Course::getCourseName)
+                .containsExactly("컴퓨터프로그래밍", "인간과신앙");
+        // 과목 테이블에 없는 코드는 코드를 이름으로 사용
+        assertThat(timetables.get(1).getCourses()).extracting(Course::getCourseName)
+                .containsExactly("컴퓨터프로그래밍", "NEW9999");
+        assertThat(response.get("nextCursor")).isEqualTo(12L);
+        // 과목 이름은 페이지 전체에 대해 한 번만 조회
+        verify(courseRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("getPeerTimetables - 마지막 페이지면 nextCursor 는 null, 페이지 크기는 1~50 으로 제한")
+    void getPeerTimetables_lastPageAndSizeClamp() {
+        when(peerTimetableRepository.findPage("컴퓨터공학", 3.0, 11L, 7L, PageRequest.of(0, 50)))
+                .thenReturn(List.of(timetable(12L, List.of("CSE2003"))));
+        when(courseRepository.findAllById(Set.of("CSE2003"))).thenReturn(List.of(new Course("CSE2003", "컴퓨터프로그래밍")));
+
+        Map<String, Object> response = peerTimetableService.getPeerTimetables(user, "컴퓨터공학", 3.0, 11L, 1000);
+
+        assertThat(response.get("nextCursor")).isNull();
+    }
+
+    private static PeerTimetable timetable(Long id, List<String> courseCodes) {
+        PeerTimetable timetable = new PeerTimetable("컴퓨터공학", 3.0, 99L, courseCodes);
+        timetable.setId(id);
+        return timetable;
+    }
+}
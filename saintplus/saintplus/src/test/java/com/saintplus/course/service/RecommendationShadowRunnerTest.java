@@ -0,0 +1,122 @@
+package com.saintplus.course.service;
+
+import com.saintplus.course.domain.Course;
+import com.saintplus.course.dto.RecommendedCourseDto;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RecommendationShadowRunnerTest {
+
+    private static RecommendedCourseDto dto(String code) {
+        return RecommendedCourseDto.builder().course(new Course(code, code)).build();
+    }
+
+    @Test
+    @DisplayName("상위 5개 겹침 비율 계산")
+    void topOverlap() {
+        List<RecommendedCourseDto> live = List.of(dto("CSE1"), dto("CSE2"), dto("CSE3"), dto("CSE4"), dto("CSE5"), dto("CSE6"));
+        List<RecommendedCourseDto> shadow = List.of(dto("CSE6"), dto("CSE5"), dto("CSE4"), dto("CSE3"));
+
+        // live 상위 5개: 1~5, shadow: 6,5,4,3 -> 겹침 3개 / 5
+        assertThat(RecommendationShadowRunner.topOverlap(live, shadow)).isEqualTo(0.6);
+        assertThat(RecommendationShadowRunner.topOverlap(List.of(), null)).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("후보 엔진이 없으면 섀도 실행 없이 live 지연 시간만 기록")
+    @SuppressWarnings("unchecked")
+    void inactiveWithoutCandidate() {
+        ObjectProvider<CandidateRecommendationEngine> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(null);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        RecommendationShadowRunner runner = new RecommendationShadowRunner(provider, registry, true, 1, 1);
+        runner.compareInShadow(null, List.of(), List.of(), null, Map.of("major", List.of(dto("CSE1"))), 1_000_000L);
+
+        assertThat(runner.isActive()).isFalse();
+        assertThat(registry.get("recommendation.live.latency").timer().count()).isEqualTo(1);
+        runner.shutdown();
+    }
+
+    @Test
+    @DisplayName("섀도 실행이 끝나면 카테고리별 상위 5개 겹침 비율과 후보 엔진 지연 시간을 기록")
+    @SuppressWarnings("unchecked")
+    void shadowRunRecordsOverlapAndLatency() throws InterruptedException {
+        CandidateRecommendationEngine candidate = mock(CandidateRecommendationEngine.class);
+        when(candidate.name()).thenReturn("candidate");
+        when(candidate.recommendCourses(any(), any(), any(), any()))
+                .thenReturn(Map.of("major", List.of(dto("CSE1"), dto("CSE9"))));
+        ObjectProvider<CandidateRecommendationEngine> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(candidate);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        RecommendationShadowRunner runner = new RecommendationShadowRunner(provider, registry, true, 1, 1);
+        runner.compareInShadow(null, List.of(), List.of(), null,
+                Map.of("major", List.of(dto("CSE1"), dto("CSE2"))), 1_000_000L);
+
+        DistributionSummary overlap = awaitSummary(registry, "recommendation.shadow.top5.overlap");
+        assertThat(runner.isActive()).isTrue();
+        assertThat(overlap.getId().getTag("category")).isEqualTo("major");
+        assertThat(overlap.count()).isEqualTo(1);
+        assertThat(overlap.totalAmount()).isEqualTo(0.5); // CSE1 만 겹침 -> 1 / 2
+        assertThat(registry.get("recommendation.shadow.latency").tag("engine", "candidate").timer().count()).isEqualTo(1);
+        assertThat(registry.get("recommendation.live.latency").timer().count()).isEqualTo(1);
+        runner.shutdown();
+    }
+
+    @Test
+    @DisplayName("작업 큐가 가득 차면 섀도 작업을 버리고 dropped 카운터만 올린다")
+    @SuppressWarnings("unchecked")
+    void dropsWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CandidateRecommendationEngine candidate = mock(CandidateRecommendationEngine.class);
+        when(candidate.name()).thenReturn("candidate");
+        when(candidate.recommendCourses(any(), any(), any(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Map.of();
+        });
+        ObjectProvider<CandidateRecommendationEngine> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(candidate);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        // 스레드 1개, 큐 1칸: 첫 작업은 실행 중, 두 번째는 대기, 세 번째부터 버려짐
+        RecommendationShadowRunner runner = new RecommendationShadowRunner(provider, registry, true, 1, 1);
+        Map<String, List<RecommendedCourseDto>> live = Map.of("major", List.of(dto("CSE1")));
+        runner.compareInShadow(null, List.of(), List.of(), null, live, 1_000_000L);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        runner.compareInShadow(null, List.of(), List.of(), null, live, 1_000_000L);
+        runner.compareInShadow(null, List.of(), List.of(), null, live, 1_000_000L);
+        runner.compareInShadow(null, List.of(), List.of(), null, live, 1_000_000L);
+
+        assertThat(registry.get("recommendation.shadow.dropped").counter().count()).isEqualTo(2);
+        assertThat(registry.get("recommendation.live.latency").timer().count()).isEqualTo(4); // 응답 경로는 모두 기록
+        release.countDown();
+        runner.shutdown();
+    }
+
+    private static DistributionSummary awaitSummary(SimpleMeterRegistry registry, String name) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            DistributionSummary summary = registry.find(name).summary();
+            if (summary != null && summary.count() > 0) {
+                return summary;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Shadow run did not record " + name);
+    }
+}
@@ -0,0 +1,127 @@
+package com.saintplus.course.service;
+
+import com.saintplus.course.domain.CourseSection;
+import com.saintplus.course.dto.TimetableOptionDto;
+import com.saintplus.course.util.WeeklySlotMask;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimetableSolverTest {
+
+    @Test
+    @DisplayName("시간표 문자열 -> 비트마스크 변환 및 충돌 검사")
+    void parseAndOverlap() {
+        long[] a = WeeklySlotMask.parse("MON 09:00-10:15,WED 09:00-10:15");
+        long[] b = WeeklySlotMask.parse("MON 10:00-11:15");
+        long[] c = WeeklySlotMask.parse("SAT 18:00-19:00"); // high 영역 비트
+
+        assertThat(WeeklySlotMask.overlaps(a[0], a[1], b[0], b[1])).isTrue();
+        assertThat(WeeklySlotMask.overlaps(a[0], a[1], c[0], c[1])).isFalse();
+        assertThat(c[1]).isNotZero();
+        assertThat(WeeklySlotMask.daysUsed(a[0] | c[0], a[1] | c[1])).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("형식이 잘못된 시간표 토큰은 어느 토큰인지 알려주는 IllegalArgumentException")
+    void parseRejectsMalformedToken() {
+        assertThatThrownBy(() -> WeeklySlotMask.parse("MON 09:00-10:15,WED"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("WED");
+        assertThatThrownBy(() -> WeeklySlotMask.parse("MON 09:00"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> WeeklySlotMask.parse("SUN 09:00-10:00"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> WeeklySlotMask.parse("MON 9시-10시"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> WeeklySlotMask.parse("MON 11:00-10:00"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("09:00 ~ 19:00 밖의 시각은 잘라내지 않고 IllegalArgumentException")
+    void parseRejectsOutOfRangeTimes() {
+        assertThatThrownBy(() -> WeeklySlotMask.parse("MON 09:00-10:15,FRI 19:00-20:15"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("FRI 19:00-20:15");
+        assertThatThrownBy(() -> WeeklySlotMask.parse("TUE 18:00-19:15"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> WeeklySlotMask.parse("WED 08:30-09:45"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        long[] lastSlot = WeeklySlotMask.parse("SAT 18:30-19:00");
+        assertThat(WeeklySlotMask.dayBits(lastSlot[0], lastSlot[1], 5)).isEqualTo(1 << (WeeklySlotMask.SLOTS_PER_DAY - 1));
+    }
+
+    @Test
+    @DisplayName("탐색 노드 상한에 닿으면 찾은 시간표와 함께 truncated 를 알려준다")
+    void solveReportsTruncation() {
+        String[] days = {"MON", "TUE", "WED", "THU", "FRI"};
+        List<List<CourseSection>> courses = new ArrayList<>();
+        for (int course = 0; course < 4; course++) {
+            List<CourseSection> sections = new ArrayList<>();
+            for (int section = 0; section < 5; section++) {
+                String hour = String.format("%02d", 9 + course * 2);
+                sections.add(new CourseSection("C" + course, String.valueOf(section), null,
+                        days[section] + " " + hour + ":00-" + hour + ":50"));
+            }
+            courses.add(sections);
+        }
+
+        assertThat(TimetableSolver.solve(courses, 3, 10).truncated()).isTrue();
+        assertThat(TimetableSolver.solve(courses, 3, 200_000).truncated()).isFalse();
+    }
+
+    @Test
+    @DisplayName("겹치지 않는 조합만 반환하고, 요일 수가 적은 시간표를 먼저 반환")
+    void solveRanksByDaysAndGaps() {
+        List<CourseSection> algorithm = List.of(
+                new CourseSection("CSE3081", "01", null, "MON 09:00-10:15,WED 09:00-10:15"),
+                new CourseSection("CSE3081", "02", null, "TUE 09:00-10:15,THU 09:00-10:15"));
+        List<CourseSection> database = List.of(
+                new CourseSection("CSE4110", "01", null, "MON 09:00-10:15,WED 09:00-10:15"), // 01분반과 충돌
+                new CourseSection("CSE4110", "02", null, "MON 10:30-11:45,WED 10:30-11:45"));
+
+        TimetableSolver.Solution solution = TimetableSolver.solve(List.of(algorithm, database), 10, 10_000);
+        List<TimetableOptionDto> result = solution.timetables();
+
+        assertThat(solution.truncated()).isFalse();
+
+        assertThat(result).hasSize(3);
+        TimetableOptionDto first = result.get(0);
+        assertThat(first.getDaysUsed()).isEqualTo(2);
+        assertThat(first.getGapSlots()).isZero();
+        assertThat(first.getSections()).extracting(CourseSection::getSectionNumber).containsExactlyInAnyOrder("01", "02");
+    }
+
+    @Test
+    @DisplayName("분반이 많아도 limit 개수만 반환")
+    void solveRespectsLimit() {
+        List<List<CourseSection>> courses = new ArrayList<>();
+        String[] days = {"MON", "TUE", "WED", "THU", "FRI"};
+        for (int course = 0; course < 6; course++) {
+            List<CourseSection> sections = new ArrayList<>();
+            for (int section = 0; section < 10; section++) {
+                String hour = String.format("%02d", 9 + course); // 과목마다 시간대가 달라 요일만 조합이 달라짐
+                sections.add(new CourseSection("C" + course, String.valueOf(section), null,
+                        days[section % days.length] + " " + hour + ":00-" + hour + ":50"));
+            }
+            courses.add(sections);
+        }
+
+        List<TimetableOptionDto> result = TimetableSolver.solve(courses, 5, 200_000).timetables();
+
+        assertThat(result).hasSizeLessThanOrEqualTo(5).isNotEmpty();
+        for (int i = 1; i < result.size(); i++) {
+            TimetableOptionDto prev = result.get(i - 1);
+            TimetableOptionDto cur = result.get(i);
+            assertThat(prev.getDaysUsed() * TimetableSolver.DAY_WEIGHT + prev.getGapSlots())
+                    .isLessThanOrEqualTo(cur.getDaysUsed() * TimetableSolver.DAY_WEIGHT + cur.getGapSlots());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.saintplus.course.service;
+
+import com.saintplus.course.domain.SavedCourse;
+import com.saintplus.course.dto.UserAcademicProfile;
+import com.saintplus.course.repository.SavedCourseRepository;
+import com.saintplus.transcript.domain.ArchivedEnrollment;
+import com.saintplus.transcript.domain.Enrollment;
+import com.saintplus.transcript.repository.ArchivedEnrollmentRepository;
+import com.saintplus.transcript.repository.EnrollmentRepository;
+import com.saintplus.user.domain.User;
+import com.saintplus.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class UserAcademicProfileServiceTest {
+
+    private EnrollmentRepository enrollmentRepository;
+    private ArchivedEnrollmentRepository archivedEnrollmentRepository;
+    private SavedCourseRepository savedCourseRepository;
+    private UserAcademicProfileService profileService;
+    private User user;
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        enrollmentRepository = mock(EnrollmentRepository.class);
+        archivedEnrollmentRepository = mock(ArchivedEnrollmentRepository.class);
+        savedCourseRepository = mock(SavedCourseRepository.class);
+        clock = new MutableClock(Instant.parse("2026-03-02T00:00:00Z"));
+        profileService = new UserAcademicProfileService(enrollmentRepository, archivedEnrollmentRepository, savedCourseRepository, mock(UserRepository.class),
+                100, Duration.ofSeconds(30), clock);
+
+        user = User.builder().username("tester").major1("컴퓨터공학").major2("미선택").build();
+        ReflectionTestUtils.setField(user, "id", 1L);
+
+        when(enrollmentRepository.findAllByUserId(1L)).thenReturn(List.of(
+                Enrollment.builder().user(user).courseCode("CSE2003").semester(1.0).build(),
+                Enrollment.builder().user(user).courseCode("HFS2001").semester(2.5).build()));
+        when(savedCourseRepository.findByUserId(1L)).thenReturn(List.of(
+                new SavedCourse(user, "CSE4110", "데이터베이스", "2026-1")));
+    }
+
+    @Test
+    @DisplayName("프로필 요약 생성 - 현재 학기, 전공, 트랙 이수, 장바구니")
+    void buildsProfile() {
+        UserAcademicProfile profile = profileService.getProfile(user);
+
+        assertThat(profile.getTakenCourseCodes()).containsExactlyInAnyOrder("CSE2003", "HFS2001");
+        assertThat(profile.getCurrentSemester()).isEqualTo(3);
+        assertThat(profile.getMajors()).containsExactly("컴퓨터공학");
+        assertThat(profile.isTrackCompleted(1)).isTrue();
+        assertThat(profile.isTrackCompleted(2)).isFalse();
+        assertThat(profile.getCartCourseCodes()).containsExactly("CSE4110");
+        assertThat(profile.getCartCount("2026-1")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("캐시된 프로필은 다시 조회하지 않고, evict 후에는 새로 만듦")
+    void cachesUntilEvicted() {
+        profileService.getProfile(user);
+        profileService.getProfile(user);
+        verify(enrollmentRepository, times(1)).findAllByUserId(1L);
+
+        profileService.evict(1L);
+        profileService.getProfile(user);
+        verify(enrollmentRepository, times(2)).findAllByUserId(1L);
+    }
+
+    @Test
+    @DisplayName("보관된 사용자는 보관 행으로 수강 과목, 현재 학기, 교양 트랙 이수를 만듦")
+    void buildsProfileFromArchive() {
+        when(enrollmentRepository.findAllByUserId(1L)).thenReturn(List.of());
+        when(archivedEnrollmentRepository.findByUserId(1L)).thenReturn(List.of(
+                new ArchivedEnrollment(Enrollment.builder().user(user).courseCode("CSE2003").semester(1.0).build(), "컴퓨터공학"),
+                new ArchivedEnrollment(Enrollment.builder().user(user).courseCode("HFS2001").semester(2.5).build(), "컴퓨터공학")));
+
+        UserAcademicProfile profile = profileService.getProfile(user);
+
+        assertThat(profile.getTakenCourseCodes()).containsExactlyInAnyOrder("CSE2003", "HFS2001");
+        assertThat(profile.getCurrentSemester()).isEqualTo(3);
+        assertThat(profile.isTrackCompleted(1)).isTrue();
+    }
+
+    @Test
+    @DisplayName("hot 테이블에 수강 이력이 있으면 보관 테이블은 읽지 않음")
+    void skipsArchiveForActiveUser() {
+        profileService.getProfile(user);
+
+        verifyNoInteractions(archivedEnrollmentRepository);
+    }
+
+    @Test
+    @DisplayName("다른 노드에서 바뀐 이력도 반영되도록, TTL 이 지난 프로필은 evict 없이도 다시 만듦")
+    void expiresAfterTtl() {
+        profileService.getProfile(user);
+        clock.advance(Duration.ofSeconds(29));
+        profileService.getProfile(user);
+        verify(enrollmentRepository, times(1)).findAllByUserId(1L);
+
+        clock.advance(Duration.ofSeconds(1));
+        profileService.getProfile(user);
+        verify(enrollmentRepository, times(2)).findAllByUserId(1L);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public java.time.ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -3,10 +3,13 @@ package com.saintplus.transcript.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.saintplus.common.security.JwtTokenProvider;
 import com.saintplus.common.security.UserPrincipal;
+import com.saintplus.transcript.dto.CommitTranscriptRequest;
 import com.saintplus.transcript.dto.NotifyUploadCompleteRequest;
+import com.saintplus.transcript.dto.TranscriptScanSession;
 import com.saintplus.transcript.dto.UploadUrlRequest;
 import com.saintplus.transcript.dto.UploadUrlResponse;
 import com.saintplus.transcript.service.TranscriptService;
+import com.saintplus.transcript.service.UploadTooLargeException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,15 +23,20 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.verify;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -72,17 +80,55 @@ class TranscriptControllerTest {
                 "Transcript content including major info".getBytes(StandardCharsets.UTF_8)
         );
         List<String> expectedMajors = Arrays.asList("컴퓨터공학", "경영학", "");
-        given(transcriptService.extractMajors(any(MultipartFile.class))).willReturn(expectedMajors);
+        given(transcriptService.scanTranscript(any(MultipartFile.class), any(), eq("127.0.0.1")))
+                .willReturn(new TranscriptScanSession("token-1", expectedMajors));
 
         // When & Then
         mockMvc.perform(multipart("/api/v1/transcripts/extract-majors")
                         .file(file)
                         .with(csrf()))
                 .andExpect(status().isOk())
+                .andExpect(header().string(TranscriptController.UPLOAD_TOKEN_HEADER, "token-1"))
                 .andExpect(jsonPath("$[0]").value("컴퓨터공학"))
                 .andExpect(jsonPath("$[1]").value("경영학"));
 
-        verify(transcriptService).extractMajors(any(MultipartFile.class));
+        verify(transcriptService).scanTranscript(any(MultipartFile.class), any(), eq("127.0.0.1"));
+    }
+
+    @Test
+    @DisplayName("POST /commit: 업로드 토큰으로 파싱 결과 저장 테스트")
+    @WithMockUser(roles = "USER")
+    void commitScannedTranscript_Success() throws Exception {
+        // Given
+        CommitTranscriptRequest request = new CommitTranscriptRequest("token-1", "컴퓨터공학", "경영학", "");
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/transcripts/commit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true));
+
+        verify(transcriptService).commitScannedTranscript(mockUser.getUserId(), "127.0.0.1", "token-1", "컴퓨터공학", "경영학", "");
+    }
+
+    @Test
+    @DisplayName("POST /commit: 만료된 업로드 토큰은 404")
+    @WithMockUser(roles = "USER")
+    void commitScannedTranscript_Expired() throws Exception {
+        // Given
+        CommitTranscriptRequest request = new CommitTranscriptRequest("expired", "컴퓨터공학", "", "");
+        willThrow(new IllegalArgumentException("Upload session not found or expired."))
+                .given(transcriptService).commitScannedTranscript(anyLong(), anyString(), anyString(), anyString(), anyString(), anyString());
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/transcripts/commit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .with(csrf()))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.success").value(false));
     }
 
     @Test
@@ -116,7 +162,8 @@ class TranscriptControllerTest {
         NotifyUploadCompleteRequest request = new NotifyUploadCompleteRequest(
                 "uploads/100/123456789/transcript.txt", "컴퓨터공학", "경영학", ""
         );
-        // processParsingJob은 void 메서드이므로, 호출만 확인하면 됨.
+        given(transcriptService.processParsingJob(anyLong(), anyString(), anyString(), anyString(), anyString()))
+                .willReturn("job-1");
 
         // When & Then
         mockMvc.perform(post("/api/v1/transcripts/parse")
@@ -125,7 +172,9 @@ class TranscriptControllerTest {
                         .with(csrf()))
                 // 이전 SQS 기반에서는 ACCEPTED (202)였으나, 동기 처리이므로 200 또는 204(No Content)가 적합.
                 // 현재 컨트롤러 코드가 HttpStatus.ACCEPTED(202)를 사용하므로, 202를 기대해야 함.
-                .andExpect(status().isAccepted()); // @ResponseStatus(HttpStatus.ACCEPTED)에 따름
+                .andExpect(status().isAccepted()) // @ResponseStatus(HttpStatus.ACCEPTED)에 따름
+                .andExpect(jsonPath("$.jobId").value("job-1"))
+                .andExpect(jsonPath("$.statusUrl").value("/api/v1/transcripts/jobs/job-1"));
 
         verify(transcriptService).processParsingJob(
                 eq(mockUser.getUserId()),
@@ -135,4 +184,87 @@ class TranscriptControllerTest {
                 eq(request.major3())
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("POST /upload-and-parse: 파싱 작업을 등록하고 바로 202 + jobId 반환")
+    @WithMockUser(roles = "USER")
+    void uploadAndParse_Accepted() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "transcript.txt", MediaType.TEXT_PLAIN_VALUE,
+                "성적표 내용".getBytes(StandardCharsets.UTF_8));
+        given(jwtTokenProvider.getUserId("token")).willReturn(100L);
+        given(transcriptService.submitTranscriptParsing(eq(100L), any(MultipartFile.class), eq("컴퓨터공학"), eq(""), eq("")))
+                .willReturn("job-1");
+
+        mockMvc.perform(multipart("/api/v1/transcripts/upload-and-parse")
+                        .file(file)
+                        .param("major1", "컴퓨터공학")
+                        .header("Authorization", "Bearer token")
+                        .with(csrf()))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.jobId").value("job-1"))
+                .andExpect(jsonPath("$.statusUrl").value("/api/v1/transcripts/jobs/job-1"));
+    }
+
+    @Test
+    @DisplayName("POST /upload-and-parse: 대기열이 가득 차면 429 + Retry-After")
+    @WithMockUser(roles = "USER")
+    void uploadAndParse_QueueFull() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "transcript.txt", MediaType.TEXT_PLAIN_VALUE,
+                "성적표 내용".getBytes(StandardCharsets.UTF_8));
+        given(jwtTokenProvider.getUserId("token")).willReturn(100L);
+        given(transcriptService.submitTranscriptParsing(anyLong(), any(MultipartFile.class), anyString(), anyString(), anyString()))
+                .willThrow(new RejectedExecutionException("Direct parse queue is full."));
+        given(transcriptService.getDirectParseRetryAfterSeconds()).willReturn(5);
+
+        mockMvc.perform(multipart("/api/v1/transcripts/upload-and-parse")
+                        .file(file)
+                        .param("major1", "컴퓨터공학")
+                        .header("Authorization", "Bearer token")
+                        .with(csrf()))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "5"))
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    @DisplayName("POST /extract-majors: 요청 본문이 한도보다 크면 413")
+    void extractMajorsFromBody_TooLarge() throws Exception {
+        given(transcriptService.scanTranscript(any(InputStream.class), any(), anyString())).willThrow(new UploadTooLargeException(1024));
+
+        mockMvc.perform(post("/api/v1/transcripts/extract-majors")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(new byte[2048])
+                        .with(csrf()))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    @DisplayName("POST /upload-and-parse: 요청 본문이 한도보다 크면 413")
+    @WithMockUser(roles = "USER")
+    void uploadAndParseBody_TooLarge() throws Exception {
+        given(jwtTokenProvider.getUserId("token")).willReturn(100L);
+        given(transcriptService.submitTranscriptParsing(anyLong(), any(InputStream.class), anyString(), anyString(), anyString()))
+                .willThrow(new UploadTooLargeException(1024));
+
+        mockMvc.perform(post("/api/v1/transcripts/upload-and-parse")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(new byte[2048])
+                        .param("major1", "컴퓨터공학")
+                        .header("Authorization", "Bearer token")
+                        .with(csrf()))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    @DisplayName("GET /jobs/{jobId}: 없는 작업이면 404")
+    @WithMockUser(roles = "USER")
+    void getJobStatus_NotFound() throws Exception {
+        given(transcriptService.getJobStatus(anyLong(), eq("missing"))).willReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/transcripts/jobs/missing"))
+                .andExpect(status().isNotFound());
+    }
+}
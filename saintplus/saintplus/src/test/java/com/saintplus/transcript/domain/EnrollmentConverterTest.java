@@ -0,0 +1,54 @@
+package com.saintplus.transcript.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EnrollmentConverterTest {
+
+    private final RemarksConverter remarksConverter = new RemarksConverter();
+    private final SemesterUnitsConverter semesterUnitsConverter = new SemesterUnitsConverter();
+
+    @Test
+    @DisplayName("비고 플래그는 한 바이트로 저장했다가 그대로 복원된다")
+    void remarks_roundTrip() {
+        Remarks remarks = new Remarks(true, true, false, false);
+        remarks.setSuperseded(true);
+
+        Byte flags = remarksConverter.convertToDatabaseColumn(remarks);
+        Remarks restored = remarksConverter.convertToEntityAttribute(flags);
+
+        assertThat(flags).isEqualTo((byte) (Remarks.ENGLISH_LECTURE | Remarks.RETAKE | Remarks.SUPERSEDED));
+        assertThat(restored.isEnglishLecture()).isTrue();
+        assertThat(restored.isRetake()).isTrue();
+        assertThat(restored.isSuperseded()).isTrue();
+        assertThat(restored.isDuplicate()).isFalse();
+        assertThat(restored.isFailed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("미이수 또는 대체된 수강만 하위 두 비트가 켜져 통계에서 제외된다")
+    void remarks_countedMatchesLowBits() {
+        Remarks retake = new Remarks(false, true, false, false);
+        Remarks failed = new Remarks(false, false, false, true);
+        Remarks superseded = new Remarks();
+        superseded.setSuperseded(true);
+
+        assertThat(retake.isCounted()).isTrue();
+        assertThat(retake.toFlags() % 4).isZero();
+        assertThat(failed.isCounted()).isFalse();
+        assertThat(failed.toFlags() % 4).isNotZero();
+        assertThat(superseded.isCounted()).isFalse();
+        assertThat(superseded.toFlags() % 4).isNotZero();
+        assertThat(remarksConverter.convertToDatabaseColumn(null)).isZero();
+    }
+
+    @Test
+    @DisplayName("학기 순번은 반학기 단위 정수로 저장된다")
+    void semesterUnits_roundTrip() {
+        assertThat(semesterUnitsConverter.convertToDatabaseColumn(3.0)).isEqualTo((byte) 6);
+        assertThat(semesterUnitsConverter.convertToDatabaseColumn(3.5)).isEqualTo((byte) 7);
+        assertThat(semesterUnitsConverter.convertToEntityAttribute((byte) 7)).isEqualTo(3.5);
+    }
+}
@@ -0,0 +1,111 @@
+package com.saintplus.transcript.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * H2(MySQL 모드)에서 실제 ON DUPLICATE KEY UPDATE 문장을 실행해 확인합니다.
+ */
+class CourseArchiveAggregateWriterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private CourseArchiveAggregateWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:archive-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE course_archive_histogram (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "course_code VARCHAR(255) NOT NULL, major1 VARCHAR(255) NOT NULL, semester DOUBLE NOT NULL, " +
+                "enrollment_count BIGINT NOT NULL, UNIQUE (course_code, major1, semester))");
+        jdbcTemplate.execute("CREATE TABLE course_archive_student_count (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "course_code VARCHAR(255) NOT NULL, major1 VARCHAR(255) NOT NULL, student_count BIGINT NOT NULL, " +
+                "UNIQUE (course_code, major1))");
+        writer = new CourseArchiveAggregateWriter(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("없는 행은 넣고 있는 행은 더하며, 빼기(복원)도 같은 문장으로 처리")
+    void upsertsAndSubtracts() {
+        writer.addToHistogram("컴퓨터공학", Map.of("CSE2003", Map.of(1.0, 2L, 2.0, 1L)));
+        writer.addToHistogram("컴퓨터공학", Map.of("CSE2003", Map.of(1.0, 3L), "MAT1001", Map.of(1.0, 1L)));
+        writer.addToHistogram("컴퓨터공학", Map.of("CSE2003", Map.of(2.0, -1L)));
+        writer.addToStudentCount("컴퓨터공학", List.of("CSE2003", "MAT1001"), 1);
+        writer.addToStudentCount("컴퓨터공학", List.of("CSE2003"), 1);
+        writer.addToStudentCount("수학", List.of("CSE2003"), 1);
+
+        assertThat(histogram("CSE2003", "컴퓨터공학", 1.0)).isEqualTo(5L);
+        assertThat(histogram("CSE2003", "컴퓨터공학", 2.0)).isZero();
+        assertThat(histogram("MAT1001", "컴퓨터공학", 1.0)).isEqualTo(1L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM course_archive_histogram", Long.class)).isEqualTo(3L);
+        assertThat(students("CSE2003", "컴퓨터공학")).isEqualTo(2L);
+        assertThat(students("CSE2003", "수학")).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("ROWS_PER_STATEMENT 보다 많은 과목도 나눠서 모두 반영")
+    void chunksLargeDeltas() {
+        List<String> courseCodes = new ArrayList<>();
+        for (int i = 0; i < CourseArchiveAggregateWriter.ROWS_PER_STATEMENT + 5; i++) {
+            courseCodes.add("C" + (1000 + i));
+        }
+
+        writer.addToStudentCount("컴퓨터공학", courseCodes, 1);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(student_count) FROM course_archive_student_count", Long.class))
+                .isEqualTo((long) courseCodes.size());
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 같은 과목을 동시에 더해도 증감분이 사라지지 않고 행도 하나만 생김")
+    void concurrentIncrementsAreNotLost() throws Exception {
+        int threads = 8;
+        int perThread = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                tasks.add(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        writer.addToHistogram("컴퓨터공학", Map.of("CSE2003", Map.of(1.0, 1L)));
+                        writer.addToStudentCount("컴퓨터공학", List.of("CSE2003"), 1);
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(histogram("CSE2003", "컴퓨터공학", 1.0)).isEqualTo((long) threads * perThread);
+        assertThat(students("CSE2003", "컴퓨터공학")).isEqualTo((long) threads * perThread);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM course_archive_histogram", Long.class)).isEqualTo(1L);
+    }
+
+    private long histogram(String courseCode, String major1, double semester) {
+        return jdbcTemplate.queryForObject("SELECT enrollment_count FROM course_archive_histogram " +
+                "WHERE course_code = ? AND major1 = ? AND semester = ?", Long.class, courseCode, major1, semester);
+    }
+
+    private long students(String courseCode, String major1) {
+        return jdbcTemplate.queryForObject("SELECT student_count FROM course_archive_student_count " +
+                "WHERE course_code = ? AND major1 = ?", Long.class, courseCode, major1);
+    }
+}
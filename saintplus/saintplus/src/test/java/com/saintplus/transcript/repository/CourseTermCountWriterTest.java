@@ -0,0 +1,108 @@
+package com.saintplus.transcript.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * H2(MySQL 모드)에서 실제 ON DUPLICATE KEY UPDATE 문장을 실행해 확인합니다.
+ */
+class CourseTermCountWriterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private CourseTermCountWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:term-count-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE course_term_count (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "course_code VARCHAR(255) NOT NULL, term INT NOT NULL, enrollment_count BIGINT NOT NULL, " +
+                "UNIQUE (course_code, term))");
+        writer = new CourseTermCountWriter(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("없는 행은 넣고 있는 행은 더하며, term 이 0 이하이거나 증감이 0 인 값은 무시")
+    void upsertsAndSkipsInvalidTerms() {
+        writer.add(Map.of("CSE4110", Map.of(202401, 2L, 0, 5L)));
+        writer.add(Map.of("CSE4110", Map.of(202401, -1L, 202405, 3L, 202403, 0L), "MAT1001", Map.of(202401, 1L)));
+
+        assertThat(count("CSE4110", 202401)).isEqualTo(1L);
+        assertThat(count("CSE4110", 202405)).isEqualTo(3L);
+        assertThat(count("MAT1001", 202401)).isEqualTo(1L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM course_term_count", Long.class)).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("재계산(replace)은 더하지 않고 덮어써서, 두 노드가 동시에 재계산해도 두 배가 되지 않음")
+    void replaceOverwritesInsteadOfAdding() {
+        Map<String, Map<Integer, Long>> counts = Map.of("CSE4110", Map.of(202401, 7L), "MAT1001", Map.of(202405, 2L));
+
+        writer.replace(counts);
+        writer.replace(counts);
+
+        assertThat(count("CSE4110", 202401)).isEqualTo(7L);
+        assertThat(count("MAT1001", 202405)).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("ROWS_PER_STATEMENT 보다 많은 행도 나눠서 모두 반영")
+    void chunksLargeDeltas() {
+        Map<String, Map<Integer, Long>> delta = new HashMap<>();
+        for (int i = 0; i < CourseTermCountWriter.ROWS_PER_STATEMENT * 2 + 5; i++) {
+            delta.put("C" + (1000 + i), Map.of(202401, 1L));
+        }
+
+        writer.add(delta);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(enrollment_count) FROM course_term_count", Long.class))
+                .isEqualTo((long) delta.size());
+    }
+
+    @Test
+    @DisplayName("여러 성적표 저장이 같은 (과목, 학기)를 동시에 더해도 증감분이 사라지지 않고 행도 하나만 생김")
+    void concurrentIncrementsAreNotLost() throws Exception {
+        int threads = 8;
+        int perThread = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                tasks.add(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        writer.add(Map.of("CSE4110", Map.of(202401, 1L)));
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(count("CSE4110", 202401)).isEqualTo((long) threads * perThread);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM course_term_count", Long.class)).isEqualTo(1L);
+    }
+
+    private long count(String courseCode, int term) {
+        return jdbcTemplate.queryForObject("SELECT enrollment_count FROM course_term_count WHERE course_code = ? AND term = ?",
+                Long.class, courseCode, term);
+    }
+}
@@ -0,0 +1,94 @@
+package com.saintplus.transcript.repository;
+
+import com.saintplus.transcript.domain.Enrollment;
+import com.saintplus.transcript.domain.Remarks;
+import com.saintplus.user.domain.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class EnrollmentBatchWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private EnrollmentBatchWriter enrollmentBatchWriter;
+
+    private static Enrollment enrollment(User user, String courseCode, double semester, Remarks remarks) {
+        return Enrollment.builder()
+                .user(user)
+                .courseCode(courseCode)
+                .semester(semester)
+                .term(202301)
+                .credits(3.0)
+                .importantRemarks(remarks)
+                .build();
+    }
+
+    @Test
+    @DisplayName("여러 행 INSERT 한 문장에 엔티티와 같은 컬럼 값(반학기 단위, 비고 플래그)을 순서대로 넣는다")
+    void insertAll_singleStatement() {
+        User user = new User();
+        ReflectionTestUtils.setField(user, "id", 7L);
+        Remarks retake = new Remarks();
+        retake.setRetake(true);
+        given(jdbcTemplate.update(anyString(), any(Object[].class))).willReturn(2);
+
+        int inserted = enrollmentBatchWriter.insertAll(List.of(
+                enrollment(user, "CSE2003", 3.5, retake),
+                enrollment(user, "MAT1001", 1.0, null)));
+
+        ArgumentCaptor<Object[]> parameters = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).update(eq(EnrollmentBatchWriter.insertSql(2)), parameters.capture());
+        assertThat(inserted).isEqualTo(2);
+        assertThat(parameters.getValue()).containsExactly(
+                (byte) 7, 202301, "CSE2003", 3.0, 7L, retake.toFlags(),
+                (byte) 2, 202301, "MAT1001", 3.0, 7L, (byte) 0);
+    }
+
+    @Test
+    @DisplayName("ROWS_PER_STATEMENT 를 넘으면 문장을 나눠 저장한다")
+    void insertAll_chunked() {
+        User user = new User();
+        ReflectionTestUtils.setField(user, "id", 7L);
+        List<Enrollment> enrollments = new ArrayList<>();
+        for (int i = 0; i < EnrollmentBatchWriter.ROWS_PER_STATEMENT + 20; i++) {
+            enrollments.add(enrollment(user, "CSE" + (1000 + i), 1.0, null));
+        }
+        given(jdbcTemplate.update(eq(EnrollmentBatchWriter.insertSql(EnrollmentBatchWriter.ROWS_PER_STATEMENT)), any(Object[].class)))
+                .willReturn(EnrollmentBatchWriter.ROWS_PER_STATEMENT);
+        given(jdbcTemplate.update(eq(EnrollmentBatchWriter.insertSql(20)), any(Object[].class))).willReturn(20);
+
+        int inserted = enrollmentBatchWriter.insertAll(enrollments);
+
+        assertThat(inserted).isEqualTo(EnrollmentBatchWriter.ROWS_PER_STATEMENT + 20);
+        verify(jdbcTemplate, times(2)).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("저장할 행이 없으면 DB 를 호출하지 않는다")
+    void insertAll_empty() {
+        assertThat(enrollmentBatchWriter.insertAll(List.of())).isZero();
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,69 @@
+package com.saintplus.transcript.repository;
+
+import com.saintplus.transcript.domain.Enrollment;
+import com.saintplus.transcript.domain.Remarks;
+import com.saintplus.user.domain.User;
+import com.saintplus.user.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 과목 하나의 수강생 수와 여러 과목을 한 번에 센 수강생 수가 같은 조건(미이수/대체된 수강 제외)으로 세어지는지 확인합니다.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class EnrollmentRepositoryTest {
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("미이수/대체된 수강만 있는 학생은 단건/일괄 수강생 수 모두에서 빠진다")
+    void distinctUserCountsSkipNotCountedAttempts() {
+        User passed = userRepository.save(user("a"));
+        User failedOnly = userRepository.save(user("b"));
+        User retaken = userRepository.save(user("c"));
+
+        Remarks failed = new Remarks();
+        failed.setFailed(true);
+        Remarks superseded = new Remarks();
+        superseded.setSuperseded(true);
+        Remarks retake = new Remarks();
+        retake.setRetake(true);
+
+        enrollmentRepository.saveAllAndFlush(List.of(
+                enrollment(passed, 2.0, new Remarks()),
+                enrollment(failedOnly, 2.0, failed),
+                enrollment(retaken, 2.0, superseded),
+                enrollment(retaken, 3.0, retake)));
+
+        assertThat(enrollmentRepository.countDistinctUsersByCourseCode("CSE2003")).isEqualTo(2);
+        assertThat(enrollmentRepository.countDistinctUsersByCourseCodes(List.of("CSE2003")))
+                .singleElement()
+                .satisfies(row -> assertThat(row.getStudentCount()).isEqualTo(2L));
+    }
+
+    private static User user(String username) {
+        return User.builder().username(username).password("pw").major1("컴퓨터공학").build();
+    }
+
+    private static Enrollment enrollment(User user, double semester, Remarks remarks) {
+        return Enrollment.builder()
+                .user(user)
+                .courseCode("CSE2003")
+                .semester(semester)
+                .credits(3.0)
+                .importantRemarks(remarks)
+                .build();
+    }
+}
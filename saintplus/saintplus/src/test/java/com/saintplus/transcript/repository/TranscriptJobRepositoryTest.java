@@ -0,0 +1,118 @@
+package com.saintplus.transcript.repository;
+
+import com.saintplus.transcript.domain.TranscriptJob;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 조건부 UPDATE 가 한 번만 성공하고, lease 가 끝난 작업만 다시 맡는지 실제 쿼리로 확인합니다.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class TranscriptJobRepositoryTest {
+
+    @Autowired
+    private TranscriptJobRepository transcriptJobRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    @DisplayName("QUEUED 인 작업만 PARSING 으로 바뀌고, 두 번째 시도와 대체는 바뀐 행이 0")
+    void markParsingOnlyOnce() {
+        transcriptJobRepository.saveAndFlush(new TranscriptJob("job-1", 1L, "a"));
+
+        LocalDateTime now = LocalDateTime.now();
+        assertThat(transcriptJobRepository.claimForParsing("job-1", now, now.minusMinutes(5))).isEqualTo(1);
+        assertThat(transcriptJobRepository.claimForParsing("job-1", now, now.minusMinutes(5))).isZero();
+        assertThat(transcriptJobRepository.markSupersededIfQueued("job-1", TranscriptJob.SUPERSEDED_ERROR, LocalDateTime.now()))
+                .isZero();
+
+        TranscriptJob stored = reload("job-1");
+        assertThat(stored.getStatus()).isEqualTo(TranscriptJob.PARSING);
+        assertThat(stored.getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("대체된 작업은 PARSING 으로 바뀌지 않음")
+    void supersededJobCannotStart() {
+        transcriptJobRepository.saveAndFlush(new TranscriptJob("job-1", 1L, "a"));
+
+        assertThat(transcriptJobRepository.markSupersededIfQueued("job-1", TranscriptJob.SUPERSEDED_ERROR, LocalDateTime.now()))
+                .isEqualTo(1);
+        LocalDateTime now = LocalDateTime.now();
+        assertThat(transcriptJobRepository.claimForParsing("job-1", now, now)).isZero();
+
+        TranscriptJob stored = reload("job-1");
+        assertThat(stored.getStatus()).isEqualTo(TranscriptJob.SUPERSEDED);
+        assertThat(stored.getError()).isEqualTo(TranscriptJob.SUPERSEDED_ERROR);
+        assertThat(stored.getFinishedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("처리하던 소비자가 죽어 PARSING/PERSISTING 으로 남은 작업은 lease 가 끝난 뒤에만 다시 맡는다")
+    void redeliveryAfterCrash_reclaimsStaleJob() {
+        LocalDateTime crashedAt = LocalDateTime.of(2025, 3, 1, 0, 0);
+        transcriptJobRepository.saveAndFlush(new TranscriptJob("job-1", 1L, "a"));
+        assertThat(transcriptJobRepository.claimForParsing("job-1", crashedAt, crashedAt.minusMinutes(5))).isEqualTo(1);
+
+        // lease 안(마지막 단계가 바뀐 시각이 staleBefore 이후)이면 다시 전달되어도 맡지 않음
+        assertThat(transcriptJobRepository.claimForParsing("job-1", crashedAt.plusMinutes(1), crashedAt.minusMinutes(4)))
+                .isZero();
+        assertThat(transcriptJobRepository.claimForParsing("job-1", crashedAt.plusMinutes(6), crashedAt.plusMinutes(1)))
+                .isEqualTo(1);
+
+        TranscriptJob stored = reload("job-1");
+        assertThat(stored.getStatus()).isEqualTo(TranscriptJob.PARSING);
+        assertThat(stored.getAttempts()).isEqualTo(2);
+        assertThat(stored.getParsingAt()).isEqualTo(crashedAt.plusMinutes(6));
+    }
+
+    @Test
+    @DisplayName("끝난(DONE) 작업은 lease 와 상관없이 다시 맡지 않고, 포기한(FAILED) 작업은 다시 맡는다")
+    void finishedJobsAreNotReclaimed() {
+        TranscriptJob done = new TranscriptJob("job-1", 1L, "a");
+        done.markDone();
+        TranscriptJob failed = new TranscriptJob("job-2", 1L, "b");
+        failed.markFailed("timeout");
+        transcriptJobRepository.saveAndFlush(done);
+        transcriptJobRepository.saveAndFlush(failed);
+
+        LocalDateTime now = LocalDateTime.now();
+        assertThat(transcriptJobRepository.claimForParsing("job-1", now, now.plusDays(1))).isZero();
+        assertThat(transcriptJobRepository.claimForParsing("job-2", now, now)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("대체 대상은 같은 사용자가 먼저 올린 QUEUED 작업만")
+    void findsOnlyOlderQueuedJobs() {
+        // DB 가 시각을 잘라 저장해도 순서가 흔들리지 않도록 초 단위로 고정
+        LocalDateTime base = LocalDateTime.of(2025, 3, 1, 0, 0);
+        transcriptJobRepository.saveAndFlush(queuedAt(new TranscriptJob("job-1", 1L, "a"), base));
+        transcriptJobRepository.saveAndFlush(queuedAt(new TranscriptJob("job-2", 1L, "b"), base.plusSeconds(1)));
+        transcriptJobRepository.saveAndFlush(queuedAt(new TranscriptJob("job-3", 2L, "c"), base.minusSeconds(1)));
+
+        assertThat(transcriptJobRepository.findByUserIdAndStatusAndQueuedAtBefore(1L, TranscriptJob.QUEUED, base.plusSeconds(1)))
+                .extracting(TranscriptJob::getJobId).containsExactly("job-1");
+    }
+
+    private static TranscriptJob queuedAt(TranscriptJob job, LocalDateTime queuedAt) {
+        ReflectionTestUtils.setField(job, "queuedAt", queuedAt);
+        return job;
+    }
+
+    // 조건부 UPDATE 는 영속성 컨텍스트를 거치지 않으므로 비우고 다시 읽음
+    private TranscriptJob reload(String jobId) {
+        entityManager.clear();
+        return transcriptJobRepository.findById(jobId).orElseThrow();
+    }
+}
@@ -0,0 +1,124 @@
+package com.saintplus.transcript.service;
+
+import com.saintplus.course.dto.CourseAnalysisData;
+import com.saintplus.transcript.dto.BulkIngestFileOutcome;
+import com.saintplus.transcript.dto.BulkIngestResult;
+import com.saintplus.transcript.dto.TranscriptScanResult;
+import com.saintplus.user.repository.UserRepository;
+import com.saintplus.user.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class BulkTranscriptIngestServiceTest {
+
+    private final TranscriptParser transcriptParser = mock(TranscriptParser.class);
+    private final TranscriptParsingWorker transcriptParsingWorker = mock(TranscriptParsingWorker.class);
+    private final UserService userService = mock(UserService.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private BulkTranscriptIngestService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        given(transactionManager.getTransaction(any())).willReturn(new SimpleTransactionStatus());
+        given(userRepository.existsById(anyLong())).willReturn(true);
+        given(transcriptParser.analyzeFile(any(InputStream.class), anyString())).willAnswer(invocation ->
+                new TranscriptScanResult(List.of(new CourseAnalysisData("2023-1", "CSE2003", "자료구조")), Map.of(),
+                        List.of("컴퓨터공학", "", "")));
+
+        service = new BulkTranscriptIngestService(transcriptParser, transcriptParsingWorker, userService, userRepository,
+                transactionManager, 2, 2, 1024, "secret");
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("배치 안의 한 파일이 실패하면 그 파일만 FAILED 로 남고 나머지는 저장된다")
+    void failedFileIsIsolated() throws Exception {
+        willThrow(new IllegalStateException("boom")).given(transcriptParsingWorker).saveScannedTranscript(eq(2L), any());
+
+        BulkIngestResult result = service.ingest(List.of(
+                file("1_kim.txt"), file("2_lee.txt"), file("3.txt"), file("readme.txt")));
+
+        assertThat(result.totalFiles()).isEqualTo(4);
+        assertThat(result.files()).extracting(BulkIngestFileOutcome::status).containsExactly(
+                BulkIngestFileOutcome.SAVED, BulkIngestFileOutcome.FAILED,
+                BulkIngestFileOutcome.SAVED, BulkIngestFileOutcome.SKIPPED);
+        assertThat(result.savedFiles()).isEqualTo(2);
+        assertThat(result.failedFiles()).isEqualTo(1);
+        // 1, 2번이 같은 배치: 배치 트랜잭션이 롤백된 뒤 파일별 트랜잭션으로 1번을 다시 저장
+        verify(transactionManager, times(2)).rollback(any());
+        verify(userService, times(2)).updateUserData(1L, "컴퓨터공학", "", "");
+        verify(transcriptParsingWorker, times(2)).saveScannedTranscript(eq(1L), any());
+        verify(transcriptParsingWorker).saveScannedTranscript(eq(3L), any());
+    }
+
+    @Test
+    @DisplayName("zip 안의 성적표도 항목별로 등록된다")
+    void zipEntries() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            zip.putNextEntry(new ZipEntry("dept/10_park.txt"));
+            zip.write("content".getBytes());
+            zip.putNextEntry(new ZipEntry("11_choi.txt"));
+            zip.write(new byte[2048]); // max-file-bytes(1024) 초과
+        }
+
+        BulkIngestResult result = service.ingest(List.of(
+                new MockMultipartFile("files", "transcripts.zip", "application/zip", bytes.toByteArray())));
+
+        assertThat(result.files()).extracting(BulkIngestFileOutcome::status)
+                .containsExactly(BulkIngestFileOutcome.SAVED, BulkIngestFileOutcome.FAILED);
+        verify(transcriptParsingWorker).saveScannedTranscript(eq(10L), any());
+        verify(transcriptParsingWorker, never()).saveScannedTranscript(eq(11L), any());
+    }
+
+    @Test
+    @DisplayName("파일명 앞의 숫자를 사용자 ID 로 읽는다")
+    void userIdFromFileName() {
+        assertThat(BulkTranscriptIngestService.userIdFromFileName("1024.txt")).isEqualTo(1024L);
+        assertThat(BulkTranscriptIngestService.userIdFromFileName("dept/1024_홍길동.txt")).isEqualTo(1024L);
+        assertThat(BulkTranscriptIngestService.userIdFromFileName("1024abc.txt")).isNull();
+        assertThat(BulkTranscriptIngestService.userIdFromFileName("홍길동.txt")).isNull();
+    }
+
+    @Test
+    @DisplayName("관리자 키가 설정되지 않았거나 다르면 거부한다")
+    void adminKey() {
+        assertThat(service.isAdminKey("secret")).isTrue();
+        assertThat(service.isAdminKey("wrong")).isFalse();
+        assertThat(service.isAdminKey(null)).isFalse();
+    }
+
+    private static MockMultipartFile file(String name) {
+        return new MockMultipartFile("files", name, "text/plain", "content".getBytes());
+    }
+}
@@ -0,0 +1,142 @@
+package com.saintplus.transcript.service;
+
+import com.saintplus.course.service.CourseService;
+import com.saintplus.transcript.domain.ArchivedEnrollment;
+import com.saintplus.transcript.domain.Enrollment;
+import com.saintplus.transcript.domain.Remarks;
+import com.saintplus.transcript.domain.UserCreditSummary;
+import com.saintplus.transcript.repository.ArchivedEnrollmentRepository;
+import com.saintplus.transcript.repository.EnrollmentRepository;
+import com.saintplus.transcript.repository.UserCreditSummaryRepository;
+import com.saintplus.user.domain.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CreditSummaryServiceTest {
+
+    @Mock
+    private UserCreditSummaryRepository userCreditSummaryRepository;
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private ArchivedEnrollmentRepository archivedEnrollmentRepository;
+
+    @Mock
+    private CourseService courseService;
+
+    @InjectMocks
+    private CreditSummaryService creditSummaryService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder().username("tester").major1("컴퓨터공학").major2("미선택").build();
+        ReflectionTestUtils.setField(user, "id", 7L);
+        when(courseService.getCoursePrefixForMajor("컴퓨터공학")).thenReturn("CSE");
+    }
+
+    @Test
+    @DisplayName("refresh - 전체/전공/교양/영어강의 학점을 나눠 세고, 미이수와 재이수로 대체된 과목은 빼고 저장")
+    void refresh_countsOnlyCountedCourses() {
+        when(userCreditSummaryRepository.findById(7L)).thenReturn(Optional.empty());
+
+        creditSummaryService.refresh(user, List.of(
+                enrollment("CSE2003", 3.0, new Remarks()),
+                enrollment("HFS2001", 2.0, english()),
+                enrollment("MAT1001", 3.0, new Remarks()),   // 전공 접두사지만 사용자 전공은 아님
+                enrollment("CSE3081", 3.0, failed()),
+                enrollment("CSE4100", 3.0, superseded())));
+
+        UserCreditSummary saved = savedSummary();
+        assertThat(saved.getUserId()).isEqualTo(7L);
+        assertThat(saved.getTotalCredits()).isEqualTo(8.0);
+        assertThat(saved.getMajorCredits()).isEqualTo(3.0);
+        assertThat(saved.getGeCredits()).isEqualTo(2.0);
+        assertThat(saved.getEnglishCredits()).isEqualTo(2.0);
+        assertThat(saved.getUpdatedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("refresh - 저장된 요약이 있으면 값을 더하지 않고 처음부터 다시 계산")
+    void refresh_resetsExistingSummary() {
+        UserCreditSummary existing = new UserCreditSummary(7L);
+        existing.setTotalCredits(100);
+        existing.setMajorCredits(50);
+        existing.setGeCredits(40);
+        existing.setEnglishCredits(10);
+        when(userCreditSummaryRepository.findById(7L)).thenReturn(Optional.of(existing));
+
+        creditSummaryService.refresh(user, List.of(enrollment("CSE2003", 3.0, new Remarks())));
+
+        UserCreditSummary saved = savedSummary();
+        assertThat(saved).isSameAs(existing);
+        assertThat(saved.getTotalCredits()).isEqualTo(3.0);
+        assertThat(saved.getMajorCredits()).isEqualTo(3.0);
+        assertThat(saved.getGeCredits()).isZero();
+        assertThat(saved.getEnglishCredits()).isZero();
+    }
+
+    @Test
+    @DisplayName("recompute - 저장된 수강 이력과 보관된 이력을 함께 세고, 보관된 미이수 과목은 제외")
+    void recompute_includesArchivedEnrollments() {
+        when(enrollmentRepository.findAllByUserId(7L)).thenReturn(List.of(enrollment("CSE2003", 3.0, new Remarks())));
+        when(archivedEnrollmentRepository.findByUserId(7L)).thenReturn(List.of(
+                new ArchivedEnrollment(enrollment("HFS2001", 2.0, english()), "컴퓨터공학"),
+                new ArchivedEnrollment(enrollment("CSE3081", 3.0, failed()), "컴퓨터공학")));
+        when(userCreditSummaryRepository.findById(7L)).thenReturn(Optional.empty());
+
+        creditSummaryService.recompute(user);
+
+        UserCreditSummary saved = savedSummary();
+        assertThat(saved.getTotalCredits()).isEqualTo(5.0);
+        assertThat(saved.getMajorCredits()).isEqualTo(3.0);
+        assertThat(saved.getGeCredits()).isEqualTo(2.0);
+        assertThat(saved.getEnglishCredits()).isEqualTo(2.0);
+    }
+
+    private UserCreditSummary savedSummary() {
+        ArgumentCaptor<UserCreditSummary> captor = ArgumentCaptor.forClass(UserCreditSummary.class);
+        verify(userCreditSummaryRepository).save(captor.capture());
+        return captor.getValue();
+    }
+
+    private Enrollment enrollment(String courseCode, double credits, Remarks remarks) {
+        return Enrollment.builder().user(user).courseCode(courseCode).semester(1.0).term(1).credits(credits)
+                .importantRemarks(remarks).build();
+    }
+
+    private static Remarks english() {
+        Remarks remarks = new Remarks();
+        remarks.setEnglishLecture(true);
+        return remarks;
+    }
+
+    private static Remarks failed() {
+        Remarks remarks = new Remarks();
+        remarks.setFailed(true);
+        return remarks;
+    }
+
+    private static Remarks superseded() {
+        Remarks remarks = new Remarks();
+        remarks.setSuperseded(true);
+        return remarks;
+    }
+}
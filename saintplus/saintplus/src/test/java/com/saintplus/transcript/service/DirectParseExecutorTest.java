@@ -0,0 +1,179 @@
+package com.saintplus.transcript.service;
+
+import com.saintplus.transcript.dto.ParsingClaim;
+import com.saintplus.user.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class DirectParseExecutorTest {
+
+    @TempDir
+    Path spoolDir;
+
+    private UserService userService;
+    private TranscriptParsingWorker transcriptParsingWorker;
+    private TranscriptJobStatusStore transcriptJobStatusStore;
+    private UserIngestLock userIngestLock;
+    private DirectParseExecutor directParseExecutor;
+
+    @BeforeEach
+    void setUp() {
+        userService = mock(UserService.class);
+        transcriptParsingWorker = mock(TranscriptParsingWorker.class);
+        transcriptJobStatusStore = mock(TranscriptJobStatusStore.class);
+        userIngestLock = mock(UserIngestLock.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return null;
+        }).when(userIngestLock).runInTransaction(anyLong(), any(Runnable.class));
+
+        directParseExecutor = new DirectParseExecutor(userService, transcriptParsingWorker, transcriptJobStatusStore,
+                userIngestLock, new UploadSizeLimit(64), 1, 1, spoolDir.toString(), 5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        directParseExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("업로드 본문을 임시 파일로 받아 백그라운드에서 파싱하고, 끝나면 DONE 과 함께 임시 파일을 지운다")
+    void submit_parsesInBackground() throws Exception {
+        when(transcriptJobStatusStore.parsing(anyString())).thenReturn(ParsingClaim.started());
+        CountDownLatch done = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            done.countDown();
+            return null;
+        }).when(transcriptJobStatusStore).done(anyString());
+        doAnswer(invocation -> {
+            InputStream in = invocation.getArgument(1);
+            assertEquals("성적표 내용", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            invocation.<Runnable>getArgument(2).run();
+            return null;
+        }).when(transcriptParsingWorker).parseFromInputStream(eq(1L), any(InputStream.class), any(Runnable.class));
+
+        String jobId = directParseExecutor.submit(1L, body("성적표 내용"), "컴퓨터공학", "", "");
+
+        assertNotNull(jobId);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        verify(transcriptJobStatusStore).queued(jobId, 1L, null);
+        verify(transcriptJobStatusStore).enqueued(jobId);
+        verify(userService).updateUserData(1L, "컴퓨터공학", "", "");
+        verify(transcriptJobStatusStore).persisting(jobId);
+        verify(transcriptJobStatusStore, never()).failed(anyString(), any());
+        assertSpoolEmpty();
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 본문을 받지 않고 RejectedExecutionException 을 던진다")
+    void submit_rejectsWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(transcriptJobStatusStore.parsing(anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return ParsingClaim.finished();
+        });
+
+        directParseExecutor.submit(1L, body("a"), "컴퓨터공학", "", ""); // 스레드 1개가 잡고 있음
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        directParseExecutor.submit(2L, body("b"), "컴퓨터공학", "", ""); // 대기열 1칸
+        assertEquals(1, directParseExecutor.queuedCount());
+
+        assertThrows(RejectedExecutionException.class,
+                () -> directParseExecutor.submit(3L, body("c"), "컴퓨터공학", "", ""));
+        verify(transcriptJobStatusStore, never()).queued(anyString(), eq(3L), any());
+        verify(transcriptJobStatusStore, times(2)).enqueued(anyString());
+
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("파싱에 실패하면 재시도 없이 FAILED 로 남기고 임시 파일을 지운다")
+    void submit_marksFailedOnError() throws Exception {
+        when(transcriptJobStatusStore.parsing(anyString())).thenReturn(ParsingClaim.started());
+        CountDownLatch failed = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            failed.countDown();
+            return null;
+        }).when(transcriptJobStatusStore).failed(anyString(), any());
+        doThrow(new IllegalStateException("bad transcript"))
+                .when(transcriptParsingWorker).parseFromInputStream(anyLong(), any(InputStream.class), any(Runnable.class));
+
+        String jobId = directParseExecutor.submit(1L, body("x"), "컴퓨터공학", "", "");
+
+        assertTrue(failed.await(5, TimeUnit.SECONDS));
+        verify(transcriptJobStatusStore).failed(jobId, "bad transcript");
+        verify(transcriptJobStatusStore, never()).done(anyString());
+        assertSpoolEmpty();
+    }
+
+    @Test
+    @DisplayName("본문이 saintplus.upload.max-bytes 보다 크면 받는 도중에 멈추고 작업을 만들지 않는다")
+    void submit_rejectsOversizedBody() throws Exception {
+        assertThrows(UploadTooLargeException.class,
+                () -> directParseExecutor.submit(1L, new ByteArrayInputStream(new byte[65]), "컴퓨터공학", "", ""));
+
+        verify(transcriptJobStatusStore, never()).queued(anyString(), anyLong(), any());
+        assertSpoolEmpty();
+    }
+
+    @Test
+    @DisplayName("종료할 때 아직 시작하지 않은 작업은 FAILED 로 남기고 임시 파일을 지운다")
+    void shutdown_failsPendingJobs() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(transcriptJobStatusStore.parsing(anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return ParsingClaim.finished();
+        });
+
+        directParseExecutor.submit(1L, body("a"), "컴퓨터공학", "", ""); // 스레드 1개가 잡고 있음
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        String pendingJobId = directParseExecutor.submit(2L, body("b"), "컴퓨터공학", "", "");
+
+        directParseExecutor.shutdown();
+        release.countDown();
+
+        verify(transcriptJobStatusStore).failed(eq(pendingJobId), anyString());
+        assertSpoolEmpty();
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 임시 파일 삭제는 상태 기록 직후 finally 에서 일어나므로 잠깐 기다림
+    private void assertSpoolEmpty() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            try (Stream<Path> files = Files.list(spoolDir)) {
+                if (files.findAny().isEmpty()) {
+                    return;
+                }
+            }
+            Thread.sleep(20);
+        }
+        fail("spooled upload was not deleted");
+    }
+}
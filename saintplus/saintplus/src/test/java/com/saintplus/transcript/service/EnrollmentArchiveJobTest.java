@@ -0,0 +1,61 @@
+package com.saintplus.transcript.service;
+
+import com.saintplus.transcript.repository.EnrollmentRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class EnrollmentArchiveJobTest {
+
+    private final EnrollmentRepository enrollmentRepository = mock(EnrollmentRepository.class);
+    private final EnrollmentArchiveService enrollmentArchiveService = mock(EnrollmentArchiveService.class);
+
+    @Test
+    @DisplayName("기준 학기 이전 사용자를 빈 페이지가 나올 때까지 마지막으로 본 id 다음부터 반복해서 보관")
+    void archivesUntilEmptyPage() {
+        String cutoff = (LocalDate.now().getYear() - 2) + "-1";
+        when(enrollmentRepository.findUserIdsWithLastSemesterBefore(cutoff, 0L, PageRequest.of(0, 2))).thenReturn(List.of(1L, 2L));
+        when(enrollmentRepository.findUserIdsWithLastSemesterBefore(cutoff, 2L, PageRequest.of(0, 2))).thenReturn(List.of(3L));
+        when(enrollmentRepository.findUserIdsWithLastSemesterBefore(cutoff, 3L, PageRequest.of(0, 2))).thenReturn(List.of());
+
+        new EnrollmentArchiveJob(enrollmentRepository, enrollmentArchiveService, true, 2, 2).archiveInactiveUsers();
+
+        verify(enrollmentRepository, times(3)).findUserIdsWithLastSemesterBefore(eq(cutoff), anyLong(), eq(PageRequest.of(0, 2)));
+        verify(enrollmentArchiveService).archiveUser(1L);
+        verify(enrollmentArchiveService).archiveUser(2L);
+        verify(enrollmentArchiveService).archiveUser(3L);
+    }
+
+    @Test
+    @DisplayName("한 배치의 사용자가 모두 실패해도 건너뛰고 다음 사용자를 계속 보관")
+    void skipsFailedUsersAndContinues() {
+        when(enrollmentRepository.findUserIdsWithLastSemesterBefore(anyString(), eq(0L), any())).thenReturn(List.of(1L, 2L));
+        when(enrollmentRepository.findUserIdsWithLastSemesterBefore(anyString(), eq(2L), any())).thenReturn(List.of(3L));
+        when(enrollmentRepository.findUserIdsWithLastSemesterBefore(anyString(), eq(3L), any())).thenReturn(List.of());
+        when(enrollmentArchiveService.archiveUser(1L)).thenThrow(new IllegalStateException("boom"));
+        when(enrollmentArchiveService.archiveUser(2L)).thenThrow(new IllegalStateException("boom"));
+
+        new EnrollmentArchiveJob(enrollmentRepository, enrollmentArchiveService, true, 2, 2).archiveInactiveUsers();
+
+        verify(enrollmentArchiveService, times(1)).archiveUser(1L);
+        verify(enrollmentArchiveService, times(1)).archiveUser(2L);
+        verify(enrollmentArchiveService).archiveUser(3L);
+    }
+
+    @Test
+    @DisplayName("saintplus.archive.enabled=false 면 아무것도 하지 않음")
+    void disabledDoesNothing() {
+        new EnrollmentArchiveJob(enrollmentRepository, enrollmentArchiveService, false, 2, 2).archiveInactiveUsers();
+
+        verifyNoInteractions(enrollmentRepository, enrollmentArchiveService);
+    }
+}
@@ -0,0 +1,169 @@
+package com.saintplus.transcript.service;
+
+import com.saintplus.course.service.UserAcademicProfileService;
+import com.saintplus.transcript.domain.ArchivedEnrollment;
+import com.saintplus.transcript.domain.Enrollment;
+import com.saintplus.transcript.domain.Remarks;
+import com.saintplus.transcript.repository.ArchivedEnrollmentRepository;
+import com.saintplus.transcript.repository.CourseArchiveAggregateWriter;
+import com.saintplus.transcript.repository.EnrollmentRepository;
+import com.saintplus.user.domain.User;
+import com.saintplus.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EnrollmentArchiveServiceTest {
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private ArchivedEnrollmentRepository archivedEnrollmentRepository;
+
+    @Mock
+    private CourseArchiveAggregateWriter courseArchiveAggregateWriter;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserAcademicProfileService userAcademicProfileService;
+
+    @InjectMocks
+    private EnrollmentArchiveService enrollmentArchiveService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder().username("tester").major1("컴퓨터공학").build();
+        ReflectionTestUtils.setField(user, "id", 7L);
+    }
+
+    @Test
+    @DisplayName("archiveUser - 보관 행을 저장하고, 미이수/대체된 수강을 뺀 증감분을 집계에 더한 뒤 hot 행 삭제와 프로필 캐시 무효화")
+    @SuppressWarnings("unchecked")
+    void archiveUser_movesRowsAndAddsAggregates() {
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+        when(enrollmentRepository.findAllByUserId(7L)).thenReturn(List.of(
+                enrollment("CSE2003", 1.0, new Remarks()),
+                enrollment("CSE2003", 2.0, retake()),
+                enrollment("MAT1001", 1.0, failed()),
+                enrollment("HFS2001", 1.0, superseded())));
+
+        int archived = enrollmentArchiveService.archiveUser(7L);
+
+        assertThat(archived).isEqualTo(4);
+        ArgumentCaptor<List<ArchivedEnrollment>> saved = ArgumentCaptor.forClass(List.class);
+        verify(archivedEnrollmentRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).hasSize(4).allSatisfy(row -> {
+            assertThat(row.getUserId()).isEqualTo(7L);
+            assertThat(row.getMajor1()).isEqualTo("컴퓨터공학");
+        });
+        verify(courseArchiveAggregateWriter).addToHistogram("컴퓨터공학", Map.of("CSE2003", Map.of(1.0, 1L, 2.0, 1L)));
+        ArgumentCaptor<Collection<String>> courseCodes = ArgumentCaptor.forClass(Collection.class);
+        verify(courseArchiveAggregateWriter).addToStudentCount(eq("컴퓨터공학"), courseCodes.capture(), eq(1L));
+        assertThat(courseCodes.getValue()).containsExactly("CSE2003");
+        verify(enrollmentRepository).deleteByUserId(7L);
+        verify(userAcademicProfileService).evict(7L);
+    }
+
+    @Test
+    @DisplayName("archiveUser - 1전공이 없으면 미선택으로 집계")
+    void archiveUser_normalizesMissingMajor() {
+        user.setMajor1(null);
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+        when(enrollmentRepository.findAllByUserId(7L)).thenReturn(List.of(enrollment("CSE2003", 1.0, new Remarks())));
+
+        enrollmentArchiveService.archiveUser(7L);
+
+        verify(courseArchiveAggregateWriter).addToHistogram("미선택", Map.of("CSE2003", Map.of(1.0, 1L)));
+    }
+
+    @Test
+    @DisplayName("archiveUser - 수강 이력이 없으면 아무것도 바꾸지 않고 0, 사용자가 없으면 IllegalStateException")
+    void archiveUser_emptyOrMissingUser() {
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+        when(enrollmentRepository.findAllByUserId(7L)).thenReturn(List.of());
+
+        assertThat(enrollmentArchiveService.archiveUser(7L)).isZero();
+        verifyNoInteractions(archivedEnrollmentRepository, courseArchiveAggregateWriter, userAcademicProfileService);
+        verify(enrollmentRepository, never()).deleteByUserId(anyLong());
+
+        when(userRepository.findById(8L)).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> enrollmentArchiveService.archiveUser(8L)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("restoreUser - 보관 시점의 전공별로 집계에서 빼고 보관 행 삭제")
+    void restoreUser_subtractsPerMajor() {
+        List<ArchivedEnrollment> archived = List.of(
+                new ArchivedEnrollment(enrollment("CSE2003", 1.0, new Remarks()), "컴퓨터공학"),
+                new ArchivedEnrollment(enrollment("CSE2003", 1.0, new Remarks()), "수학"),
+                new ArchivedEnrollment(enrollment("MAT1001", 2.0, failed()), "수학"));
+        when(archivedEnrollmentRepository.existsByUserId(7L)).thenReturn(true);
+        when(archivedEnrollmentRepository.findByUserId(7L)).thenReturn(archived);
+
+        List<ArchivedEnrollment> restored = enrollmentArchiveService.restoreUser(7L);
+
+        assertThat(restored).isSameAs(archived);
+        verify(courseArchiveAggregateWriter).addToHistogram("컴퓨터공학", Map.of("CSE2003", Map.of(1.0, -1L)));
+        verify(courseArchiveAggregateWriter).addToHistogram("수학", Map.of("CSE2003", Map.of(1.0, -1L)));
+        verify(courseArchiveAggregateWriter).addToStudentCount(eq("컴퓨터공학"), any(), eq(-1L));
+        verify(courseArchiveAggregateWriter).addToStudentCount(eq("수학"), any(), eq(-1L));
+        verify(archivedEnrollmentRepository).deleteByUserId(7L);
+    }
+
+    @Test
+    @DisplayName("restoreUser - 보관된 이력이 없으면 빈 목록이고 집계는 건드리지 않음")
+    void restoreUser_nothingArchived() {
+        when(archivedEnrollmentRepository.existsByUserId(7L)).thenReturn(false);
+
+        assertThat(enrollmentArchiveService.restoreUser(7L)).isEmpty();
+        verifyNoInteractions(courseArchiveAggregateWriter);
+        verify(archivedEnrollmentRepository, never()).deleteByUserId(anyLong());
+    }
+
+    private Enrollment enrollment(String courseCode, double semester, Remarks remarks) {
+        return Enrollment.builder().user(user).courseCode(courseCode).semester(semester).term(1).credits(3.0)
+                .importantRemarks(remarks).build();
+    }
+
+    private static Remarks retake() {
+        Remarks remarks = new Remarks();
+        remarks.setRetake(true);
+        return remarks;
+    }
+
+    private static Remarks failed() {
+        Remarks remarks = new Remarks();
+        remarks.setFailed(true);
+        return remarks;
+    }
+
+    private static Remarks superseded() {
+        Remarks remarks = new Remarks();
+        remarks.setSuperseded(true);
+        return remarks;
+    }
+}
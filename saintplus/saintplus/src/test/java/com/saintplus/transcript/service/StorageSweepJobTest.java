@@ -0,0 +1,60 @@
+package com.saintplus.transcript.service;
+
+import com.saintplus.transcript.util.StorageClient;
+import com.saintplus.transcript.util.StorageObjectSummary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class StorageSweepJobTest {
+
+    @Test
+    @DisplayName("TTL 이 지난 객체만 prefix 별로 지운다")
+    void deletesOnlyExpiredObjects() {
+        StorageClient storageClient = mock(StorageClient.class);
+        Instant old = Instant.now().minus(Duration.ofHours(30));
+        Instant recent = Instant.now().minus(Duration.ofHours(1));
+        listing(storageClient, "uploads/",
+                new StorageObjectSummary("uploads/1/1/old.txt", old, 10),
+                new StorageObjectSummary("uploads/1/2/new.txt", recent, 10));
+        listing(storageClient, "temp/",
+                new StorageObjectSummary("temp/x.txt", old, 10));
+        when(storageClient.deleteObjects(anyList())).thenReturn(List.of());
+
+        new StorageSweepJob(storageClient, true, List.of("uploads/", "temp/"), 24).sweep();
+
+        verify(storageClient).deleteObjects(List.of("uploads/1/1/old.txt"));
+        verify(storageClient).deleteObjects(List.of("temp/x.txt"));
+        verify(storageClient, times(2)).deleteObjects(anyList());
+    }
+
+    @Test
+    @DisplayName("꺼져 있으면 목록도 읽지 않는다")
+    void disabled() {
+        StorageClient storageClient = mock(StorageClient.class);
+
+        new StorageSweepJob(storageClient, false, List.of("uploads/"), 24).sweep();
+
+        verifyNoInteractions(storageClient);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void listing(StorageClient storageClient, String prefix, StorageObjectSummary... objects) {
+        doAnswer(invocation -> {
+            Consumer<StorageObjectSummary> action = invocation.getArgument(1);
+            for (StorageObjectSummary object : objects) {
+                action.accept(object);
+            }
+            return null;
+        }).when(storageClient).listObjects(eq(prefix), any(Consumer.class));
+    }
+}
@@ -0,0 +1,256 @@
+package com.saintplus.transcript.service;
+
+import com.saintplus.transcript.domain.TranscriptJob;
+import com.saintplus.transcript.dto.ParsingClaim;
+import com.saintplus.transcript.dto.TranscriptJobStatusResponse;
+import com.saintplus.transcript.repository.TranscriptJobRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TranscriptJobStatusStoreTest {
+
+    private TranscriptJobRepository transcriptJobRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private TranscriptJobStatusStore store;
+
+    @BeforeEach
+    void setUp() {
+        transcriptJobRepository = mock(TranscriptJobRepository.class);
+        when(transcriptJobRepository.findById(anyString())).thenReturn(Optional.empty());
+        meterRegistry = new SimpleMeterRegistry();
+        store = new TranscriptJobStatusStore(transcriptJobRepository, mock(PlatformTransactionManager.class),
+                meterRegistry, 2, 1000, 60_000);
+    }
+
+    @Test
+    @DisplayName("단계가 바뀔 때마다 상태와 시각이 기록되고 테이블에도 쓰인다")
+    void stages_recordTimingsAndWriteThrough() {
+        store.queued("job-1", 1L, "uploads/1/a.txt");
+        store.parsing("job-1");
+        store.persisting("job-1");
+        store.done("job-1");
+
+        TranscriptJobStatusResponse status = store.find(1L, "job-1").orElseThrow();
+        assertEquals(TranscriptJob.DONE, status.status());
+        assertEquals(1, status.attempts());
+        assertNotNull(status.queuedAt());
+        assertNotNull(status.finishedAt());
+        assertNotNull(status.totalMillis());
+
+        verify(transcriptJobRepository, times(4)).save(any(TranscriptJob.class));
+        assertEquals(1, meterRegistry.get("transcript.job.stage").tag("stage", "persist").timer().count());
+    }
+
+    @Test
+    @DisplayName("재시도하면 다시 QUEUED 가 되고, 포기하면 FAILED 와 오류가 남는다")
+    void retryThenFail() {
+        store.queued("job-1", 1L, "uploads/1/a.txt");
+        store.parsing("job-1");
+        store.retrying("job-1", "timeout");
+
+        assertEquals(TranscriptJob.QUEUED, store.find(1L, "job-1").orElseThrow().status());
+
+        store.parsing("job-1");
+        store.failed("job-1", "timeout");
+
+        TranscriptJobStatusResponse status = store.find(1L, "job-1").orElseThrow();
+        assertEquals(TranscriptJob.FAILED, status.status());
+        assertEquals(2, status.attempts());
+        assertEquals("timeout", status.error());
+    }
+
+    @Test
+    @DisplayName("다른 사용자의 작업은 조회되지 않고, 구독하면 IllegalArgumentException")
+    void otherUsersJob_isHidden() {
+        store.queued("job-1", 1L, "uploads/1/a.txt");
+
+        assertTrue(store.find(2L, "job-1").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> store.subscribe(2L, "job-1"));
+    }
+
+    @Test
+    @DisplayName("메모리에는 max-entries 건만 두고, 밀려난 작업은 테이블에서 읽는다")
+    void eviction_fallsBackToRepository() {
+        store.queued("job-1", 1L, "a");
+        store.queued("job-2", 1L, "b");
+        store.queued("job-3", 1L, "c");
+
+        assertEquals(2, store.cachedJobs());
+
+        TranscriptJob stored = new TranscriptJob("job-1", 1L, "a");
+        when(transcriptJobRepository.findById("job-1")).thenReturn(Optional.of(stored));
+        assertEquals(TranscriptJob.QUEUED, store.find(1L, "job-1").orElseThrow().status());
+    }
+
+    @Test
+    @DisplayName("새 작업이 큐에 들어가면 먼저 올린 시작 전 작업만 조건부 UPDATE 로 SUPERSEDED 가 되고 실행되지 않는다")
+    void enqueued_supersedesOlderPendingJob() {
+        store.queued("job-1", 1L, "uploads/1/a.txt");
+        store.queued("job-2", 1L, "uploads/1/b.txt");
+        when(transcriptJobRepository.findByUserIdAndStatusAndQueuedAtBefore(eq(1L), eq(TranscriptJob.QUEUED), any()))
+                .thenReturn(List.of(new TranscriptJob("job-1", 1L, "uploads/1/a.txt")));
+        when(transcriptJobRepository.markSupersededIfQueued(eq("job-1"), anyString(), any())).thenReturn(1);
+
+        store.enqueued("job-2");
+
+        assertEquals(TranscriptJob.SUPERSEDED, store.find(1L, "job-1").orElseThrow().status());
+        assertEquals(TranscriptJob.QUEUED, store.find(1L, "job-2").orElseThrow().status());
+        assertEquals(ParsingClaim.Result.FINISHED, store.parsing("job-1").result());
+        assertTrue(store.parsing("job-2").isStarted());
+        assertEquals(TranscriptJob.PARSING, store.find(1L, "job-2").orElseThrow().status());
+    }
+
+    @Test
+    @DisplayName("대체할 작업을 읽은 뒤 다른 노드가 먼저 시작했으면(바뀐 행 0) 메모리 상태도 바꾸지 않는다")
+    void enqueued_skipsJobStartedElsewhere() {
+        store.queued("job-1", 1L, "uploads/1/a.txt");
+        store.queued("job-2", 1L, "uploads/1/b.txt");
+        when(transcriptJobRepository.findByUserIdAndStatusAndQueuedAtBefore(eq(1L), eq(TranscriptJob.QUEUED), any()))
+                .thenReturn(List.of(new TranscriptJob("job-1", 1L, "uploads/1/a.txt")));
+        when(transcriptJobRepository.markSupersededIfQueued(eq("job-1"), anyString(), any())).thenReturn(0);
+
+        store.enqueued("job-2");
+
+        assertEquals(TranscriptJob.QUEUED, store.find(1L, "job-1").orElseThrow().status());
+    }
+
+    @Test
+    @DisplayName("테이블에서 QUEUED -> PARSING 조건부 UPDATE 에 성공하면 저장(save) 없이 실행한다")
+    void parsing_claimsWithConditionalUpdate() {
+        store.queued("job-1", 1L, "uploads/1/a.txt");
+        when(transcriptJobRepository.claimForParsing(eq("job-1"), any(), any())).thenReturn(1);
+
+        assertTrue(store.parsing("job-1").isStarted());
+
+        TranscriptJobStatusResponse status = store.find(1L, "job-1").orElseThrow();
+        assertEquals(TranscriptJob.PARSING, status.status());
+        assertEquals(1, status.attempts());
+        verify(transcriptJobRepository, times(1)).save(any(TranscriptJob.class)); // queued 만
+    }
+
+    @Test
+    @DisplayName("다른 노드에서 대체된 작업은 테이블 상태를 보고 실행하지 않는다")
+    void supersededInTable_isSkipped() {
+        store.queued("job-1", 1L, "uploads/1/a.txt");
+        TranscriptJob stored = new TranscriptJob("job-1", 1L, "uploads/1/a.txt");
+        stored.markSuperseded();
+        when(transcriptJobRepository.findById("job-1")).thenReturn(Optional.of(stored));
+
+        assertEquals(ParsingClaim.Result.FINISHED, store.parsing("job-1").result());
+        assertEquals(TranscriptJob.SUPERSEDED, store.find(1L, "job-1").orElseThrow().status());
+    }
+
+    @Test
+    @DisplayName("다른 노드가 lease 안에서 처리 중인 작업(테이블이 PARSING)은 실행하지 않고 lease 가 끝날 때까지 미룬다")
+    void startedElsewhere_isDeferred() {
+        store.queued("job-1", 1L, "uploads/1/a.txt");
+        TranscriptJob stored = new TranscriptJob("job-1", 1L, "uploads/1/a.txt");
+        stored.markParsing();
+        when(transcriptJobRepository.findById("job-1")).thenReturn(Optional.of(stored));
+
+        ParsingClaim claim = store.parsing("job-1");
+
+        assertEquals(ParsingClaim.Result.IN_PROGRESS, claim.result());
+        assertTrue(claim.retryAfter().compareTo(Duration.ofSeconds(50)) > 0);
+        verify(transcriptJobRepository, times(1)).save(any(TranscriptJob.class));
+    }
+
+    @Test
+    @DisplayName("테이블에서 이미 끝난(DONE) 작업이 다시 전달되면 실행하지 않는다")
+    void doneInTable_isFinished() {
+        TranscriptJob stored = new TranscriptJob("job-1", 1L, "uploads/1/a.txt");
+        stored.markDone();
+        when(transcriptJobRepository.findById("job-1")).thenReturn(Optional.of(stored));
+
+        assertEquals(ParsingClaim.Result.FINISHED, store.parsing("job-1").result());
+    }
+
+    @Test
+    @DisplayName("처리하던 소비자가 죽어 PARSING 으로 남은 작업은 lease 가 끝난 뒤 다시 전달되면 다시 맡는다")
+    void redeliveryAfterCrash_reclaimsStaleJob() {
+        store.queued("job-1", 1L, "uploads/1/a.txt");
+        when(transcriptJobRepository.claimForParsing(eq("job-1"), any(), any())).thenReturn(1);
+        assertTrue(store.parsing("job-1").isStarted());
+
+        // 소비자가 죽어 retrying()/failed() 없이 메시지만 다시 전달됨: lease 가 끝난 행만 UPDATE 됨
+        assertTrue(store.parsing("job-1").isStarted());
+        verify(transcriptJobRepository, times(2)).claimForParsing(eq("job-1"), any(),
+                argThat(staleBefore -> staleBefore.isBefore(LocalDateTime.now().minusSeconds(50))));
+        assertEquals(2, store.find(1L, "job-1").orElseThrow().attempts());
+    }
+
+    @Test
+    @DisplayName("테이블에 쓸 수 없으면 메모리의 PARSING 작업은 lease 안에서는 미루고, lease 가 끝나면 다시 맡는다")
+    void inMemoryClaim_followsLease() {
+        when(transcriptJobRepository.claimForParsing(anyString(), any(), any())).thenThrow(new IllegalStateException("db down"));
+        store.queued("job-1", 1L, "uploads/1/a.txt");
+        assertTrue(store.parsing("job-1").isStarted());
+        assertEquals(ParsingClaim.Result.IN_PROGRESS, store.parsing("job-1").result());
+
+        TranscriptJobStatusStore noLease = new TranscriptJobStatusStore(transcriptJobRepository,
+                mock(PlatformTransactionManager.class), meterRegistry, 2, 1000, 0);
+        noLease.queued("job-2", 1L, "uploads/1/b.txt");
+        assertTrue(noLease.parsing("job-2").isStarted());
+        assertTrue(noLease.parsing("job-2").isStarted());
+        assertEquals(2, noLease.find(1L, "job-2").orElseThrow().attempts());
+    }
+
+    @Test
+    @DisplayName("진행 중인 작업은 다른 노드가 바꿨을 수 있으므로 메모리보다 테이블 상태를 읽는다")
+    void unfinishedJob_readsThroughToTable() {
+        store.queued("job-1", 1L, "uploads/1/a.txt");
+        TranscriptJob stored = new TranscriptJob("job-1", 1L, "uploads/1/a.txt");
+        stored.markParsing();
+        when(transcriptJobRepository.findById("job-1")).thenReturn(Optional.of(stored));
+
+        assertEquals(TranscriptJob.PARSING, store.find(1L, "job-1").orElseThrow().status());
+    }
+
+    @Test
+    @DisplayName("끝난 작업은 메모리에 두고 다시 테이블을 읽지 않는다")
+    void finishedJob_isCached() {
+        TranscriptJob stored = new TranscriptJob("job-1", 1L, "uploads/1/a.txt");
+        stored.markDone();
+        when(transcriptJobRepository.findById("job-1")).thenReturn(Optional.of(stored));
+
+        assertEquals(TranscriptJob.DONE, store.find(1L, "job-1").orElseThrow().status());
+        assertEquals(TranscriptJob.DONE, store.find(1L, "job-1").orElseThrow().status());
+
+        verify(transcriptJobRepository, times(1)).findById("job-1");
+        assertEquals(1, store.cachedJobs());
+    }
+
+    @Test
+    @DisplayName("다른 노드에서 끝난 작업은 폴링으로 구독자에게 보내고 스트림을 닫는다")
+    void poll_publishesChangesFromOtherNodes() {
+        TranscriptJob stored = new TranscriptJob("job-1", 1L, "uploads/1/a.txt");
+        when(transcriptJobRepository.findById("job-1")).thenReturn(Optional.of(stored));
+        store.subscribe(1L, "job-1");
+        when(transcriptJobRepository.findAllById(List.of("job-1"))).thenReturn(List.of(stored));
+
+        store.pollSubscribedJobs(); // 바뀐 것이 없으면 구독 유지
+        assertEquals(1, store.subscribedJobs());
+
+        TranscriptJob done = new TranscriptJob("job-1", 1L, "uploads/1/a.txt");
+        done.markDone();
+        when(transcriptJobRepository.findAllById(List.of("job-1"))).thenReturn(List.of(done));
+        store.pollSubscribedJobs();
+
+        assertEquals(0, store.subscribedJobs());
+        assertEquals(TranscriptJob.DONE, store.find(1L, "job-1").orElseThrow().status());
+    }
+}
@@ -0,0 +1,62 @@
+package com.saintplus.transcript.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TranscriptLineReaderTest {
+
+    private static final Charset EUC_KR = Charset.forName("EUC-KR");
+
+    @Test
+    @DisplayName("버퍼 경계에 걸친 한글과 \\r\\n 도 BufferedReader.readLine() 과 같게 나눈다")
+    void sameLinesAsBufferedReader() throws Exception {
+        Random random = new Random(7);
+        String[] pieces = {"2023-1 CSE2003 자료구조 3.0 A+", "신학적인간학", "abc", "\n", "\r\n", "\r", "\r\r\n", " "};
+        StringBuilder content = new StringBuilder();
+        while (content.length() < 40_000) {
+            content.append(pieces[random.nextInt(pieces.length)]);
+        }
+        byte[] bytes = content.toString().getBytes(EUC_KR);
+
+        List<String> expected = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(bytes), EUC_KR))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                expected.add(line);
+            }
+        }
+
+        List<String> fromStream = new ArrayList<>();
+        TranscriptLineReader.forEachLine(new ByteArrayInputStream(bytes), line -> fromStream.add(line));
+        List<String> fromChannel = new ArrayList<>();
+        TranscriptLineReader.forEachLine(Channels.newChannel(new ByteArrayInputStream(bytes)), line -> fromChannel.add(line));
+
+        assertThat(fromStream).isEqualTo(expected);
+        assertThat(fromChannel).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("핸들러가 false 를 반환하면 읽기를 멈춘다")
+    void stopsEarly() throws Exception {
+        byte[] bytes = "첫줄\n둘째줄\n셋째줄".getBytes(EUC_KR);
+
+        List<String> lines = new ArrayList<>();
+        TranscriptLineReader.forEachLine(new ByteArrayInputStream(bytes), line -> {
+            lines.add(line);
+            return lines.size() < 2;
+        });
+
+        assertThat(lines).containsExactly("첫줄", "둘째줄");
+    }
+}
@@ -0,0 +1,142 @@
+package com.saintplus.transcript.service;
+
+import com.saintplus.course.dto.CourseAnalysisData;
+import com.saintplus.transcript.domain.Remarks;
+import com.saintplus.transcript.dto.SemesterInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TranscriptLineTokenizerTest {
+
+    // 토크나이저 이전에 TranscriptParser 가 쓰던 정규식 (기준 구현)
+    private static final Pattern LEGACY_COURSE_PATTERN = Pattern.compile(
+            "^(20\\d{2}-[12SW])\\s+" +
+                    "([A-Z]{3,5}\\d{3,4})\\s+" +
+                    "(.+?)\\s+" +
+                    "([0-9]+\\.[0-9])\\s*" +
+                    "(A[+-0]?|B[+-0]?|C[+-0]?|D[+-0]?|F|FA|U|S|P|W)?" +
+                    "\\s*(.*)$");
+
+    @Test
+    @DisplayName("대표적인 성적표 줄은 예전 정규식과 같은 결과를 낸다")
+    void sameAsLegacyRegex_samples() {
+        List<String> lines = List.of(
+                "2023-1 CSE2003 자료구조 3.0 A+ E",
+                "2023-1 CSE2003 자료구조 3.0 A+ E,R",
+                "2023-S HFS2001 신학적인간학 2.0 F",
+                "2023-2 ECO2002 미시경제원론 3.0 FA R",
+                "2024-W COR1004 글쓰기   2.0 P",
+                "2022-2 MAT1110 Calculus 1 3.0 B0 R , M",
+                "2022-2 MAT1110 Topics 1.5 Advanced 3.0 C-",
+                "2021-1 KOR10001 국어 3.0",
+                "2021-1 CSE2003  3.0 A",
+                "2021-1 CSE2003 3.0 3.0 A",
+                "2021-1 CSE2003\t자료구조\t3.0\tA+\tE",
+                "2021-1 CSE2003 자료구조 3.05 A",
+                "2021-1 CSE2003 자료구조 3.0A+",
+                "2021-1 CSE2003 자료구조 3.0 A/ E",
+                "2021-3 CSE2003 자료구조 3.0 A",
+                "2021-1 CS2003 자료구조 3.0 A",
+                "2021-1 CSEABC2003 자료구조 3.0 A",
+                "2021-1 CSE20031 자료구조 3.0 A",
+                "2021-1 CSE2003 자료구조 A",
+                "1전공컴퓨터공학2전공경영학3전공없음",
+                "",
+                "2021-1");
+
+        lines.forEach(this::assertSameAsLegacy);
+    }
+
+    @Test
+    @DisplayName("무작위로 만든 줄도 예전 정규식과 같은 결과를 낸다")
+    void sameAsLegacyRegex_random() {
+        Random random = new Random(20240601L);
+        String[] pieces = {"2023-1", "2023-S", "2019-W", "2023-3", "CSE2003", "HFS2001", "AB123", "ABCDEF1234",
+                "자료구조", "Calculus", "1", "1.5", "3.0", "12.5", "A+", "B0", "C-", "F", "FA", "U", "S", "P", "W",
+                "R", "E", "M", ",", "E,R", "R ,M", " ", "\t", "  "};
+
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder line = new StringBuilder();
+            // 절반은 "학기 과목코드 " 로 시작하게 해서 과목 줄 후보를 충분히 만듦
+            if (random.nextBoolean()) {
+                line.append(random.nextBoolean() ? "2023-1" : "2021-W").append(random.nextBoolean() ? " " : "  ")
+                        .append(random.nextBoolean() ? "CSE2003" : "HFSA1234").append(random.nextBoolean() ? " " : " \t");
+            }
+            int count = 1 + random.nextInt(9);
+            for (int p = 0; p < count; p++) {
+                line.append(pieces[random.nextInt(pieces.length)]);
+                if (random.nextInt(4) != 0) line.append(' ');
+            }
+            assertSameAsLegacy(line.toString());
+        }
+    }
+
+    private void assertSameAsLegacy(String line) {
+        Matcher matcher = LEGACY_COURSE_PATTERN.matcher(line);
+        CourseAnalysisData actual = TranscriptLineTokenizer.tokenize(line);
+
+        if (!matcher.find()) {
+            assertThat(actual).as(line).isNull();
+            return;
+        }
+
+        Remarks expectedRemarks = legacyRemarks(
+                Objects.toString(matcher.group(5), "").trim(),
+                Objects.toString(matcher.group(6), "").trim());
+
+        assertThat(actual).as(line).isNotNull();
+        assertThat(actual.getSemester()).as(line).isEqualTo(matcher.group(1));
+        assertThat(actual.getTerm()).as(line).isEqualTo(new SemesterInfo(matcher.group(1)).getComparableValue());
+        assertThat(actual.getCourseCode()).as(line).isEqualTo(matcher.group(2).trim());
+        assertThat(actual.getCourseName()).as(line).isEqualTo(matcher.group(3).trim());
+        assertThat(actual.getCredits()).as(line).isEqualTo(Double.parseDouble(matcher.group(4)));
+        assertThat(actual.getImportantRemarks().toFlags()).as(line).isEqualTo(expectedRemarks.toFlags());
+    }
+
+    // 토크나이저 이전에 TranscriptParser.processRemarks 가 쓰던 비고 처리 (기준 구현)
+    // processRemarks 는 이제 TranscriptLineTokenizer.applyRemarks 를 부르므로 기준으로 쓰면 자기 자신과 비교하게 됨
+    private static Remarks legacyRemarks(String grade, String rawRemarksString) {
+        Remarks importantRemarks = new Remarks();
+
+        switch (grade) {
+            case "FA":  //결석허용초과 과목낙제
+            case "F":   //과목미이수
+            case "U":   //불합격
+                importantRemarks.setFailed(true);
+        }
+
+        if (rawRemarksString == null || rawRemarksString.isBlank()) {
+            return importantRemarks;
+        }
+
+        List<String> remarks = Arrays.stream(rawRemarksString.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+
+        for (String remark : remarks) {
+            switch (remark) {
+                case "R":   //재이수로성적취득 후 기존성적 대체
+                    importantRemarks.setRetake(true);
+                    break;
+                case "E":   //영어강의
+                    importantRemarks.setEnglishLecture(true);
+                    break;
+                case "M":   //중복인정과목
+                    importantRemarks.setDuplicate(true);
+                    break;
+            }
+        }
+
+        return importantRemarks;
+    }
+}
@@ -8,7 +8,11 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.core.io.ClassPathResource;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 
@@ -102,6 +106,48 @@ class TranscriptParserTest {
 
 
 
+    @Test
+    @DisplayName("analyzeFile() - 학점 파싱")
+    void analyzeFile_parsesCredits() throws Exception {
+        String content = "2023-1 CSE2003 자료구조 3.0 A+ E\n" +
+                "2023-S HFS2001 신학적인간학 2.0 F\n";
+        InputStream inputStream = new ByteArrayInputStream(content.getBytes(Charset.forName("EUC-KR")));
+
+        List<CourseAnalysisData> rawCourses = transcriptParser.analyzeFile(inputStream, "101").getRawCourses();
+
+        assertThat(rawCourses).extracting(CourseAnalysisData::getCredits).containsExactly(3.0, 2.0);
+        assertThat(rawCourses.get(0).getImportantRemarks().isEnglishLecture()).isTrue();
+        assertThat(rawCourses.get(1).getImportantRemarks().isFailed()).isTrue();
+    }
+
+
+
+    @Test
+    @DisplayName("analyzeFile() - 전공과 과목을 한 번에 추출")
+    void analyzeFile_extractsMajorsInSamePass() throws Exception {
+        String content = "1전공컴퓨터공학2전공경영학3전공없음\n" +
+                "2023-1 CSE2003 자료구조 3.0 A+\n";
+        InputStream inputStream = new ByteArrayInputStream(content.getBytes(Charset.forName("EUC-KR")));
+
+        TranscriptScanResult scanResult = transcriptParser.analyzeFile(inputStream, "101");
+
+        assertThat(scanResult.getMajors()).containsExactly("컴퓨터공학", "경영학", "없음");
+        assertThat(scanResult.getRawCourses()).extracting(CourseAnalysisData::getCourseCode).containsExactly("CSE2003");
+    }
+
+    @Test
+    @DisplayName("analyzeFile() - 읽으면서 원본 바이트의 SHA-256 계산")
+    void analyzeFile_computesContentHash() throws Exception {
+        byte[] bytes = "2023-1 CSE2003 자료구조 3.0 A+\r\n".getBytes(Charset.forName("EUC-KR"));
+
+        TranscriptScanResult scanResult = transcriptParser.analyzeFile(new ByteArrayInputStream(bytes), "101");
+
+        String expected = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        assertThat(scanResult.getContentHash()).isEqualTo(expected);
+    }
+
+
+
     @Test
     @DisplayName("extractMajors() 테스트")
     void extractMajors_realFileWithClassPathResource() throws Exception {
@@ -111,7 +157,7 @@ class TranscriptParserTest {
 
         InputStream inputStream = resource.getInputStream();
 
-        List<String> majors = transcriptParser.extractMajorsFromFile(inputStream);
+        List<String> majors = transcriptParser.analyzeFile(inputStream, "test").getMajors();
 
         System.out.println(majors);
     }
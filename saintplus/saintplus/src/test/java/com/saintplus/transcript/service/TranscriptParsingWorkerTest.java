@@ -1,33 +1,43 @@
 package com.saintplus.transcript.service;
 
 import com.saintplus.course.dto.CourseAnalysisData;
+import com.saintplus.transcript.domain.Enrollment;
+import com.saintplus.transcript.domain.Remarks;
+import com.saintplus.transcript.domain.TranscriptIngest;
+import com.saintplus.transcript.dto.EnrollmentDeltaEvent;
 import com.saintplus.transcript.dto.TranscriptParsingResult;
 import com.saintplus.transcript.dto.TranscriptScanResult;
-import com.saintplus.course.repository.CourseRepository;
+import com.saintplus.course.service.CourseCatalogCache;
+import com.saintplus.course.service.PeerTimetableService;
+import com.saintplus.course.service.UserAcademicProfileService;
+import com.saintplus.transcript.repository.EnrollmentBatchWriter;
 import com.saintplus.transcript.repository.EnrollmentRepository;
+import com.saintplus.transcript.repository.TranscriptIngestRepository;
+import com.saintplus.transcript.util.StorageClient;
+import com.saintplus.transcript.util.StorageObjectDeleter;
 import com.saintplus.user.domain.User;
 import com.saintplus.user.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
-import software.amazon.awssdk.core.ResponseBytes;
-import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.GetObjectRequest;
-import software.amazon.awssdk.services.s3.model.GetObjectResponse;
-import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 
 import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willThrow;
@@ -40,28 +50,41 @@ class TranscriptParsingWorkerTest {
     private TranscriptParsingWorker worker;
 
     @Mock
-    private S3Client s3Client;
+    private StorageClient storageClient;
+    @Mock
+    private StorageObjectDeleter storageObjectDeleter;
     @Mock
     private UserRepository userRepository;
     @Mock
     private EnrollmentRepository enrollmentRepository;
     @Mock
-    private CourseRepository courseRepository;
+    private EnrollmentBatchWriter enrollmentBatchWriter;
+    @Mock
+    private TranscriptIngestRepository transcriptIngestRepository;
+    @Mock
+    private CourseCatalogCache courseCatalogCache;
     @Mock
     private TranscriptParser transcriptParser;
+    @Mock
+    private PeerTimetableService peerTimetableService;
+    @Mock
+    private UserAcademicProfileService userAcademicProfileService;
+    @Mock
+    private EnrollmentArchiveService enrollmentArchiveService;
+    @Mock
+    private CreditSummaryService creditSummaryService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     private static final Long TEST_USER_ID = 1L;
     private static final String TEST_FILE_KEY = "uploads/1/123456789/test.pdf";
-    private static final String TEST_BUCKET = "test-bucket";
     private User testUser;
 
     @BeforeEach
     void setUp() {
-        // @Value 필드 모킹
-        ReflectionTestUtils.setField(worker, "bucketName", TEST_BUCKET);
-
         // Mock User 객체 설정
-        testUser = new User(TEST_USER_ID.toString(), "", "", "", "", "", "", "", "", ""); // User 생성자가 ID를 받는다고 가정
+        testUser = new User(TEST_USER_ID.toString(), "", "", "", "", "", "", "", "", "");
+        ReflectionTestUtils.setField(testUser, "id", TEST_USER_ID); // 저장된 사용자처럼 id 부여 (생성자는 id 를 받지 않음)
 
         // TransactionSynchronizationManager는 테스트 환경에서 수동으로 활성화되어야 함
         if (!TransactionSynchronizationManager.isSynchronizationActive()) {
@@ -76,44 +99,46 @@ class TranscriptParsingWorkerTest {
         TransactionSynchronizationManager.clearSynchronization();
     }
 
+    // 저장소 getObjectStream 응답 (본문 스트림)
+    private static InputStream fileStream(String content) {
+        return new ByteArrayInputStream(content.getBytes());
+    }
+
 
     @Test
     @DisplayName("성공: 파싱, DB 저장 및 S3 파일 삭제가 순서대로 실행되어야 한다")
     void processParingAndSaving_Success() throws Exception {
         // 1. Given (Mock 설정)
         // User Mock
-        given(userRepository.findById(TEST_USER_ID)).willReturn(Optional.of(testUser));
+        given(userRepository.findByIdForUpdate(TEST_USER_ID)).willReturn(Optional.of(testUser));
 
         // S3 Load Mock
-        byte[] mockBytes = "mock file content".getBytes();
-        ResponseBytes<GetObjectResponse> mockResponse = mock(ResponseBytes.class);
-        given(mockResponse.asByteArray()).willReturn(mockBytes);
-        given(s3Client.getObjectAsBytes(any(GetObjectRequest.class))).willReturn(mockResponse);
+        given(storageClient.getObjectStream(TEST_FILE_KEY)).willReturn(fileStream("mock file content"));
 
         // Parser Mock (성공적인 파싱 결과)
         Map<String, String> courseMap = Map.of("CS101", "Intro to CS");
         TranscriptScanResult scanResult = new TranscriptScanResult(Collections.emptyList(), courseMap);
         TranscriptParsingResult parsingResult = mock(TranscriptParsingResult.class);
 
-        given(transcriptParser.analyzeFile(any(ByteArrayInputStream.class), eq(TEST_USER_ID.toString())))
+        given(transcriptParser.analyzeFile(any(InputStream.class), eq(TEST_USER_ID.toString())))
                 .willReturn(scanResult);
         given(transcriptParser.groupAndFormatCourses(anyList())).willReturn(parsingResult);
         given(parsingResult.getCoursesBySemester()).willReturn(Map.of("1학기", List.of(new CourseAnalysisData())));
 
-        // saveNewCoursesToDatabase Mock (새로운 과목 없음)
-        given(courseRepository.findAllById(anySet())).willReturn(Collections.emptyList());
-
         // 2. When
         worker.processParingAndSaving(TEST_USER_ID, TEST_FILE_KEY);
 
         // 3. Then (검증)
 
         // 3-1. 핵심 비즈니스 로직 호출 순서 확인
-        verify(userRepository).findById(TEST_USER_ID);
-        verify(s3Client).getObjectAsBytes(any(GetObjectRequest.class));
-        verify(transcriptParser).analyzeFile(any(ByteArrayInputStream.class), anyString());
-        verify(enrollmentRepository).deleteByUser(testUser); // 기존 수강 기록 삭제 확인
-        verify(enrollmentRepository, times(1)).save(any()); // 신규 수강 기록 저장 확인
+        verify(userRepository).findByIdForUpdate(TEST_USER_ID);
+        verify(storageClient).getObjectStream(TEST_FILE_KEY);
+        verify(transcriptParser).analyzeFile(any(InputStream.class), anyString());
+        verify(courseCatalogCache).ensureCourses(courseMap, TEST_USER_ID.toString()); // 새 과목은 캐시를 거쳐 없으면 넣기
+        verify(enrollmentBatchWriter).insertAll(argThat(enrollments -> enrollments.size() == 1)); // 신규 수강 기록 일괄 저장 확인
+        verify(enrollmentRepository, never()).save(any()); // 행 단위 save 는 사용하지 않음
+        verify(enrollmentRepository, never()).deleteByIdIn(any()); // 지울 기존 기록 없음
+        verify(eventPublisher).publishEvent(any(EnrollmentDeltaEvent.class)); // 변경분 발행
 
         // 3-2. S3 삭제 로직 확인 (Transaction Synchronization)
 
@@ -125,7 +150,7 @@ class TranscriptParsingWorkerTest {
         // 실제 S3 삭제 메서드는 private이므로, 스파이(Spy)를 사용하거나,
         // TransactionSynchronizationManager가 호출 등록되었음을 확인하는 간접적인 방법을 사용해야 합니다.
 
-        // 여기서는 S3Client의 deleteObject가 호출되는지 확인합니다.
+        // 여기서는 StorageObjectDeleter에 삭제가 요청되는지 확인합니다.
         // 실제 호출은 afterCommit에서 이루어지므로, 바로 verify 할 수는 없고
         // 테스트 후 트랜잭션 커밋을 시뮬레이션해야 합니다.
         // Mockito @InjectMocks에서는 이를 명확히 검증하기 어려우므로, 호출 흐름 확인에 집중합니다.
@@ -138,24 +163,21 @@ class TranscriptParsingWorkerTest {
     void processParingAndSaving_DBFailure() throws Exception {
         // 1. Given (Mock 설정)
         // User, S3 Load, Parser Mock은 성공적으로 설정 (위의 성공 테스트와 유사)
-        given(userRepository.findById(TEST_USER_ID)).willReturn(Optional.of(testUser));
+        given(userRepository.findByIdForUpdate(TEST_USER_ID)).willReturn(Optional.of(testUser));
 
-        byte[] mockBytes = "mock file content".getBytes();
-        ResponseBytes<GetObjectResponse> mockResponse = mock(ResponseBytes.class);
-        given(mockResponse.asByteArray()).willReturn(mockBytes);
-        given(s3Client.getObjectAsBytes(any(GetObjectRequest.class))).willReturn(mockResponse);
+        given(storageClient.getObjectStream(TEST_FILE_KEY)).willReturn(fileStream("mock file content"));
 
         Map<String, String> courseMap = Map.of("CS101", "Intro to CS");
         TranscriptScanResult scanResult = new TranscriptScanResult(Collections.emptyList(), courseMap);
         TranscriptParsingResult parsingResult = mock(TranscriptParsingResult.class);
 
-        given(transcriptParser.analyzeFile(any(ByteArrayInputStream.class), anyString()))
+        given(transcriptParser.analyzeFile(any(InputStream.class), anyString()))
                 .willReturn(scanResult);
         given(transcriptParser.groupAndFormatCourses(anyList())).willReturn(parsingResult);
         given(parsingResult.getCoursesBySemester()).willReturn(Map.of("1학기", List.of(new CourseAnalysisData())));
 
         // 🚨 실패 시나리오 설정: Enrollment 저장 시 RuntimeException 발생
-        willThrow(new RuntimeException("DB Save Failed")).given(enrollmentRepository).deleteByUser(any());
+        willThrow(new RuntimeException("DB Save Failed")).given(enrollmentBatchWriter).insertAll(any());
 
         // 2. When & Then
         // 예외가 발생해야 함을 확인
@@ -165,7 +187,97 @@ class TranscriptParsingWorkerTest {
 
         // 3. Then (검증)
         // DB 롤백이 발생했으므로 S3 deleteObject는 절대 호출되면 안 됨.
-        verify(s3Client, never()).deleteObject(any(DeleteObjectRequest.class));
+        verify(storageObjectDeleter, never()).delete(anyString());
+    }
+
+
+
+    @Test
+    @DisplayName("재업로드: 저장된 이력과 같은 성적표면 아무것도 쓰지 않고 변경분도 발행하지 않는다")
+    void saveEnrollmentToDatabase_unchanged() {
+        CourseAnalysisData course = new CourseAnalysisData();
+        course.setCourseCode("CSE2003");
+        course.setTerm(202301);
+        course.setSemesterNumber(1.0);
+        course.setCredits(3.0);
+        Enrollment stored = Enrollment.builder()
+                .id(10L).user(testUser).courseCode("CSE2003").term(202301).semester(1.0).credits(3.0)
+                .importantRemarks(new Remarks())
+                .build();
+        given(enrollmentRepository.findAllByUserId(testUser.getId())).willReturn(List.of(stored));
+
+        worker.saveEnrollmentToDatabase(testUser, Map.of("2023-1", List.of(course)));
+
+        verify(enrollmentBatchWriter, never()).insertAll(any());
+        verify(enrollmentRepository, never()).deleteByIdIn(any());
+        verifyNoInteractions(eventPublisher, peerTimetableService, creditSummaryService);
+    }
+
+    @Test
+    @DisplayName("재업로드: 새 학기 행만 추가하고, 재이수로 대체된 이전 수강은 수정으로 처리한다")
+    void saveEnrollmentToDatabase_newSemester() {
+        CourseAnalysisData first = new CourseAnalysisData();
+        first.setCourseCode("CSE2003");
+        first.setTerm(202301);
+        first.setSemesterNumber(1.0);
+        first.setCredits(3.0);
+        CourseAnalysisData retake = new CourseAnalysisData();
+        retake.setCourseCode("CSE2003");
+        retake.setTerm(202305);
+        retake.setSemesterNumber(2.0);
+        retake.setCredits(3.0);
+        Remarks retakeRemarks = new Remarks();
+        retakeRemarks.setRetake(true);
+        retake.setImportantRemarks(retakeRemarks);
+
+        Enrollment stored = Enrollment.builder()
+                .id(10L).user(testUser).courseCode("CSE2003").term(202301).semester(1.0).credits(3.0)
+                .importantRemarks(new Remarks())
+                .build();
+        given(enrollmentRepository.findAllByUserId(testUser.getId())).willReturn(List.of(stored));
+
+        worker.saveEnrollmentToDatabase(testUser, Map.of("2023-1", List.of(first), "2023-2", List.of(retake)));
+
+        // 새 학기 한 행만 INSERT, 기존 행은 대체 표시만 바뀜 (DELETE 없음)
+        verify(enrollmentBatchWriter).insertAll(List.of(Enrollment.builder()
+                .user(testUser).courseCode("CSE2003").term(202305).semester(2.0).credits(3.0)
+                .importantRemarks(retakeRemarks)
+                .build()));
+        verify(enrollmentRepository, never()).deleteByIdIn(any());
+        assertTrue(stored.getImportantRemarks().isSuperseded());
+
+        ArgumentCaptor<EnrollmentDeltaEvent> event = ArgumentCaptor.forClass(EnrollmentDeltaEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        // 이전 수강은 통계에서 빠지고(-1) 재이수 학기가 더해짐(+1)
+        assertEquals(Map.of("CSE2003", Map.of(202301, -1L, 202305, 1L)), event.getValue().termCountDelta());
+    }
+
+    @Test
+    @DisplayName("멱등: 이미 저장이 커밋된 fileKey 작업은 파일을 받거나 파싱하지 않고 끝낸다")
+    void processParingAndSaving_alreadyProcessedFileKey() {
+        given(transcriptIngestRepository.existsByFileKey(TEST_FILE_KEY)).willReturn(true);
+
+        worker.processParingAndSaving(TEST_USER_ID, TEST_FILE_KEY);
+
+        verifyNoInteractions(storageClient, transcriptParser, enrollmentBatchWriter);
+    }
+
+    @Test
+    @DisplayName("멱등: 마지막 저장과 내용(SHA-256)이 같은 성적표는 저장하지 않고 fileKey 만 기록한다")
+    void processParingAndSaving_sameContentHash() throws Exception {
+        given(userRepository.findByIdForUpdate(TEST_USER_ID)).willReturn(Optional.of(testUser));
+        given(storageClient.getObjectStream(TEST_FILE_KEY)).willReturn(fileStream("mock file content"));
+        TranscriptScanResult scanResult = new TranscriptScanResult(Collections.emptyList(), Map.of("CS101", "Intro to CS"), List.of(), "abc123");
+        given(transcriptParser.analyzeFile(any(InputStream.class), anyString())).willReturn(scanResult);
+        given(transcriptIngestRepository.findTopByUserIdOrderByIdDesc(testUser.getId()))
+                .willReturn(Optional.of(new TranscriptIngest(testUser.getId(), "abc123", "uploads/1/1/old.txt", TranscriptIngest.SAVED, 0)));
+
+        worker.processParingAndSaving(TEST_USER_ID, TEST_FILE_KEY);
+
+        verify(transcriptParser, never()).groupAndFormatCourses(anyList());
+        verifyNoInteractions(courseCatalogCache, enrollmentBatchWriter, eventPublisher);
+        verify(transcriptIngestRepository).save(argThat(ingest ->
+                TranscriptIngest.UNCHANGED.equals(ingest.getStatus()) && TEST_FILE_KEY.equals(ingest.getFileKey())));
     }
 
 }
@@ -0,0 +1,111 @@
+package com.saintplus.transcript.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saintplus.course.dto.CourseAnalysisData;
+import com.saintplus.transcript.domain.Remarks;
+import com.saintplus.transcript.dto.TranscriptScanResult;
+import com.saintplus.transcript.repository.TranscriptScanRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 파싱 결과를 transcript_scan 테이블에 저장하고 다시 읽는지 실제 테이블로 확인합니다.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class TranscriptScanCacheTest {
+
+    @Autowired
+    private TranscriptScanRepository transcriptScanRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private TranscriptScanResult scanResult() {
+        CourseAnalysisData course = new CourseAnalysisData("2023-1", "CSE2003", "자료구조");
+        course.setCredits(3.0);
+        course.setTerm(202301);
+        course.setImportantRemarks(new Remarks(true, true, false, false));
+        return new TranscriptScanResult(List.of(course), Map.of("CSE2003", "자료구조"), List.of("컴퓨터공학", "", ""), "abc123");
+    }
+
+    private TranscriptScanCache cache(long ttlSeconds) {
+        return new TranscriptScanCache(transcriptScanRepository, objectMapper, ttlSeconds);
+    }
+
+    @Test
+    @DisplayName("토큰으로 보관한 파싱 결과를 다시 꺼낼 수 있고, remove 후에는 없다")
+    void putGetRemove() {
+        TranscriptScanCache cache = cache(600);
+
+        String token = cache.put(scanResult(), 1L, "10.0.0.1");
+        TranscriptScanResult loaded = cache.get(token, 1L, "10.0.0.1");
+
+        assertThat(loaded.getMajors()).containsExactly("컴퓨터공학", "", "");
+        assertThat(loaded.getContentHash()).isEqualTo("abc123");
+        assertThat(loaded.getMappingCourseCodeName()).containsEntry("CSE2003", "자료구조");
+        CourseAnalysisData course = loaded.getRawCourses().get(0);
+        assertThat(course.getCourseCode()).isEqualTo("CSE2003");
+        assertThat(course.getTerm()).isEqualTo(202301);
+        assertThat(course.getImportantRemarks()).isEqualTo(new Remarks(true, true, false, false));
+
+        cache.remove(token);
+        assertThat(cache.get(token, 1L, "10.0.0.1")).isNull();
+    }
+
+    @Test
+    @DisplayName("다른 노드(다른 인스턴스)에서 올린 토큰도 같은 테이블에서 꺼낼 수 있다")
+    void sharedAcrossNodes() {
+        String token = cache(600).put(scanResult(), 1L, "10.0.0.1");
+
+        assertThat(cache(600).get(token, 1L, "10.0.0.1")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("TTL 이 지난 항목은 조회되지 않고, purgeExpired 는 만료된 행만 지운다")
+    void expiredEntry() {
+        String expired = cache(0).put(scanResult(), 1L, "10.0.0.1");
+        String live = cache(600).put(scanResult(), 1L, "10.0.0.1");
+
+        cache(600).purgeExpired();
+
+        assertThat(transcriptScanRepository.existsById(expired)).isFalse();
+        assertThat(cache(600).get(expired, 1L, "10.0.0.1")).isNull();
+        assertThat(cache(600).get(live, 1L, "10.0.0.1")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("로그인한 업로드는 같은 사용자만, 로그인 없이 올린 업로드는 같은 클라이언트 주소에서만 꺼낼 수 있다")
+    void boundToUploader() {
+        TranscriptScanCache cache = cache(600);
+
+        String userToken = cache.put(scanResult(), 1L, "10.0.0.1");
+        String anonymousToken = cache.put(scanResult(), null, "10.0.0.2");
+
+        assertThat(cache.get(userToken, 2L, "10.0.0.1")).isNull();
+        assertThat(cache.get(userToken, 1L, "10.9.9.9")).isNotNull();
+        assertThat(cache.get(anonymousToken, 2L, "10.0.0.3")).isNull();
+        assertThat(cache.get(anonymousToken, 2L, "10.0.0.2")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("같은 주소(학교 NAT) 뒤에서 여러 학생이 로그인 없이 올려도 서로의 토큰을 밀어내지 않는다")
+    void sharedAddressDoesNotEvict() {
+        TranscriptScanCache cache = cache(600);
+
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            tokens.add(cache.put(scanResult(), null, "203.0.113.7"));
+        }
+
+        assertThat(tokens).allSatisfy(token -> assertThat(cache.get(token, 9L, "203.0.113.7")).isNotNull());
+    }
+}
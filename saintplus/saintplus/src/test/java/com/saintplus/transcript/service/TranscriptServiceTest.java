@@ -1,11 +1,16 @@
 package com.saintplus.transcript.service;
 
+import com.saintplus.transcript.dto.TranscriptParseJob;
+import com.saintplus.transcript.dto.TranscriptScanResult;
+import com.saintplus.transcript.dto.TranscriptScanSession;
 import com.saintplus.transcript.dto.UploadUrlResponse;
 import com.saintplus.transcript.util.StorageClient;
+import com.saintplus.transcript.util.TranscriptJobQueue;
 import com.saintplus.user.service.UserService;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.junit.jupiter.api.extension.ExtendWith;
 
@@ -14,6 +19,7 @@ import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.List;
+import java.util.Map;
 
 @ExtendWith(MockitoExtension.class)
 class TranscriptServiceTest {
@@ -30,13 +36,33 @@ class TranscriptServiceTest {
     @Mock
     UserService userService;
 
+    @Mock
+    TranscriptScanCache transcriptScanCache;
+
+    @Mock
+    TranscriptJobQueue transcriptJobQueue;
+
+    @Mock
+    TranscriptJobStatusStore transcriptJobStatusStore;
+
+    @Mock
+    UserIngestLock userIngestLock;
+
+    @Mock
+    DirectParseExecutor directParseExecutor;
+
+    @Spy
+    UploadSizeLimit uploadSizeLimit = new UploadSizeLimit(16);
+
     @InjectMocks
     TranscriptService transcriptService;
 
 
     @Test
-    void extractMajors_success() throws Exception {
-        when(transcriptParser.extractMajorsFromFile(any())).thenReturn(List.of("컴공", "수학"));
+    void scanTranscript_success() throws Exception {
+        TranscriptScanResult scanResult = new TranscriptScanResult(List.of(), Map.of(), List.of("컴공", "수학"));
+        when(transcriptParser.analyzeFile(any(), anyString())).thenReturn(scanResult);
+        when(transcriptScanCache.put(scanResult, null, "10.0.0.1")).thenReturn("token");
 
         var file = new org.springframework.mock.web.MockMultipartFile(
                 "file",
@@ -45,8 +71,38 @@ class TranscriptServiceTest {
                 "dummy".getBytes()
         );
 
-        List<String> result = transcriptService.extractMajors(file);
-        assertEquals(2, result.size());
+        TranscriptScanSession session = transcriptService.scanTranscript(file, null, "10.0.0.1");
+        assertEquals("token", session.uploadToken());
+        assertEquals(2, session.majors().size());
+        verify(transcriptParser, times(1)).analyzeFile(any(), anyString()); // 전공과 과목을 한 번에 파싱
+    }
+
+
+    @Test
+    void commitScannedTranscript_success() {
+        TranscriptScanResult scanResult = new TranscriptScanResult(List.of(), Map.of());
+        when(transcriptScanCache.get("token", 1L, "10.0.0.1")).thenReturn(scanResult);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return null;
+        }).when(userIngestLock).runInTransaction(eq(1L), any());
+
+        transcriptService.commitScannedTranscript(1L, "10.0.0.1", "token", "a", "b", "c");
+
+        verify(userIngestLock).runInTransaction(eq(1L), any());
+        verify(userService).updateUserData(1L, "a", "b", "c");
+        verify(transcriptParsingWorker).saveScannedTranscript(1L, scanResult);
+        verify(transcriptScanCache).remove("token");
+    }
+
+
+    @Test
+    void commitScannedTranscript_expiredToken() {
+        when(transcriptScanCache.get("token", 1L, "10.0.0.1")).thenReturn(null);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> transcriptService.commitScannedTranscript(1L, "10.0.0.1", "token", "a", "b", "c"));
+        verifyNoInteractions(transcriptParsingWorker);
     }
 
 
@@ -62,16 +118,49 @@ class TranscriptServiceTest {
 
 
     @Test
-    void processParsingJob_success() {
+    void processParsingJob_enqueuesWithoutParsing() {
+
+        String jobId = transcriptService.processParsingJob(1L, "fileKey", "a", "b", "c");
 
-        doNothing().when(userService).updateUserData(anyLong(), anyString(), anyString(), anyString());
-        doNothing().when(transcriptParsingWorker).processParingAndSaving(anyLong(), anyString());
+        verify(transcriptJobStatusStore).queued(jobId, 1L, "fileKey");
+        verify(transcriptJobQueue).enqueue(new TranscriptParseJob(jobId, 1L, "fileKey", "a", "b", "c"));
+        verify(transcriptJobStatusStore).enqueued(jobId);
+        verifyNoInteractions(userService, transcriptParsingWorker);
+    }
 
-        transcriptService.processParsingJob(1L, "fileKey", "a", "b", "c");
+    @Test
+    void processParsingJob_enqueueFailure_keepsOlderJobs() {
+        doThrow(new IllegalStateException("queue down")).when(transcriptJobQueue).enqueue(any());
 
-        verify(userService).updateUserData(1L, "a", "b", "c");
-        verify(transcriptParsingWorker).processParingAndSaving(1L, "fileKey");
+        assertThrows(IllegalStateException.class,
+                () -> transcriptService.processParsingJob(1L, "fileKey", "a", "b", "c"));
+
+        // 큐에 넣지 못한 작업은 이전 작업을 대체하지 않음
+        verify(transcriptJobStatusStore).failed(anyString(), eq("Could not enqueue parsing job."));
+        verify(transcriptJobStatusStore, never()).enqueued(anyString());
     }
 
-}
 
+    @Test
+    void submitTranscriptParsing_rejectsOversizedMultipart() {
+        var file = new org.springframework.mock.web.MockMultipartFile("file", "t.txt", "text/plain", new byte[17]);
+
+        assertThrows(UploadTooLargeException.class,
+                () -> transcriptService.submitTranscriptParsing(1L, file, "a", "b", "c"));
+        verifyNoInteractions(directParseExecutor);
+    }
+
+
+    @Test
+    void scanTranscript_stopsReadingPastLimit() throws Exception {
+        when(transcriptParser.analyzeFile(any(), anyString())).thenAnswer(invocation -> {
+            invocation.<java.io.InputStream>getArgument(0).readAllBytes();
+            return new TranscriptScanResult(List.of(), Map.of());
+        });
+
+        assertThrows(UploadTooLargeException.class,
+                () -> transcriptService.scanTranscript(new java.io.ByteArrayInputStream(new byte[17]), null, "10.0.0.1"));
+        verifyNoInteractions(transcriptScanCache);
+    }
+
+}
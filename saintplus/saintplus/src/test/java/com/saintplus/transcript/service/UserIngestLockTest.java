@@ -0,0 +1,79 @@
+package com.saintplus.transcript.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class UserIngestLockTest {
+
+    private final UserIngestLock userIngestLock = new UserIngestLock(mock(PlatformTransactionManager.class), 16);
+
+    @Test
+    @DisplayName("같은 사용자의 저장은 동시에 실행되지 않는다")
+    void sameUser_isSerialized() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch done = new CountDownLatch(8);
+
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                userIngestLock.runInTransaction(7L, () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    sleep(5);
+                    running.decrementAndGet();
+                });
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.shutdownNow();
+        assertThat(maxRunning.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("다른 사용자의 저장은 같은 사용자 저장이 끝나기를 기다리지 않는다")
+    void differentUsers_runInParallel() throws Exception {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread first = new Thread(() -> userIngestLock.runInTransaction(1L, () -> {
+            firstStarted.countDown();
+            await(release);
+        }));
+        first.start();
+        assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        AtomicInteger ran = new AtomicInteger();
+        userIngestLock.runInTransaction(2L, ran::incrementAndGet); // 1L 과 다른 stripe
+
+        assertThat(ran.get()).isEqualTo(1);
+        release.countDown();
+        first.join(5000);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
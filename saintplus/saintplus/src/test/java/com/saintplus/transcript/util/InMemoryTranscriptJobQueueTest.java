@@ -0,0 +1,117 @@
+package com.saintplus.transcript.util;
+
+import com.saintplus.transcript.dto.TranscriptParseJob;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InMemoryTranscriptJobQueueTest {
+
+    private static final TranscriptParseJob JOB = new TranscriptParseJob("job-1", 1L, "uploads/1/1/a.txt", "컴공", "", "");
+
+    private InMemoryTranscriptJobQueue queue;
+
+    @AfterEach
+    void tearDown() {
+        if (queue != null) {
+            queue.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("실패한 작업은 백오프 후 다시 시도되고, 성공하면 큐에서 빠진다")
+    void retriesUntilSuccess() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1);
+        queue = new InMemoryTranscriptJobQueue(job -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new IllegalStateException("temporary");
+            }
+            done.countDown();
+        }, 1, 10, 5, 10, 100);
+        queue.start();
+
+        queue.enqueue(JOB);
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(calls.get()).isEqualTo(3);
+        awaitEmpty();
+        assertThat(queue.deadLetters()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("max-attempts 번 실패하면 dead-letter 로 옮긴다")
+    void deadLetterAfterMaxAttempts() throws Exception {
+        List<TranscriptParseJob> handled = new CopyOnWriteArrayList<>();
+        queue = new InMemoryTranscriptJobQueue(job -> {
+            handled.add(job);
+            throw new IllegalStateException("always");
+        }, 2, 10, 3, 1, 10);
+        queue.start();
+
+        queue.enqueue(JOB);
+
+        awaitEmpty();
+        assertThat(handled).hasSize(3);
+        assertThat(queue.deadLetters()).containsExactly(JOB);
+    }
+
+    @Test
+    @DisplayName("미뤄진 작업은 시도 횟수를 늘리지 않고 retryAfter 뒤에 다시 넘겨준다")
+    void deferredJobIsNotCountedAsFailure() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1);
+        queue = new InMemoryTranscriptJobQueue(job -> {
+            if (calls.incrementAndGet() <= 3) {
+                throw new TranscriptJobDeferredException("in progress", Duration.ofMillis(10));
+            }
+            done.countDown();
+        }, 1, 10, 2, 10, 100);
+        queue.start();
+
+        queue.enqueue(JOB);
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        awaitEmpty();
+        assertThat(calls.get()).isEqualTo(4);
+        assertThat(queue.deadLetters()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("capacity 를 넘으면 enqueue 가 거절된다")
+    void rejectsWhenFull() {
+        queue = new InMemoryTranscriptJobQueue(job -> {}, 1, 1, 3, 10, 100); // 소비자를 시작하지 않음
+
+        queue.enqueue(JOB);
+
+        assertThatThrownBy(() -> queue.enqueue(JOB)).isInstanceOf(IllegalStateException.class);
+        assertThat(queue.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("백오프는 2배씩 늘고 최대값에서 멈춘다")
+    void backoff() {
+        assertThat(TranscriptJobQueue.backoffMillis(1, 1000, 60_000)).isEqualTo(1000);
+        assertThat(TranscriptJobQueue.backoffMillis(3, 1000, 60_000)).isEqualTo(4000);
+        assertThat(TranscriptJobQueue.backoffMillis(10, 1000, 60_000)).isEqualTo(60_000);
+        assertThat(TranscriptJobQueue.backoffMillis(100, 1000, 60_000)).isEqualTo(60_000);
+    }
+
+    private void awaitEmpty() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (queue.size() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(queue.size()).isZero();
+    }
+}
@@ -0,0 +1,110 @@
+package com.saintplus.transcript.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalStorageClientTest {
+
+    private static final String KEY = "uploads/1/123/transcript.txt";
+    private static final Instant NOW = Instant.parse("2025-03-01T00:00:00Z");
+
+    @TempDir
+    Path root;
+
+    private LocalStorageClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        client = new LocalStorageClient(root, "http://localhost:8080/", "secret", Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("presigned URL 의 서명으로 업로드를 검사하고, 다른 키나 만료된 URL 은 거절한다")
+    void presignedUrl_signatureAndExpiry() {
+        Map<String, String> query = query(client.generatePresignedUrl(KEY, "text/plain").uploadUrl());
+        long expires = Long.parseLong(query.get("expires"));
+
+        assertEquals(KEY, query.get("key"));
+        assertTrue(client.isValidUpload(KEY, expires, query.get("signature")));
+        assertFalse(client.isValidUpload("uploads/2/123/other.txt", expires, query.get("signature")));
+        assertFalse(client.isValidUpload(KEY, NOW.getEpochSecond() - 1, query.get("signature")));
+    }
+
+    @Test
+    @DisplayName("presigned URL 은 Clock 기준 10분이 지나면 거절한다")
+    void presignedUrl_expiresByClock() throws Exception {
+        Map<String, String> query = query(client.generatePresignedUrl(KEY, "text/plain").uploadUrl());
+        long expires = Long.parseLong(query.get("expires"));
+        assertEquals(NOW.plusSeconds(600).getEpochSecond(), expires);
+
+        assertTrue(clientAt(NOW.plusSeconds(600)).isValidUpload(KEY, expires, query.get("signature")));
+        assertFalse(clientAt(NOW.plusSeconds(601)).isValidUpload(KEY, expires, query.get("signature")));
+    }
+
+    @Test
+    @DisplayName("저장한 파일을 전체/범위/조건부로 읽고 삭제한다")
+    void putAndRead() throws Exception {
+        client.putObject(KEY, new ByteArrayInputStream("0123456789".getBytes(StandardCharsets.UTF_8)));
+
+        try (InputStream in = client.getObjectStream(KEY)) {
+            assertEquals("0123456789", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        try (InputStream in = client.getObjectRange(KEY, 2, 5)) {
+            assertEquals("2345", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        String eTag;
+        try (StorageObject object = client.getObjectIfChanged(KEY, null).orElseThrow()) {
+            assertEquals(10, object.contentLength());
+            eTag = object.eTag();
+        }
+        assertEquals(Optional.empty(), client.getObjectIfChanged(KEY, eTag));
+
+        List<String> listed = new ArrayList<>();
+        client.listObjects("uploads/", object -> listed.add(object.fileKey()));
+        assertEquals(List.of(KEY), listed);
+
+        assertEquals(List.of(), client.deleteObjects(List.of(KEY, "uploads/1/123/missing.txt")));
+        assertThrows(IllegalStateException.class, () -> client.getObjectStream(KEY));
+    }
+
+    @Test
+    @DisplayName("저장소 밖을 가리키는 키는 거절한다")
+    void rejectsPathTraversal() {
+        assertThrows(IllegalArgumentException.class, () -> client.generatePresignedUrl("../outside.txt", "text/plain"));
+        assertThrows(IllegalArgumentException.class,
+                () -> client.putObject("uploads/../../outside.txt", new ByteArrayInputStream(new byte[0])));
+    }
+
+    private LocalStorageClient clientAt(Instant now) throws Exception {
+        return new LocalStorageClient(root, "http://localhost:8080/", "secret", Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private static Map<String, String> query(String url) {
+        Map<String, String> params = new HashMap<>();
+        for (String pair : URI.create(url).getRawQuery().split("&")) {
+            String[] kv = pair.split("=", 2);
+            params.put(kv[0], URLDecoder.decode(kv[1], StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+}
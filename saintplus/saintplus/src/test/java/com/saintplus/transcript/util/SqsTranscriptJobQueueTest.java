@@ -0,0 +1,99 @@
+package com.saintplus.transcript.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saintplus.transcript.dto.TranscriptParseJob;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class SqsTranscriptJobQueueTest {
+
+    private static final String QUEUE_URL = "https://sqs.test/queue";
+    private static final String DLQ_URL = "https://sqs.test/dlq";
+
+    private final SqsClient sqsClient = mock(SqsClient.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private SqsTranscriptJobQueue queue;
+
+    @AfterEach
+    void tearDown() {
+        queue.shutdown();
+    }
+
+    private SqsTranscriptJobQueue queue(TranscriptJobHandler handler) {
+        return new SqsTranscriptJobQueue(sqsClient, objectMapper, handler, QUEUE_URL, DLQ_URL,
+                1, 10, 20, 60, 3, 1000, 60_000);
+    }
+
+    private Message message(int receiveCount) throws Exception {
+        return Message.builder()
+                .messageId("m-" + receiveCount)
+                .receiptHandle("r-" + receiveCount)
+                .body(objectMapper.writeValueAsString(new TranscriptParseJob("job-1", 1L, "uploads/1/1/a.txt", "컴공", "", "")))
+                .attributes(Map.of(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT, String.valueOf(receiveCount)))
+                .build();
+    }
+
+    @Test
+    @DisplayName("처리에 성공한 메시지는 바로 삭제한다")
+    void deletesOnSuccess() throws Exception {
+        queue = queue(job -> {});
+
+        queue.processBatch(List.of(message(1)));
+
+        verify(sqsClient).deleteMessage(argThat((DeleteMessageRequest r) -> r.receiptHandle().equals("r-1")));
+        verify(sqsClient, never()).sendMessage(any(SendMessageRequest.class));
+    }
+
+    @Test
+    @DisplayName("실패하면 가시성 시간을 백오프 값으로 줄여 나중에 다시 받는다")
+    void backsOffOnFailure() throws Exception {
+        queue = queue(job -> { throw new IllegalStateException("fail"); });
+
+        queue.processBatch(List.of(message(2)));
+
+        verify(sqsClient).changeMessageVisibility(argThat((ChangeMessageVisibilityRequest r) ->
+                r.receiptHandle().equals("r-2") && r.visibilityTimeout() == 2));
+        verify(sqsClient, never()).deleteMessage(any(DeleteMessageRequest.class));
+    }
+
+    @Test
+    @DisplayName("max-attempts 번째 실패는 dead-letter 큐로 옮기고 원래 큐에서 삭제한다")
+    void deadLettersAfterMaxAttempts() throws Exception {
+        queue = queue(job -> { throw new IllegalStateException("fail"); });
+
+        queue.processBatch(List.of(message(3)));
+
+        verify(sqsClient).sendMessage(argThat((SendMessageRequest r) -> r.queueUrl().equals(DLQ_URL)));
+        verify(sqsClient).deleteMessage(argThat((DeleteMessageRequest r) -> r.receiptHandle().equals("r-3")));
+    }
+
+    @Test
+    @DisplayName("다른 소비자가 처리 중이라 미뤄진 작업은 수신 횟수와 상관없이 dead-letter 하지 않고 retryAfter 뒤에 다시 받는다")
+    void deferredJobIsNotDeadLettered() throws Exception {
+        queue = queue(job -> { throw new TranscriptJobDeferredException("in progress", Duration.ofMillis(4500)); });
+
+        queue.processBatch(List.of(message(3)));
+
+        verify(sqsClient).changeMessageVisibility(argThat((ChangeMessageVisibilityRequest r) ->
+                r.receiptHandle().equals("r-3") && r.visibilityTimeout() == 5));
+        verify(sqsClient, never()).sendMessage(any(SendMessageRequest.class));
+        verify(sqsClient, never()).deleteMessage(any(DeleteMessageRequest.class));
+    }
+}
@@ -0,0 +1,64 @@
+package com.saintplus.transcript.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class StorageObjectDeleterTest {
+
+    private StorageObjectDeleter deleter;
+
+    @AfterEach
+    void tearDown() {
+        if (deleter != null) {
+            deleter.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("쌓인 키를 최대 1000개씩 묶어 한 번에 지운다")
+    void coalescesIntoBatches() throws Exception {
+        StorageClient storageClient = mock(StorageClient.class);
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        when(storageClient.deleteObjects(anyList())).thenAnswer(invocation -> {
+            batchSizes.add(invocation.<List<String>>getArgument(0).size());
+            return List.of();
+        });
+        deleter = new StorageObjectDeleter(storageClient, 10_000, 0);
+
+        for (int i = 0; i < 2500; i++) {
+            deleter.delete("uploads/1/" + i + "/a.txt");
+        }
+        deleter.start();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (deleter.pendingCount() > 0 || batchSizes.stream().mapToInt(Integer::intValue).sum() < 2500) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+        assertThat(batchSizes).containsExactly(1000, 1000, 500);
+    }
+
+    @Test
+    @DisplayName("큐가 가득 차면 키를 버리고, 종료할 때 남은 키를 지운다")
+    void dropsWhenFullAndFlushesOnShutdown() {
+        StorageClient storageClient = mock(StorageClient.class);
+        when(storageClient.deleteObjects(anyList())).thenReturn(List.of());
+        deleter = new StorageObjectDeleter(storageClient, 2, 0);
+
+        deleter.delete("a");
+        deleter.delete("b");
+        deleter.delete("c");
+        assertThat(deleter.pendingCount()).isEqualTo(2);
+
+        deleter.shutdown();
+        verify(storageClient).deleteObjects(List.of("a", "b"));
+    }
+}
@@ -1,5 +1,8 @@
 package com.saintplus.user.service;
 
+import com.saintplus.course.repository.PeerTimetableRepository;
+import com.saintplus.course.service.UserAcademicProfileService;
+import com.saintplus.transcript.service.CreditSummaryService;
 import com.saintplus.user.domain.User;
 import com.saintplus.user.repository.UserRepository;
 import org.junit.jupiter.api.DisplayName;
@@ -31,6 +34,15 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private PeerTimetableRepository peerTimetableRepository;
+
+    @Mock
+    private UserAcademicProfileService userAcademicProfileService;
+
+    @Mock
+    private CreditSummaryService creditSummaryService;
+
     @InjectMocks
     private UserService userService;
 
@@ -102,6 +114,29 @@ class UserServiceTest {
         verify(userRepository, times(1)).save(any(User.class));
         assertThat(mockUser.getMajor1()).isEqualTo("컴퓨터공학");
         assertThat(mockUser.getMajor2()).isEqualTo("수학");
+        verify(creditSummaryService).recompute(mockUser);
+    }
+
+    @Test
+    @DisplayName("사용자 데이터 업데이트 - 전공이 그대로면 학점 요약을 다시 계산하지 않음")
+    void testUpdateUserData_SameMajors_SkipsRecompute() {
+        // Given
+        User mockUser = User.builder()
+                .username("testuser")
+                .password("password")
+                .major1("컴퓨터공학")
+                .major2("수학")
+                .major3("")
+                .build();
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(mockUser));
+        when(userRepository.save(any(User.class))).thenReturn(mockUser);
+
+        // When
+        userService.updateUserData(1L, "컴퓨터 공학", "수학", "");
+
+        // Then
+        verify(creditSummaryService, never()).recompute(any(User.class));
     }
 
     @Test